@@ -0,0 +1,36 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * An {@link EnergyWorld} that also connects to the consumers energy is delivered to.
+ *
+ * {@link NetworkCache} stores the handles it is given in its views without looking
+ * into them; the mod's handles wrap capability caches, tests and benchmarks use
+ * plain positions. Handles of one view share a {@link NetworkCache.Lease} that is
+ * released when the view or resolved consumer list is dropped.
+ *
+ * @param <M> Handle of a connected consumer
+ */
+public interface ConsumerWorld<M> extends EnergyWorld {
+
+    /**
+     * Connect to the block at a loaded, non-cable position through one of its faces.
+     *
+     * @param machinePos Packed position of the block
+     * @param accessSide Face of the block the energy enters through
+     * @param lease Live for as long as the handle is cached
+     * @return the handle, or null if the block takes no energy through that face
+     */
+    M connect(long machinePos, int accessSide, NetworkCache.Lease lease);
+
+    /**
+     * Get the largest packet (EU) a connected consumer takes without overvoltage,
+     * {@link Integer#MAX_VALUE} if it has no limit.
+     */
+    int getPacketCeiling(M machine);
+
+    /**
+     * Get the tier a connected consumer is judged by in overvoltage checks,
+     * or 0 if it is exempt (untiered blocks, transformers).
+     */
+    int getTier(M machine);
+}
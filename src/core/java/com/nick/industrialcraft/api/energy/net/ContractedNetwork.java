@@ -0,0 +1,161 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.Arrays;
+
+/**
+ * Contracted form of one network: junctions connected by weighted cable runs.
+ *
+ * A junction is a cable that branches or ends (link degree other than 2), touches a
+ * machine, or links to a cable of another type. Everything between two junctions is
+ * an unbranched run of one cable type and becomes a single edge that remembers its
+ * length and type. Traversals, loss and capacity calculations work on junctions and
+ * edges instead of individual cable blocks.
+ *
+ * Built by {@link EnergyNetGraph#getContracted} once per network version. Immutable.
+ */
+public final class ContractedNetwork {
+
+    // Junctions, sorted by packed position
+    private final long[] nodePos;
+    private final int[] nodeMachineMask;
+    private final int[] nodeType;
+
+    // Edges: endpoints, interior run length (cables strictly between the junctions) and cable type
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeLength;
+    private final int[] edgeType;
+
+    // Interior cables of edge e are runCables[runStart[e] .. runStart[e + 1]), ordered from edgeFrom
+    private final long[] runCables;
+    private final int[] runStart;
+
+    // Adjacency (CSR): edges of node n are adjEdges[adjStart[n] .. adjStart[n + 1])
+    private final int[] adjStart;
+    private final int[] adjEdges;
+
+    ContractedNetwork(long[] nodePos, int[] nodeMachineMask, int[] nodeType,
+                      int[] edgeFrom, int[] edgeTo, int[] edgeLength, int[] edgeType,
+                      long[] runCables, int[] runStart) {
+        this.nodePos = nodePos;
+        this.nodeMachineMask = nodeMachineMask;
+        this.nodeType = nodeType;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeLength = edgeLength;
+        this.edgeType = edgeType;
+        this.runCables = runCables;
+        this.runStart = runStart;
+
+        int nodes = nodePos.length;
+        int edges = edgeFrom.length;
+        adjStart = new int[nodes + 1];
+        for (int e = 0; e < edges; e++) {
+            adjStart[edgeFrom[e] + 1]++;
+            if (edgeTo[e] != edgeFrom[e]) {
+                adjStart[edgeTo[e] + 1]++;
+            }
+        }
+        for (int n = 0; n < nodes; n++) {
+            adjStart[n + 1] += adjStart[n];
+        }
+        adjEdges = new int[adjStart[nodes]];
+        int[] fill = Arrays.copyOf(adjStart, nodes);
+        for (int e = 0; e < edges; e++) {
+            adjEdges[fill[edgeFrom[e]]++] = e;
+            if (edgeTo[e] != edgeFrom[e]) {
+                adjEdges[fill[edgeTo[e]]++] = e;
+            }
+        }
+    }
+
+    public int getNodeCount() {
+        return nodePos.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * Get the number of cable blocks represented (junctions plus run interiors).
+     */
+    public int getCableCount() {
+        return nodePos.length + runCables.length;
+    }
+
+    /**
+     * Find the junction at a packed position.
+     *
+     * @return the node index, or -1 if the position is not a junction
+     */
+    public int indexOf(long pos) {
+        int index = Arrays.binarySearch(nodePos, pos);
+        return index >= 0 ? index : -1;
+    }
+
+    public long getNodePos(int node) {
+        return nodePos[node];
+    }
+
+    /**
+     * Get the sides of a junction that face machines.
+     */
+    public int getNodeMachineMask(int node) {
+        return nodeMachineMask[node];
+    }
+
+    /**
+     * Get the cable type ordinal of a junction.
+     */
+    public int getNodeType(int node) {
+        return nodeType[node];
+    }
+
+    public int getEdgeFrom(int edge) {
+        return edgeFrom[edge];
+    }
+
+    public int getEdgeTo(int edge) {
+        return edgeTo[edge];
+    }
+
+    /**
+     * Get the other endpoint of an edge.
+     */
+    public int getEdgeOther(int edge, int node) {
+        return edgeFrom[edge] == node ? edgeTo[edge] : edgeFrom[edge];
+    }
+
+    /**
+     * Get the number of run cables strictly between the edge's junctions (0 if they touch).
+     */
+    public int getEdgeLength(int edge) {
+        return edgeLength[edge];
+    }
+
+    /**
+     * Get the cable type ordinal of the run (the type of edgeFrom when the run is empty).
+     */
+    public int getEdgeType(int edge) {
+        return edgeType[edge];
+    }
+
+    /**
+     * Get the packed position of the i-th run cable of an edge, counted from edgeFrom.
+     */
+    public long getRunCable(int edge, int i) {
+        return runCables[runStart[edge] + i];
+    }
+
+    public int getDegree(int node) {
+        return adjStart[node + 1] - adjStart[node];
+    }
+
+    /**
+     * Get the i-th edge incident to a node.
+     */
+    public int getIncidentEdge(int node, int i) {
+        return adjEdges[adjStart[node] + i];
+    }
+}
@@ -0,0 +1,349 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Append-only binary journal of the events an energy net sees, so real traffic can
+ * be replayed against the core without a world.
+ *
+ * Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ * magic "ICEJ" (4 bytes), format, start game time, max junctions, max cables,
+ * flags (bit 0 = loss enabled, bit 1 = capacity enabled),
+ * typeCount, per cable type: loss per block (milli-EU), capacity (EU/t),
+ * then records until the end of the file, each a kind byte followed by:
+ *   TICK          game time delta from the previous tick (the first from the start time)
+ *   CHANGE        pos                                        - a queued position was re-read
+ *   CABLE         pos, type, connection mask                 - block state as last seen
+ *   MACHINE       pos, source tier, consumer tier
+ *   EMPTY         pos                                        - neither cable nor tiered machine
+ *   CHUNK_LOAD    chunk x, chunk z (zigzag)
+ *   CHUNK_UNLOAD  chunk x, chunk z (zigzag)
+ *   EMIT          pos, emit sides | excluded sides &lt;&lt; 6, budget, packet size,
+ *                 flags (bit 0 = whole packets, bit 1 = partial packets)
+ *   OFFER         pos, demand, packet ceiling, loss, capacity  - one consumer of the last EMIT
+ * </pre>
+ * Positions are zigzag deltas from the previous position of any record, so the
+ * neighbourhood reads of one change take 2-3 bytes each. Packet ceilings and
+ * capacities are written as 0 for unlimited and value + 1 otherwise.
+ *
+ * State records (CABLE, MACHINE, EMPTY) are written when the recorder sees a block
+ * differ from what it last wrote, so a replay world holds exactly what the net read.
+ */
+public final class EnergyJournal {
+
+    public static final int FORMAT = 1;
+    private static final byte[] MAGIC = {'I', 'C', 'E', 'J'};
+
+    public static final int TICK = 1;
+    public static final int CHANGE = 2;
+    public static final int CABLE = 3;
+    public static final int MACHINE = 4;
+    public static final int EMPTY = 5;
+    public static final int CHUNK_LOAD = 6;
+    public static final int CHUNK_UNLOAD = 7;
+    public static final int EMIT = 8;
+    public static final int OFFER = 9;
+
+    private static final int FLAG_LOSS = 1;
+    private static final int FLAG_CAPACITY = 2;
+    private static final int FLAG_WHOLE_PACKETS = 1;
+    private static final int FLAG_PARTIAL_PACKETS = 2;
+
+    private EnergyJournal() {}
+
+    /**
+     * Settings the journaled net ran with, so a replay computes the same views.
+     */
+    public record Header(long startTime, int maxJunctions, int maxCables, boolean lossEnabled,
+                         boolean capacityEnabled, long[] lossPerType, long[] capacityPerType) {}
+
+    /**
+     * Receives the records of a journal in order.
+     */
+    public interface Visitor {
+
+        void tick(long gameTime);
+
+        void change(long pos);
+
+        void cable(long pos, int type, int mask);
+
+        void machine(long pos, int sourceTier, int consumerTier);
+
+        void empty(long pos);
+
+        void chunk(int chunkX, int chunkZ, boolean loaded);
+
+        void emit(long pos, int emitSides, int excludedSides, int budget, int packetSize,
+                  boolean wholePackets, boolean partialPackets);
+
+        void offer(long pos, int demand, int packetCeiling, int loss, int capacity);
+    }
+
+    // ========== Writing ==========
+
+    /**
+     * Appends records to a stream. Not thread-safe; the caller buffers the stream.
+     */
+    public static final class Writer implements Closeable {
+        private final OutputStream out;
+        private long previousPos;
+        private long previousTime;
+        private long bytes;
+
+        public Writer(OutputStream out, Header header) throws IOException {
+            this.out = out;
+            this.previousTime = header.startTime();
+            out.write(MAGIC);
+            bytes += MAGIC.length;
+            writeVarInt(FORMAT);
+            writeVarLong(header.startTime());
+            writeVarInt(header.maxJunctions());
+            writeVarInt(header.maxCables());
+            writeVarInt((header.lossEnabled() ? FLAG_LOSS : 0) | (header.capacityEnabled() ? FLAG_CAPACITY : 0));
+            writeVarInt(header.lossPerType().length);
+            for (int type = 0; type < header.lossPerType().length; type++) {
+                writeVarLong(header.lossPerType()[type]);
+                writeVarLong(header.capacityPerType()[type]);
+            }
+        }
+
+        /** Bytes written so far, header included. */
+        public long bytesWritten() {
+            return bytes;
+        }
+
+        public void tick(long gameTime) throws IOException {
+            writeKind(TICK);
+            writeVarLong(gameTime - previousTime);
+            previousTime = gameTime;
+        }
+
+        public void change(long pos) throws IOException {
+            writeKind(CHANGE);
+            writePos(pos);
+        }
+
+        public void cable(long pos, int type, int mask) throws IOException {
+            writeKind(CABLE);
+            writePos(pos);
+            writeVarInt(type);
+            writeVarInt(mask);
+        }
+
+        public void machine(long pos, int sourceTier, int consumerTier) throws IOException {
+            writeKind(MACHINE);
+            writePos(pos);
+            writeVarInt(sourceTier);
+            writeVarInt(consumerTier);
+        }
+
+        public void empty(long pos) throws IOException {
+            writeKind(EMPTY);
+            writePos(pos);
+        }
+
+        public void chunk(int chunkX, int chunkZ, boolean loaded) throws IOException {
+            writeKind(loaded ? CHUNK_LOAD : CHUNK_UNLOAD);
+            writeVarLong(zigzag(chunkX));
+            writeVarLong(zigzag(chunkZ));
+        }
+
+        public void emit(long pos, int emitSides, int excludedSides, int budget, int packetSize,
+                         boolean wholePackets, boolean partialPackets) throws IOException {
+            writeKind(EMIT);
+            writePos(pos);
+            writeVarInt(emitSides | excludedSides << PackedPos.SIDES);
+            writeVarInt(budget);
+            writeVarInt(packetSize);
+            writeVarInt((wholePackets ? FLAG_WHOLE_PACKETS : 0) | (partialPackets ? FLAG_PARTIAL_PACKETS : 0));
+        }
+
+        public void offer(long pos, int demand, int packetCeiling, int loss, int capacity) throws IOException {
+            writeKind(OFFER);
+            writePos(pos);
+            writeVarInt(demand);
+            writeLimit(packetCeiling);
+            writeVarInt(loss);
+            writeLimit(capacity);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void writeKind(int kind) throws IOException {
+            out.write(kind);
+            bytes++;
+        }
+
+        private void writePos(long pos) throws IOException {
+            writeVarLong(zigzag(pos - previousPos));
+            previousPos = pos;
+        }
+
+        private void writeLimit(int value) throws IOException {
+            writeVarInt(value == Integer.MAX_VALUE ? 0 : value + 1);
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                bytes++;
+                value >>>= 7;
+            }
+            out.write((int) value);
+            bytes++;
+        }
+    }
+
+    // ========== Reading ==========
+
+    /**
+     * Reads records from a stream one at a time. The caller buffers the stream.
+     */
+    public static final class Reader {
+        private final InputStream in;
+        private final Header header;
+        private long previousPos;
+        private long previousTime;
+        private long records;
+
+        /**
+         * Read the header of a journal.
+         *
+         * @throws IllegalArgumentException if the stream is not a journal of a known format
+         */
+        public Reader(InputStream in) throws IOException {
+            this.in = in;
+            for (byte expected : MAGIC) {
+                if (in.read() != expected) {
+                    throw new IllegalArgumentException("Not an energy-net journal");
+                }
+            }
+            int format = readVarInt();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown energy-net journal format " + format);
+            }
+            long startTime = readVarLong();
+            int maxJunctions = readVarInt();
+            int maxCables = readVarInt();
+            int flags = readVarInt();
+            int typeCount = readVarInt();
+            if (typeCount > 1024) {
+                throw new IllegalArgumentException("Corrupt energy-net journal: " + typeCount + " cable types");
+            }
+            long[] lossPerType = new long[typeCount];
+            long[] capacityPerType = new long[typeCount];
+            for (int type = 0; type < typeCount; type++) {
+                lossPerType[type] = readVarLong();
+                capacityPerType[type] = readVarLong();
+            }
+            header = new Header(startTime, maxJunctions, maxCables, (flags & FLAG_LOSS) != 0,
+                (flags & FLAG_CAPACITY) != 0, lossPerType, capacityPerType);
+            previousTime = startTime;
+        }
+
+        public Header getHeader() {
+            return header;
+        }
+
+        /** Records read so far. */
+        public long getRecordCount() {
+            return records;
+        }
+
+        /**
+         * Read the next record into a visitor.
+         *
+         * @return false at the end of the journal
+         * @throws EOFException if the journal ends inside a record, as when the server stopped mid-write
+         * @throws IllegalArgumentException if the journal has an unknown record or a malformed varint
+         */
+        public boolean next(Visitor visitor) throws IOException {
+            int kind = in.read();
+            if (kind < 0) {
+                return false;
+            }
+            switch (kind) {
+                case TICK -> {
+                    previousTime += readVarLong();
+                    visitor.tick(previousTime);
+                }
+                case CHANGE -> visitor.change(readPos());
+                case CABLE -> visitor.cable(readPos(), readVarInt(), readVarInt());
+                case MACHINE -> visitor.machine(readPos(), readVarInt(), readVarInt());
+                case EMPTY -> visitor.empty(readPos());
+                case CHUNK_LOAD, CHUNK_UNLOAD -> visitor.chunk((int) unzigzag(readVarLong()),
+                    (int) unzigzag(readVarLong()), kind == CHUNK_LOAD);
+                case EMIT -> {
+                    long pos = readPos();
+                    int sides = readVarInt();
+                    int budget = readVarInt();
+                    int packetSize = readVarInt();
+                    int flags = readVarInt();
+                    visitor.emit(pos, sides & 0b111111, (sides >>> PackedPos.SIDES) & 0b111111, budget, packetSize,
+                        (flags & FLAG_WHOLE_PACKETS) != 0, (flags & FLAG_PARTIAL_PACKETS) != 0);
+                }
+                case OFFER -> visitor.offer(readPos(), readVarInt(), readLimit(), readVarInt(), readLimit());
+                default -> throw new IllegalArgumentException("Unknown energy-net journal record " + kind
+                    + " after " + records + " records");
+            }
+            records++;
+            return true;
+        }
+
+        private long readPos() throws IOException {
+            previousPos += unzigzag(readVarLong());
+            return previousPos;
+        }
+
+        private int readLimit() throws IOException {
+            int value = readVarInt();
+            return value == 0 ? Integer.MAX_VALUE : value - 1;
+        }
+
+        private int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        private long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Truncated energy-net journal after " + records + " records");
+                }
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in energy-net journal");
+        }
+    }
+
+    // ========== Varints ==========
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,980 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Persistent per-level graph of cable nodes and their connected components.
+ *
+ * The graph is maintained incrementally instead of being rebuilt by a BFS:
+ * - Placing a cable joins it to the networks of its linked neighbours.
+ *   Networks are merged union-by-size (the smaller one is relabelled into the larger).
+ * - Removing a cable runs a local split check: one BFS per former neighbour,
+ *   advanced in lockstep. Searches that meet belong to the same piece, and a search
+ *   that runs dry first has found a detached piece. The cost is proportional to the
+ *   smaller pieces, not to the whole network.
+ * - A split check that would visit more cables than the async threshold is deferred.
+ *   The network keeps its old shape (and keeps serving) while an immutable snapshot of
+ *   its cable positions and connection masks is labelled on a background executor.
+ *   {@link #pollRebuilds} swaps the result in on the owning thread, unless the network
+ *   changed shape in the meantime, in which case a fresh snapshot is labelled.
+ *
+ * Machines are tracked as machine faces on cable nodes: bit {@code side} of a cable's
+ * machine mask means the cable connects to a non-cable block on that side.
+ * Each cable also carries a type id; {@link #getContracted} collapses unbranched runs
+ * of one type into weighted edges between junctions, and the tiers of the machines it
+ * faces, which feed the running tier aggregates of its network.
+ *
+ * Positions are packed longs (see {@link PackedPos}). This class does not touch the
+ * world; the caller feeds it cable connection masks as blocks change.
+ */
+public final class EnergyNetGraph {
+
+    /**
+     * Tier levels are stored in 3 bits: 0 means none, 1 to 7 are tier levels.
+     */
+    public static final int TIER_SLOTS = 8;
+
+    private static final class CableNode {
+        final long pos;
+        int mask;
+        int machineMask;
+        int type;
+        int sourceTier;    // Highest facing source tier (0 = none)
+        int consumerTier;  // Lowest facing consumer tier (0 = none)
+        EnergyNetwork network;
+
+        CableNode(long pos) {
+            this.pos = pos;
+        }
+    }
+
+    /**
+     * Callback for code that keeps data derived from networks.
+     */
+    public interface Listener {
+        /**
+         * A network was merged into another one, or lost its last cable.
+         */
+        void onNetworkRemoved(EnergyNetwork network);
+    }
+
+    private final LongObjectMap<CableNode> nodes = new LongObjectMap<>();
+    private final Map<Integer, EnergyNetwork> networks = new LinkedHashMap<>();
+    private int nextNetworkId = 1;
+    private Listener listener;
+
+    // Deferred splits: network -> System.nanoTime() when its old shape became stale
+    private final Map<EnergyNetwork, Long> deferred = new LinkedHashMap<>();
+    private final Map<EnergyNetwork, RebuildJob> inFlight = new HashMap<>();
+    private final ConcurrentLinkedQueue<RebuildJob> completed = new ConcurrentLinkedQueue<>();
+    private int asyncThreshold;
+    private Executor rebuildExecutor;
+
+    // Rebuild statistics (owning thread only)
+    private long appliedRebuilds;
+    private long discardedRebuilds;
+    private long maxRebuildNanos;
+    private long totalRebuildNanos;
+    private long maxStaleNanos;
+    private long totalStaleNanos;
+
+    /**
+     * Statistics of background rebuilds.
+     *
+     * @param pending Networks whose split has not been swapped in yet
+     * @param applied Rebuilds swapped in
+     * @param discarded Rebuilds thrown away because the network changed during labelling
+     * @param avgRebuildNanos Average time from snapshot to finished labelling
+     * @param maxRebuildNanos Longest time from snapshot to finished labelling
+     * @param avgStaleNanos Average time an unsplit network kept serving after the split
+     * @param maxStaleNanos Longest time an unsplit network kept serving after the split
+     */
+    public record RebuildStats(int pending, long applied, long discarded, long avgRebuildNanos,
+                               long maxRebuildNanos, long avgStaleNanos, long maxStaleNanos) {}
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // ========== Queries ==========
+
+    public boolean contains(long pos) {
+        return nodes.containsKey(pos);
+    }
+
+    /**
+     * Get the network containing the cable at the given position, or null if untracked.
+     */
+    public EnergyNetwork getNetwork(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.network : null;
+    }
+
+    /**
+     * Get the 6-bit connection mask of a tracked cable (0 if untracked).
+     */
+    public int getMask(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.mask : 0;
+    }
+
+    /**
+     * Get the cable type id of a tracked cable (-1 if untracked).
+     */
+    public int getType(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.type : -1;
+    }
+
+    /**
+     * Get the sides of a tracked cable that connect to machines (0 if untracked).
+     */
+    public int getMachineMask(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.machineMask : 0;
+    }
+
+    /**
+     * Get the highest tier of the sources a tracked cable faces (0 if none or untracked).
+     */
+    public int getSourceTier(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.sourceTier : 0;
+    }
+
+    /**
+     * Get the lowest tier of the consumers a tracked cable faces (0 if none or untracked).
+     */
+    public int getConsumerTier(long pos) {
+        CableNode node = nodes.get(pos);
+        return node != null ? node.consumerTier : 0;
+    }
+
+    public Collection<EnergyNetwork> getNetworks() {
+        return Collections.unmodifiableCollection(networks.values());
+    }
+
+    public int getCableCount() {
+        return nodes.size();
+    }
+
+    public int getNetworkCount() {
+        return networks.size();
+    }
+
+    // ========== Updates ==========
+
+    /**
+     * Add a cable or update its connections.
+     *
+     * @param pos The packed cable position
+     * @param mask Sides the cable connects on (cables and machines)
+     * @param machineMask Subset of {@code mask} whose neighbour is a machine rather than a cable
+     * @param type Cable type id (see CableType)
+     */
+    public void setCable(long pos, int mask, int machineMask, int type) {
+        CableNode node = nodes.get(pos);
+
+        if (node == null) {
+            node = new CableNode(pos);
+            node.mask = mask;
+            node.machineMask = machineMask;
+            node.type = type;
+            nodes.put(pos, node);
+
+            EnergyNetwork network = null;
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                CableNode neighbor = linkedNeighbor(node, node.mask, side);
+                if (neighbor != null) {
+                    network = network == null ? neighbor.network : merge(network, neighbor.network);
+                }
+            }
+            if (network == null) {
+                network = createNetwork();
+            }
+            node.network = network;
+            network.cables.add(pos);
+            network.addTiers(0, 0);
+            network.reshape();
+            return;
+        }
+
+        int oldMask = node.mask;
+        int oldType = node.type;
+        node.mask = mask;
+        node.machineMask = machineMask;
+        node.type = type;
+
+        // Links that appeared merge networks, links that disappeared may split one
+        long[] seeds = null;
+        int seedCount = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            boolean wasLinked = linkedNeighbor(node, oldMask, side) != null;
+            CableNode neighbor = linkedNeighbor(node, mask, side);
+            if (neighbor != null && !wasLinked) {
+                merge(node.network, neighbor.network);
+            } else if (neighbor == null && wasLinked) {
+                if (seeds == null) {
+                    seeds = new long[PackedPos.SIDES + 1];
+                    seeds[seedCount++] = pos;
+                }
+                seeds[seedCount++] = PackedPos.offset(pos, side);
+            }
+        }
+        if (mask != oldMask || type != oldType) {
+            node.network.reshape();
+        } else {
+            node.network.touch();
+        }
+
+        if (seeds != null && !splitCheck(node.network, seeds, seedCount)) {
+            defer(node.network);
+        }
+    }
+
+    /**
+     * Set the tiers of the machines a tracked cable faces, updating its network's aggregates.
+     * Tiers do not change the topology, so the network version is left alone.
+     *
+     * @param sourceTier Highest tier level of the facing sources (0 = none)
+     * @param consumerTier Lowest tier level of the facing consumers (0 = none)
+     */
+    public void setTiers(long pos, int sourceTier, int consumerTier) {
+        CableNode node = nodes.get(pos);
+        if (node == null) {
+            return;
+        }
+        node.network.removeTiers(node.sourceTier, node.consumerTier);
+        node.sourceTier = sourceTier;
+        node.consumerTier = consumerTier;
+        node.network.addTiers(sourceTier, consumerTier);
+    }
+
+    /**
+     * Remove a cable, splitting its network if the cable was a bridge.
+     *
+     * @return true if the position was tracked
+     */
+    public boolean removeCable(long pos) {
+        CableNode node = nodes.remove(pos);
+        if (node == null) {
+            return false;
+        }
+
+        EnergyNetwork network = node.network;
+        network.cables.remove(pos);
+        network.removeTiers(node.sourceTier, node.consumerTier);
+        network.reshape();
+
+        if (network.cables.isEmpty()) {
+            retire(network);
+            return true;
+        }
+
+        // Former neighbours are the seeds of the split check
+        long[] seeds = new long[PackedPos.SIDES];
+        int seedCount = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            CableNode neighbor = linkedNeighbor(node, node.mask, side);
+            if (neighbor != null) {
+                seeds[seedCount++] = neighbor.pos;
+            }
+        }
+        if (seedCount > 1 && !splitCheck(network, seeds, seedCount)) {
+            defer(network);
+        }
+        return true;
+    }
+
+    /**
+     * Forget a whole network so it is rediscovered from the world on next use.
+     */
+    public void removeNetwork(EnergyNetwork network) {
+        if (network.isRemoved()) {
+            return;
+        }
+        network.cables.forEach(nodes::remove);
+        network.cables.clear();
+        retire(network);
+    }
+
+    /**
+     * Recreate a saved network in one step, without merge or split checks.
+     * The cables must form one connected network and must not be tracked yet;
+     * positions that are already tracked are skipped.
+     *
+     * @param positions Packed cable positions
+     * @param masks Connection mask of each cable
+     * @param machineMasks Machine faces of each cable
+     * @param types Cable type id of each cable
+     * @param sourceTiers Highest facing source tier of each cable
+     * @param consumerTiers Lowest facing consumer tier of each cable
+     * @param version Saved version of the network
+     * @param truncated Whether the saved network was truncated by the discovery limit
+     * @return the restored network, marked as restored until {@link #markVerified}
+     */
+    public EnergyNetwork restoreNetwork(long[] positions, int[] masks, int[] machineMasks, int[] types,
+                                        int[] sourceTiers, int[] consumerTiers, int version, boolean truncated) {
+        EnergyNetwork network = createNetwork();
+        for (int i = 0; i < positions.length; i++) {
+            if (nodes.containsKey(positions[i])) {
+                continue;
+            }
+            CableNode node = new CableNode(positions[i]);
+            node.mask = masks[i];
+            node.machineMask = machineMasks[i];
+            node.type = types[i];
+            node.sourceTier = sourceTiers[i];
+            node.consumerTier = consumerTiers[i];
+            node.network = network;
+            nodes.put(positions[i], node);
+            network.cables.add(positions[i]);
+            network.addTiers(node.sourceTier, node.consumerTier);
+        }
+        if (network.cables.isEmpty()) {
+            retire(network);
+            return network;
+        }
+        network.restoreVersion(version);
+        network.setTruncated(truncated);
+        network.setRestored(true);
+        return network;
+    }
+
+    /**
+     * The caller has checked a restored network against the world.
+     */
+    public void markVerified(EnergyNetwork network) {
+        network.setRestored(false);
+    }
+
+    /**
+     * True if a split of this network was deferred and has not been swapped in yet,
+     * so its cables may no longer be connected.
+     */
+    public boolean hasPendingSplit(EnergyNetwork network) {
+        return deferred.containsKey(network);
+    }
+
+    /**
+     * Mark the network at the given position as incomplete (discovery hit its size limit).
+     */
+    public void markTruncated(long pos) {
+        EnergyNetwork network = getNetwork(pos);
+        if (network != null) {
+            network.setTruncated(true);
+        }
+    }
+
+    /**
+     * Drop every node and network.
+     */
+    public void clear() {
+        List<EnergyNetwork> removed = new ArrayList<>(networks.values());
+        nodes.clear();
+        networks.clear();
+        deferred.clear();
+        inFlight.clear();
+        completed.clear();
+        for (EnergyNetwork network : removed) {
+            network.markRemoved();
+            if (listener != null) {
+                listener.onNetworkRemoved(network);
+            }
+        }
+    }
+
+    // ========== Contraction ==========
+
+    /**
+     * Get the contracted form of a network (junctions and cable runs).
+     * Built on first use after each network version change, then shared.
+     */
+    public ContractedNetwork getContracted(EnergyNetwork network) {
+        if (network.contracted == null || network.contractedVersion != network.getVersion()) {
+            network.contracted = contract(network);
+            network.contractedVersion = network.getVersion();
+        }
+        return network.contracted;
+    }
+
+    /**
+     * A cable is a junction if it branches or ends, touches a machine,
+     * or links to a cable of another type.
+     */
+    private boolean isJunction(CableNode node) {
+        if (node.machineMask != 0) {
+            return true;
+        }
+        int degree = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            CableNode neighbor = linkedNeighbor(node, node.mask, side);
+            if (neighbor != null) {
+                if (neighbor.type != node.type) {
+                    return true;
+                }
+                degree++;
+            }
+        }
+        return degree != 2;
+    }
+
+    /**
+     * Walk every run from every junction. Each run is seen from both ends;
+     * it is kept from the end with the lower node index (or lower side for loops).
+     */
+    private ContractedNetwork contract(EnergyNetwork network) {
+        long[] cables = network.cables.toArray();
+        long[] junctions = new long[cables.length];
+        int junctionCount = 0;
+        for (long pos : cables) {
+            if (isJunction(nodes.get(pos))) {
+                junctions[junctionCount++] = pos;
+            }
+        }
+        if (junctionCount == 0 && cables.length > 0) {
+            // A closed loop without branches or machines - any cable can anchor it
+            long anchor = cables[0];
+            for (long pos : cables) {
+                anchor = Math.min(anchor, pos);
+            }
+            junctions[junctionCount++] = anchor;
+        }
+        junctions = Arrays.copyOf(junctions, junctionCount);
+        Arrays.sort(junctions);
+
+        int[] nodeMachineMask = new int[junctionCount];
+        int[] nodeType = new int[junctionCount];
+        for (int j = 0; j < junctionCount; j++) {
+            CableNode node = nodes.get(junctions[j]);
+            nodeMachineMask[j] = node.machineMask;
+            nodeType[j] = node.type;
+        }
+
+        // Every edge is kept from one of its ends, so there are at most SIDES edges per junction
+        int maxEdges = junctionCount * PackedPos.SIDES;
+        int[] edgeFrom = new int[maxEdges];
+        int[] edgeTo = new int[maxEdges];
+        int[] edgeLength = new int[maxEdges];
+        int[] edgeType = new int[maxEdges];
+        int[] runStart = new int[maxEdges + 1];
+        long[] runCables = new long[cables.length];
+        int edgeCount = 0;
+        int runCount = 0;
+
+        for (int j = 0; j < junctionCount; j++) {
+            CableNode junction = nodes.get(junctions[j]);
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                CableNode current = linkedNeighbor(junction, junction.mask, side);
+                if (current == null) {
+                    continue;
+                }
+                int runBegin = runCount;
+                CableNode previous = junction;
+                int stepSide = side;
+                int end;
+                while ((end = Arrays.binarySearch(junctions, current.pos)) < 0) {
+                    if (runCount == runCables.length) {
+                        // Runs are walked from both ends, so the discarded walk may need extra room
+                        runCables = Arrays.copyOf(runCables, runCount * 2 + 1);
+                    }
+                    runCables[runCount++] = current.pos;
+                    // Unbranched run cable: continue through its other link
+                    for (int next = 0; next < PackedPos.SIDES; next++) {
+                        CableNode neighbor = linkedNeighbor(current, current.mask, next);
+                        if (neighbor != null && neighbor != previous) {
+                            stepSide = next;
+                            previous = current;
+                            current = neighbor;
+                            break;
+                        }
+                    }
+                }
+
+                int arrivalSide = PackedPos.opposite(stepSide);
+                if (j < end || (j == end && side < arrivalSide)) {
+                    edgeFrom[edgeCount] = j;
+                    edgeTo[edgeCount] = end;
+                    edgeLength[edgeCount] = runCount - runBegin;
+                    edgeType[edgeCount] = runCount > runBegin ? nodes.get(runCables[runBegin]).type : junction.type;
+                    runStart[edgeCount] = runBegin;
+                    edgeCount++;
+                } else {
+                    runCount = runBegin;  // Kept from the other end
+                }
+            }
+        }
+        runStart[edgeCount] = runCount;
+
+        return new ContractedNetwork(junctions, nodeMachineMask, nodeType,
+            Arrays.copyOf(edgeFrom, edgeCount), Arrays.copyOf(edgeTo, edgeCount),
+            Arrays.copyOf(edgeLength, edgeCount), Arrays.copyOf(edgeType, edgeCount),
+            Arrays.copyOf(runCables, runCount), Arrays.copyOf(runStart, edgeCount + 1));
+    }
+
+    // ========== Background Rebuilds ==========
+
+    /**
+     * Configure deferred split checks.
+     *
+     * @param threshold Split checks that would visit more cables than this are deferred (0 = never)
+     * @param executor Runs the labelling of deferred networks (null = never defer)
+     */
+    public void setAsyncRebuild(int threshold, Executor executor) {
+        this.asyncThreshold = threshold;
+        this.rebuildExecutor = executor;
+    }
+
+    /**
+     * True if some network still has a deferred split. Allocation-free.
+     */
+    public boolean hasPendingRebuilds() {
+        return !deferred.isEmpty();
+    }
+
+    /**
+     * Swap in finished background rebuilds and start labelling newly deferred networks.
+     * Must be called from the thread that owns the graph.
+     */
+    public void pollRebuilds() {
+        RebuildJob job;
+        while ((job = completed.poll()) != null) {
+            if (inFlight.get(job.network) == job) {
+                inFlight.remove(job.network);
+            }
+            long rebuildNanos = job.finished - job.submitted;
+            totalRebuildNanos += rebuildNanos;
+            maxRebuildNanos = Math.max(maxRebuildNanos, rebuildNanos);
+
+            Long staleSince = deferred.get(job.network);
+            if (staleSince == null || job.network.isRemoved() || job.network.getShape() != job.shape) {
+                // The snapshot is out of date - a fresh one is taken below if still needed
+                discardedRebuilds++;
+                continue;
+            }
+
+            deferred.remove(job.network);
+            applyRebuild(job);
+            long staleNanos = System.nanoTime() - staleSince;
+            totalStaleNanos += staleNanos;
+            maxStaleNanos = Math.max(maxStaleNanos, staleNanos);
+            appliedRebuilds++;
+        }
+
+        Iterator<EnergyNetwork> iterator = deferred.keySet().iterator();
+        while (iterator.hasNext()) {
+            EnergyNetwork network = iterator.next();
+            if (network.isRemoved()) {
+                // Merged away (the survivor inherited the deferral) or emptied
+                iterator.remove();
+                continue;
+            }
+            RebuildJob running = inFlight.get(network);
+            if (running == null || running.shape != network.getShape()) {
+                submit(snapshot(network));
+            }
+        }
+    }
+
+    public RebuildStats getRebuildStats() {
+        long finished = appliedRebuilds + discardedRebuilds;
+        return new RebuildStats(deferred.size(), appliedRebuilds, discardedRebuilds,
+            finished > 0 ? totalRebuildNanos / finished : 0, maxRebuildNanos,
+            appliedRebuilds > 0 ? totalStaleNanos / appliedRebuilds : 0, maxStaleNanos);
+    }
+
+    /**
+     * Label the connected components of a cable snapshot.
+     * Positions are sorted in place (masks follow them) so neighbours are found by binary search.
+     * Two cables are linked by the same rule as in the live graph: either one connects towards the other.
+     *
+     * @param positions Packed cable positions (sorted on return)
+     * @param masks Connection mask of each cable (reordered with the positions)
+     * @param labels Receives the component of each sorted position
+     * @return the number of components
+     */
+    static int labelComponents(long[] positions, int[] masks, int[] labels) {
+        int n = positions.length;
+        long[] sorted = positions.clone();
+        Arrays.sort(sorted);
+        int[] sortedMasks = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedMasks[Arrays.binarySearch(sorted, positions[i])] = masks[i];
+        }
+        System.arraycopy(sorted, 0, positions, 0, n);
+        System.arraycopy(sortedMasks, 0, masks, 0, n);
+
+        Arrays.fill(labels, -1);
+        int[] queue = new int[n];
+        int components = 0;
+        for (int start = 0; start < n; start++) {
+            if (labels[start] >= 0) {
+                continue;
+            }
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = start;
+            labels[start] = components;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    int neighbor = Arrays.binarySearch(positions, PackedPos.offset(positions[current], side));
+                    if (neighbor < 0 || labels[neighbor] >= 0) {
+                        continue;
+                    }
+                    if (PackedPos.hasSide(masks[current], side) || PackedPos.hasSide(masks[neighbor], PackedPos.opposite(side))) {
+                        labels[neighbor] = components;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            components++;
+        }
+        return components;
+    }
+
+    /**
+     * Immutable snapshot of one network's cables, labelled off-thread.
+     * The owning thread only reads the results after taking the job from the completed queue.
+     */
+    private static final class RebuildJob implements Runnable {
+        final EnergyNetwork network;
+        final int shape;
+        final long[] positions;
+        final int[] masks;
+        final int[] labels;
+        final long submitted;
+        final ConcurrentLinkedQueue<RebuildJob> completed;
+        int components;
+        long finished;
+
+        RebuildJob(EnergyNetwork network, long[] positions, int[] masks, ConcurrentLinkedQueue<RebuildJob> completed) {
+            this.network = network;
+            this.shape = network.getShape();
+            this.positions = positions;
+            this.masks = masks;
+            this.labels = new int[positions.length];
+            this.submitted = System.nanoTime();
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            components = labelComponents(positions, masks, labels);
+            finished = System.nanoTime();
+            completed.add(this);
+        }
+    }
+
+    private void defer(EnergyNetwork network) {
+        deferred.putIfAbsent(network, System.nanoTime());
+    }
+
+    private RebuildJob snapshot(EnergyNetwork network) {
+        long[] positions = network.cables.toArray();
+        int[] masks = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            masks[i] = nodes.get(positions[i]).mask;
+        }
+        return new RebuildJob(network, positions, masks, completed);
+    }
+
+    private void submit(RebuildJob job) {
+        inFlight.put(job.network, job);
+        if (rebuildExecutor == null) {
+            job.run();
+            return;
+        }
+        try {
+            rebuildExecutor.execute(job);
+        } catch (RejectedExecutionException e) {
+            // Executor gone (server stopping) - label on this thread; the result is applied on the next poll
+            job.run();
+        }
+    }
+
+    /**
+     * Split a network along the components of a finished, still current snapshot.
+     * The largest component keeps the network.
+     */
+    private void applyRebuild(RebuildJob job) {
+        if (job.components <= 1) {
+            return;  // Still connected
+        }
+        EnergyNetwork network = job.network;
+        int[] sizes = new int[job.components];
+        for (int label : job.labels) {
+            sizes[label]++;
+        }
+        int keep = 0;
+        for (int c = 1; c < sizes.length; c++) {
+            if (sizes[c] > sizes[keep]) {
+                keep = c;
+            }
+        }
+
+        EnergyNetwork[] pieces = new EnergyNetwork[job.components];
+        for (int i = 0; i < job.positions.length; i++) {
+            int label = job.labels[i];
+            if (label == keep) {
+                continue;
+            }
+            EnergyNetwork piece = pieces[label];
+            if (piece == null) {
+                piece = createNetwork();
+                piece.setTruncated(network.isTruncated());
+                piece.setRestored(network.isRestored());
+                pieces[label] = piece;
+            }
+            long pos = job.positions[i];
+            CableNode node = nodes.get(pos);
+            node.network = piece;
+            network.cables.remove(pos);
+            network.removeTiers(node.sourceTier, node.consumerTier);
+            piece.cables.add(pos);
+            piece.addTiers(node.sourceTier, node.consumerTier);
+        }
+
+        network.reshape();
+        for (EnergyNetwork piece : pieces) {
+            if (piece != null) {
+                piece.reshape();
+            }
+        }
+    }
+
+    // ========== Internals ==========
+
+    /**
+     * Two cables are linked if either one connects towards the other.
+     */
+    private CableNode linkedNeighbor(CableNode node, int mask, int side) {
+        CableNode neighbor = nodes.get(PackedPos.offset(node.pos, side));
+        if (neighbor == null) {
+            return null;
+        }
+        if (PackedPos.hasSide(mask, side) || PackedPos.hasSide(neighbor.mask, PackedPos.opposite(side))) {
+            return neighbor;
+        }
+        return null;
+    }
+
+    private EnergyNetwork createNetwork() {
+        EnergyNetwork network = new EnergyNetwork(nextNetworkId++);
+        networks.put(network.getId(), network);
+        return network;
+    }
+
+    private void retire(EnergyNetwork network) {
+        networks.remove(network.getId());
+        network.markRemoved();
+        if (listener != null) {
+            listener.onNetworkRemoved(network);
+        }
+    }
+
+    /**
+     * Union-by-size: relabel the smaller network's cables into the larger one.
+     */
+    private EnergyNetwork merge(EnergyNetwork a, EnergyNetwork b) {
+        if (a == b) {
+            return a;
+        }
+        if (a.cables.size() < b.cables.size()) {
+            EnergyNetwork tmp = a;
+            a = b;
+            b = tmp;
+        }
+        EnergyNetwork survivor = a;
+        b.cables.forEach(pos -> nodes.get(pos).network = survivor);
+        a.cables.addAll(b.cables);
+        a.addAllTiers(b);
+        a.setTruncated(a.isTruncated() || b.isTruncated());
+        a.setRestored(a.isRestored() || b.isRestored());
+        if (a.telemetry == null) {
+            a.telemetry = b.telemetry;
+        }
+        b.cables.clear();
+        Long staleSince = deferred.remove(b);
+        if (staleSince != null) {
+            // The merged network may still contain b's unsplit pieces
+            deferred.merge(a, staleSince, Math::min);
+        }
+        retire(b);
+        a.reshape();
+        return a;
+    }
+
+    /**
+     * Local split check after a link inside {@code network} disappeared.
+     *
+     * Runs one BFS per seed, one node per search per round. When a search reaches a
+     * node labelled by another search, the two are unioned into one group. A group
+     * whose queues all run dry has enumerated its whole piece, so it can be carved
+     * off into a new network. We stop once at most one group is still expanding;
+     * that group (or the largest finished one) keeps the original network.
+     *
+     * @return false if the check was abandoned at the async threshold (nothing changed)
+     */
+    private boolean splitCheck(EnergyNetwork network, long[] seeds, int seedCount) {
+        int budget = asyncThreshold > 0 && rebuildExecutor != null ? asyncThreshold : Integer.MAX_VALUE;
+        // Seed indices are below 7, so the boxed owner values come from the Integer cache
+        LongObjectMap<Integer> owner = new LongObjectMap<>();
+        LongQueue[] queues = new LongQueue[seedCount];
+        int[] parent = new int[seedCount];
+        int[] labelled = new int[seedCount];
+
+        for (int i = 0; i < seedCount; i++) {
+            parent[i] = i;
+            queues[i] = new LongQueue();
+            CableNode seed = nodes.get(seeds[i]);
+            if (seed == null || seed.network != network) {
+                continue;
+            }
+            Integer existing = owner.get(seeds[i]);
+            if (existing != null) {
+                union(parent, existing, i);
+            } else {
+                owner.put(seeds[i], i);
+                labelled[i]++;
+                queues[i].add(seeds[i]);
+            }
+        }
+
+        while (countActiveGroups(parent, queues) > 1) {
+            if (owner.size() > budget) {
+                return false;
+            }
+            for (int i = 0; i < seedCount; i++) {
+                if (queues[i].isEmpty()) {
+                    continue;
+                }
+                CableNode node = nodes.get(queues[i].poll());
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    CableNode neighbor = linkedNeighbor(node, node.mask, side);
+                    if (neighbor == null) {
+                        continue;
+                    }
+                    Integer other = owner.get(neighbor.pos);
+                    if (other == null) {
+                        owner.put(neighbor.pos, i);
+                        labelled[i]++;
+                        queues[i].add(neighbor.pos);
+                    } else {
+                        union(parent, other, i);
+                    }
+                }
+            }
+        }
+
+        // Finished groups are complete pieces; pick which one keeps the original network
+        int keep = -1;
+        for (int i = 0; i < seedCount; i++) {
+            if (find(parent, i) == i && !isExhausted(parent, queues, i)) {
+                keep = i;
+            }
+        }
+        if (keep < 0) {
+            int best = -1;
+            for (int i = 0; i < seedCount; i++) {
+                if (find(parent, i) != i) continue;
+                int size = groupSize(parent, labelled, i);
+                if (size > best) {
+                    best = size;
+                    keep = i;
+                }
+            }
+        }
+
+        // Group roots index the carved-off pieces
+        EnergyNetwork[] pieces = new EnergyNetwork[seedCount];
+        int kept = keep;
+        owner.forEach((pos, seed) -> {
+            int group = find(parent, seed);
+            if (group == kept) {
+                return;
+            }
+            EnergyNetwork piece = pieces[group];
+            if (piece == null) {
+                piece = createNetwork();
+                piece.setTruncated(network.isTruncated());
+                piece.setRestored(network.isRestored());
+                pieces[group] = piece;
+            }
+            CableNode node = nodes.get(pos);
+            node.network = piece;
+            network.cables.remove(pos);
+            network.removeTiers(node.sourceTier, node.consumerTier);
+            piece.cables.add(pos);
+            piece.addTiers(node.sourceTier, node.consumerTier);
+        });
+
+        boolean split = false;
+        for (EnergyNetwork piece : pieces) {
+            if (piece != null) {
+                piece.reshape();
+                split = true;
+            }
+        }
+        if (split) {
+            network.reshape();
+        }
+        return true;
+    }
+
+    private static int countActiveGroups(int[] parent, LongQueue[] queues) {
+        int active = 0;
+        for (int i = 0; i < parent.length; i++) {
+            if (find(parent, i) == i && !isExhausted(parent, queues, i)) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    private static boolean isExhausted(int[] parent, LongQueue[] queues, int root) {
+        for (int i = 0; i < parent.length; i++) {
+            if (find(parent, i) == root && !queues[i].isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int groupSize(int[] parent, int[] labelled, int root) {
+        int size = 0;
+        for (int i = 0; i < parent.length; i++) {
+            if (find(parent, i) == root) {
+                size += labelled[i];
+            }
+        }
+        return size;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        if (ra != rb) {
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+        }
+    }
+}
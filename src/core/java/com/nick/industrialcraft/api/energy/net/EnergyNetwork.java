@@ -0,0 +1,189 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.function.LongConsumer;
+
+/**
+ * One connected component of the energy-net graph.
+ *
+ * A network owns a set of cable positions. Machines are not stored here directly;
+ * they hang off the cables as machine faces (see {@link EnergyNetGraph#getMachineMask}).
+ *
+ * The version number changes whenever the network's cables or machine faces change,
+ * so anything derived from a network (consumer lists, per-source views) can be
+ * validated with a single int comparison instead of a rescan.
+ * The shape counter changes only when cables or their links change; background
+ * rebuilds use it to detect that their snapshot is out of date.
+ *
+ * The network also keeps running tier aggregates of the machines on its faces:
+ * how many cables face a source of each tier and a consumer of each tier.
+ * They are updated as cables and machines join and leave, so the highest source
+ * tier and lowest consumer tier are available in O(1) for overvoltage checks.
+ */
+public final class EnergyNetwork {
+
+    private final int id;
+    private int version;
+    private int shape;
+    private boolean removed;
+    private boolean truncated;
+    private boolean restored;
+
+    final LongHashSet cables = new LongHashSet();
+
+    // Cables whose highest facing source tier / lowest facing consumer tier is the index (0 unused)
+    private final int[] sourceTiers = new int[EnergyNetGraph.TIER_SLOTS];
+    private final int[] consumerTiers = new int[EnergyNetGraph.TIER_SLOTS];
+
+    // Flow counters, created when energy first moves through the network
+    FlowTelemetry telemetry;
+
+    // Contracted form, valid while contractedVersion matches version (see EnergyNetGraph#getContracted)
+    ContractedNetwork contracted;
+    int contractedVersion = -1;
+
+    EnergyNetwork(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Get the current topology version. Bumped on every cable or machine face change.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * A removed network was merged into another one or lost its last cable.
+     * Holders of a removed network must look the position up again.
+     */
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    /**
+     * True if discovery hit Config.MAX_NETWORK_SIZE before the whole network was found.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * True if the network was loaded from saved data and has not been checked against the world yet.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Get the highest tier level of any source on this network (0 if none).
+     */
+    public int getMaxSourceTier() {
+        for (int tier = sourceTiers.length - 1; tier > 0; tier--) {
+            if (sourceTiers[tier] > 0) {
+                return tier;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get the lowest tier level of any consumer on this network (0 if none).
+     */
+    public int getMinConsumerTier() {
+        for (int tier = 1; tier < consumerTiers.length; tier++) {
+            if (consumerTiers[tier] > 0) {
+                return tier;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Get the flow counters of this network, creating them on first use.
+     * The largest piece of a split keeps them; a merge keeps the larger network's.
+     */
+    public FlowTelemetry getTelemetry() {
+        if (telemetry == null) {
+            telemetry = new FlowTelemetry();
+        }
+        return telemetry;
+    }
+
+    /**
+     * True if energy has moved through this network since it was created.
+     */
+    public boolean hasTelemetry() {
+        return telemetry != null;
+    }
+
+    public int getCableCount() {
+        return cables.size();
+    }
+
+    /**
+     * Visit the packed cable positions in this network (in no particular order).
+     */
+    public void forEachCable(LongConsumer action) {
+        cables.forEach(action);
+    }
+
+    /**
+     * Get the current cable shape. Bumped when cables are added, removed, relinked or relabelled.
+     */
+    public int getShape() {
+        return shape;
+    }
+
+    void touch() {
+        version++;
+    }
+
+    /**
+     * The cable set or its links changed (implies a version change).
+     */
+    void reshape() {
+        shape++;
+        version++;
+    }
+
+    void markRemoved() {
+        removed = true;
+        version++;
+    }
+
+    void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    void addTiers(int sourceTier, int consumerTier) {
+        sourceTiers[sourceTier]++;
+        consumerTiers[consumerTier]++;
+    }
+
+    void removeTiers(int sourceTier, int consumerTier) {
+        sourceTiers[sourceTier]--;
+        consumerTiers[consumerTier]--;
+    }
+
+    void addAllTiers(EnergyNetwork other) {
+        for (int tier = 0; tier < sourceTiers.length; tier++) {
+            sourceTiers[tier] += other.sourceTiers[tier];
+            consumerTiers[tier] += other.consumerTiers[tier];
+        }
+    }
+
+    void setRestored(boolean restored) {
+        this.restored = restored;
+    }
+
+    /**
+     * Resume the version counter of a saved network, so version stamps survive a restart.
+     */
+    void restoreVersion(int version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,792 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * The energy phase of one level: distributes the energy of every emitter submitted
+ * during a tick at once, reading the world and the blocks through a {@link Host}.
+ *
+ * 1. Gather (owning thread) - emitters are sorted by position, so the result does not
+ *    depend on submission order. Their consumers are read from the source views and each
+ *    consumer's demand is probed once per tick, shared by every emitter that reaches it.
+ *    Storage calls scale with emitters + consumers instead of emitters x consumers.
+ * 2. Plan (read-only) - emitters that share no consumer are independent. They are
+ *    grouped and the groups are planned on a ForkJoinPool when the host provides one.
+ *    Within a group emitters keep position order, so plans are identical to serial mode.
+ * 3. Apply (owning thread) - planned transfers are committed in emitter order, then
+ *    overloaded cables melt and overvoltage consequences run once per endangered consumer.
+ *
+ * Consumers receive at most their probed demand per tick, across all emitters. Path loss,
+ * capacity and packet ceilings are read from the view in O(1) per transfer, so planning
+ * never calls into blocks. Flow figures go to the telemetry of the networks involved.
+ * Buffers are reused between ticks, so a steady-state phase allocates little.
+ * Not thread-safe: used from the owning (server) thread only.
+ *
+ * @param <E> Handle of a submitted emitter
+ * @param <M> Handle of a connected consumer (see {@link ConsumerWorld})
+ * @param <S> Energy storage of a consumer; demand is kept per storage identity
+ */
+public final class EnergyPhase<E, M, S> {
+
+    // Per-network cost is timed every this many ticks and scaled up, to keep clock reads off most ticks
+    private static final int COST_SAMPLE_TICKS = 10;
+
+    // Below this many emitter-consumer pairs the planning phase stays on the owning thread
+    private static final int PARALLEL_THRESHOLD = 512;
+
+    /**
+     * The world and the blocks of one level, as the energy phase sees them.
+     */
+    public interface Host<E, M, S> {
+
+        /**
+         * Get the view of an emitter's sides (see {@link NetworkCache#getView}), or null if none can be built.
+         */
+        SourceView<M> getView(long emitterPos, int sideMask);
+
+        /**
+         * Get the EU an emitter offers this tick, 0 if it has none or was removed.
+         */
+        int getBudget(E emitter);
+
+        int getPacketSize(E emitter);
+
+        /**
+         * True if the emitter sends whole packets while energy lasts rather than an equal share.
+         */
+        boolean emitsWholePackets(E emitter);
+
+        int getEmitSides(E emitter);
+
+        /**
+         * Get the sides energy arrives on; consumers also reached from them are skipped.
+         */
+        int getExcludedSides(E emitter);
+
+        /**
+         * Take delivered energy, loss included, out of the emitter.
+         */
+        void emit(E emitter, int amount);
+
+        S getStorage(M machine);
+
+        /**
+         * Get the EU a storage accepts this tick, without changing it.
+         */
+        int probe(S storage);
+
+        /**
+         * Insert energy into a storage.
+         *
+         * @return the EU it took
+         */
+        int receive(S storage, int amount);
+
+        /**
+         * True if the consumer emits again (storage, transformers); what it takes counts as buffered.
+         */
+        boolean buffers(M machine);
+
+        /**
+         * A packet exceeded the capacity of a path; its weakest cable melts. Called once per cable per tick.
+         */
+        void meltCable(long cablePos, SourceView<M> view, int packetSize);
+
+        /**
+         * An emitter's packets exceed a consumer's tier. Called once per consumer per tick,
+         * for the first emitter that endangered it.
+         */
+        void overvoltage(E emitter, M machine, long machinePos, SourceView<M> view, int packetSize);
+
+        /**
+         * An emitter with a view is about to offer its budget (trace and journal hook).
+         */
+        default void onEmit(long emitterPos, E emitter, SourceView<M> view, int budget, int packetSize,
+                            boolean wholePackets, boolean partialPackets) {}
+
+        /**
+         * A consumer of a view was probed for an emitter (journal hook).
+         */
+        default void onOffer(SourceView<M> view, int consumer, int probed) {}
+    }
+
+    /**
+     * Demand of one consumer storage, probed once per tick and consumed by planned transfers.
+     */
+    private static final class Demand<S> {
+        S storage;
+        int remaining;
+        int probed;        // Demand at the start of the tick (telemetry)
+        boolean buffers;   // The consumer emits again (storage, transformers)
+        int owner;  // First emitter that reached this consumer (for grouping)
+        EnergyNetwork network;  // The owner's path network to this consumer (telemetry), or null
+    }
+
+    /**
+     * One submitted emitter: gathered inputs plus its planned transfers.
+     */
+    private static final class Emission<E, M, S> implements TransferPlanner.Target {
+        long pos;
+        E emitter;
+
+        // Gathered on the owning thread
+        int budget;
+        int packetSize;
+        boolean wholePackets;
+        boolean partialPackets;  // A budget below one packet still goes out as one smaller packet
+        SourceView<M> view;
+        List<M> consumers = Collections.emptyList();
+        Demand<S>[] demands = newDemands(8);  // Aligned with consumers, null = excluded
+
+        // Planned transfers and endangered consumers
+        Demand<S>[] receivers = newDemands(8);
+        int[] amounts = new int[8];  // Delivered to the consumer
+        int[] losses = new int[8];   // Lost on the way (paid by the emitter on top)
+        int[] targets = new int[8];  // Consumer index of each transfer
+        int transferCount;
+        LongQueue overvoltages = new LongQueue();  // Consumers whose tier our packets exceed
+        LongQueue overloads = new LongQueue();  // Consumers whose path capacity our packets exceed
+        long costNanos;  // Time spent on this emitter, on timed ticks only
+
+        void reset() {
+            emitter = null;
+            view = null;
+            consumers = Collections.emptyList();
+            Arrays.fill(demands, null);
+            Arrays.fill(receivers, 0, transferCount, null);
+            transferCount = 0;
+            overvoltages.clear();
+            overloads.clear();
+            costNanos = 0;
+        }
+
+        @Override
+        public int getConsumerCount() {
+            return consumers.size();
+        }
+
+        @Override
+        public int getRemaining(int consumer) {
+            Demand<S> demand = demands[consumer];
+            return demand != null ? demand.remaining : 0;
+        }
+
+        @Override
+        public int getLoss(int consumer) {
+            return view.getLoss(consumer);
+        }
+
+        @Override
+        public int getCapacity(int consumer) {
+            return view.getCapacity(consumer);
+        }
+
+        @Override
+        public int getPacketCeiling(int consumer) {
+            return view.getPacketCeiling(consumer);
+        }
+
+        @Override
+        public void exclude(int consumer) {
+            demands[consumer] = null;
+        }
+
+        @Override
+        public void overload(int consumer) {
+            overloads.add(consumer);
+            demands[consumer] = null;
+        }
+
+        @Override
+        public void overvoltage(int consumer) {
+            overvoltages.add(consumer);
+            demands[consumer] = null;
+        }
+
+        /**
+         * Plan a transfer of {@code amount} EU from the emitter, of which {@code loss} EU
+         * are lost in the cables. Nothing is planned unless some energy arrives.
+         *
+         * @return the energy taken from the emitter's budget
+         */
+        @Override
+        public int transfer(int consumer, int amount, int loss) {
+            int delivered = amount - loss;
+            if (delivered <= 0) {
+                return 0;
+            }
+            if (transferCount == amounts.length) {
+                receivers = Arrays.copyOf(receivers, transferCount * 2);
+                amounts = Arrays.copyOf(amounts, transferCount * 2);
+                losses = Arrays.copyOf(losses, transferCount * 2);
+                targets = Arrays.copyOf(targets, transferCount * 2);
+            }
+            Demand<S> demand = demands[consumer];
+            receivers[transferCount] = demand;
+            amounts[transferCount] = delivered;
+            losses[transferCount] = loss;
+            targets[transferCount] = consumer;
+            transferCount++;
+            demand.remaining -= delivered;
+            return amount;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static <S> Demand<S>[] newDemands(int size) {
+            return (Demand<S>[]) new Demand[size];
+        }
+    }
+
+    private static final Comparator<Emission<?, ?, ?>> POSITION_ORDER = Comparator.comparingLong(e -> e.pos);
+
+    private final Host<E, M, S> host;
+    private Supplier<ForkJoinPool> planningPool = () -> null;
+    private boolean packetEmission;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Emission<E, M, S>[] emissions = (Emission<E, M, S>[]) new Emission[16];
+    private int count;
+
+    // Consumer demand, keyed by storage identity (a machine may be reached by many emitters)
+    private final Map<S, Demand<S>> demands = new IdentityHashMap<>();
+    private final List<Demand<S>> demandPool = new ArrayList<>();
+    private int demandsUsed;
+
+    // Independent groups: members of group g are groupMembers[groupStart[g] .. groupStart[g + 1])
+    private int[] parent = new int[16];
+    private int[] groupStart = new int[17];
+    private int[] groupMembers = new int[16];
+    private int[] groupSizes = new int[16];
+    private int[] rootGroup = new int[16];
+    private int[] groupFill = new int[16];
+    private int groupCount;
+
+    // Cables melted and consumers endangered this tick, each handled once
+    private final LongHashSet melted = new LongHashSet();
+    private final LongHashSet endangered = new LongHashSet();
+
+    // Whether this tick measures per-network cost (see COST_SAMPLE_TICKS)
+    private boolean timed;
+
+    // Statistics of the last run
+    private int lastEmitters;
+    private int lastGroups;
+    private boolean lastParallel;
+    private int lastProbes;
+    private int lastTransfers;
+    private int lastOvervoltages;
+    private int lastMelted;
+    private long lastDelivered;
+    private long lastLost;
+    private long lastPlanNanos;
+    private long lastPhaseNanos;
+    // Sum of all runs, for tick-cost measurements
+    private long totalPhaseNanos;
+
+    public EnergyPhase(Host<E, M, S> host) {
+        this.host = host;
+    }
+
+    // ========== Settings ==========
+
+    /**
+     * Set where groups are planned in parallel: the supplier is asked once per run that has
+     * enough work, and may return null to plan on the owning thread.
+     */
+    public void setPlanningPool(Supplier<ForkJoinPool> planningPool) {
+        this.planningPool = planningPool;
+    }
+
+    /**
+     * Make every emitter send whole packets in turn, as whole-packet emitters always do.
+     */
+    public void setPacketEmission(boolean packetEmission) {
+        this.packetEmission = packetEmission;
+    }
+
+    // ========== Phase ==========
+
+    /**
+     * Submit an emitter for the next run. Emitters submitted twice are distributed once.
+     */
+    public void add(long pos, E emitter) {
+        if (count == emissions.length) {
+            emissions = Arrays.copyOf(emissions, count * 2);
+        }
+        Emission<E, M, S> emission = emissions[count];
+        if (emission == null) {
+            emission = new Emission<>();
+            emissions[count] = emission;
+        }
+        emission.pos = pos;
+        emission.emitter = emitter;
+        count++;
+    }
+
+    /**
+     * Get the number of emitters submitted since the last run.
+     */
+    public int getPending() {
+        return count;
+    }
+
+    /**
+     * Distribute the energy of every submitted emitter, then forget the submissions.
+     *
+     * @param gameTime The current game tick (telemetry)
+     */
+    public void run(long gameTime) {
+        long start = System.nanoTime();
+        timed = gameTime % COST_SAMPLE_TICKS == 0;
+
+        // Position order makes the result independent of submission order
+        Arrays.sort(emissions, 0, count, POSITION_ORDER);
+        dropDuplicates();
+
+        int pairs = 0;
+        for (int i = 0; i < count; i++) {
+            long gatherStart = timed ? System.nanoTime() : 0;
+            pairs += gather(i);
+            if (timed) {
+                emissions[i].costNanos += System.nanoTime() - gatherStart;
+            }
+        }
+
+        group();
+
+        long planStart = System.nanoTime();
+        ForkJoinPool pool = groupCount > 1 && pairs >= PARALLEL_THRESHOLD ? planningPool.get() : null;
+        if (pool != null) {
+            pool.invoke(new PlanTask(this, 0, groupCount));
+        } else {
+            for (int g = 0; g < groupCount; g++) {
+                planGroup(g);
+            }
+        }
+        lastPlanNanos = System.nanoTime() - planStart;
+        lastParallel = pool != null;
+
+        lastEmitters = count;
+        lastGroups = groupCount;
+        lastProbes = demandsUsed;
+        apply(gameTime);
+
+        // Release references to blocks until the next tick
+        for (int i = 0; i < count; i++) {
+            emissions[i].reset();
+        }
+        count = 0;
+        for (int i = 0; i < demandsUsed; i++) {
+            demandPool.get(i).storage = null;
+            demandPool.get(i).network = null;
+        }
+        demandsUsed = 0;
+        demands.clear();
+
+        lastPhaseNanos = System.nanoTime() - start;
+        totalPhaseNanos += lastPhaseNanos;
+    }
+
+    /**
+     * Remove emitters that were submitted twice this tick (neighbours after sorting).
+     */
+    private void dropDuplicates() {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            Emission<E, M, S> emission = emissions[i];
+            if (kept > 0 && emissions[kept - 1].emitter == emission.emitter) {
+                emission.reset();
+                continue;
+            }
+            emissions[i] = emissions[kept];
+            emissions[kept++] = emission;
+        }
+        count = kept;
+    }
+
+    /**
+     * Read an emitter's consumers and their demand. Runs on the owning thread.
+     *
+     * @return the number of consumers to plan for
+     */
+    private int gather(int index) {
+        Emission<E, M, S> emission = emissions[index];
+        E emitter = emission.emitter;
+        emission.budget = host.getBudget(emitter);
+        if (emission.budget <= 0) {
+            return 0;
+        }
+        boolean ownPackets = host.emitsWholePackets(emitter);
+        emission.packetSize = host.getPacketSize(emitter);
+        emission.wholePackets = ownPackets || packetEmission;
+        emission.partialPackets = !ownPackets;
+
+        SourceView<M> view = host.getView(emission.pos, host.getEmitSides(emitter));
+        if (view == null) {
+            return 0;
+        }
+        emission.view = view;  // Kept without consumers too: the offer still counts in telemetry
+        host.onEmit(emission.pos, emitter, view, emission.budget, emission.packetSize,
+            emission.wholePackets, emission.partialPackets);
+        if (view.machines().isEmpty()) {
+            return 0;
+        }
+        List<M> consumers = view.machines();
+        emission.consumers = consumers;
+
+        // Machines reachable from the input side must not get energy back
+        long[] excluded = null;
+        int excludedSides = host.getExcludedSides(emitter);
+        if (excludedSides != 0) {
+            SourceView<M> input = host.getView(emission.pos, excludedSides);
+            if (input != null && !input.machines().isEmpty()) {
+                excluded = view.exclusionsFrom(input);
+            }
+        }
+
+        if (emission.demands.length < consumers.size()) {
+            emission.demands = Emission.newDemands(consumers.size());
+        }
+        int planned = 0;
+        for (int i = 0; i < consumers.size(); i++) {
+            if (excluded != null && SourceView.isExcluded(excluded, i)) {
+                continue;
+            }
+            Demand<S> demand = demandOf(consumers.get(i), index, view.getPathNetwork(i));
+            emission.demands[i] = demand;
+            host.onOffer(view, i, demand.probed);
+            planned++;
+        }
+        return planned;
+    }
+
+    /**
+     * Group emitters that share a consumer (union-find over first owners).
+     * Groups list their members in emitter order.
+     */
+    private void group() {
+        if (parent.length < count) {
+            parent = new int[count];
+            groupMembers = new int[count];
+            groupSizes = new int[count];
+            rootGroup = new int[count];
+            groupFill = new int[count];
+            groupStart = new int[count + 1];
+        }
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < count; i++) {
+            Emission<E, M, S> emission = emissions[i];
+            for (int c = 0; c < emission.consumers.size(); c++) {
+                Demand<S> demand = emission.demands[c];
+                if (demand != null && demand.owner != i) {
+                    union(demand.owner, i);
+                }
+            }
+        }
+
+        // Counting sort by root; roots are the lowest member, so groups come out in emitter order
+        groupCount = 0;
+        int[] groupOf = groupMembers;  // Reused as scratch for root -> group id
+        Arrays.fill(groupOf, 0, count, -1);
+        int[] sizes = groupSizes;
+        Arrays.fill(sizes, 0, count, 0);
+        for (int i = 0; i < count; i++) {
+            int root = find(i);
+            if (groupOf[root] < 0) {
+                groupOf[root] = groupCount++;
+            }
+            sizes[groupOf[root]]++;
+        }
+        groupStart[0] = 0;
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] = groupStart[g] + sizes[g];
+        }
+        for (int i = 0; i < count; i++) {
+            rootGroup[i] = groupOf[find(i)];
+        }
+        int[] fill = groupFill;
+        System.arraycopy(groupStart, 0, fill, 0, groupCount);
+        for (int i = 0; i < count; i++) {
+            groupMembers[fill[rootGroup[i]]++] = i;
+        }
+    }
+
+    /**
+     * Plan the emitters of one group against the demand left by earlier emitters of the group.
+     * Read-only apart from the group's own demands, so groups can be planned concurrently.
+     */
+    private void planGroup(int group) {
+        for (int m = groupStart[group]; m < groupStart[group + 1]; m++) {
+            Emission<E, M, S> emission = emissions[groupMembers[m]];
+            long planStart = timed ? System.nanoTime() : 0;
+            TransferPlanner.plan(emission, emission.budget, emission.packetSize,
+                emission.wholePackets, emission.partialPackets);
+            if (timed) {
+                emission.costNanos += System.nanoTime() - planStart;
+            }
+        }
+    }
+
+    /**
+     * Commit all planned transfers in emitter order, then melt overloaded cables
+     * and apply overvoltage consequences.
+     */
+    private void apply(long gameTime) {
+        long delivered = 0;
+        long lost = 0;
+        int transfers = 0;
+        for (int i = 0; i < count; i++) {
+            Emission<E, M, S> emission = emissions[i];
+            long applyStart = timed ? System.nanoTime() : 0;
+            long emitted = 0;
+            for (int t = 0; t < emission.transferCount; t++) {
+                int amount = emission.amounts[t];
+                Demand<S> receiver = emission.receivers[t];
+                int received = host.receive(receiver.storage, amount);
+                if (received > 0) {
+                    // The emitter pays the cable loss on top of what arrived, in proportion
+                    // when the consumer took less than planned
+                    int loss = received >= amount ? emission.losses[t]
+                        : (int) ((long) emission.losses[t] * received / amount);
+                    host.emit(emission.emitter, received + loss);
+                    delivered += received;
+                    lost += loss;
+                    emitted += received + loss;
+                    FlowTelemetry telemetry = telemetryOf(emission.view.getPathNetwork(emission.targets[t]));
+                    if (telemetry != null) {
+                        telemetry.add(gameTime, FlowTelemetry.GENERATED, received + loss);
+                        telemetry.add(gameTime, FlowTelemetry.DELIVERED, received);
+                        telemetry.add(gameTime, FlowTelemetry.CABLE_LOSS, loss);
+                        if (receiver.buffers) {
+                            telemetry.add(gameTime, FlowTelemetry.BUFFERED, received);
+                        }
+                    }
+                }
+            }
+            FlowTelemetry telemetry = telemetryOf(emission);
+            if (telemetry != null) {
+                long refused = Math.max(0, emission.budget - emitted);
+                telemetry.add(gameTime, FlowTelemetry.GENERATED, refused);
+                telemetry.add(gameTime, FlowTelemetry.REFUSED, refused);
+                if (timed) {
+                    long cost = emission.costNanos + System.nanoTime() - applyStart;
+                    telemetry.add(gameTime, FlowTelemetry.COST_NANOS, cost * COST_SAMPLE_TICKS);
+                }
+            }
+            transfers += emission.transferCount;
+        }
+        for (int i = 0; i < demandsUsed; i++) {
+            Demand<S> demand = demandPool.get(i);
+            FlowTelemetry telemetry = telemetryOf(demand.network);
+            if (telemetry != null) {
+                telemetry.add(gameTime, FlowTelemetry.DEMANDED, demand.probed);
+            }
+        }
+        lastTransfers = transfers;
+        lastDelivered = delivered;
+        lastLost = lost;
+
+        // Each overloaded cable melts once, even if several emitters exceeded it
+        if (!melted.isEmpty()) {
+            melted.clear();
+        }
+        for (int i = 0; i < count; i++) {
+            Emission<E, M, S> emission = emissions[i];
+            LongQueue overloads = emission.overloads;
+            while (!overloads.isEmpty()) {
+                int consumer = (int) overloads.poll();
+                long cablePos = emission.view.getWeakestCable(consumer);
+                if (melted.add(cablePos)) {
+                    addTelemetry(emission.view.getPathNetwork(consumer), gameTime, FlowTelemetry.OVERVOLTAGE,
+                        emission.packetSize);
+                    host.meltCable(cablePos, emission.view, emission.packetSize);
+                }
+            }
+        }
+        lastMelted = melted.size();
+
+        // One consequence per endangered machine, attributed to the first emitter that hit it
+        if (!endangered.isEmpty()) {
+            endangered.clear();
+        }
+        for (int i = 0; i < count; i++) {
+            Emission<E, M, S> emission = emissions[i];
+            LongQueue overvoltages = emission.overvoltages;
+            while (!overvoltages.isEmpty()) {
+                int consumer = (int) overvoltages.poll();
+                long machinePos = emission.view.getMachinePos(consumer);
+                if (endangered.add(machinePos)) {
+                    addTelemetry(emission.view.getPathNetwork(consumer), gameTime, FlowTelemetry.OVERVOLTAGE,
+                        emission.packetSize);
+                    host.overvoltage(emission.emitter, emission.consumers.get(consumer), machinePos,
+                        emission.view, emission.packetSize);
+                }
+            }
+        }
+        lastOvervoltages = endangered.size();
+    }
+
+    /**
+     * Flow counters an emitter's own figures go to: the first network of its view.
+     * What it sends is counted on the network of each consumer's path instead, so every
+     * network keeps GENERATED - REFUSED = DELIVERED + CABLE_LOSS. Emitters touching
+     * consumers only directly have none.
+     */
+    private static FlowTelemetry telemetryOf(Emission<?, ?, ?> emission) {
+        if (emission.view == null || emission.budget <= 0 || emission.view.networks().isEmpty()) {
+            return null;
+        }
+        return emission.view.networks().get(0).getTelemetry();
+    }
+
+    private static FlowTelemetry telemetryOf(EnergyNetwork network) {
+        return network != null ? network.getTelemetry() : null;
+    }
+
+    private static void addTelemetry(EnergyNetwork network, long gameTime, int metric, long amount) {
+        FlowTelemetry telemetry = telemetryOf(network);
+        if (telemetry != null) {
+            telemetry.add(gameTime, metric, amount);
+        }
+    }
+
+    /**
+     * Get the demand of a consumer, probing its storage on first use this tick.
+     */
+    private Demand<S> demandOf(M machine, int emitterIndex, EnergyNetwork network) {
+        S storage = host.getStorage(machine);
+        Demand<S> demand = demands.get(storage);
+        if (demand != null) {
+            return demand;
+        }
+
+        if (demandsUsed == demandPool.size()) {
+            demandPool.add(new Demand<>());
+        }
+        demand = demandPool.get(demandsUsed++);
+        demand.storage = storage;
+        demand.owner = emitterIndex;
+        demand.network = network;
+        demand.remaining = host.probe(storage);
+        demand.probed = demand.remaining;
+        demand.buffers = host.buffers(machine);
+        demands.put(storage, demand);
+        return demand;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            parent[Math.max(ra, rb)] = Math.min(ra, rb);
+        }
+    }
+
+    // ========== Statistics ==========
+
+    public int getLastEmitters() {
+        return lastEmitters;
+    }
+
+    public int getLastGroups() {
+        return lastGroups;
+    }
+
+    /**
+     * True if the last run planned its groups on the planning pool.
+     */
+    public boolean wasLastParallel() {
+        return lastParallel;
+    }
+
+    /**
+     * Get the number of consumer storages probed in the last run.
+     */
+    public int getLastProbes() {
+        return lastProbes;
+    }
+
+    public int getLastTransfers() {
+        return lastTransfers;
+    }
+
+    public int getLastOvervoltages() {
+        return lastOvervoltages;
+    }
+
+    public int getLastMelted() {
+        return lastMelted;
+    }
+
+    public long getLastDelivered() {
+        return lastDelivered;
+    }
+
+    public long getLastLost() {
+        return lastLost;
+    }
+
+    public long getLastPlanNanos() {
+        return lastPlanNanos;
+    }
+
+    public long getLastPhaseNanos() {
+        return lastPhaseNanos;
+    }
+
+    /**
+     * Get the wall time of all runs so far, in nanoseconds.
+     */
+    public long getTotalPhaseNanos() {
+        return totalPhaseNanos;
+    }
+
+    /**
+     * Plans a range of groups, splitting the range until it is small enough.
+     */
+    @SuppressWarnings("serial")
+    private static final class PlanTask extends RecursiveAction {
+        private static final int GROUPS_PER_TASK = 4;
+
+        private final EnergyPhase<?, ?, ?> phase;
+        private final int from;
+        private final int to;
+
+        PlanTask(EnergyPhase<?, ?, ?> phase, int from, int to) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= GROUPS_PER_TASK) {
+                for (int g = from; g < to; g++) {
+                    phase.planGroup(g);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PlanTask(phase, from, mid), new PlanTask(phase, mid, to));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * Read access to the blocks an energy net is built from.
+ *
+ * {@link NetworkDiscovery} reads the world only through this interface, so the same
+ * traversal runs against a game level (through the mod's adapter) or against a
+ * synthetic world in tests, benchmarks and replays. Positions are packed (see
+ * {@link PackedPos}); implementations are used from one thread at a time.
+ */
+public interface EnergyWorld {
+
+    /** Cable type id of a block that is not a cable. */
+    int NO_CABLE = -1;
+
+    /**
+     * Whether the block at a position can be read. Unloaded neighbours become
+     * boundary stubs instead of being treated as missing.
+     */
+    boolean isLoaded(long pos);
+
+    /**
+     * Get the cable type id at a loaded position (see CableType), or {@link #NO_CABLE}.
+     */
+    int getCableType(long pos);
+
+    /**
+     * Get the sides a cable at a loaded position connects on, to cables and machines.
+     */
+    int getConnectionMask(long pos);
+
+    /**
+     * Get the tier of the energy source at a loaded position, or 0 if the block is
+     * not a tiered source. Transformers report 0: they are checked per side.
+     */
+    int getSourceTier(long pos);
+
+    /**
+     * Get the tier of the energy consumer at a loaded position, or 0 if the block is
+     * not a tiered consumer. Transformers report 0: they are checked per side.
+     */
+    int getConsumerTier(long pos);
+}
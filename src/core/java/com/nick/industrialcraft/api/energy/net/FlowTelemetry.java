@@ -0,0 +1,151 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.Arrays;
+
+/**
+ * Energy flow and cost counters of one network over rolling 1 s, 1 min and 10 min windows.
+ *
+ * Amounts are added to the current tick. When time moves on, finished ticks roll
+ * into a ring of 20 tick buckets (1 s), finished seconds into a ring of 60 second
+ * buckets (1 min) and finished ten-second spans into a ring of 60 buckets (10 min).
+ * Each window keeps a running sum, so adding and reading are O(1) and allocation-free.
+ * Time only advances when the telemetry is used: an idle network catches up, with
+ * empty ticks, on its next update or read.
+ */
+public final class FlowTelemetry {
+
+    /**
+     * EU/t offered to the network: what emitters sent to consumers whose path runs through it,
+     * plus what emitters whose first network it is kept for lack of demand.
+     */
+    public static final int GENERATED = 0;
+    /** EU/t that arrived at consumers. */
+    public static final int DELIVERED = 1;
+    /** Part of DELIVERED that went into blocks which emit again (storage, transformers). */
+    public static final int BUFFERED = 2;
+    /** EU/t offered but left in the emitters whose first network this is, for lack of demand. */
+    public static final int REFUSED = 3;
+    /** EU/t lost in the cables. */
+    public static final int CABLE_LOSS = 4;
+    /** EU/t of packets that caused overvoltage or melted a cable instead of being delivered. */
+    public static final int OVERVOLTAGE = 5;
+    /** EU/t the consumers asked for. */
+    public static final int DEMANDED = 6;
+    /** Nanoseconds per tick the energy phase spends on the network's emitters (sampled). */
+    public static final int COST_NANOS = 7;
+    public static final int METRICS = 8;
+
+    public static final int SECOND = 0;
+    public static final int MINUTE = 1;
+    public static final int TEN_MINUTES = 2;
+    public static final int WINDOWS = 3;
+
+    private static final int TICKS_PER_SECOND = 20;
+    private static final int SECONDS_PER_SPAN = 10;
+    private static final int BUCKETS = 60;
+    private static final int WINDOW_TICKS = BUCKETS * SECONDS_PER_SPAN * TICKS_PER_SECOND;
+
+    private final long[] current = new long[METRICS];
+    private final long[] ticks = new long[METRICS * TICKS_PER_SECOND];
+    private final long[] seconds = new long[METRICS * BUCKETS];
+    private final long[] spans = new long[METRICS * BUCKETS];
+    private final long[] secondAccumulator = new long[METRICS];
+    private final long[] spanAccumulator = new long[METRICS];
+    private final long[] sums = new long[METRICS * WINDOWS];
+
+    private long now = Long.MIN_VALUE;  // Tick the current counters belong to
+    private long elapsed;               // Ticks finished since the telemetry started
+
+    /**
+     * Add an amount to a metric for the given game tick.
+     */
+    public void add(long gameTime, int metric, long amount) {
+        advanceTo(gameTime);
+        current[metric] += amount;
+    }
+
+    /**
+     * Get the average of a metric per tick over a window, counting only finished ticks.
+     *
+     * @param gameTime The current game tick, which is not finished yet
+     */
+    public double average(long gameTime, int metric, int window) {
+        advanceTo(gameTime);
+        long covered = switch (window) {
+            case SECOND -> Math.min(elapsed, TICKS_PER_SECOND);
+            case MINUTE -> Math.min(elapsed / TICKS_PER_SECOND, BUCKETS) * TICKS_PER_SECOND;
+            default -> Math.min(elapsed / (SECONDS_PER_SPAN * TICKS_PER_SECOND), BUCKETS)
+                * SECONDS_PER_SPAN * TICKS_PER_SECOND;
+        };
+        return covered > 0 ? (double) sums[window * METRICS + metric] / covered : 0;
+    }
+
+    private void advanceTo(long gameTime) {
+        if (now == Long.MIN_VALUE) {
+            now = gameTime;
+            return;
+        }
+        if (gameTime <= now) {
+            return;
+        }
+        long gap = gameTime - now;
+        if (gap > WINDOW_TICKS + TICKS_PER_SECOND * SECONDS_PER_SPAN) {
+            // Idle for longer than every window: nothing recent is left to count
+            clearHistory();
+            elapsed += gap;
+            now = gameTime;
+            return;
+        }
+        for (long t = 0; t < gap; t++) {
+            finishTick();
+        }
+        now = gameTime;
+    }
+
+    private void finishTick() {
+        int tickIndex = (int) (elapsed % TICKS_PER_SECOND);
+        for (int m = 0; m < METRICS; m++) {
+            long amount = current[m];
+            int bucket = m * TICKS_PER_SECOND + tickIndex;
+            sums[SECOND * METRICS + m] += amount - ticks[bucket];
+            ticks[bucket] = amount;
+            secondAccumulator[m] += amount;
+            current[m] = 0;
+        }
+        elapsed++;
+
+        if (elapsed % TICKS_PER_SECOND == 0) {
+            int secondIndex = (int) ((elapsed / TICKS_PER_SECOND - 1) % BUCKETS);
+            for (int m = 0; m < METRICS; m++) {
+                long amount = secondAccumulator[m];
+                int bucket = m * BUCKETS + secondIndex;
+                sums[MINUTE * METRICS + m] += amount - seconds[bucket];
+                seconds[bucket] = amount;
+                spanAccumulator[m] += amount;
+                secondAccumulator[m] = 0;
+            }
+
+            long spanTicks = SECONDS_PER_SPAN * TICKS_PER_SECOND;
+            if (elapsed % spanTicks == 0) {
+                int spanIndex = (int) ((elapsed / spanTicks - 1) % BUCKETS);
+                for (int m = 0; m < METRICS; m++) {
+                    long amount = spanAccumulator[m];
+                    int bucket = m * BUCKETS + spanIndex;
+                    sums[TEN_MINUTES * METRICS + m] += amount - spans[bucket];
+                    spans[bucket] = amount;
+                    spanAccumulator[m] = 0;
+                }
+            }
+        }
+    }
+
+    private void clearHistory() {
+        Arrays.fill(current, 0);
+        Arrays.fill(ticks, 0);
+        Arrays.fill(seconds, 0);
+        Arrays.fill(spans, 0);
+        Arrays.fill(secondAccumulator, 0);
+        Arrays.fill(spanAccumulator, 0);
+        Arrays.fill(sums, 0);
+    }
+}
@@ -0,0 +1,185 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing hash set of packed positions (see {@link PackedPos}).
+ *
+ * Keys are stored as primitive longs, so adds and lookups never box.
+ * Uses linear probing with backward-shift deletion. Slot value 0 marks a free slot;
+ * the key 0 itself (position 0, 0, 0) is tracked by a separate flag.
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return containsZero;
+        }
+        int slot = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Add a key.
+     *
+     * @return true if the key was not present before
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > (mask + 1) * 3 / 4) {
+            rehash((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    public void addAll(LongHashSet other) {
+        if (other.containsZero) {
+            add(0);
+        }
+        for (long key : other.keys) {
+            if (key != 0) {
+                add(key);
+            }
+        }
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @return true if the key was present
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int slot = LongObjectMap.hash(key) & mask;
+        long current;
+        while ((current = keys[slot]) != key) {
+            if (current == 0) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        size--;
+
+        // Backward-shift deletion: pull later entries of the probe run into the gap
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while ((current = keys[next]) != 0) {
+            int home = LongObjectMap.hash(current) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = current;
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = 0;
+        return true;
+    }
+
+    public void forEach(LongConsumer action) {
+        if (containsZero) {
+            action.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Copy the keys into a new array (in no particular order).
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int i = 0;
+        if (containsZero) {
+            result[i++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        containsZero = false;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        keys = new long[capacity];
+        mask = capacity - 1;
+        for (long key : oldKeys) {
+            if (key != 0) {
+                int slot = LongObjectMap.hash(key) & mask;
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multimap keyed by packed positions (see {@link PackedPos}).
+ *
+ * Used as a reverse spatial index: position -> cache entries that depend on it,
+ * so invalidating a position only touches the entries registered there.
+ * Most keys hold one or two values, so buckets start small.
+ */
+public final class LongMultimap<V> {
+
+    private final Map<Long, List<V>> buckets = new HashMap<>();
+    private int size;
+
+    public void put(long key, V value) {
+        buckets.computeIfAbsent(key, k -> new ArrayList<>(2)).add(value);
+        size++;
+    }
+
+    /**
+     * Remove one occurrence of a value from a key.
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(long key, V value) {
+        List<V> bucket = buckets.get(key);
+        if (bucket == null || !bucket.remove(value)) {
+            return false;
+        }
+        size--;
+        if (bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Get the values registered at a key (read-only, empty if none).
+     */
+    public List<V> get(long key) {
+        List<V> bucket = buckets.get(key);
+        return bucket != null ? Collections.unmodifiableList(bucket) : Collections.emptyList();
+    }
+
+    /**
+     * Remove and return every value registered at a key.
+     */
+    public List<V> removeAll(long key) {
+        List<V> bucket = buckets.remove(key);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        size -= bucket.size();
+        return bucket;
+    }
+
+    public boolean containsKey(long key) {
+        return buckets.containsKey(key);
+    }
+
+    public int keyCount() {
+        return buckets.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        buckets.clear();
+        size = 0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * Growable FIFO ring buffer of packed positions (see {@link PackedPos}).
+ *
+ * Used as the BFS frontier of network traversals: enqueueing never boxes,
+ * and a cleared queue keeps its buffer for the next traversal.
+ */
+public final class LongQueue {
+
+    private long[] elements;
+    private int head;
+    private int size;
+
+    public LongQueue() {
+        this(16);
+    }
+
+    public LongQueue(int initialCapacity) {
+        int capacity = 16;
+        while (capacity < initialCapacity) {
+            capacity <<= 1;
+        }
+        elements = new long[capacity];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            grow();
+        }
+        elements[(head + size) & (elements.length - 1)] = value;
+        size++;
+    }
+
+    /**
+     * Remove and return the oldest element. The queue must not be empty.
+     */
+    public long poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        long value = elements[head];
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    private void grow() {
+        long[] grown = new long[elements.length << 1];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, head);
+        elements = grown;
+        head = 0;
+    }
+}
@@ -0,0 +1,927 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The energy net of one level: its graph, the consumers of each network and the
+ * per-source views built from them, read from the world through a {@link ConsumerWorld}.
+ *
+ * - Block changes are queued by {@link #invalidate} and applied by {@link #flush} before
+ *   the next query, once neighbouring cables have updated their connection states
+ * - Consumer lists are resolved once per network version and shared by every source on it
+ * - Per-source views are validated with network version stamps; a reverse index (packed
+ *   position -> views) means a change only touches the views sourced at or facing it
+ * - With energy loss enabled, a view carries the lowest path loss to every consumer, from
+ *   one Dijkstra pass per adjacent network when the view is built. With cable capacity
+ *   enabled it also carries the bottleneck capacity of the widest path and its weakest cable
+ * - Restored networks (see {@link #restore}) are checked against the world once, just
+ *   before they are first used
+ * - Traversals never read an unloaded position. Where a tracked block faces an unloaded
+ *   chunk a boundary stub is recorded; {@link #reconnectStubs} queues the stubs when the
+ *   chunk loads, so networks merge across the border again
+ *
+ * In steady state {@link #getView} is a primitive map lookup plus one version check per
+ * adjacent network and returns the cached view without allocating.
+ * Not thread-safe: used from the owning (server) thread only.
+ *
+ * @param <M> Handle of a connected consumer (see {@link ConsumerWorld})
+ */
+public final class NetworkCache<M> {
+
+    // The old fixed expiry interval, used to count how many rescans event-driven validity avoided
+    private static final int LEGACY_EXPIRY_TICKS = 100;
+
+    private static final Listener NO_LISTENER = new Listener() {};
+
+    /**
+     * Receives what the cache does, for logging, tracing and journaling. Called on the owning thread.
+     */
+    public interface Listener {
+
+        /** A queued position is about to be re-read from the world. */
+        default void onChange(long pos) {}
+
+        /** Queued changes were applied to the graph. */
+        default void onFlush(int changed) {}
+
+        /** Discovery walked the world from a cable (first use, or a re-read that reached new cables). */
+        default void onDiscovery(long start, EnergyNetwork network, int cables, int junctions, boolean truncated) {}
+
+        /** The consumers of a network were resolved for its current version. */
+        default void onResolved(EnergyNetwork network, ContractedNetwork contracted, int consumers) {}
+
+        /** A view was built and cached. */
+        default void onViewBuilt(SourceView<?> view) {}
+    }
+
+    /**
+     * Validity flag shared by the handles created for one resolved list or view.
+     * Released when they are dropped, so capability listeners can be let go.
+     */
+    public static final class Lease {
+        private volatile boolean live = true;
+
+        public boolean isLive() {
+            return live;
+        }
+
+        void release() {
+            live = false;
+        }
+    }
+
+    /**
+     * Consumers of one network, resolved at a given network version.
+     */
+    private record Resolved<M>(int version, List<M> consumers, long[] positions, Lease lease) {}
+
+    // Loss per cable block in milli-EU and capacity in EU/t, indexed by graph cable type id
+    private final long[] lossPerType;
+    private final long[] capacityPerType;
+
+    private final EnergyNetGraph graph = new EnergyNetGraph();
+    private final NetworkDiscovery discovery = new NetworkDiscovery(graph);
+    private final Map<EnergyNetwork, Resolved<M>> resolved = new IdentityHashMap<>();
+
+    // Queued changes in arrival order; the set keeps each position queued once
+    private final LongQueue pending = new LongQueue();
+    private final LongHashSet pendingSet = new LongHashSet();
+
+    // Packed source position -> the source's views (one per side mask, usually just one)
+    private final LongObjectMap<List<SourceView<M>>> views = new LongObjectMap<>();
+    private int viewCount;
+
+    // Reverse index: packed position -> views sourced at or facing that position
+    private final LongMultimap<SourceView<M>> viewIndex = new LongMultimap<>();
+
+    // Boundary stubs: packed chunk key -> tracked positions facing that unloaded chunk
+    private final LongObjectMap<LongHashSet> boundaryStubs = new LongObjectMap<>();
+    private int stubCount;
+    private long stubsReconnected;
+
+    private Listener listener = NO_LISTENER;
+    private int maxJunctions = Integer.MAX_VALUE;
+    private int maxCables = Integer.MAX_VALUE;
+    private boolean lossEnabled;
+    private boolean capacityEnabled;
+    private int expiryTicks;
+
+    private long rescansAvoided;
+    private long safetyNetRescans;
+    private int restoredNetworks;
+    private int verifiedNetworks;
+    private int droppedCables;
+
+    /**
+     * @param lossPerType Loss per cable block in milli-EU, indexed by cable type id
+     * @param capacityPerType Capacity per cable block in EU/t, indexed by cable type id
+     */
+    public NetworkCache(long[] lossPerType, long[] capacityPerType) {
+        this.lossPerType = lossPerType;
+        this.capacityPerType = capacityPerType;
+        // Resolved consumer lists die with their network
+        graph.setListener(network -> {
+            Resolved<M> old = resolved.remove(network);
+            if (old != null) {
+                old.lease().release();
+            }
+        });
+    }
+
+    // ========== Settings ==========
+
+    public void setListener(Listener listener) {
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    /**
+     * Limit discovery to {@code maxJunctions} junctions or {@code maxCables} cables per walk.
+     */
+    public void setLimits(int maxJunctions, int maxCables) {
+        this.maxJunctions = maxJunctions;
+        this.maxCables = maxCables;
+    }
+
+    /**
+     * Choose which path figures new views carry. Views built with other settings are rebuilt on next use.
+     */
+    public void setPathCosts(boolean lossEnabled, boolean capacityEnabled) {
+        this.lossEnabled = lossEnabled;
+        this.capacityEnabled = capacityEnabled;
+    }
+
+    /**
+     * Optional safety net: views older than this many ticks are rediscovered from the world (0 = never).
+     */
+    public void setExpiryTicks(int expiryTicks) {
+        this.expiryTicks = expiryTicks;
+    }
+
+    public EnergyNetGraph getGraph() {
+        return graph;
+    }
+
+    // ========== Changes ==========
+
+    /**
+     * Queue a position whose block changed: placed, removed, reconnected, or whose
+     * capability was invalidated. Applied on the next {@link #flush}.
+     */
+    public void invalidate(long pos) {
+        if (pendingSet.add(pos)) {
+            pending.add(pos);
+        }
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Apply queued block changes to the graph, then swap in finished background splits.
+     * Split networks get new versions, so views built on the old shape go stale by themselves.
+     * Positions queued while this runs are applied on the next flush.
+     */
+    public void flush(EnergyWorld world) {
+        if (!pending.isEmpty()) {
+            applyPending(world);
+        }
+        if (graph.hasPendingRebuilds()) {
+            graph.pollRebuilds();
+        }
+    }
+
+    private void applyPending(EnergyWorld world) {
+        int changed = pending.size();
+        for (int i = 0; i < changed; i++) {
+            long pos = pending.poll();
+            pendingSet.remove(pos);
+            listener.onChange(pos);
+            if (!world.isLoaded(pos)) {
+                // Capability invalidated by a chunk unload - never load the chunk back
+                graph.removeCable(pos);
+                dropViewsAround(pos);
+                continue;
+            }
+
+            if (world.getCableType(pos) != EnergyWorld.NO_CABLE) {
+                // Only track the cable if it touches a known network; otherwise it is found on first use
+                if (graph.contains(pos) || hasTrackedNeighbor(pos)) {
+                    syncCable(world, pos);
+                }
+            } else {
+                graph.removeCable(pos);
+            }
+
+            // Neighbouring cables may have gained or lost a machine face
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                long neighbor = PackedPos.offset(pos, side);
+                if (graph.contains(neighbor) && world.isLoaded(neighbor)) {
+                    syncCable(world, neighbor);
+                }
+            }
+
+            dropViewsAround(pos);
+        }
+        listener.onFlush(changed);
+    }
+
+    /**
+     * Forget a tracked block whose chunk is unloading. Networks crossing the chunk border
+     * split; tracked neighbours in other chunks keep boundary stubs facing it.
+     */
+    public void unload(long pos) {
+        graph.removeCable(pos);
+        stubNeighbors(pos);
+        dropViewsAround(pos);
+    }
+
+    /**
+     * Queue the stubs facing a chunk that just loaded; they are re-read (and rediscover
+     * across the border) on the next flush.
+     */
+    public void reconnectStubs(long chunkKey) {
+        LongHashSet stubs = boundaryStubs.remove(chunkKey);
+        if (stubs == null) {
+            return;
+        }
+        stubCount -= stubs.size();
+        stubsReconnected += stubs.size();
+        stubs.forEach(this::invalidate);
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Get the view of a source for a side mask, building it if it is missing or stale.
+     * Machines directly against the source come first, then machines on adjacent networks.
+     *
+     * @param currentTime Game time, for the optional expiry
+     */
+    public SourceView<M> getView(ConsumerWorld<M> world, long sourcePos, int sideMask, long currentTime) {
+        flush(world);
+
+        SourceView<M> cached = findView(sourcePos, sideMask);
+        if (cached != null && expiryTicks > 0 && currentTime - cached.cacheTime() > expiryTicks) {
+            // Safety net: forget the networks and rediscover them from the world
+            for (EnergyNetwork network : cached.networks()) {
+                graph.removeNetwork(network);
+            }
+            safetyNetRescans++;
+            cached = null;
+        }
+
+        if (cached != null && !cached.isStale() && cached.hasLoss() == lossEnabled
+                && cached.hasCapacity() == capacityEnabled) {
+            // Handles are kept valid by invalidate() - nothing to re-validate
+            auditAvoidedRescans(cached, currentTime);
+            return cached;
+        }
+
+        SourceView<M> view = buildView(world, sourcePos, sideMask, currentTime);
+        putView(view);
+        listener.onViewBuilt(view);
+        return view;
+    }
+
+    /**
+     * Find the cached view of a source for a side mask, valid or not. Allocation-free.
+     *
+     * @return the view, or null if none is cached
+     */
+    public SourceView<M> findView(long sourcePos, int sideMask) {
+        List<SourceView<M>> sourceViews = views.get(sourcePos);
+        if (sourceViews == null) {
+            return null;
+        }
+        for (int i = 0; i < sourceViews.size(); i++) {
+            SourceView<M> view = sourceViews.get(i);
+            if (view.getSideMask() == sideMask) {
+                return view;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the networks at a loaded position: the cable's own network, or the networks
+     * of the cables around any other block. Networks are discovered on first use.
+     */
+    public List<EnergyNetwork> getNetworksAt(EnergyWorld world, long pos) {
+        flush(world);
+        List<EnergyNetwork> networks = new ArrayList<>(1);
+        if (world.getCableType(pos) != EnergyWorld.NO_CABLE) {
+            EnergyNetwork network = networkAt(world, pos);
+            if (network != null) {
+                networks.add(network);
+            }
+            return networks;
+        }
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            long neighbor = PackedPos.offset(pos, side);
+            if (world.isLoaded(neighbor) && world.getCableType(neighbor) != EnergyWorld.NO_CABLE) {
+                EnergyNetwork network = networkAt(world, neighbor);
+                if (network != null && !networks.contains(network)) {
+                    networks.add(network);
+                }
+            }
+        }
+        return networks;
+    }
+
+    /**
+     * Get the consumers attached to a live network, resolved once per network version.
+     *
+     * @return read-only list of consumer handles
+     */
+    public List<M> getConsumers(ConsumerWorld<M> world, EnergyNetwork network) {
+        return resolve(world, network).consumers();
+    }
+
+    /**
+     * Get the positions of the consumers of {@link #getConsumers}, in the same order.
+     */
+    long[] getConsumerPositions(ConsumerWorld<M> world, EnergyNetwork network) {
+        return resolve(world, network).positions();
+    }
+
+    /**
+     * Get the network of a loaded cable, checking a restored network or discovering
+     * an untracked one first.
+     *
+     * @return the network, or null if the position holds no cable
+     */
+    public EnergyNetwork networkAt(EnergyWorld world, long cablePos) {
+        EnergyNetwork network = graph.getNetwork(cablePos);
+        if (network != null && network.isRestored()) {
+            verify(world, network);
+            network = graph.getNetwork(cablePos);
+        }
+        if (network == null) {
+            network = discover(world, cablePos);
+        }
+        return network;
+    }
+
+    // ========== Maintenance ==========
+
+    /**
+     * Drop the cached views that match a filter. The graph is left alone.
+     */
+    public void removeViewsIf(Predicate<SourceView<M>> filter) {
+        List<SourceView<M>> toRemove = new ArrayList<>();
+        views.forEachValue(sourceViews -> {
+            for (SourceView<M> view : sourceViews) {
+                if (filter.test(view)) {
+                    toRemove.add(view);
+                }
+            }
+        });
+        for (SourceView<M> view : toRemove) {
+            removeView(view);
+        }
+    }
+
+    /**
+     * Forget the network of a cable so it is rediscovered from the world on next use.
+     *
+     * @return the number of cables forgotten, or 0 if the cable is not tracked
+     */
+    public int removeNetwork(EnergyWorld world, long cablePos) {
+        flush(world);
+        EnergyNetwork network = graph.getNetwork(cablePos);
+        if (network == null) {
+            return 0;
+        }
+        int cables = network.getCableCount();
+        graph.removeNetwork(network);
+        return cables;
+    }
+
+    /**
+     * Forget every network so each is rediscovered from the world on next use.
+     * Queued changes are applied first, so views around them are dropped too.
+     *
+     * @return the number of networks forgotten
+     */
+    public int rebuild(EnergyWorld world) {
+        flush(world);
+        int networks = graph.getNetworkCount();
+        clear();
+        return networks;
+    }
+
+    /**
+     * Drop the graph, every view and stub, and the queued changes.
+     */
+    public void clear() {
+        graph.clear();
+        // Views and stubs also stand for sources with unloaded sides
+        removeViewsIf(view -> true);
+        boundaryStubs.clear();
+        stubCount = 0;
+        pending.clear();
+        pendingSet.clear();
+    }
+
+    /**
+     * Restore a saved topology (see {@link TopologyCodec}) into the still empty graph.
+     * Restored networks are checked against the world just before their first use.
+     *
+     * @return the number of networks restored
+     * @throws IllegalArgumentException if the data is corrupt; the graph is left empty
+     */
+    public int restore(byte[] data) {
+        try {
+            restoredNetworks = TopologyCodec.decode(data, graph, lossPerType.length);
+        } catch (IllegalArgumentException e) {
+            graph.clear();
+            restoredNetworks = 0;
+            throw e;
+        }
+        return restoredNetworks;
+    }
+
+    // ========== Statistics ==========
+
+    public int getViewCount() {
+        return viewCount;
+    }
+
+    /**
+     * Get the number of machines over all cached views (a machine reached by two sources counts twice).
+     */
+    public int getViewMachineCount() {
+        int[] machines = new int[1];
+        views.forEachValue(sourceViews -> {
+            for (SourceView<M> view : sourceViews) {
+                machines[0] += view.machines().size();
+            }
+        });
+        return machines[0];
+    }
+
+    public int getIndexedPositions() {
+        return viewIndex.keyCount();
+    }
+
+    /**
+     * Number of rescans the old fixed expiry would have done that event-driven validity skipped.
+     */
+    public long getRescansAvoided() {
+        return rescansAvoided;
+    }
+
+    public long getSafetyNetRescans() {
+        return safetyNetRescans;
+    }
+
+    public int getRestoredNetworks() {
+        return restoredNetworks;
+    }
+
+    public int getVerifiedNetworks() {
+        return verifiedNetworks;
+    }
+
+    public int getDroppedCables() {
+        return droppedCables;
+    }
+
+    public int getStubCount() {
+        return stubCount;
+    }
+
+    public int getStubChunkCount() {
+        return boundaryStubs.size();
+    }
+
+    public long getStubsReconnected() {
+        return stubsReconnected;
+    }
+
+    // ========== Views ==========
+
+    private void putView(SourceView<M> view) {
+        long sourcePos = view.getSourcePos();
+        SourceView<M> old = findView(sourcePos, view.getSideMask());
+        if (old != null) {
+            removeView(old);
+        }
+
+        List<SourceView<M>> sourceViews = views.get(sourcePos);
+        if (sourceViews == null) {
+            sourceViews = new ArrayList<>(1);
+            views.put(sourcePos, sourceViews);
+        }
+        sourceViews.add(view);
+        viewCount++;
+
+        viewIndex.put(sourcePos, view);
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (PackedPos.hasSide(view.getSideMask(), side)) {
+                viewIndex.put(PackedPos.offset(sourcePos, side), view);
+            }
+        }
+    }
+
+    private void removeView(SourceView<M> view) {
+        long sourcePos = view.getSourcePos();
+        List<SourceView<M>> sourceViews = views.get(sourcePos);
+        if (sourceViews == null || !sourceViews.remove(view)) {
+            return;
+        }
+        if (sourceViews.isEmpty()) {
+            views.remove(sourcePos);
+        }
+        viewCount--;
+        view.lease().release();
+
+        viewIndex.remove(sourcePos, view);
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (PackedPos.hasSide(view.getSideMask(), side)) {
+                viewIndex.remove(PackedPos.offset(sourcePos, side), view);
+            }
+        }
+    }
+
+    /**
+     * Drop views sourced at or facing a changed position.
+     * Network changes are caught by version stamps; this covers the source itself
+     * and machines directly against it.
+     */
+    private void dropViewsAround(long pos) {
+        for (SourceView<M> view : viewIndex.removeAll(pos)) {
+            removeView(view);
+        }
+    }
+
+    /**
+     * Count the rescans the old fixed expiry would have done on this view by now.
+     */
+    private void auditAvoidedRescans(SourceView<M> view, long currentTime) {
+        long periods = (currentTime - view.cacheTime()) / LEGACY_EXPIRY_TICKS;
+        if (periods > view.auditedPeriods) {
+            rescansAvoided += periods - view.auditedPeriods;
+            view.auditedPeriods = periods;
+        }
+    }
+
+    private SourceView<M> buildView(ConsumerWorld<M> world, long sourcePos, int sideMask, long currentTime) {
+        List<M> machines = new ArrayList<>();
+        long[] positions = new long[8];
+        List<EnergyNetwork> networks = new ArrayList<>();
+        LongHashSet seen = new LongHashSet();
+        seen.add(sourcePos);  // Never deliver to ourselves
+        Lease lease = new Lease();
+
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (!PackedPos.hasSide(sideMask, side)) {
+                continue;
+            }
+            long neighbor = PackedPos.offset(sourcePos, side);
+            if (!world.isLoaded(neighbor)) {
+                // Rebuilt when the chunk loads (the stub queues the source)
+                recordStub(sourcePos, neighbor);
+                continue;
+            }
+
+            if (world.getCableType(neighbor) != EnergyWorld.NO_CABLE) {
+                EnergyNetwork network = networkAt(world, neighbor);
+                if (network != null && !networks.contains(network)) {
+                    networks.add(network);
+                }
+            } else if (seen.add(neighbor)) {
+                // Machine directly against the source - it is entered through the face touching us
+                M machine = world.connect(neighbor, PackedPos.opposite(side), lease);
+                if (machine != null) {
+                    positions = append(positions, machines.size(), neighbor);
+                    machines.add(machine);
+                }
+            }
+        }
+
+        int directCount = machines.size();
+        int[] versions = new int[networks.size()];
+        int[] networkEnds = new int[networks.size()];
+        for (int n = 0; n < networks.size(); n++) {
+            EnergyNetwork network = networks.get(n);
+            versions[n] = network.getVersion();
+            Resolved<M> consumers = resolve(world, network);
+            for (int c = 0; c < consumers.positions().length; c++) {
+                long consumerPos = consumers.positions()[c];
+                if (seen.add(consumerPos)) {
+                    positions = append(positions, machines.size(), consumerPos);
+                    machines.add(consumers.consumers().get(c));
+                }
+            }
+            networkEnds[n] = machines.size();
+        }
+        positions = Arrays.copyOf(positions, machines.size());
+
+        // First resolved through; replaced by the network of the best path below
+        int[] pathNetworks = new int[machines.size()];
+        Arrays.fill(pathNetworks, 0, directCount, -1);
+        for (int n = 0, m = directCount; n < networks.size(); n++) {
+            for (; m < networkEnds[n]; m++) {
+                pathNetworks[m] = n;
+            }
+        }
+
+        int[] ceilings = new int[machines.size()];
+        for (int m = 0; m < ceilings.length; m++) {
+            ceilings[m] = world.getPacketCeiling(machines.get(m));
+        }
+
+        int[] losses = lossEnabled
+            ? computeLosses(sourcePos, sideMask, positions, directCount, networks, pathNetworks) : null;
+        int[] capacities = null;
+        long[] weakestCables = null;
+        if (capacityEnabled) {
+            capacities = new int[machines.size()];
+            weakestCables = new long[machines.size()];
+            computeCapacities(sourcePos, sideMask, positions, directCount, networks,
+                losses == null ? pathNetworks : null, capacities, weakestCables);
+        }
+        return new SourceView<>(sourcePos, sideMask, Collections.unmodifiableList(machines), positions,
+            networks, versions, pathNetworks, currentTime, lease, ceilings, losses, capacities, weakestCables);
+    }
+
+    private static long[] append(long[] array, int size, long value) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, size * 2);
+        }
+        array[size] = value;
+        return array;
+    }
+
+    /**
+     * Lowest path loss (in whole EU) from a source to every machine of its view.
+     * Runs one Dijkstra pass per adjacent network over the contracted graph,
+     * entering at the cables next to the source. Machines directly against the
+     * source pass no cable and lose nothing. Records the network of each best path
+     * in {@code pathNetworks}.
+     */
+    private int[] computeLosses(long sourcePos, int sideMask, long[] positions, int directCount,
+                                List<EnergyNetwork> networks, int[] pathNetworks) {
+        long[] best = new long[positions.length];
+        Arrays.fill(best, PathCosts.UNREACHABLE);
+        Arrays.fill(best, 0, directCount, 0);
+
+        for (int n = 0; n < networks.size(); n++) {
+            EnergyNetwork network = networks.get(n);
+            ContractedNetwork contracted = graph.getContracted(network);
+            long[] initial = PathCosts.newInitial(contracted);
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                long entry = PackedPos.offset(sourcePos, side);
+                if (PackedPos.hasSide(sideMask, side) && graph.getNetwork(entry) == network) {
+                    PathCosts.enterAt(contracted, entry, lossPerType, initial);
+                }
+            }
+            long[] dist = PathCosts.shortestPaths(contracted, initial, lossPerType);
+
+            // A machine is reached through any junction that faces it
+            for (int m = directCount; m < positions.length; m++) {
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    int node = contracted.indexOf(PackedPos.offset(positions[m], side));
+                    if (node >= 0 && dist[node] < best[m]
+                            && PackedPos.hasSide(contracted.getNodeMachineMask(node), PackedPos.opposite(side))) {
+                        best[m] = dist[node];
+                        pathNetworks[m] = n;
+                    }
+                }
+            }
+        }
+
+        int[] losses = new int[best.length];
+        for (int m = 0; m < best.length; m++) {
+            losses[m] = best[m] == PathCosts.UNREACHABLE ? 0 : (int) Math.min(Integer.MAX_VALUE, best[m] / 1000);
+        }
+        return losses;
+    }
+
+    /**
+     * Bottleneck capacity (EU/t) of the widest path from a source to every machine of its view.
+     * Runs one widest-path pass per adjacent network over the contracted graph, entering at
+     * the cables next to the source, and remembers the weakest cable of each winning path.
+     * Machines directly against the source pass no cable and are unlimited.
+     * Records the network of each widest path in {@code pathNetworks}, if given.
+     */
+    private void computeCapacities(long sourcePos, int sideMask, long[] positions, int directCount,
+                                   List<EnergyNetwork> networks, int[] pathNetworks,
+                                   int[] capacities, long[] weakestCables) {
+        long[] best = new long[positions.length];
+        Arrays.fill(best, 0, directCount, Integer.MAX_VALUE);
+        Arrays.fill(weakestCables, sourcePos);
+
+        for (int n = 0; n < networks.size(); n++) {
+            EnergyNetwork network = networks.get(n);
+            ContractedNetwork contracted = graph.getContracted(network);
+            long[] initial = PathCosts.newWidestInitial(contracted);
+            long[] weakest = new long[contracted.getNodeCount()];
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                long entry = PackedPos.offset(sourcePos, side);
+                if (PackedPos.hasSide(sideMask, side) && graph.getNetwork(entry) == network) {
+                    PathCosts.enterWidestAt(contracted, entry, capacityPerType, initial, weakest);
+                }
+            }
+            long[] width = PathCosts.widestPaths(contracted, initial, weakest, capacityPerType);
+
+            for (int m = directCount; m < positions.length; m++) {
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    int node = contracted.indexOf(PackedPos.offset(positions[m], side));
+                    if (node >= 0 && width[node] > best[m]
+                            && PackedPos.hasSide(contracted.getNodeMachineMask(node), PackedPos.opposite(side))) {
+                        best[m] = width[node];
+                        weakestCables[m] = weakest[node];
+                        if (pathNetworks != null) {
+                            pathNetworks[m] = n;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (int m = 0; m < best.length; m++) {
+            capacities[m] = (int) Math.min(Integer.MAX_VALUE, best[m]);
+        }
+    }
+
+    // ========== Networks ==========
+
+    private Resolved<M> resolve(ConsumerWorld<M> world, EnergyNetwork network) {
+        Resolved<M> cached = resolved.get(network);
+        if (cached != null && cached.version() == network.getVersion()) {
+            return cached;
+        }
+
+        if (cached != null) {
+            cached.lease().release();
+        }
+
+        // Machine faces are junctions, so only the contracted nodes need to be visited
+        ContractedNetwork contracted = graph.getContracted(network);
+        List<M> consumers = new ArrayList<>();
+        long[] positions = new long[8];
+        LongHashSet seen = new LongHashSet();
+        Lease lease = new Lease();
+        for (int node = 0; node < contracted.getNodeCount(); node++) {
+            int machineMask = contracted.getNodeMachineMask(node);
+            if (machineMask == 0) {
+                continue;
+            }
+            long cablePos = contracted.getNodePos(node);
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                if (!PackedPos.hasSide(machineMask, side)) {
+                    continue;
+                }
+                long machinePos = PackedPos.offset(cablePos, side);
+                if (seen.contains(machinePos)) {
+                    continue;
+                }
+                if (!world.isLoaded(machinePos)) {
+                    // Resolved again when the chunk loads (the stub re-reads the cable, bumping the version)
+                    recordStub(cablePos, machinePos);
+                    continue;
+                }
+
+                // The machine is entered through the face the cable connects to
+                M machine = world.connect(machinePos, PackedPos.opposite(side), lease);
+                if (machine != null) {
+                    seen.add(machinePos);
+                    positions = append(positions, consumers.size(), machinePos);
+                    consumers.add(machine);
+                }
+            }
+        }
+
+        Resolved<M> result = new Resolved<>(network.getVersion(), Collections.unmodifiableList(consumers),
+            Arrays.copyOf(positions, consumers.size()), lease);
+        resolved.put(network, result);
+        listener.onResolved(network, contracted, consumers.size());
+        return result;
+    }
+
+    /**
+     * Check a restored network against the world before its first use.
+     * Cables in chunks that are not loaded are dropped, as if their chunk had unloaded;
+     * cables whose block, links or machine faces changed while the level was offline
+     * are re-read (which also pulls in cables placed next to them).
+     */
+    private void verify(EnergyWorld world, EnergyNetwork network) {
+        graph.markVerified(network);
+        verifiedNetworks++;
+
+        LongQueue cables = new LongQueue(network.getCableCount());
+        network.forEachCable(cables::add);
+
+        while (!cables.isEmpty()) {
+            long pos = cables.poll();
+            if (!graph.contains(pos)) {
+                continue;
+            }
+            if (!world.isLoaded(pos)) {
+                graph.removeCable(pos);
+                stubNeighbors(pos);
+                droppedCables++;
+                continue;
+            }
+
+            int type = world.getCableType(pos);
+            if (type == EnergyWorld.NO_CABLE) {
+                graph.removeCable(pos);
+                droppedCables++;
+                continue;
+            }
+
+            int mask = world.getConnectionMask(pos);
+            int machineMask = 0;
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                if (!PackedPos.hasSide(mask, side)) {
+                    continue;
+                }
+                long neighbor = PackedPos.offset(pos, side);
+                if (!world.isLoaded(neighbor)) {
+                    // Never load a chunk to check a face; keep what was saved
+                    machineMask |= graph.getMachineMask(pos) & (1 << side);
+                    recordStub(pos, neighbor);
+                } else if (world.getCableType(neighbor) == EnergyWorld.NO_CABLE) {
+                    machineMask |= 1 << side;
+                }
+            }
+            if (mask != graph.getMask(pos) || machineMask != graph.getMachineMask(pos) || type != graph.getType(pos)) {
+                syncCable(world, pos);
+            } else if (machineMask != 0) {
+                // Same faces, but a machine may have been swapped for another tier
+                discovery.readTiers(world, pos, machineMask);
+            }
+        }
+    }
+
+    /**
+     * Discover the network containing a cable. Already tracked cables are not
+     * rescanned - new cables merge into their networks.
+     */
+    private EnergyNetwork discover(EnergyWorld world, long start) {
+        EnergyNetwork network = discovery.discover(world, start, maxJunctions, maxCables, this::recordStub);
+        listener.onDiscovery(start, network, discovery.getCablesScanned(), discovery.getJunctionsScanned(),
+            discovery.wasTruncated());
+        return network;
+    }
+
+    /**
+     * Re-read one tracked cable from the world and update its graph node.
+     */
+    private void syncCable(EnergyWorld world, long pos) {
+        if (discovery.syncCable(world, pos, maxJunctions, maxCables, this::recordStub)) {
+            listener.onDiscovery(pos, graph.getNetwork(pos), discovery.getCablesScanned(),
+                discovery.getJunctionsScanned(), discovery.wasTruncated());
+        }
+    }
+
+    private boolean hasTrackedNeighbor(long pos) {
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (graph.contains(PackedPos.offset(pos, side))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== Boundary stubs ==========
+
+    /**
+     * Remember that a tracked position faces an unloaded position.
+     */
+    private void recordStub(long trackedPos, long unloadedPos) {
+        long chunkKey = PackedPos.chunkKey(unloadedPos);
+        LongHashSet stubs = boundaryStubs.get(chunkKey);
+        if (stubs == null) {
+            stubs = new LongHashSet();
+            boundaryStubs.put(chunkKey, stubs);
+        }
+        if (stubs.add(trackedPos)) {
+            stubCount++;
+        }
+    }
+
+    /**
+     * A tracked position is leaving the graph with its chunk: its tracked
+     * neighbours in other chunks become boundary stubs facing it.
+     */
+    private void stubNeighbors(long removedPos) {
+        long chunkKey = PackedPos.chunkKey(removedPos);
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            long neighbor = PackedPos.offset(removedPos, side);
+            if (graph.contains(neighbor) && PackedPos.chunkKey(neighbor) != chunkKey) {
+                recordStub(neighbor, removedPos);
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * Reads cables from an {@link EnergyWorld} into an {@link EnergyNetGraph}.
+ *
+ * {@link #discover} walks a network breadth-first from one cable, {@link #syncCable}
+ * re-reads a single tracked cable after a block change. Both record each cable's
+ * connections, machine faces, type and the tiers of the machines it faces.
+ * Connections into unloaded blocks are reported to a {@link BoundaryListener} and
+ * count as cable links, so a network split by a chunk border is not mistaken for
+ * a dead end. The frontier and visited set are reused between traversals.
+ */
+public final class NetworkDiscovery {
+
+    /**
+     * Receives the connections of tracked cables that lead into unloaded blocks.
+     */
+    @FunctionalInterface
+    public interface BoundaryListener {
+        void onUnloadedNeighbor(long cablePos, long neighborPos);
+    }
+
+    private final EnergyNetGraph graph;
+    private final LongQueue queue = new LongQueue();
+    private final LongHashSet queued = new LongHashSet();
+
+    // Results of the last discover() call
+    private int cablesScanned;
+    private int junctionsScanned;
+
+    public NetworkDiscovery(EnergyNetGraph graph) {
+        this.graph = graph;
+    }
+
+    public int getCablesScanned() {
+        return cablesScanned;
+    }
+
+    public int getJunctionsScanned() {
+        return junctionsScanned;
+    }
+
+    /**
+     * Discover the network of the cable at {@code start} and add its untracked cables to the graph.
+     * Stops after {@code maxJunctions} junctions (cables that are not a plain two-way run
+     * of one type without machines) or {@code maxCables} cables, whichever comes first,
+     * and marks the network truncated.
+     *
+     * @return the network of the start cable, or null if it is not a cable
+     */
+    public EnergyNetwork discover(EnergyWorld world, long start, int maxJunctions, int maxCables,
+                                  BoundaryListener boundary) {
+        queue.clear();
+        queued.clear();
+        queue.add(start);
+        queued.add(start);
+        cablesScanned = 0;
+        junctionsScanned = 0;
+
+        while (!queue.isEmpty() && junctionsScanned < maxJunctions && cablesScanned < maxCables) {
+            long pos = queue.poll();
+            int type = world.getCableType(pos);
+            if (type == EnergyWorld.NO_CABLE) {
+                continue;
+            }
+            cablesScanned++;
+
+            int mask = world.getConnectionMask(pos);
+            int machineMask = 0;
+            int cableLinks = 0;
+            boolean typeChange = false;
+            for (int side = 0; side < PackedPos.SIDES; side++) {
+                if (!PackedPos.hasSide(mask, side)) {
+                    continue;
+                }
+                long neighbor = PackedPos.offset(pos, side);
+                if (!world.isLoaded(neighbor)) {
+                    // Unknown until the chunk loads: counts as a link, not a machine face
+                    boundary.onUnloadedNeighbor(pos, neighbor);
+                    cableLinks++;
+                    continue;
+                }
+                int neighborType = world.getCableType(neighbor);
+                if (neighborType != EnergyWorld.NO_CABLE) {
+                    cableLinks++;
+                    typeChange |= neighborType != type;
+                    if (!graph.contains(neighbor) && queued.add(neighbor)) {
+                        queue.add(neighbor);
+                    }
+                } else {
+                    machineMask |= 1 << side;
+                }
+            }
+            if (cableLinks != 2 || machineMask != 0 || typeChange) {
+                junctionsScanned++;
+            }
+            graph.setCable(pos, mask, machineMask, type);
+            if (machineMask != 0) {
+                readTiers(world, pos, machineMask);
+            }
+        }
+
+        if (!queue.isEmpty()) {
+            graph.markTruncated(start);
+        }
+        return graph.getNetwork(start);
+    }
+
+    /**
+     * Whether the last {@link #discover} call stopped at a limit with cables left to visit.
+     */
+    public boolean wasTruncated() {
+        return !queue.isEmpty();
+    }
+
+    /**
+     * Re-read one tracked cable and update its graph node, or drop it if the block
+     * is no longer a cable. A cable that now connects to untracked cables pulls
+     * them in with {@link #discover}.
+     *
+     * @return true if the cable reached untracked cables and a discovery ran
+     */
+    public boolean syncCable(EnergyWorld world, long pos, int maxJunctions, int maxCables, BoundaryListener boundary) {
+        int type = world.getCableType(pos);
+        if (type == EnergyWorld.NO_CABLE) {
+            graph.removeCable(pos);
+            return false;
+        }
+
+        int mask = world.getConnectionMask(pos);
+        int machineMask = 0;
+        boolean reachesUntracked = false;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (!PackedPos.hasSide(mask, side)) {
+                continue;
+            }
+            long neighbor = PackedPos.offset(pos, side);
+            if (!world.isLoaded(neighbor)) {
+                boundary.onUnloadedNeighbor(pos, neighbor);
+                continue;
+            }
+            if (world.getCableType(neighbor) != EnergyWorld.NO_CABLE) {
+                reachesUntracked |= !graph.contains(neighbor);
+            } else {
+                machineMask |= 1 << side;
+            }
+        }
+
+        graph.setCable(pos, mask, machineMask, type);
+        readTiers(world, pos, machineMask);
+
+        // The cable now bridges into cables we have never seen - pull them in
+        if (reachesUntracked) {
+            discover(world, pos, maxJunctions, maxCables, boundary);
+        }
+        return reachesUntracked;
+    }
+
+    /**
+     * Read the tiers of the machines a tracked cable faces into its graph node:
+     * the highest source tier and the lowest consumer tier. Used on its own when
+     * the faces are unchanged but a machine may have been swapped for another tier.
+     */
+    public void readTiers(EnergyWorld world, long cablePos, int machineMask) {
+        int sourceTier = 0;
+        int consumerTier = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            if (!PackedPos.hasSide(machineMask, side)) {
+                continue;
+            }
+            long machine = PackedPos.offset(cablePos, side);
+            if (!world.isLoaded(machine)) {
+                continue;
+            }
+            sourceTier = Math.max(sourceTier, world.getSourceTier(machine));
+            int tier = world.getConsumerTier(machine);
+            if (tier != 0) {
+                consumerTier = consumerTier == 0 ? tier : Math.min(consumerTier, tier);
+            }
+        }
+        graph.setTiers(cablePos, sourceTier, consumerTier);
+    }
+}
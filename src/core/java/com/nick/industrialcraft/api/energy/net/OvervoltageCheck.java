@@ -0,0 +1,79 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tier checks run when a block joins the energy net, to find the consumers that
+ * receive packets above their tier and by how many tiers.
+ *
+ * Networks keep their highest source tier and lowest consumer tier as running
+ * aggregates, so a placement without overvoltage costs O(1) per adjacent network;
+ * consumers are only visited on a network that has a gap. Transformers output a
+ * different tier on each face and are checked per side against the view of that side.
+ * What happens to an endangered consumer is up to the caller.
+ */
+public final class OvervoltageCheck {
+
+    /**
+     * Receives each consumer at risk with its tier gap (always above 0).
+     * A consumer may be reported more than once; callers keep the largest gap.
+     */
+    @FunctionalInterface
+    public interface Endangered {
+        void endanger(long machinePos, int tierGap);
+    }
+
+    private OvervoltageCheck() {}
+
+    /**
+     * Check the networks at a placed block (a cable, or a machine next to cables).
+     * Networks already in {@code checked} are skipped, and checked ones are added,
+     * so placements of one tick cost one check per affected network.
+     *
+     * @param placedPos Packed position of the placed block, which must be loaded
+     */
+    public static <M> void checkNetworks(NetworkCache<M> cache, ConsumerWorld<M> world, long placedPos,
+                                         Set<EnergyNetwork> checked, Endangered endangered) {
+        for (EnergyNetwork network : cache.getNetworksAt(world, placedPos)) {
+            if (!checked.add(network)) {
+                continue;
+            }
+            int sourceTier = network.getMaxSourceTier();
+            int consumerTier = network.getMinConsumerTier();
+            if (sourceTier == 0 || consumerTier == 0 || sourceTier <= consumerTier) {
+                continue;
+            }
+
+            // Overvoltage on this network: every consumer below the highest source tier suffers
+            List<M> consumers = cache.getConsumers(world, network);
+            long[] positions = cache.getConsumerPositions(world, network);
+            for (int i = 0; i < consumers.size(); i++) {
+                int tier = world.getTier(consumers.get(i));
+                if (tier > 0 && sourceTier > tier) {
+                    endangered.endanger(positions[i], sourceTier - tier);
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the consumers one face of a transformer reaches against the tier it outputs there.
+     *
+     * @param transformerPos Packed position of the transformer
+     * @param side Side index of the face (see {@link PackedPos})
+     * @param outputTier Tier the transformer outputs on that face
+     * @param currentTime Game time, for the view cache
+     */
+    public static <M> void checkSide(NetworkCache<M> cache, ConsumerWorld<M> world, long transformerPos, int side,
+                                     int outputTier, long currentTime, Endangered endangered) {
+        SourceView<M> view = cache.getView(world, transformerPos, 1 << side, currentTime);
+        List<M> machines = view.machines();
+        for (int i = 0; i < machines.size(); i++) {
+            int tier = world.getTier(machines.get(i));
+            if (tier > 0 && outputTier > tier) {
+                endangered.endanger(view.getMachinePos(i), outputTier - tier);
+            }
+        }
+    }
+}
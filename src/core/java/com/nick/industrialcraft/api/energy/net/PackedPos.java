@@ -0,0 +1,80 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * Packed block positions and side indices used by the energy-net graph.
+ *
+ * The bit layout matches BlockPos.asLong() (26 bits X, 12 bits Y, 26 bits Z),
+ * so world code can hand positions to the graph without converting them.
+ * Side indices match Direction.get3DDataValue():
+ * DOWN=0, UP=1, NORTH=2, SOUTH=3, WEST=4, EAST=5. The opposite side is side ^ 1.
+ */
+public final class PackedPos {
+
+    public static final int SIDES = 6;
+
+    private static final int PACKED_X_LENGTH = 26;
+    private static final int PACKED_Z_LENGTH = 26;
+    private static final int PACKED_Y_LENGTH = 12;
+    private static final long PACKED_X_MASK = (1L << PACKED_X_LENGTH) - 1L;
+    private static final long PACKED_Y_MASK = (1L << PACKED_Y_LENGTH) - 1L;
+    private static final long PACKED_Z_MASK = (1L << PACKED_Z_LENGTH) - 1L;
+    private static final int Z_OFFSET = PACKED_Y_LENGTH;
+    private static final int X_OFFSET = PACKED_Y_LENGTH + PACKED_Z_LENGTH;
+
+    private static final int[] DX = {0, 0, 0, 0, -1, 1};
+    private static final int[] DY = {-1, 1, 0, 0, 0, 0};
+    private static final int[] DZ = {0, 0, -1, 1, 0, 0};
+
+    private PackedPos() {}
+
+    public static long pack(int x, int y, int z) {
+        return ((long) x & PACKED_X_MASK) << X_OFFSET
+                | ((long) y & PACKED_Y_MASK)
+                | ((long) z & PACKED_Z_MASK) << Z_OFFSET;
+    }
+
+    public static int getX(long packed) {
+        return (int) (packed >> X_OFFSET);
+    }
+
+    public static int getY(long packed) {
+        return (int) (packed << (64 - PACKED_Y_LENGTH) >> (64 - PACKED_Y_LENGTH));
+    }
+
+    public static int getZ(long packed) {
+        return (int) (packed << (64 - Z_OFFSET - PACKED_Z_LENGTH) >> (64 - PACKED_Z_LENGTH));
+    }
+
+    /**
+     * Get the neighbouring position on the given side.
+     */
+    public static long offset(long packed, int side) {
+        return pack(getX(packed) + DX[side], getY(packed) + DY[side], getZ(packed) + DZ[side]);
+    }
+
+    public static int opposite(int side) {
+        return side ^ 1;
+    }
+
+    /**
+     * Check whether bit {@code side} is set in a 6-bit connection mask.
+     */
+    public static boolean hasSide(int mask, int side) {
+        return (mask & (1 << side)) != 0;
+    }
+
+    /**
+     * Get the key of the chunk column holding a position, as ChunkPos.asLong() computes it.
+     */
+    public static long chunkKey(long packed) {
+        return chunkKey(getX(packed) >> 4, getZ(packed) >> 4);
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return (chunkX & 0xFFFFFFFFL) | (chunkZ & 0xFFFFFFFFL) << 32;
+    }
+
+    public static String toString(long packed) {
+        return getX(packed) + ", " + getY(packed) + ", " + getZ(packed);
+    }
+}
@@ -0,0 +1,296 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.Arrays;
+
+/**
+ * Shortest-path costs over a contracted network (Dijkstra).
+ *
+ * Every cable block on a path costs {@code costPerType[type]}: a junction costs its
+ * own type once, a run edge costs its length times the run's type. The cost of a path
+ * therefore counts each cable block it passes exactly once, including both end cables.
+ *
+ * Also computes widest paths (max-min capacity), the bottleneck current that can reach
+ * each junction, along with the weakest cable on that path.
+ */
+public final class PathCosts {
+
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    public static final long NO_CAPACITY = 0;
+
+    private PathCosts() {}
+
+    /**
+     * Cost of entering the network at a cable, per junction.
+     * The entry cable may be a junction or lie inside a run.
+     *
+     * @param network The contracted network
+     * @param pos Packed position of the entry cable
+     * @param costPerType Cost of one cable block, indexed by cable type id
+     * @param initial Receives the entry cost of the reachable junctions (min with existing values)
+     * @return false if the position is not part of the network
+     */
+    public static boolean enterAt(ContractedNetwork network, long pos, long[] costPerType, long[] initial) {
+        int node = network.indexOf(pos);
+        if (node >= 0) {
+            initial[node] = Math.min(initial[node], costPerType[network.getNodeType(node)]);
+            return true;
+        }
+
+        // Inside a run: walk to both ends of the edge
+        for (int edge = 0; edge < network.getEdgeCount(); edge++) {
+            int length = network.getEdgeLength(edge);
+            for (int i = 0; i < length; i++) {
+                if (network.getRunCable(edge, i) != pos) {
+                    continue;
+                }
+                long blockCost = costPerType[network.getEdgeType(edge)];
+                int from = network.getEdgeFrom(edge);
+                int to = network.getEdgeTo(edge);
+                initial[from] = Math.min(initial[from], (i + 1) * blockCost + costPerType[network.getNodeType(from)]);
+                initial[to] = Math.min(initial[to], (length - i) * blockCost + costPerType[network.getNodeType(to)]);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Create an entry-cost array with every junction unreachable.
+     */
+    public static long[] newInitial(ContractedNetwork network) {
+        long[] initial = new long[network.getNodeCount()];
+        Arrays.fill(initial, UNREACHABLE);
+        return initial;
+    }
+
+    /**
+     * Run Dijkstra from the given entry costs.
+     *
+     * @param network The contracted network
+     * @param initial Entry cost per junction ({@link #UNREACHABLE} if not an entry); not modified
+     * @param costPerType Cost of one cable block, indexed by cable type id
+     * @return the lowest path cost to each junction, or {@link #UNREACHABLE}
+     */
+    public static long[] shortestPaths(ContractedNetwork network, long[] initial, long[] costPerType) {
+        int nodes = network.getNodeCount();
+        long[] dist = initial.clone();
+
+        // Binary min-heap of node indices keyed by dist, with positions for decrease-key
+        int[] heap = new int[nodes];
+        int[] heapIndex = new int[nodes];
+        Arrays.fill(heapIndex, -1);
+        int size = 0;
+        for (int n = 0; n < nodes; n++) {
+            if (dist[n] != UNREACHABLE) {
+                heap[size] = n;
+                heapIndex[n] = size;
+                siftUp(heap, heapIndex, dist, size);
+                size++;
+            }
+        }
+
+        while (size > 0) {
+            int node = heap[0];
+            heapIndex[node] = -2;  // Settled
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                heapIndex[heap[0]] = 0;
+                siftDown(heap, heapIndex, dist, 0, size);
+            }
+
+            for (int i = 0; i < network.getDegree(node); i++) {
+                int edge = network.getIncidentEdge(node, i);
+                int other = network.getEdgeOther(edge, node);
+                if (heapIndex[other] == -2) {
+                    continue;
+                }
+                long candidate = dist[node]
+                    + network.getEdgeLength(edge) * costPerType[network.getEdgeType(edge)]
+                    + costPerType[network.getNodeType(other)];
+                if (candidate >= dist[other]) {
+                    continue;
+                }
+                dist[other] = candidate;
+                if (heapIndex[other] < 0) {
+                    heap[size] = other;
+                    heapIndex[other] = size;
+                    size++;
+                }
+                siftUp(heap, heapIndex, dist, heapIndex[other]);
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Capacity of entering the network at a cable, per junction.
+     * The entry cable may be a junction or lie inside a run.
+     *
+     * @param network The contracted network
+     * @param pos Packed position of the entry cable
+     * @param capacityPerType Capacity of one cable block, indexed by cable type id
+     * @param initial Receives the entry capacity of the reachable junctions (max with existing values)
+     * @param weakest Receives the weakest cable on the entry path of each updated junction
+     * @return false if the position is not part of the network
+     */
+    public static boolean enterWidestAt(ContractedNetwork network, long pos, long[] capacityPerType,
+                                        long[] initial, long[] weakest) {
+        int node = network.indexOf(pos);
+        if (node >= 0) {
+            long capacity = capacityPerType[network.getNodeType(node)];
+            if (capacity > initial[node]) {
+                initial[node] = capacity;
+                weakest[node] = pos;
+            }
+            return true;
+        }
+
+        // Inside a run: the run's type limits both directions
+        for (int edge = 0; edge < network.getEdgeCount(); edge++) {
+            int length = network.getEdgeLength(edge);
+            for (int i = 0; i < length; i++) {
+                if (network.getRunCable(edge, i) != pos) {
+                    continue;
+                }
+                long runCapacity = capacityPerType[network.getEdgeType(edge)];
+                enterEnd(network, network.getEdgeFrom(edge), pos, runCapacity, capacityPerType, initial, weakest);
+                enterEnd(network, network.getEdgeTo(edge), pos, runCapacity, capacityPerType, initial, weakest);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void enterEnd(ContractedNetwork network, int node, long pos, long runCapacity,
+                                 long[] capacityPerType, long[] initial, long[] weakest) {
+        long nodeCapacity = capacityPerType[network.getNodeType(node)];
+        long capacity = Math.min(runCapacity, nodeCapacity);
+        if (capacity > initial[node]) {
+            initial[node] = capacity;
+            weakest[node] = nodeCapacity < runCapacity ? network.getNodePos(node) : pos;
+        }
+    }
+
+    /**
+     * Create an entry-capacity array with every junction unreachable.
+     */
+    public static long[] newWidestInitial(ContractedNetwork network) {
+        return new long[network.getNodeCount()];
+    }
+
+    /**
+     * Run a widest-path search (Dijkstra on max-min capacity) from the given entry capacities.
+     *
+     * @param network The contracted network
+     * @param initial Entry capacity per junction ({@link #NO_CAPACITY} if not an entry); not modified
+     * @param weakest Weakest cable per entry junction; updated in place to the weakest cable
+     *                on the widest path to each junction
+     * @param capacityPerType Capacity of one cable block, indexed by cable type id
+     * @return the bottleneck capacity of the widest path to each junction, or {@link #NO_CAPACITY}
+     */
+    public static long[] widestPaths(ContractedNetwork network, long[] initial, long[] weakest,
+                                     long[] capacityPerType) {
+        int nodes = network.getNodeCount();
+        long[] width = initial.clone();
+
+        // Same min-heap as shortestPaths, keyed by negated width
+        long[] key = new long[nodes];
+        int[] heap = new int[nodes];
+        int[] heapIndex = new int[nodes];
+        Arrays.fill(heapIndex, -1);
+        int size = 0;
+        for (int n = 0; n < nodes; n++) {
+            key[n] = -width[n];
+            if (width[n] != NO_CAPACITY) {
+                heap[size] = n;
+                heapIndex[n] = size;
+                siftUp(heap, heapIndex, key, size);
+                size++;
+            }
+        }
+
+        while (size > 0) {
+            int node = heap[0];
+            heapIndex[node] = -2;  // Settled
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                heapIndex[heap[0]] = 0;
+                siftDown(heap, heapIndex, key, 0, size);
+            }
+
+            for (int i = 0; i < network.getDegree(node); i++) {
+                int edge = network.getIncidentEdge(node, i);
+                int other = network.getEdgeOther(edge, node);
+                if (heapIndex[other] == -2) {
+                    continue;
+                }
+                long candidate = width[node];
+                long weakestCable = weakest[node];
+                if (network.getEdgeLength(edge) > 0) {
+                    long runCapacity = capacityPerType[network.getEdgeType(edge)];
+                    if (runCapacity < candidate) {
+                        candidate = runCapacity;
+                        weakestCable = network.getRunCable(edge, 0);
+                    }
+                }
+                long otherCapacity = capacityPerType[network.getNodeType(other)];
+                if (otherCapacity < candidate) {
+                    candidate = otherCapacity;
+                    weakestCable = network.getNodePos(other);
+                }
+                if (candidate <= width[other]) {
+                    continue;
+                }
+                width[other] = candidate;
+                weakest[other] = weakestCable;
+                key[other] = -candidate;
+                if (heapIndex[other] < 0) {
+                    heap[size] = other;
+                    heapIndex[other] = size;
+                    size++;
+                }
+                siftUp(heap, heapIndex, key, heapIndex[other]);
+            }
+        }
+        return width;
+    }
+
+    private static void siftUp(int[] heap, int[] heapIndex, long[] dist, int index) {
+        int node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (dist[heap[parent]] <= dist[node]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heapIndex[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+
+    private static void siftDown(int[] heap, int[] heapIndex, long[] dist, int index, int size) {
+        int node = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && dist[heap[child + 1]] < dist[heap[child]]) {
+                child++;
+            }
+            if (dist[node] <= dist[heap[child]]) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = node;
+        heapIndex[node] = index;
+    }
+}
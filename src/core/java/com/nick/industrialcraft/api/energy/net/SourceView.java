@@ -0,0 +1,207 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.List;
+
+/**
+ * A per-source view of the graph: the consumers one source reaches in the requested directions.
+ * Views are keyed by source position AND side mask - different direction scans are cached separately.
+ * Valid until one of its networks changes version or the view is dropped by an event
+ * (see {@link NetworkCache}).
+ *
+ * @param <M> Handle of a connected consumer (see {@link ConsumerWorld})
+ */
+public final class SourceView<M> {
+    private final long sourcePos;
+    private final int sideMask;
+    private final List<M> machines;
+    private final long[] positions;
+    private final List<EnergyNetwork> networks;
+    private final int[] versions;
+    private final int[] pathNetworks;
+    private final long cacheTime;
+    private final NetworkCache.Lease lease;
+    private final int[] ceilings;
+    private final int[] losses;
+    private final int[] capacities;
+    private final long[] weakestCables;
+
+    // Legacy expiry periods this view has already been counted for in the cache's avoided rescans
+    long auditedPeriods;
+
+    // Machines also reachable through an emitter's input sides, see exclusionsFrom
+    private SourceView<M> exclusionInput;
+    private long[] exclusionBits;
+
+    /**
+     * @param sourcePos Packed position of the source
+     * @param sideMask Directions scanned from the source
+     * @param machines Read-only list of connected machines that can receive energy
+     * @param positions Packed position of each machine
+     * @param networks Graph networks the view was built from
+     * @param versions Version of each network when the view was built
+     * @param pathNetworks Index into networks of the network each machine is reached through, -1 for direct
+     * @param cacheTime Game time when this view was created
+     * @param lease Keeps the handles of direct neighbours alive
+     * @param ceilings Largest packet each machine accepts on the face it is reached through
+     * @param losses Path loss in EU to each machine, or null if energy loss is disabled
+     * @param capacities Bottleneck capacity per machine, or null if cable capacity is disabled
+     * @param weakestCables Weakest cable per machine, or null if cable capacity is disabled
+     */
+    SourceView(long sourcePos, int sideMask, List<M> machines, long[] positions, List<EnergyNetwork> networks,
+               int[] versions, int[] pathNetworks, long cacheTime, NetworkCache.Lease lease, int[] ceilings,
+               int[] losses, int[] capacities, long[] weakestCables) {
+        this.sourcePos = sourcePos;
+        this.sideMask = sideMask;
+        this.machines = machines;
+        this.positions = positions;
+        this.networks = networks;
+        this.versions = versions;
+        this.pathNetworks = pathNetworks;
+        this.cacheTime = cacheTime;
+        this.lease = lease;
+        this.ceilings = ceilings;
+        this.losses = losses;
+        this.capacities = capacities;
+        this.weakestCables = weakestCables;
+    }
+
+    public long getSourcePos() {
+        return sourcePos;
+    }
+
+    public int getSideMask() {
+        return sideMask;
+    }
+
+    public List<M> machines() {
+        return machines;
+    }
+
+    public List<EnergyNetwork> networks() {
+        return networks;
+    }
+
+    public long cacheTime() {
+        return cacheTime;
+    }
+
+    NetworkCache.Lease lease() {
+        return lease;
+    }
+
+    /**
+     * Get the packed position of a machine of this view (O(1)).
+     *
+     * @param index Index into {@link #machines()}
+     */
+    public long getMachinePos(int index) {
+        return positions[index];
+    }
+
+    /**
+     * Get the network a machine of this view is reached through: the one of its lowest-loss
+     * path, or of its widest path when only cable capacity is enabled, otherwise the first
+     * of {@link #networks()} that reaches it (O(1)).
+     *
+     * @param index Index into {@link #machines()}
+     * @return the network, or null for a machine directly against the source
+     */
+    public EnergyNetwork getPathNetwork(int index) {
+        int network = pathNetworks[index];
+        return network >= 0 ? networks.get(network) : null;
+    }
+
+    /**
+     * Get the largest packet (EU) a machine of this view accepts without overvoltage (O(1)).
+     * Transformers are judged by the tier of the face the view reaches them through.
+     *
+     * @param index Index into {@link #machines()}
+     */
+    public int getPacketCeiling(int index) {
+        return ceilings[index];
+    }
+
+    /**
+     * True if this view was built with energy loss enabled.
+     */
+    public boolean hasLoss() {
+        return losses != null;
+    }
+
+    /**
+     * Get the EU lost on the lowest-loss path to a machine of this view (O(1)).
+     *
+     * @param index Index into {@link #machines()}
+     */
+    public int getLoss(int index) {
+        return losses != null ? losses[index] : 0;
+    }
+
+    /**
+     * True if this view was built with cable capacity enabled.
+     */
+    public boolean hasCapacity() {
+        return capacities != null;
+    }
+
+    /**
+     * Get the largest current (EU/t) the widest path to a machine of this view carries (O(1)).
+     * Machines directly against the source pass no cable and are unlimited.
+     *
+     * @param index Index into {@link #machines()}
+     */
+    public int getCapacity(int index) {
+        return capacities != null ? capacities[index] : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Get the packed position of the weakest cable on the widest path to a machine,
+     * the cable that melts when a packet exceeds {@link #getCapacity}.
+     *
+     * @param index Index into {@link #machines()}
+     */
+    public long getWeakestCable(int index) {
+        return weakestCables != null ? weakestCables[index] : sourcePos;
+    }
+
+    /**
+     * Get which machines of this view are also reachable through {@code input}
+     * (the view of the same emitter's input sides), as a bitmap over {@link #machines()}.
+     * Both views are replaced whenever their topology changes, so the bitmap is built
+     * once per pair and then returned without allocation. Not thread-safe.
+     */
+    public long[] exclusionsFrom(SourceView<M> input) {
+        if (exclusionInput != input) {
+            LongHashSet inputPositions = new LongHashSet(input.positions.length);
+            for (long pos : input.positions) {
+                inputPositions.add(pos);
+            }
+            long[] bits = new long[(positions.length + 63) >>> 6];
+            for (int i = 0; i < positions.length; i++) {
+                if (inputPositions.contains(positions[i])) {
+                    bits[i >>> 6] |= 1L << i;
+                }
+            }
+            exclusionBits = bits;
+            exclusionInput = input;
+        }
+        return exclusionBits;
+    }
+
+    public static boolean isExcluded(long[] exclusions, int index) {
+        return (exclusions[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * True if any network this view was built from has changed since.
+     */
+    public boolean isStale() {
+        for (int i = 0; i < networks.size(); i++) {
+            EnergyNetwork network = networks.get(i);
+            if (network.isRemoved() || network.getVersion() != versions[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,173 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compact binary form of an {@link EnergyNetGraph}, for saving it with the level.
+ *
+ * Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ * format, networkCount,
+ * per network: version, flags (bit 0 = truncated), cableCount,
+ *   per cable, in ascending position order:
+ *     position delta (zigzag varint of pos - previous pos; the first delta is from 0),
+ *     connection mask | machine mask << 6 | source tier << 12 | consumer tier << 15, type
+ * </pre>
+ * Sorted positions keep deltas small: a whole cable record takes about 4 bytes in
+ * runs along Y or Z and 8 bytes along X (the high bits of the packed position).
+ * Networks with a deferred split are skipped: their cables may
+ * no longer be connected and are simply rediscovered from the world.
+ */
+public final class TopologyCodec {
+
+    private static final int FORMAT = 2;
+    private static final int TIER_BITS = 3;
+    private static final int TIER_MASK = EnergyNetGraph.TIER_SLOTS - 1;
+    private static final int FLAG_TRUNCATED = 1;
+
+    private TopologyCodec() {}
+
+    /**
+     * Encode every settled network of a graph.
+     */
+    public static byte[] encode(EnergyNetGraph graph) {
+        List<EnergyNetwork> saved = new ArrayList<>();
+        for (EnergyNetwork network : graph.getNetworks()) {
+            if (!graph.hasPendingSplit(network)) {
+                saved.add(network);
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + graph.getCableCount() * 4);
+        writeVarInt(out, FORMAT);
+        writeVarInt(out, saved.size());
+        for (EnergyNetwork network : saved) {
+            long[] positions = network.cables.toArray();
+            Arrays.sort(positions);
+
+            writeVarInt(out, network.getVersion());
+            writeVarInt(out, network.isTruncated() ? FLAG_TRUNCATED : 0);
+            writeVarInt(out, positions.length);
+            long previous = 0;
+            for (long pos : positions) {
+                writeVarLong(out, zigzag(pos - previous));
+                writeVarInt(out, graph.getMask(pos)
+                    | graph.getMachineMask(pos) << PackedPos.SIDES
+                    | graph.getSourceTier(pos) << (2 * PackedPos.SIDES)
+                    | graph.getConsumerTier(pos) << (2 * PackedPos.SIDES + TIER_BITS));
+                writeVarInt(out, graph.getType(pos));
+                previous = pos;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Restore the networks of an encoded graph into {@code graph}.
+     * Restored networks stay marked until the caller has checked them against the world.
+     *
+     * @param typeCount Number of cable types; cables of any other type id reject the data
+     * @return the number of networks restored
+     * @throws IllegalArgumentException if the data is truncated, corrupt or of an unknown format
+     */
+    public static int decode(byte[] data, EnergyNetGraph graph, int typeCount) {
+        Reader in = new Reader(data);
+        int format = in.readVarInt();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unknown energy-net topology format " + format);
+        }
+
+        int networkCount = in.readVarInt();
+        if (networkCount < 0 || networkCount > data.length) {
+            throw new IllegalArgumentException("Corrupt energy-net topology: " + networkCount + " networks");
+        }
+        int restored = 0;
+        for (int n = 0; n < networkCount; n++) {
+            int version = in.readVarInt();
+            int flags = in.readVarInt();
+            int cableCount = in.readVarInt();
+            if (cableCount < 0 || cableCount > data.length) {
+                throw new IllegalArgumentException("Corrupt energy-net topology: " + cableCount + " cables");
+            }
+
+            long[] positions = new long[cableCount];
+            int[] masks = new int[cableCount];
+            int[] machineMasks = new int[cableCount];
+            int[] types = new int[cableCount];
+            int[] sourceTiers = new int[cableCount];
+            int[] consumerTiers = new int[cableCount];
+            long previous = 0;
+            for (int i = 0; i < cableCount; i++) {
+                previous += unzigzag(in.readVarLong());
+                positions[i] = previous;
+                int sides = in.readVarInt();
+                masks[i] = sides & 0b111111;
+                machineMasks[i] = (sides >>> PackedPos.SIDES) & 0b111111;
+                sourceTiers[i] = (sides >>> (2 * PackedPos.SIDES)) & TIER_MASK;
+                consumerTiers[i] = (sides >>> (2 * PackedPos.SIDES + TIER_BITS)) & TIER_MASK;
+                types[i] = in.readVarInt();
+                if (types[i] < 0 || types[i] >= typeCount) {
+                    throw new IllegalArgumentException("Corrupt energy-net topology: cable type " + types[i]);
+                }
+            }
+            if (!graph.restoreNetwork(positions, masks, machineMasks, types, sourceTiers, consumerTiers, version,
+                    (flags & FLAG_TRUNCATED) != 0).isRemoved()) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    // ========== Varints ==========
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int offset;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (offset >= data.length) {
+                    throw new IllegalArgumentException("Truncated energy-net topology");
+                }
+                byte b = data[offset++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in energy-net topology");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free ring buffer of primitive trace records.
+ *
+ * A record is five longs (time, kind, position, two values) plus a sequence
+ * stamp. Writers claim a sequence number with one atomic increment and never
+ * block each other; once the buffer is full the oldest records are overwritten.
+ * Each slot works as a seqlock: the stamp is cleared while a writer fills the
+ * slot and set to the sequence number afterwards, so a reader skips records
+ * that are being overwritten instead of returning torn ones.
+ */
+public final class TraceBuffer {
+
+    private static final int FIELDS = 6;  // stamp, time, kind, pos, a, b
+
+    private final AtomicLongArray slots;
+    private final AtomicLong next = new AtomicLong();
+    private final int mask;
+
+    /**
+     * Visitor of the records of a snapshot, in sequence order.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long sequence, long time, int kind, long pos, long a, long b);
+    }
+
+    /**
+     * @param capacity Number of records kept, rounded up to a power of two
+     */
+    public TraceBuffer(int capacity) {
+        int size = 16;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicLongArray(size * FIELDS);
+        this.mask = size - 1;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Total number of records written since creation or the last {@link #clear}.
+     */
+    public long written() {
+        return next.get();
+    }
+
+    public void record(long time, int kind, long pos, long a, long b) {
+        long sequence = next.getAndIncrement();
+        int base = (int) (sequence & mask) * FIELDS;
+        slots.set(base, 0);  // Claimed: readers skip the slot until the stamp is back
+        VarHandle.storeStoreFence();  // No field write may become visible before the cleared stamp
+        slots.setPlain(base + 1, time);
+        slots.setPlain(base + 2, kind);
+        slots.setPlain(base + 3, pos);
+        slots.setPlain(base + 4, a);
+        slots.setPlain(base + 5, b);
+        slots.setRelease(base, sequence + 1);
+    }
+
+    /**
+     * Visit the records currently held, oldest first. Records written while the
+     * snapshot runs may or may not be included; torn records never are.
+     *
+     * @return the number of records visited
+     */
+    public int forEach(RecordVisitor visitor) {
+        long end = next.get();
+        long start = Math.max(0, end - capacity());
+        int visited = 0;
+        for (long sequence = start; sequence < end; sequence++) {
+            int base = (int) (sequence & mask) * FIELDS;
+            if (slots.getAcquire(base) != sequence + 1) {
+                continue;  // Being written, or already overwritten by a newer record
+            }
+            long time = slots.getAcquire(base + 1);
+            int kind = (int) slots.getAcquire(base + 2);
+            long pos = slots.getAcquire(base + 3);
+            long a = slots.getAcquire(base + 4);
+            long b = slots.getAcquire(base + 5);
+            if (slots.getAcquire(base) != sequence + 1) {
+                continue;
+            }
+            visitor.visit(sequence, time, kind, pos, a, b);
+            visited++;
+        }
+        return visited;
+    }
+
+    /**
+     * Forget all records. Must not run concurrently with writers.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i += FIELDS) {
+            slots.set(i, 0);
+        }
+        next.set(0);
+    }
+}
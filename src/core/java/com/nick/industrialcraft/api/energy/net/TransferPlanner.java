@@ -0,0 +1,126 @@
+package com.nick.industrialcraft.api.energy.net;
+
+/**
+ * Plans how one emitter's energy budget is split over the consumers it reaches.
+ *
+ * The planner only sees numbers: each consumer's remaining demand, the loss and
+ * capacity of the path to it and the largest packet it takes safely. Consumers a
+ * packet would overload (burn a cable on the way) or overvolt are reported and
+ * skipped. The rest either get whole packets in order, while the budget lasts, or
+ * an equal share of the budget. The energy phase feeds it from consumer views and
+ * storages; tests and benchmarks can feed it arrays.
+ */
+public final class TransferPlanner {
+
+    /**
+     * The consumers of one emitter, indexed in delivery order, and the sink of its plan.
+     */
+    public interface Target {
+
+        int getConsumerCount();
+
+        /**
+         * EU the consumer still wants this tick, 0 or less if none or excluded.
+         */
+        int getRemaining(int consumer);
+
+        /** EU lost on the path to the consumer. */
+        int getLoss(int consumer);
+
+        /** Largest packet the path to the consumer carries. */
+        int getCapacity(int consumer);
+
+        /** Largest packet the consumer takes without overvoltage. */
+        int getPacketCeiling(int consumer);
+
+        /** Leave the consumer out of the plan. */
+        void exclude(int consumer);
+
+        /** The packet exceeds the path's capacity. The consumer is left out. */
+        void overload(int consumer);
+
+        /** The packet exceeds the consumer's packet ceiling. The consumer is left out. */
+        void overvoltage(int consumer);
+
+        /**
+         * Plan a transfer of {@code amount} EU of which {@code loss} EU are lost on the way,
+         * lowering the consumer's remaining demand by what arrives.
+         *
+         * @return the energy taken from the budget
+         */
+        int transfer(int consumer, int amount, int loss);
+    }
+
+    private TransferPlanner() {}
+
+    /**
+     * Plan the transfers of one emitter against the consumers' remaining demand.
+     *
+     * @param budget EU the emitter offers this tick
+     * @param packetSize Size of the emitter's packets
+     * @param wholePackets Send whole packets instead of splitting the budget evenly
+     * @param partialPackets With whole packets, a budget below one packet still goes out as one smaller packet
+     * @return the budget left over
+     */
+    public static int plan(Target target, int budget, int packetSize, boolean wholePackets, boolean partialPackets) {
+        if (budget <= 0) {
+            return budget;
+        }
+
+        // Filter to only machines that actually want energy and can take our voltage
+        int consumers = target.getConsumerCount();
+        int needy = 0;
+        for (int i = 0; i < consumers; i++) {
+            if (target.getRemaining(i) <= 0) {
+                target.exclude(i);
+                continue;
+            }
+            if (packetSize > target.getCapacity(i)) {
+                // The packet burns through the path before reaching the machine
+                target.overload(i);
+                continue;
+            }
+            if (packetSize > target.getPacketCeiling(i)) {
+                target.overvoltage(i);
+                continue;
+            }
+            needy++;
+        }
+
+        if (needy == 0) {
+            return budget;
+        }
+
+        if (wholePackets) {
+            // Whole packets to each machine while energy lasts
+            for (int i = 0; i < consumers && (budget >= packetSize || partialPackets && budget > 0); i++) {
+                int remaining = target.getRemaining(i);
+                if (remaining > 0) {
+                    int loss = target.getLoss(i);
+                    int amount = Math.min(Math.min(packetSize, budget), withLoss(remaining, loss));
+                    budget -= target.transfer(i, amount, loss);
+                }
+            }
+        } else {
+            // Fair distribution: split available energy equally among all machines that want it
+            int share = Math.max(1, budget / needy);
+            for (int i = 0; i < consumers && budget > 0; i++) {
+                int remaining = target.getRemaining(i);
+                if (remaining > 0) {
+                    int loss = target.getLoss(i);
+                    int amount = Math.min(share, Math.min(withLoss(remaining, loss), budget));
+                    amount = Math.min(amount, target.getCapacity(i));
+                    budget -= target.transfer(i, amount, loss);
+                }
+            }
+        }
+        return budget;
+    }
+
+    /**
+     * Energy the emitter must send so that {@code remaining} EU arrive after {@code loss}.
+     */
+    public static int withLoss(int remaining, int loss) {
+        return Math.min(remaining, Integer.MAX_VALUE - loss) + loss;
+    }
+}
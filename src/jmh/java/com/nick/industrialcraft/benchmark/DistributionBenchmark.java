@@ -0,0 +1,78 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.EnergyPhase;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full distribution tick, run by the core {@link EnergyPhase} as EnergyDistributor
+ * runs it for a level: every source of the layout is submitted, its view is read from a
+ * warm {@link NetworkCache} (the getConnectedMachines cache hit), each consumer is probed
+ * once, transfers are planned and applied, and flow is added to the network's telemetry.
+ *
+ * Every layout has {@link #CONSUMERS} consumers and {@link #SOURCES} sources, however many
+ * cables it has, so the per-tick cost should stay flat from 1k to 50k cables. Sources and
+ * consumers are those of {@link SyntheticDistribution}. All views overlap, so emitters are
+ * planned as one group and later ones see the demand earlier ones left.
+ *
+ * With {@code loss} and {@code capacity} the views carry the per-path loss and bottleneck
+ * tables. Those passes run in setup only, so a tick with them should cost about the same.
+ * Compare the two with {@code wholePackets}: an equal share smaller than a path's loss
+ * delivers nothing, so without whole packets the rows with loss do less work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DistributionBenchmark {
+
+    private static final int CONSUMERS = 64;
+    private static final int SOURCES = 16;
+
+    @Param({"GRID", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "5000", "10000", "50000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean loss;
+
+    @Param({"false", "true"})
+    public boolean capacity;
+
+    @Param({"false", "true"})
+    public boolean wholePackets;
+
+    private SyntheticDistribution distribution;
+
+    @Setup
+    public void setup() {
+        SyntheticTopology topology = SyntheticTopology.generate(shape, size, CONSUMERS, SOURCES);
+        distribution = new SyntheticDistribution(topology, loss, capacity, wholePackets);
+
+        // Warm the views so the measured ticks are cache hits
+        distribution.tick();
+    }
+
+    @Benchmark
+    public long distributionTick() {
+        return distribution.tick();
+    }
+}
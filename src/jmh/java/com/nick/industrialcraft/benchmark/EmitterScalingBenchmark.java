@@ -0,0 +1,62 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One distribution tick of a single {@link #SIZE} cable grid with {@link #CONSUMERS}
+ * consumers and {@code emitters} sources, the other axis of {@link DistributionBenchmark}:
+ * there the load is fixed and the cables grow, here the cables are fixed and the emitters
+ * grow. Every view holds every consumer, so the tick should grow linearly with the number
+ * of emitters, each costing a walk over the packet ceilings and demand of its view.
+ *
+ * Consumers run dry long before the last emitters are planned; those emitters still read
+ * their view and find nothing left, so the larger rows mostly time planning against
+ * exhausted demand.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmitterScalingBenchmark {
+
+    private static final int SIZE = 50000;
+    private static final int CONSUMERS = 256;
+
+    @Param({"100", "1000", "5000"})
+    public int emitters;
+
+    @Param({"false", "true"})
+    public boolean wholePackets;
+
+    private SyntheticDistribution distribution;
+
+    @Setup
+    public void setup() {
+        SyntheticTopology topology = SyntheticTopology.generate(Shape.GRID, SIZE, CONSUMERS, emitters);
+        distribution = new SyntheticDistribution(topology, false, false, wholePackets);
+
+        // Warm the views so the measured ticks are cache hits
+        distribution.tick();
+    }
+
+    @Benchmark
+    public long distributionTick() {
+        return distribution.tick();
+    }
+}
@@ -0,0 +1,73 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * invalidateAt followed by the flush that applies it, through the level's
+ * {@link NetworkCache} as the manager runs them: a cable in the middle of the layout
+ * is broken and placed again, each change queued with invalidate and applied by the
+ * flush that precedes the next query.
+ *
+ * On lines and trees the cable is a bridge, so breaking it splits the network and
+ * placing it merges the halves again; on grids and meshes it is not.
+ * Split checks run on the calling thread (no background rebuilds).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvalidationBenchmark {
+
+    @Param({"LINE", "GRID", "TREE", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private SyntheticTopology topology;
+    private NetworkCache<Long> cache;
+    private long target;
+
+    @Setup
+    public void setup() {
+        topology = SyntheticTopology.generate(shape, size);
+        cache = new NetworkCache<>(SyntheticTopology.LOSS_PER_TYPE, SyntheticTopology.CAPACITY_PER_TYPE);
+        cache.networkAt(topology, topology.getCables()[0]);
+
+        // A cable in the middle of the layout that faces no machine
+        long[] cables = topology.getCables();
+        int index = cables.length / 2;
+        while (cache.getGraph().getMachineMask(cables[index]) != 0) {
+            index++;
+        }
+        target = cables[index];
+    }
+
+    @Benchmark
+    public int invalidateAt() {
+        topology.setCable(target, false);
+        cache.invalidate(target);
+        cache.flush(topology);
+        topology.setCable(target, true);
+        cache.invalidate(target);
+        cache.flush(topology);
+        return cache.getGraph().getNetworkCount();
+    }
+}
@@ -0,0 +1,505 @@
+package com.nick.industrialcraft.benchmark;
+
+import com.nick.industrialcraft.api.energy.net.ConsumerWorld;
+import com.nick.industrialcraft.api.energy.net.EnergyJournal;
+import com.nick.industrialcraft.api.energy.net.EnergyPhase;
+import com.nick.industrialcraft.api.energy.net.LongHashSet;
+import com.nick.industrialcraft.api.energy.net.LongObjectMap;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays an energy-net journal (written by /ic2 energynet journal) against the core,
+ * without a world, timing each phase.
+ *
+ * The replay drives the same core types as the mod's network manager and distributor:
+ * state records fill a replay world, change and chunk records go to a
+ * {@link NetworkCache} (queued changes, boundary stubs, cached views) and the emitters
+ * of each tick run through an {@link EnergyPhase}, with consumer demand taken from the
+ * journaled offers. Path figures and consumers the replay's views disagree on with the
+ * journaled offers are counted as mismatches, which catches behaviour changes when
+ * comparing algorithm versions.
+ *
+ * Run with {@code ./gradlew replayJournal -Pjournal=<file> [-Prepeat=<n>]}; later
+ * passes run with a warm JIT.
+ */
+public final class JournalReplay implements EnergyJournal.Visitor {
+
+    private static final int ALL_SIDES = 0b111111;
+
+    // Replay world state per position: kind << 16 | a << 8 | b, as the recorder writes it
+    private static final int CABLE_STATE = 1 << 16;
+    private static final int MACHINE_STATE = 2 << 16;
+
+    /**
+     * Totals of one replay.
+     */
+    public record Result(long records, long ticks, long changes, long emits, long offers, long viewBuilds,
+                         long topologyNanos, long viewNanos, long phaseNanos, long slowestTickNanos,
+                         long slowestTick, long lossMismatches, long capacityMismatches,
+                         long consumerMismatches, long delivered, int networks, int cables, boolean truncated) {
+
+        public List<String> describe() {
+            long total = topologyNanos + viewNanos + phaseNanos;
+            List<String> lines = new ArrayList<>();
+            lines.add(String.format("%d records, %d ticks, %d changes, %d emits, %d offers%s",
+                records, ticks, changes, emits, offers, truncated ? " (journal ends in a truncated record)" : ""));
+            lines.add(String.format("Total %.3f ms: topology %.3f ms, views %.3f ms (%d built), energy phase %.3f ms",
+                total / 1e6, topologyNanos / 1e6, viewNanos / 1e6, viewBuilds, phaseNanos / 1e6));
+            lines.add(String.format("Per tick %.3f ms average, slowest %.3f ms at game time %d",
+                ticks > 0 ? total / 1e6 / ticks : 0, slowestTickNanos / 1e6, slowestTick));
+            lines.add(String.format("Delivered %d EU; mismatches: %d losses, %d capacities, %d consumers; "
+                + "final graph: %d networks, %d cables",
+                delivered, lossMismatches, capacityMismatches, consumerMismatches, networks, cables));
+            return lines;
+        }
+    }
+
+    /**
+     * One emit record and the offers journaled after it, in view order.
+     */
+    private static final class Emit {
+        final long pos;
+        final int emitSides;
+        final int excludedSides;
+        final int budget;
+        final int packetSize;
+        final boolean ownPackets;
+        int offerCount;
+        long[] positions = new long[8];
+        int[] losses = new int[8];
+        int[] capacities = new int[8];
+
+        Emit(long pos, int emitSides, int excludedSides, int budget, int packetSize, boolean ownPackets) {
+            this.pos = pos;
+            this.emitSides = emitSides;
+            this.excludedSides = excludedSides;
+            this.budget = budget;
+            this.packetSize = packetSize;
+            this.ownPackets = ownPackets;
+        }
+
+        void add(long consumerPos, int loss, int capacity) {
+            if (offerCount == positions.length) {
+                positions = Arrays.copyOf(positions, offerCount * 2);
+                losses = Arrays.copyOf(losses, offerCount * 2);
+                capacities = Arrays.copyOf(capacities, offerCount * 2);
+            }
+            positions[offerCount] = consumerPos;
+            losses[offerCount] = loss;
+            capacities[offerCount] = capacity;
+            offerCount++;
+        }
+    }
+
+    /**
+     * A consumer position and the demand it was offered with this tick.
+     */
+    private static final class Consumer {
+        long offeredTick = Long.MIN_VALUE;
+        int demand;
+        int packetCeiling = Integer.MAX_VALUE;
+    }
+
+    private final EnergyJournal.Header header;
+    private final ReplayWorld world = new ReplayWorld();
+    private final NetworkCache<Long> cache;
+    private final EnergyPhase<Emit, Long, Consumer> phase;
+
+    // The emitter whose offers are being read, or compared while the phase gathers
+    private Emit emitting;
+    private int offerIndex;
+
+    private long records;
+    private long ticks;
+    private long changes;
+    private long emits;
+    private long offerCount;
+    private long viewBuilds;
+    private long topologyNanos;
+    private long viewNanos;
+    private long phaseNanos;
+    private long tickStartNanos;
+    private long currentTick = Long.MIN_VALUE;
+    private long slowestTickNanos;
+    private long slowestTick;
+    private long lossMismatches;
+    private long capacityMismatches;
+    private long consumerMismatches;
+    private long delivered;
+
+    public JournalReplay(EnergyJournal.Header header) {
+        this.header = header;
+        cache = new NetworkCache<>(header.lossPerType(), header.capacityPerType());
+        cache.setLimits(header.maxJunctions(), header.maxCables());
+        cache.setPathCosts(header.lossEnabled(), header.capacityEnabled());
+        cache.setListener(new NetworkCache.Listener() {
+            @Override
+            public void onViewBuilt(SourceView<?> view) {
+                viewBuilds++;
+            }
+        });
+        phase = new EnergyPhase<>(new ReplayHost());
+    }
+
+    /**
+     * Replay a whole journal.
+     */
+    public static Result replay(InputStream in) throws IOException {
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(in);
+        JournalReplay replay = new JournalReplay(reader.getHeader());
+        boolean truncated = false;
+        try {
+            while (reader.next(replay)) {
+                replay.records++;
+            }
+        } catch (EOFException e) {
+            // A server that stopped mid-write leaves a partial last record; anything else is corrupt
+            truncated = true;
+        }
+        return replay.finish(truncated);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JournalReplay <journal file> [passes]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        byte[] journal = Files.readAllBytes(file);
+        System.out.printf("Replaying %s (%d bytes)%n", file, journal.length);
+        for (int pass = 1; pass <= passes; pass++) {
+            Result result = replay(new ByteArrayInputStream(journal));
+            System.out.printf("Pass %d of %d:%n", pass, passes);
+            for (String line : result.describe()) {
+                System.out.println("  " + line);
+            }
+        }
+    }
+
+    private Result finish(boolean truncated) {
+        runPhase();
+        endTick();
+        return new Result(records, ticks, changes, emits, offerCount, viewBuilds, topologyNanos, viewNanos,
+            phaseNanos, slowestTickNanos, slowestTick, lossMismatches, capacityMismatches, consumerMismatches,
+            delivered, cache.getGraph().getNetworkCount(), cache.getGraph().getCableCount(), truncated);
+    }
+
+    // ========== Records ==========
+
+    @Override
+    public void tick(long gameTime) {
+        runPhase();
+        endTick();
+        ticks++;
+        currentTick = gameTime;
+        tickStartNanos = topologyNanos + viewNanos + phaseNanos;
+    }
+
+    /**
+     * A queued position the manager re-read. Changes journaled during the energy phase
+     * are applied by the phase's next view query, as they were live.
+     */
+    @Override
+    public void change(long pos) {
+        cache.invalidate(pos);
+        changes++;
+    }
+
+    // State records also arrive between emits, from reads while views were built: the
+    // replay world takes them at once, so views built when the phase runs see the same blocks
+
+    @Override
+    public void cable(long pos, int type, int mask) {
+        world.set(pos, CABLE_STATE | type << 8 | mask);
+    }
+
+    @Override
+    public void machine(long pos, int sourceTier, int consumerTier) {
+        world.set(pos, MACHINE_STATE | sourceTier << 8 | consumerTier);
+    }
+
+    @Override
+    public void empty(long pos) {
+        world.set(pos, 0);
+    }
+
+    @Override
+    public void chunk(int chunkX, int chunkZ, boolean loaded) {
+        runPhase();
+        long start = System.nanoTime();
+        long chunkKey = PackedPos.chunkKey(chunkX, chunkZ);
+        if (loaded) {
+            world.unloadedChunks.remove(chunkKey);
+            cache.reconnectStubs(chunkKey);
+        } else if (world.unloadedChunks.add(chunkKey)) {
+            LongHashSet positions = world.byChunk.get(chunkKey);
+            if (positions != null) {
+                positions.forEach(cache::unload);
+            }
+        }
+        topologyNanos += System.nanoTime() - start;
+    }
+
+    @Override
+    public void emit(long pos, int emitSides, int excludedSides, int budget, int packetSize,
+                     boolean wholePackets, boolean partialPackets) {
+        emits++;
+        if (partialPackets) {
+            // Only emitters that do not insist on whole packets show the phase's setting
+            phase.setPacketEmission(wholePackets);
+        }
+        emitting = new Emit(pos, emitSides, excludedSides, budget, packetSize, !partialPackets);
+        phase.add(pos, emitting);
+    }
+
+    @Override
+    public void offer(long pos, int demand, int packetCeiling, int loss, int capacity) {
+        offerCount++;
+        if (emitting == null) {
+            return;  // Offer without an emitter: skipped
+        }
+        emitting.add(pos, loss, capacity);
+
+        // Demand is probed once per tick, so every offer of a consumer carries the same figure
+        Consumer consumer = world.consumerAt(pos);
+        consumer.offeredTick = currentTick;
+        consumer.demand = demand;
+        consumer.packetCeiling = packetCeiling;
+    }
+
+    // ========== Energy phase ==========
+
+    /**
+     * Distribute the emits read since the last run, as the distributor does at the end of a tick.
+     */
+    private void runPhase() {
+        emitting = null;
+        if (phase.getPending() == 0) {
+            return;
+        }
+        long queryNanos = topologyNanos + viewNanos;
+        offerIndex = 0;
+        phase.run(currentTick);
+        if (emitting != null) {
+            consumerMismatches += emitting.offerCount - offerIndex;
+            emitting = null;
+        }
+        delivered += phase.getLastDelivered();
+        // View queries inside the run are already counted as topology and view time
+        phaseNanos += phase.getLastPhaseNanos() - (topologyNanos + viewNanos - queryNanos);
+    }
+
+    private void endTick() {
+        long tickNanos = topologyNanos + viewNanos + phaseNanos - tickStartNanos;
+        if (currentTick != Long.MIN_VALUE && tickNanos > slowestTickNanos) {
+            slowestTickNanos = tickNanos;
+            slowestTick = currentTick;
+        }
+    }
+
+    /**
+     * The replay world and the journaled emitters and consumers, as the energy phase sees them.
+     */
+    private final class ReplayHost implements EnergyPhase.Host<Emit, Long, Consumer> {
+
+        @Override
+        public SourceView<Long> getView(long emitterPos, int sideMask) {
+            long start = System.nanoTime();
+            cache.flush(world);
+            long flushed = System.nanoTime();
+            topologyNanos += flushed - start;
+            SourceView<Long> view = cache.getView(world, emitterPos, sideMask, currentTick);
+            viewNanos += System.nanoTime() - flushed;
+            return view;
+        }
+
+        @Override
+        public int getBudget(Emit emitter) {
+            return emitter.budget;
+        }
+
+        @Override
+        public int getPacketSize(Emit emitter) {
+            return emitter.packetSize;
+        }
+
+        @Override
+        public boolean emitsWholePackets(Emit emitter) {
+            return emitter.ownPackets;
+        }
+
+        @Override
+        public int getEmitSides(Emit emitter) {
+            return emitter.emitSides;
+        }
+
+        @Override
+        public int getExcludedSides(Emit emitter) {
+            return emitter.excludedSides;
+        }
+
+        @Override
+        public void emit(Emit emitter, int amount) {
+        }
+
+        @Override
+        public Consumer getStorage(Long machine) {
+            return world.consumerAt(machine);
+        }
+
+        @Override
+        public int probe(Consumer storage) {
+            return storage.offeredTick == currentTick ? storage.demand : 0;
+        }
+
+        @Override
+        public int receive(Consumer storage, int amount) {
+            return amount;
+        }
+
+        @Override
+        public boolean buffers(Long machine) {
+            return world.getSourceTier(machine) > 0;
+        }
+
+        @Override
+        public void meltCable(long cablePos, SourceView<Long> view, int packetSize) {
+            // The journal records the cable's removal if it melted live
+        }
+
+        @Override
+        public void overvoltage(Emit emitter, Long machine, long machinePos, SourceView<Long> view, int packetSize) {
+        }
+
+        @Override
+        public void onEmit(long emitterPos, Emit emitter, SourceView<Long> view, int budget, int packetSize,
+                           boolean wholePackets, boolean partialPackets) {
+            if (emitting != null) {
+                consumerMismatches += emitting.offerCount - offerIndex;
+            }
+            emitting = emitter;
+            offerIndex = 0;
+        }
+
+        /**
+         * Compare each offer with the journaled one at the same place in the emitter's view.
+         */
+        @Override
+        public void onOffer(SourceView<Long> view, int consumer, int probed) {
+            if (offerIndex >= emitting.offerCount || emitting.positions[offerIndex] != view.getMachinePos(consumer)) {
+                consumerMismatches++;
+                return;
+            }
+            if (header.lossEnabled() && view.getLoss(consumer) != emitting.losses[offerIndex]) {
+                lossMismatches++;
+            }
+            if (header.capacityEnabled() && view.getCapacity(consumer) != emitting.capacities[offerIndex]) {
+                capacityMismatches++;
+            }
+            offerIndex++;
+        }
+    }
+
+    // ========== World ==========
+
+    /**
+     * The blocks the journaled net read, as last recorded. Positions that were offered
+     * energy connect as consumers even without a tier (untiered machines record no state).
+     */
+    private static final class ReplayWorld implements ConsumerWorld<Long> {
+        final LongObjectMap<Integer> states = new LongObjectMap<>();
+        final LongObjectMap<LongHashSet> byChunk = new LongObjectMap<>();
+        final LongHashSet unloadedChunks = new LongHashSet();
+        final LongObjectMap<Consumer> consumers = new LongObjectMap<>();
+
+        void set(long pos, int state) {
+            long chunkKey = PackedPos.chunkKey(pos);
+            LongHashSet positions = byChunk.get(chunkKey);
+            if (state == 0) {
+                states.remove(pos);
+                if (positions != null && positions.remove(pos) && positions.isEmpty()) {
+                    byChunk.remove(chunkKey);
+                }
+                return;
+            }
+            states.put(pos, state);
+            if (positions == null) {
+                positions = new LongHashSet();
+                byChunk.put(chunkKey, positions);
+            }
+            positions.add(pos);
+        }
+
+        Consumer consumerAt(long pos) {
+            Consumer consumer = consumers.get(pos);
+            if (consumer == null) {
+                consumer = new Consumer();
+                consumers.put(pos, consumer);
+            }
+            return consumer;
+        }
+
+        private int state(long pos) {
+            Integer state = states.get(pos);
+            return state != null ? state : 0;
+        }
+
+        @Override
+        public boolean isLoaded(long pos) {
+            return unloadedChunks.isEmpty() || !unloadedChunks.contains(PackedPos.chunkKey(pos));
+        }
+
+        @Override
+        public int getCableType(long pos) {
+            int state = state(pos);
+            return (state & CABLE_STATE) != 0 ? (state >>> 8) & 0xFF : NO_CABLE;
+        }
+
+        @Override
+        public int getConnectionMask(long pos) {
+            int state = state(pos);
+            return (state & CABLE_STATE) != 0 ? state & ALL_SIDES : 0;
+        }
+
+        @Override
+        public int getSourceTier(long pos) {
+            int state = state(pos);
+            return (state & MACHINE_STATE) != 0 ? (state >>> 8) & 0xFF : 0;
+        }
+
+        @Override
+        public int getConsumerTier(long pos) {
+            int state = state(pos);
+            return (state & MACHINE_STATE) != 0 ? state & 0xFF : 0;
+        }
+
+        @Override
+        public Long connect(long machinePos, int accessSide, NetworkCache.Lease lease) {
+            return getConsumerTier(machinePos) > 0 || consumers.containsKey(machinePos) ? machinePos : null;
+        }
+
+        @Override
+        public int getPacketCeiling(Long machine) {
+            Consumer consumer = consumers.get(machine);
+            return consumer != null ? consumer.packetCeiling : Integer.MAX_VALUE;
+        }
+
+        @Override
+        public int getTier(Long machine) {
+            return getConsumerTier(machine);
+        }
+    }
+}
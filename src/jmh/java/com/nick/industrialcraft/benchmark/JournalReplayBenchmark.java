@@ -0,0 +1,125 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.EnergyJournal;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole journal replayed per operation (see {@link JournalReplay}): topology
+ * changes, view rebuilds and planning as a real server saw them.
+ *
+ * Pass a journal recorded with /ic2 energynet journal with
+ * {@code ./gradlew jmh -PjmhInclude=JournalReplay -PjmhJournal=<file>}. Without one,
+ * a synthetic journal is replayed: a grid whose middle cable is removed or put back
+ * every tenth tick, with every source emitting every tick. Its offers are read from
+ * the views of a {@link NetworkCache} as the distributor journals them, so a replay
+ * reports no mismatches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JournalReplayBenchmark {
+
+    private static final int SYNTHETIC_SIZE = 2_500;
+    private static final int SYNTHETIC_TICKS = 100;
+    private static final int CHANGE_INTERVAL_TICKS = 10;
+    private static final int CONSUMERS = 64;
+    private static final int SOURCES = 16;
+    private static final int PACKET_SIZE = 32;
+    private static final int DEMAND = 64;
+
+    @Param({""})
+    public String journal;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() throws IOException {
+        data = journal.isEmpty() ? recordSynthetic() : Files.readAllBytes(Path.of(journal));
+    }
+
+    @Benchmark
+    public JournalReplay.Result replay() throws IOException {
+        return JournalReplay.replay(new ByteArrayInputStream(data));
+    }
+
+    private static byte[] recordSynthetic() throws IOException {
+        SyntheticTopology topology = SyntheticTopology.generate(Shape.GRID, SYNTHETIC_SIZE, CONSUMERS, SOURCES);
+        NetworkCache<Long> cache = new NetworkCache<>(SyntheticTopology.LOSS_PER_TYPE,
+            SyntheticTopology.CAPACITY_PER_TYPE);
+        cache.setPathCosts(true, true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        EnergyJournal.Header header = new EnergyJournal.Header(0, Integer.MAX_VALUE, Integer.MAX_VALUE,
+            true, true, SyntheticTopology.LOSS_PER_TYPE, SyntheticTopology.CAPACITY_PER_TYPE);
+        try (EnergyJournal.Writer writer = new EnergyJournal.Writer(out, header)) {
+            for (long cable : topology.getCables()) {
+                writer.cable(cable, SyntheticTopology.CABLE_TYPE, topology.getConnectionMask(cable));
+            }
+            for (long consumer : topology.getConsumers()) {
+                writer.machine(consumer, 0, SyntheticTopology.TIER);
+            }
+            for (long source : topology.getSources()) {
+                writer.machine(source, SyntheticTopology.TIER, 0);
+            }
+
+            long[] cables = topology.getCables();
+            long target = cables[cables.length / 2];
+            for (int tick = 1; tick <= SYNTHETIC_TICKS; tick++) {
+                writer.tick(tick);
+
+                if (tick % CHANGE_INTERVAL_TICKS == 0) {
+                    // Remove the middle cable, put it back the next time
+                    boolean present = tick % (2 * CHANGE_INTERVAL_TICKS) == 0;
+                    topology.setCable(target, present);
+                    if (present) {
+                        writer.cable(target, SyntheticTopology.CABLE_TYPE, topology.getConnectionMask(target));
+                    } else {
+                        writer.empty(target);
+                    }
+                    for (int side = 0; side < PackedPos.SIDES; side++) {
+                        long neighbor = PackedPos.offset(target, side);
+                        if (topology.getCableType(neighbor) != SyntheticTopology.NO_CABLE) {
+                            writer.cable(neighbor, SyntheticTopology.CABLE_TYPE, topology.getConnectionMask(neighbor));
+                        }
+                    }
+                    writer.change(target);
+                    cache.invalidate(target);
+                }
+
+                for (long source : topology.getSources()) {
+                    SourceView<Long> view = cache.getView(topology, source, 0b111111, tick);
+                    writer.emit(source, 0b111111, 0, PACKET_SIZE * 2, PACKET_SIZE, true, true);
+                    for (int c = 0; c < view.machines().size(); c++) {
+                        writer.offer(view.getMachinePos(c), DEMAND, view.getPacketCeiling(c), view.getLoss(c),
+                            view.getCapacity(c));
+                    }
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+}
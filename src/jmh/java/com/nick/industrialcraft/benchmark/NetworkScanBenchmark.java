@@ -0,0 +1,125 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.EnergyNetGraph;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.EnergyWorld;
+import com.nick.industrialcraft.api.energy.net.NetworkDiscovery;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Discovery of a whole network from one cable into an empty graph: what the
+ * manager's scanNetwork path costs the first time a network is used.
+ *
+ * {@link #scanNetworkBoxed} is the reference: the breadth-first search scanNetwork did
+ * before the packed graph, over the same layout, with a HashSet of boxed positions, an
+ * ArrayDeque of queue entries and a new position from every {@code relative} call. Compare
+ * both time and {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkScanBenchmark {
+
+    @Param({"LINE", "GRID", "TREE", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * The boxed block position the old scan used, as BlockPos: immutable, one per step.
+     */
+    private record BlockPos(int x, int y, int z) {
+        private static final int[] DX = {0, 0, 0, 0, -1, 1};
+        private static final int[] DY = {-1, 1, 0, 0, 0, 0};
+        private static final int[] DZ = {0, 0, -1, 1, 0, 0};
+
+        BlockPos relative(int side) {
+            return new BlockPos(x + DX[side], y + DY[side], z + DZ[side]);
+        }
+
+        long asLong() {
+            return PackedPos.pack(x, y, z);
+        }
+    }
+
+    /**
+     * A queued position and the side it is reached from, as in the old scan.
+     */
+    private record QueueEntry(BlockPos pos, int fromSide) {}
+
+    private SyntheticTopology topology;
+
+    @Setup
+    public void setup() {
+        topology = SyntheticTopology.generate(shape, size);
+    }
+
+    @Benchmark
+    public EnergyNetwork scanNetwork() {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        return new NetworkDiscovery(graph).discover(topology, topology.getCables()[0],
+            Integer.MAX_VALUE, Integer.MAX_VALUE, (cable, neighbor) -> {});
+    }
+
+    /**
+     * @return the machines found, which the old scan went on to query
+     */
+    @Benchmark
+    public int scanNetworkBoxed() {
+        Set<BlockPos> visitedCables = new HashSet<>();
+        Set<BlockPos> visitedMachines = new HashSet<>();
+        List<QueueEntry> machines = new ArrayList<>();
+        Deque<QueueEntry> queue = new ArrayDeque<>();
+        long start = topology.getCables()[0];
+        queue.add(new QueueEntry(new BlockPos(PackedPos.getX(start), PackedPos.getY(start),
+            PackedPos.getZ(start)), -1));
+
+        while (!queue.isEmpty()) {
+            QueueEntry entry = queue.poll();
+            BlockPos pos = entry.pos();
+            if (topology.getCableType(pos.asLong()) != EnergyWorld.NO_CABLE) {
+                if (!visitedCables.add(pos)) {
+                    continue;
+                }
+                int mask = topology.getConnectionMask(pos.asLong());
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    if (!PackedPos.hasSide(mask, side)) {
+                        continue;
+                    }
+                    BlockPos neighborPos = pos.relative(side);
+                    if (!visitedCables.contains(neighborPos) && !visitedMachines.contains(neighborPos)) {
+                        queue.add(new QueueEntry(neighborPos, PackedPos.opposite(side)));
+                    }
+                }
+            } else if (visitedMachines.add(pos)) {
+                machines.add(entry);
+            }
+        }
+        return machines.size();
+    }
+}
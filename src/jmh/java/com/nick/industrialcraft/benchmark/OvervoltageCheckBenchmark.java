@@ -0,0 +1,85 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.OvervoltageCheck;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overvoltage placement check, as OvervoltageHandler runs it through {@link OvervoltageCheck}:
+ * a source is placed next to a cable and queued with invalidate, then the networks at
+ * its position are checked (which applies the change first). The source is removed again.
+ *
+ * A source of the consumers' tier is settled by the network tier aggregates, whatever
+ * the network size. A higher tier visits the network's consumers; placing the source
+ * also adds a connection to the cable next to it, so the consumer list is resolved again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OvervoltageCheckBenchmark {
+
+    @Param({"LINE", "GRID", "TREE", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1", "3"})
+    public int sourceTier;
+
+    private SyntheticTopology topology;
+    private NetworkCache<Long> cache;
+    private long placed;
+    private final Set<EnergyNetwork> checked = new HashSet<>();
+    private int endangered;
+    private final OvervoltageCheck.Endangered counter = (pos, gap) -> endangered++;
+
+    @Setup
+    public void setup() {
+        topology = SyntheticTopology.generate(shape, size);
+        cache = new NetworkCache<>(SyntheticTopology.LOSS_PER_TYPE, SyntheticTopology.CAPACITY_PER_TYPE);
+        cache.networkAt(topology, topology.getCables()[0]);
+
+        // A free position next to a cable in the middle of the layout
+        long[] cables = topology.getCables();
+        int index = cables.length / 2;
+        while (topology.freeSideOf(cables[index]) == Long.MIN_VALUE) {
+            index++;
+        }
+        placed = topology.freeSideOf(cables[index]);
+    }
+
+    @Benchmark
+    public int placementCheck() {
+        topology.setSource(placed, sourceTier);
+        cache.invalidate(placed);
+        endangered = 0;
+        checked.clear();
+        OvervoltageCheck.checkNetworks(cache, topology, placed, checked, counter);
+
+        topology.setSource(placed, 0);
+        cache.invalidate(placed);
+        cache.flush(topology);
+        return endangered;
+    }
+}
@@ -0,0 +1,83 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.EnergyPhase;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One distribution tick of a level with {@code networks} disjoint networks, each a
+ * {@link #SIZE} cable grid with {@link #CONSUMERS} consumers and {@link #SOURCES} sources.
+ * Emitters of different networks share no consumer, so every network is planned as its own
+ * group, and the tick has well above the 512 emitter-consumer pairs that parallel planning
+ * needs.
+ *
+ * With {@code threads} 0 the phase has no planning pool and plans every group inline, as
+ * on a single core server; otherwise groups are planned on a pool of that many threads.
+ * Transfers are applied on the calling thread either way, so the gain is bounded by the
+ * share of the tick spent planning.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelPlanningBenchmark {
+
+    private static final int SIZE = 1000;
+    private static final int CONSUMERS = 64;
+    private static final int SOURCES = 16;
+
+    @Param({"16", "64"})
+    public int networks;
+
+    @Param({"0", "1", "2", "4"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean wholePackets;
+
+    private ForkJoinPool pool;
+    private SyntheticDistribution distribution;
+
+    @Setup
+    public void setup() {
+        SyntheticTopology topology = SyntheticTopology.generateIslands(Shape.GRID, networks, SIZE, CONSUMERS,
+            SOURCES);
+        distribution = new SyntheticDistribution(topology, false, false, wholePackets);
+        if (threads > 0) {
+            pool = new ForkJoinPool(threads);
+            distribution.getPhase().setPlanningPool(() -> pool);
+        }
+
+        // Warm the views so the measured ticks are cache hits
+        distribution.tick();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public long distributionTick() {
+        return distribution.tick();
+    }
+}
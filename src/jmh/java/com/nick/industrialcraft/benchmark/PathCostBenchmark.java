@@ -0,0 +1,74 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.ContractedNetwork;
+import com.nick.industrialcraft.api.energy.net.EnergyNetGraph;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.NetworkDiscovery;
+import com.nick.industrialcraft.api.energy.net.PathCosts;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path passes run when a source's view is rebuilt with loss or cable capacity
+ * enabled: Dijkstra for loss and the widest-path search for capacity, over the
+ * contracted network, entering at a corner cable. Sizes include a 50k-cable network.
+ *
+ * This is the cost paid once per topology version, not per tick. Ticks only read the
+ * tables these passes leave in the views; see DistributionBenchmark with loss and
+ * capacity for the per-tick cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathCostBenchmark {
+
+    @Param({"LINE", "GRID", "TREE", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "50000", "1000000"})
+    public int size;
+
+    private ContractedNetwork contracted;
+    private long entry;
+
+    @Setup
+    public void setup() {
+        SyntheticTopology topology = SyntheticTopology.generate(shape, size);
+        EnergyNetGraph graph = new EnergyNetGraph();
+        entry = topology.getCables()[0];
+        EnergyNetwork network = new NetworkDiscovery(graph).discover(topology, entry,
+            Integer.MAX_VALUE, Integer.MAX_VALUE, (cable, neighbor) -> {});
+        contracted = graph.getContracted(network);
+    }
+
+    @Benchmark
+    public long[] lossPaths() {
+        long[] initial = PathCosts.newInitial(contracted);
+        PathCosts.enterAt(contracted, entry, SyntheticTopology.LOSS_PER_TYPE, initial);
+        return PathCosts.shortestPaths(contracted, initial, SyntheticTopology.LOSS_PER_TYPE);
+    }
+
+    @Benchmark
+    public long[] capacityPaths() {
+        long[] initial = PathCosts.newWidestInitial(contracted);
+        long[] weakest = new long[contracted.getNodeCount()];
+        PathCosts.enterWidestAt(contracted, entry, SyntheticTopology.CAPACITY_PER_TYPE, initial, weakest);
+        return PathCosts.widestPaths(contracted, initial, weakest, SyntheticTopology.CAPACITY_PER_TYPE);
+    }
+}
@@ -0,0 +1,147 @@
+package com.nick.industrialcraft.benchmark;
+
+import com.nick.industrialcraft.api.energy.net.EnergyPhase;
+import com.nick.industrialcraft.api.energy.net.LongObjectMap;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+
+/**
+ * A synthetic level as the core {@link EnergyPhase} sees it, for the distribution
+ * benchmarks: views come from a {@link NetworkCache} over the layout, every source
+ * offers {@link #BUDGET} EU in packets of the consumers' tier each tick, and every
+ * consumer takes up to {@link #DEMAND} EU per tick.
+ */
+final class SyntheticDistribution implements EnergyPhase.Host<SyntheticDistribution.Source, Long,
+        SyntheticDistribution.Sink> {
+
+    static final int BUDGET = 512;
+    static final int DEMAND = 256;
+
+    private static final int ALL_SIDES = (1 << PackedPos.SIDES) - 1;
+
+    /**
+     * A generator that always has its budget to offer.
+     */
+    static final class Source {
+        final long pos;
+        long emitted;
+
+        Source(long pos) {
+            this.pos = pos;
+        }
+    }
+
+    /**
+     * A consumer that takes up to DEMAND EU every tick. Looked up by position, so every
+     * emitter reaching it shares one demand.
+     */
+    static final class Sink {
+        long received;
+    }
+
+    private final SyntheticTopology topology;
+    private final NetworkCache<Long> cache;
+    private final EnergyPhase<Source, Long, Sink> phase;
+    private final LongObjectMap<Sink> sinks = new LongObjectMap<>();
+    private final Source[] sources;
+    private long gameTime;
+
+    SyntheticDistribution(SyntheticTopology topology, boolean loss, boolean capacity, boolean wholePackets) {
+        this.topology = topology;
+        cache = new NetworkCache<>(SyntheticTopology.LOSS_PER_TYPE, SyntheticTopology.CAPACITY_PER_TYPE);
+        cache.setPathCosts(loss, capacity);
+        phase = new EnergyPhase<>(this);
+        phase.setPacketEmission(wholePackets);
+        for (long consumer : topology.getConsumers()) {
+            sinks.put(consumer, new Sink());
+        }
+        long[] positions = topology.getSources();
+        sources = new Source[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            sources[i] = new Source(positions[i]);
+        }
+    }
+
+    EnergyPhase<Source, Long, Sink> getPhase() {
+        return phase;
+    }
+
+    /**
+     * Submit every source and run the energy phase once.
+     *
+     * @return the EU delivered
+     */
+    long tick() {
+        gameTime++;
+        for (Source source : sources) {
+            phase.add(source.pos, source);
+        }
+        phase.run(gameTime);
+        return phase.getLastDelivered();
+    }
+
+    @Override
+    public SourceView<Long> getView(long emitterPos, int sideMask) {
+        return cache.getView(topology, emitterPos, sideMask, gameTime);
+    }
+
+    @Override
+    public int getBudget(Source emitter) {
+        return BUDGET;
+    }
+
+    @Override
+    public int getPacketSize(Source emitter) {
+        return SyntheticTopology.PACKET_LIMIT;
+    }
+
+    @Override
+    public boolean emitsWholePackets(Source emitter) {
+        return false;
+    }
+
+    @Override
+    public int getEmitSides(Source emitter) {
+        return ALL_SIDES;
+    }
+
+    @Override
+    public int getExcludedSides(Source emitter) {
+        return 0;
+    }
+
+    @Override
+    public void emit(Source emitter, int amount) {
+        emitter.emitted += amount;
+    }
+
+    @Override
+    public Sink getStorage(Long machine) {
+        return sinks.get(machine);
+    }
+
+    @Override
+    public int probe(Sink storage) {
+        return DEMAND;
+    }
+
+    @Override
+    public int receive(Sink storage, int amount) {
+        storage.received += amount;
+        return amount;
+    }
+
+    @Override
+    public boolean buffers(Long machine) {
+        return false;
+    }
+
+    @Override
+    public void meltCable(long cablePos, SourceView<Long> view, int packetSize) {
+    }
+
+    @Override
+    public void overvoltage(Source emitter, Long machine, long machinePos, SourceView<Long> view, int packetSize) {
+    }
+}
@@ -0,0 +1,289 @@
+package com.nick.industrialcraft.benchmark;
+
+import com.nick.industrialcraft.api.energy.net.ConsumerWorld;
+import com.nick.industrialcraft.api.energy.net.LongHashSet;
+import com.nick.industrialcraft.api.energy.net.LongObjectMap;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+
+/**
+ * Generated cable layouts for the benchmarks, readable through {@link ConsumerWorld}.
+ *
+ * Every cable is of one type and connects to every neighbouring cable or machine.
+ * Every 16th cable faces a consumer and every 64th a source, placed on the first
+ * free side, unless fixed machine counts are asked for. Consumers are connected as
+ * their packed position. Everything is loaded. Benchmarks may remove and re-add cables
+ * and place sources to model block changes; the generation order lists stay as generated.
+ */
+public final class SyntheticTopology implements ConsumerWorld<Long> {
+
+    /** Base height of every layout. */
+    public static final int Y = 64;
+
+    public static final int CABLE_TYPE = 0;
+    public static final int TIER = 1;
+    // Largest packet a consumer of TIER takes
+    public static final int PACKET_LIMIT = 32;
+
+    // One cable type: loss in milli-EU per block and capacity in EU/t, as for copper
+    public static final long[] LOSS_PER_TYPE = {200};
+    public static final long[] CAPACITY_PER_TYPE = {128};
+
+    private static final int CONSUMER_SPACING = 16;
+    private static final int SOURCE_SPACING = 64;
+    // Sides tried for machines, upwards first so flat layouts keep their shape
+    private static final int[] MACHINE_SIDES = {1, 0, 2, 3, 4, 5};
+
+    public enum Shape {
+        /** A straight run along X: one network of two junctions and long runs. */
+        LINE,
+        /** A square grid in the XZ plane: every cable is a junction. */
+        GRID,
+        /** A comb: a trunk along X with a branch along Z from every other trunk cable. */
+        TREE,
+        /** A cube lattice: six-way junctions throughout. */
+        MESH
+    }
+
+    private final LongHashSet cables;
+    private final LongHashSet consumers = new LongHashSet();
+    private final LongObjectMap<Integer> sources = new LongObjectMap<>();
+    private final long[] cableOrder;
+    private long[] consumerOrder = new long[0];
+    private long[] sourceOrder = new long[0];
+
+    private SyntheticTopology(int size) {
+        this.cables = new LongHashSet(size);
+        this.cableOrder = new long[size];
+    }
+
+    /**
+     * Generate a layout of {@code size} cables.
+     */
+    public static SyntheticTopology generate(Shape shape, int size) {
+        SyntheticTopology topology = generateCables(shape, size);
+        topology.placeMachines(CONSUMER_SPACING, SOURCE_SPACING, false);
+        return topology;
+    }
+
+    /**
+     * Generate a layout of {@code size} cables with about {@code consumers} consumers and
+     * {@code sources} sources spread evenly over the cables with a free side, so machine load
+     * does not grow with size.
+     */
+    public static SyntheticTopology generate(Shape shape, int size, int consumers, int sources) {
+        SyntheticTopology topology = generateCables(shape, size);
+        int open = topology.countOpen();
+        topology.placeMachines(Math.max(2, open / consumers), Math.max(1, open / sources), true);
+        return topology;
+    }
+
+    /**
+     * Generate {@code islands} copies of a layout of {@code size} cables side by side along X,
+     * one network each, with about {@code consumers} consumers and {@code sources} sources on
+     * every copy.
+     */
+    public static SyntheticTopology generateIslands(Shape shape, int islands, int size, int consumers,
+                                                    int sources) {
+        long[] layout = layout(shape, size);
+        int width = 0;
+        for (long pos : layout) {
+            width = Math.max(width, PackedPos.getX(pos) + 1);
+        }
+        // A gap of three blocks, so machines of neighbouring islands never touch the other's cables
+        int spacing = width + 3;
+        long[] cables = new long[islands * size];
+        for (int island = 0; island < islands; island++) {
+            for (int i = 0; i < size; i++) {
+                long pos = layout[i];
+                cables[island * size + i] = PackedPos.pack(PackedPos.getX(pos) + island * spacing,
+                    PackedPos.getY(pos), PackedPos.getZ(pos));
+            }
+        }
+        SyntheticTopology topology = withCables(cables);
+        int open = topology.countOpen();
+        topology.placeMachines(Math.max(2, open / (islands * consumers)), Math.max(1, open / (islands * sources)),
+            true);
+        return topology;
+    }
+
+    private static SyntheticTopology generateCables(Shape shape, int size) {
+        return withCables(layout(shape, size));
+    }
+
+    private static SyntheticTopology withCables(long[] cables) {
+        SyntheticTopology topology = new SyntheticTopology(cables.length);
+        System.arraycopy(cables, 0, topology.cableOrder, 0, cables.length);
+        for (long cable : cables) {
+            topology.cables.add(cable);
+        }
+        return topology;
+    }
+
+    /**
+     * Cable positions of a layout, in generation order.
+     */
+    private static long[] layout(Shape shape, int size) {
+        long[] cables = new long[size];
+        int count = 0;
+        switch (shape) {
+            case LINE -> {
+                for (int x = 0; x < size; x++) {
+                    cables[count++] = PackedPos.pack(x, Y, 0);
+                }
+            }
+            case GRID -> {
+                int side = (int) Math.ceil(Math.sqrt(size));
+                for (int i = 0; i < size; i++) {
+                    cables[count++] = PackedPos.pack(i % side, Y, i / side);
+                }
+            }
+            case TREE -> {
+                int branch = Math.max(1, (int) Math.sqrt(size));
+                for (int x = 0; count < size; x++) {
+                    cables[count++] = PackedPos.pack(x, Y, 0);
+                    for (int z = 1; x % 2 == 0 && z < branch && count < size; z++) {
+                        cables[count++] = PackedPos.pack(x, Y, z);
+                    }
+                }
+            }
+            case MESH -> {
+                int side = (int) Math.ceil(Math.cbrt(size));
+                for (int i = 0; i < size; i++) {
+                    cables[count++] = PackedPos.pack(i % side, Y + i / (side * side), i / side % side);
+                }
+            }
+        }
+        return cables;
+    }
+
+    /**
+     * Count the cables that have a free side for a machine.
+     */
+    private int countOpen() {
+        int open = 0;
+        for (long cable : cableOrder) {
+            if (freeSideOf(cable) != Long.MIN_VALUE) {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Place machines by cable index, or with {@code openOnly} by index among the cables
+     * that still have a free side.
+     */
+    private void placeMachines(int consumerSpacing, int sourceSpacing, boolean openOnly) {
+        LongHashSet placedSources = new LongHashSet();
+        int open = 0;
+        for (int c = 0; c < cableOrder.length; c++) {
+            long free = freeSideOf(cableOrder[c]);
+            if (free == Long.MIN_VALUE) {
+                continue;
+            }
+            int i = openOnly ? open++ : c;
+            if (i % consumerSpacing == consumerSpacing / 2) {
+                consumers.add(free);
+            } else if (i % sourceSpacing == 0) {
+                sources.put(free, TIER);
+                placedSources.add(free);
+            }
+        }
+        consumerOrder = consumers.toArray();
+        sourceOrder = placedSources.toArray();
+    }
+
+    /**
+     * Get the first free position next to a cable, or Long.MIN_VALUE if it is surrounded.
+     */
+    public long freeSideOf(long cable) {
+        for (int side : MACHINE_SIDES) {
+            long pos = PackedPos.offset(cable, side);
+            if (!cables.contains(pos) && !consumers.contains(pos) && !sources.containsKey(pos)) {
+                return pos;
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    public void setCable(long pos, boolean present) {
+        if (present) {
+            cables.add(pos);
+        } else {
+            cables.remove(pos);
+        }
+    }
+
+    /**
+     * Place a source of the given tier, or remove it with tier 0.
+     */
+    public void setSource(long pos, int tier) {
+        if (tier > 0) {
+            sources.put(pos, tier);
+        } else {
+            sources.remove(pos);
+        }
+    }
+
+    /** Cable positions in generation order; index 0 is a corner or end of the layout. */
+    public long[] getCables() {
+        return cableOrder;
+    }
+
+    public long[] getConsumers() {
+        return consumerOrder;
+    }
+
+    public long[] getSources() {
+        return sourceOrder;
+    }
+
+    @Override
+    public boolean isLoaded(long pos) {
+        return true;
+    }
+
+    @Override
+    public int getCableType(long pos) {
+        return cables.contains(pos) ? CABLE_TYPE : NO_CABLE;
+    }
+
+    @Override
+    public int getConnectionMask(long pos) {
+        int mask = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            long neighbor = PackedPos.offset(pos, side);
+            if (cables.contains(neighbor) || consumers.contains(neighbor) || sources.containsKey(neighbor)) {
+                mask |= 1 << side;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public int getSourceTier(long pos) {
+        Integer tier = sources.get(pos);
+        return tier != null ? tier : 0;
+    }
+
+    @Override
+    public int getConsumerTier(long pos) {
+        return consumers.contains(pos) ? TIER : 0;
+    }
+
+    @Override
+    public Long connect(long machinePos, int accessSide, NetworkCache.Lease lease) {
+        return consumers.contains(machinePos) ? machinePos : null;
+    }
+
+    @Override
+    public int getPacketCeiling(Long machine) {
+        return PACKET_LIMIT;
+    }
+
+    @Override
+    public int getTier(Long machine) {
+        return TIER;
+    }
+}
@@ -0,0 +1,69 @@
+package com.nick.industrialcraft.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+import com.nick.industrialcraft.benchmark.SyntheticTopology.Shape;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cache-hit path of getConnectedMachines: {@link NetworkCache#getView} for a source
+ * whose view is cached and whose networks have not changed version, as every source
+ * takes it on a quiet tick. Sources are visited round-robin, so large layouts also
+ * measure cache misses of the view map.
+ *
+ * A hit must not allocate: run through the jmh task, which adds the GC profiler, and
+ * gc.alloc.rate.norm is expected to stay at 0 B/op. Every source view holds all
+ * consumers of the layout, so sizes stop where warming them all still fits in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewCacheBenchmark {
+
+    private static final int ALL_SIDES = (1 << PackedPos.SIDES) - 1;
+
+    @Param({"LINE", "GRID", "TREE", "MESH"})
+    public Shape shape;
+
+    @Param({"1000", "10000", "50000"})
+    public int size;
+
+    private SyntheticTopology topology;
+    private NetworkCache<Long> cache;
+    private long[] sources;
+    private int next;
+
+    @Setup
+    public void setup() {
+        topology = SyntheticTopology.generate(shape, size);
+        cache = new NetworkCache<>(SyntheticTopology.LOSS_PER_TYPE, SyntheticTopology.CAPACITY_PER_TYPE);
+        sources = topology.getSources();
+        for (long source : sources) {
+            cache.getView(topology, source, ALL_SIDES, 0);
+        }
+    }
+
+    @Benchmark
+    public SourceView<Long> connectedMachinesCacheHit() {
+        long source = sources[next];
+        next = next + 1 == sources.length ? 0 : next + 1;
+        return cache.getView(topology, source, ALL_SIDES, 0);
+    }
+}
@@ -314,21 +314,33 @@ public class Config {
     }
 
     public static final ModConfigSpec.IntValue MAX_NETWORK_SIZE = BUILDER
-            .comment("Maximum number of blocks to scan in a single network",
+            .comment("Maximum number of junctions to scan in a single network",
+                     "Junctions are cables that branch, end, touch a machine or change cable type;",
+                     "straight cable runs between junctions do not count (up to 256 blocks per junction)",
                      "Prevents infinite loops and reduces lag on large networks",
                      "Default: 1000 (increase for very large factories)")
             .defineInRange("max_network_size", 1000, 100, 100000);
 
     public static final ModConfigSpec.IntValue CACHE_EXPIRY_TICKS = BUILDER
-            .comment("How long network topology is cached before rescanning (in ticks)",
-                     "Higher values = better performance but slower reaction to changes",
-                     "Default: 100 (5 seconds)")
-            .defineInRange("cache_expiry_ticks", 100, 1, 12000);
+            .comment("Optional safety net: force a network rescan after this many ticks",
+                     "Network caches are kept up to date by block, connection and chunk events,",
+                     "so periodic rescans are only needed to work around misbehaving mods",
+                     "Default: 0 (disabled)")
+            .defineInRange("cache_expiry_ticks", 0, 0, 12000);
+
+    public static final ModConfigSpec.IntValue ENERGY_PLANNING_THREADS = BUILDER
+            .comment("Threads used to plan energy distribution for independent networks",
+                     "1 = plan on the server thread only, 0 = one thread per available core",
+                     "Results are identical for every setting; only the speed changes",
+                     "Default: 1")
+            .defineInRange("energy_planning_threads", 1, 0, 64);
 
-    public static final ModConfigSpec.IntValue MAX_OVERVOLTAGE_SCAN_SIZE = BUILDER
-            .comment("Maximum blocks to scan when checking for overvoltage on placement",
-                     "Default: 1000")
-            .defineInRange("max_overvoltage_scan_size", 1000, 100, 100000);
+    public static final ModConfigSpec.IntValue ASYNC_REBUILD_THRESHOLD = BUILDER
+            .comment("Network splits that need to visit more cables than this are finished",
+                     "on a background thread; the old network keeps working until then",
+                     "0 = always split on the server thread",
+                     "Default: 2048")
+            .defineInRange("async_rebuild_threshold", 2048, 0, 1000000);
 
     static { BUILDER.pop(); }
 
@@ -356,9 +368,27 @@ public class Config {
 
     public static final ModConfigSpec.BooleanValue ENABLE_ENERGY_LOSS = BUILDER
             .comment("Enable energy loss through cables based on distance",
-                     "Default: false (not yet implemented)")
+                     "Each cable block costs a fraction of an EU depending on the cable type;",
+                     "consumers are served over their lowest-loss path",
+                     "Default: false")
             .define("enable_energy_loss", false);
 
+    public static final ModConfigSpec.BooleanValue ENABLE_CABLE_CAPACITY = BUILDER
+            .comment("Limit the current each cable type can carry (EU/t)",
+                     "Transfers are capped at the capacity of the widest path to each consumer;",
+                     "a packet larger than that capacity melts the weakest cable on the path",
+                     "Off by default so existing worlds keep their cables on upgrade;",
+                     "check cable tiers against your generators before turning it on",
+                     "Default: false (set true for classic IC2 behavior)")
+            .define("enable_cable_capacity", false);
+
+    public static final ModConfigSpec.BooleanValue ENABLE_PACKET_EMISSION = BUILDER
+            .comment("Emit energy from every source as packets of its tier size (classic IC2)",
+                     "Consumers then receive whole packets in turn instead of an equal share;",
+                     "a source holding less than one packet sends what it has as one smaller packet",
+                     "Default: false (split energy equally between consumers)")
+            .define("enable_packet_emission", false);
+
     public static final ModConfigSpec.BooleanValue DEBUG_LOGGING = BUILDER
             .comment("Enable detailed debug logging for energy networks",
                      "Useful for troubleshooting but may spam logs",
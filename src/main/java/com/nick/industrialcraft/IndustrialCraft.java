@@ -5,6 +5,7 @@ import com.nick.industrialcraft.registry.ModBlocks;
 import com.nick.industrialcraft.registry.ModBlockEntity;
 import com.nick.industrialcraft.registry.ModDataComponents;
 import com.nick.industrialcraft.registry.ModFeatures;
+import com.nick.industrialcraft.registry.ModGameTests;
 import com.nick.industrialcraft.registry.ModItems;
 import com.nick.industrialcraft.registry.ModMenus;
 import com.nick.industrialcraft.registry.ModSounds;
@@ -332,10 +333,18 @@ public class IndustrialCraft {
         ModMenus.MENUS.register(modEventBus);
         ModDataComponents.DATA_COMPONENTS.register(modEventBus);
         ModFeatures.FEATURES.register(modEventBus);
+        ModGameTests.TEST_FUNCTIONS.register(modEventBus);
         ModSounds.SOUNDS.register(modEventBus);
         CREATIVE_MODE_TABS.register(modEventBus);
 
         NeoForge.EVENT_BUS.addListener(this::onServerStarting);
+        NeoForge.EVENT_BUS.addListener(this::onServerStopped);
+        NeoForge.EVENT_BUS.addListener(this::onChunkLoad);
+        NeoForge.EVENT_BUS.addListener(this::onChunkUnload);
+        NeoForge.EVENT_BUS.addListener(this::onLevelSave);
+        NeoForge.EVENT_BUS.addListener(this::onLevelUnload);
+        NeoForge.EVENT_BUS.addListener(this::onLevelTick);
+        NeoForge.EVENT_BUS.addListener(this::onRegisterCommands);
     }
 
     /* --------------------------------------------------------------------- */
@@ -376,5 +385,57 @@ public class IndustrialCraft {
     private void onServerStarting(net.neoforged.neoforge.event.server.ServerStartingEvent event) {
         LOGGER.info("IndustrialCraft server starting");
     }
+
+    private void onServerStopped(net.neoforged.neoforge.event.server.ServerStoppedEvent event) {
+        com.nick.industrialcraft.api.energy.EnergyDistributor.shutdown();
+        com.nick.industrialcraft.api.energy.EnergyNetworkManager.clearAll();
+        com.nick.industrialcraft.api.energy.EnergyTrace.stop();
+    }
+
+    private void onChunkLoad(net.neoforged.neoforge.event.level.ChunkEvent.Load event) {
+        // Reconnect energy networks that stopped at this chunk's border
+        if (event.getLevel() instanceof net.minecraft.world.level.Level level) {
+            com.nick.industrialcraft.api.energy.EnergyNetworkManager.onChunkLoad(level, event.getChunk());
+        }
+    }
+
+    private void onChunkUnload(net.neoforged.neoforge.event.level.ChunkEvent.Unload event) {
+        // Energy-net caches must not keep unloaded cables or machines alive
+        if (event.getLevel() instanceof net.minecraft.world.level.Level level) {
+            com.nick.industrialcraft.api.energy.EnergyNetworkManager.onChunkUnload(level, event.getChunk());
+        }
+    }
+
+    private void onLevelSave(net.neoforged.neoforge.event.level.LevelEvent.Save event) {
+        // Persist the energy-net topology so a restart does not rediscover every network
+        if (event.getLevel() instanceof net.minecraft.world.level.Level level) {
+            com.nick.industrialcraft.api.energy.EnergyNetworkManager.onLevelSave(level);
+        }
+    }
+
+    private void onLevelUnload(net.neoforged.neoforge.event.level.LevelEvent.Unload event) {
+        if (event.getLevel() instanceof net.minecraft.world.level.Level level) {
+            com.nick.industrialcraft.api.energy.EnergyNetworkManager.clearLevel(level);
+            com.nick.industrialcraft.api.energy.EnergyDistributor.clearLevel(level);
+            com.nick.industrialcraft.api.energy.OvervoltageHandler.clearLevel(level);
+            com.nick.industrialcraft.api.energy.EnergyProfiler.cancel(level);
+            com.nick.industrialcraft.api.energy.EnergyJournalRecorder.close(level);
+            com.nick.industrialcraft.api.energy.EnergyTrace.clearLevel(level);
+        }
+    }
+
+    private void onRegisterCommands(net.neoforged.neoforge.event.RegisterCommandsEvent event) {
+        com.nick.industrialcraft.command.EnergyNetCommand.register(event.getDispatcher());
+        com.nick.industrialcraft.command.FactoryCommand.register(event.getDispatcher());
+    }
+
+    private void onLevelTick(net.neoforged.neoforge.event.tick.LevelTickEvent.Post event) {
+        // Tick marker of a running energy-net journal
+        com.nick.industrialcraft.api.energy.EnergyJournalRecorder.tick(event.getLevel());
+        // Connections made this tick are checked before any energy flows through them
+        com.nick.industrialcraft.api.energy.OvervoltageHandler.runPendingChecks(event.getLevel());
+        // End-of-tick energy phase: deliver everything emitters offered during this tick
+        com.nick.industrialcraft.api.energy.EnergyDistributor.distribute(event.getLevel());
+    }
 }
 
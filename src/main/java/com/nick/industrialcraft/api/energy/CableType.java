@@ -0,0 +1,116 @@
+package com.nick.industrialcraft.api.energy;
+
+/**
+ * Cable types of the energy net.
+ *
+ * The energy-net graph stores a cable's type as its ordinal, so cable runs can be
+ * contracted into single edges only where the type does not change.
+ *
+ * Loss follows classic IC2: every cable block a packet passes costs a fixed fraction
+ * of an EU, stored here in milli-EU so path costs can be summed exactly.
+ * Capacity is the largest current (EU/t) a cable carries; larger packets melt it.
+ */
+public enum CableType {
+
+    /** Uninsulated Copper Cable */
+    COPPER("Copper Cable", 300, 40),
+
+    /** Insulated Copper Cable */
+    INSULATED_COPPER("Insulated Copper Cable", 200, 40),
+
+    /** Uninsulated Gold Cable */
+    GOLD("Gold Cable", 500, 64),
+
+    /** Insulated Gold Cable */
+    GOLD_INSULATED("Insulated Gold Cable", 450, 64),
+
+    /** Double Insulated Gold Cable */
+    GOLD_DOUBLE_INSULATED("Double Insulated Gold Cable", 400, 64),
+
+    /** Uninsulated High Voltage Cable */
+    HIGH_VOLTAGE("High Voltage Cable", 1000, 512),
+
+    /** Insulated High Voltage Cable */
+    HIGH_VOLTAGE_INSULATED("Insulated High Voltage Cable", 950, 512),
+
+    /** Double Insulated High Voltage Cable */
+    HIGH_VOLTAGE_DOUBLE_INSULATED("Double Insulated High Voltage Cable", 900, 512),
+
+    /** Quadruple Insulated High Voltage Cable */
+    HIGH_VOLTAGE_QUADRUPLE_INSULATED("Quadruple Insulated High Voltage Cable", 800, 512),
+
+    /** Glass Fiber Cable */
+    GLASS_FIBER("Glass Fiber Cable", 25, 8192),
+
+    /** Ultra Low Current Cable */
+    ULTRA_LOW_CURRENT("Ultra Low Current Cable", 25, 5);
+
+    private static final CableType[] VALUES = values();
+
+    private final String displayName;
+    private final int lossMilliEu;
+    private final int capacity;
+
+    CableType(String displayName, int lossMilliEu, int capacity) {
+        this.displayName = displayName;
+        this.lossMilliEu = lossMilliEu;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the display name for this cable type.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Get the energy lost per cable block, in milli-EU (1000 = 1 EU).
+     */
+    public int getLossMilliEu() {
+        return lossMilliEu;
+    }
+
+    /**
+     * Get the energy lost per cable block, in EU.
+     */
+    public double getLossPerBlock() {
+        return lossMilliEu / 1000.0;
+    }
+
+    /**
+     * Get the maximum current this cable carries (EU/t).
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Loss per block of every type, indexed by graph type id (for path cost calculations).
+     */
+    public static long[] lossTable() {
+        long[] table = new long[VALUES.length];
+        for (CableType type : VALUES) {
+            table[type.ordinal()] = type.lossMilliEu;
+        }
+        return table;
+    }
+
+    /**
+     * Capacity of every type, indexed by graph type id (for bottleneck calculations).
+     */
+    public static long[] capacityTable() {
+        long[] table = new long[VALUES.length];
+        for (CableType type : VALUES) {
+            table[type.ordinal()] = type.capacity;
+        }
+        return table;
+    }
+
+    /**
+     * Get a cable type from the ordinal stored in the energy-net graph.
+     */
+    public static CableType byId(int id) {
+        return VALUES[id];
+    }
+}
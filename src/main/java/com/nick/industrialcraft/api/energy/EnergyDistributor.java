@@ -0,0 +1,276 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
+
+import com.nick.industrialcraft.Config;
+import com.nick.industrialcraft.api.energy.EnergyNetworkManager.MachineConnection;
+import com.nick.industrialcraft.api.energy.net.EnergyPhase;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Level-wide energy phase, run once at the end of every level tick.
+ *
+ * Emitters (generators, storage blocks, transformers) submit themselves from their
+ * tickers instead of pushing energy directly. At the end of the tick all submissions
+ * of the level are distributed together by the core {@link EnergyPhase}: gathered on
+ * the server thread, planned per group of emitters that share consumers (on a
+ * ForkJoinPool when Config.ENERGY_PLANNING_THREADS allows it) and applied in position
+ * order. This class supplies the views, block entities and storages it works on, and
+ * melts cables and runs overvoltage consequences when the phase reports them.
+ *
+ * Consumers receive at most their probed demand per tick, across all emitters.
+ * With Config.ENABLE_ENERGY_LOSS the emitter also pays the path loss of every transfer,
+ * read in O(1) from the loss table cached in the source's network view.
+ * With Config.ENABLE_CABLE_CAPACITY every transfer is capped at the bottleneck capacity
+ * of the widest path to its consumer, and a packet above that capacity melts the path's
+ * weakest cable instead. Both are precomputed per topology version by the view, so the
+ * check is one array read per transfer regardless of network size. Transfers of
+ * different emitters sharing a cable are each checked against the path, not summed.
+ * Tier checks work the same way: the view records the largest packet each consumer
+ * accepts, so planning only reads gathered data and never calls into block entities.
+ * With Config.ENABLE_PACKET_EMISSION every emitter sends tier-sized packets in turn
+ * (as transformers always do) instead of splitting its energy equally.
+ */
+public class EnergyDistributor {
+
+    // Per-level submissions and reusable planning buffers
+    private static final Map<Level, LevelDistribution> levelDistributions = new WeakHashMap<>();
+
+    // Shared planning pool, rebuilt when the configured parallelism changes
+    private static ForkJoinPool planningPool;
+
+    /**
+     * Submit an emitter for this tick's energy phase.
+     * Call this from the emitter's server tick whenever it has energy to send.
+     *
+     * @param level The world level
+     * @param pos The position of the emitter
+     * @param emitter The emitter
+     */
+    public static void submit(Level level, BlockPos pos, IEnergyEmitter emitter) {
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        levelDistributions.computeIfAbsent(level, k -> new LevelDistribution()).phase.add(pos.asLong(), emitter);
+    }
+
+    /**
+     * Run the energy phase for a level (call at the end of the level tick).
+     */
+    public static void distribute(Level level) {
+        if (level == null || level.isClientSide()) {
+            return;
+        }
+        LevelDistribution distribution = levelDistributions.get(level);
+        EnergyProfiler.enterPhase(level);
+        if (distribution != null && distribution.phase.getPending() > 0) {
+            EnergyNetworkManager.beginEnergyWork();
+            try {
+                distribution.run(level);
+            } finally {
+                EnergyNetworkManager.endEnergyWork();
+                // Even when the phase throws, so the profiler's sampler stops sampling it
+                EnergyPhase<?, ?, ?> phase = distribution.phase;
+                EnergyProfiler.exitPhase(level, phase.getLastPhaseNanos(), phase.getLastPlanNanos(),
+                    phase.getLastEmitters());
+            }
+        } else {
+            EnergyProfiler.exitPhase(level, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Drop pending submissions for a level (call on dimension unload).
+     */
+    public static void clearLevel(Level level) {
+        levelDistributions.remove(level);
+    }
+
+    /**
+     * Shut down the planning pool (call on server shutdown).
+     */
+    public static synchronized void shutdown() {
+        if (planningPool != null) {
+            planningPool.shutdown();
+            planningPool = null;
+        }
+    }
+
+    /**
+     * Get statistics of the last energy phase for debugging.
+     */
+    public static String getStats(Level level) {
+        LevelDistribution distribution = levelDistributions.get(level);
+        if (distribution == null) {
+            return "No energy phase has run in this level";
+        }
+        EnergyPhase<?, ?, ?> phase = distribution.phase;
+        return String.format("Emitters: %d, Groups: %d (%s), Consumers probed: %d, Transfers: %d, Overvoltages: %d, Melted cables: %d, Delivered: %d EU, Lost: %d EU, Phase: %.3f ms (plan %.3f ms)",
+            phase.getLastEmitters(), phase.getLastGroups(), phase.wasLastParallel() ? "parallel" : "serial",
+            phase.getLastProbes(), phase.getLastTransfers(), phase.getLastOvervoltages(), phase.getLastMelted(), phase.getLastDelivered(), phase.getLastLost(),
+            phase.getLastPhaseNanos() / 1_000_000.0, phase.getLastPlanNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Get the wall time of all energy phases run in a level so far, in nanoseconds.
+     * Tick-cost tests read it before and after a run of ticks.
+     */
+    public static long getTotalPhaseNanos(Level level) {
+        LevelDistribution distribution = levelDistributions.get(level);
+        return distribution != null ? distribution.phase.getTotalPhaseNanos() : 0;
+    }
+
+    /**
+     * Get the planning pool for the configured parallelism, or null to plan on the server thread.
+     */
+    private static synchronized ForkJoinPool getPlanningPool() {
+        int threads = Config.ENERGY_PLANNING_THREADS.get();
+        if (threads == 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        if (threads <= 1) {
+            return null;
+        }
+        if (planningPool == null || planningPool.getParallelism() != threads) {
+            if (planningPool != null) {
+                planningPool.shutdown();
+            }
+            planningPool = new ForkJoinPool(threads, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("IC2 Energy Planner " + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+        return planningPool;
+    }
+
+    // ========== Per-Level State ==========
+
+    /**
+     * The core energy phase of one level and what ties it to the game: block entities,
+     * storages, cable melting, overvoltage, trace and journal hooks.
+     * Holds the level only while it runs, so levels are still dropped from the weak map.
+     */
+    private static final class LevelDistribution implements EnergyPhase.Host<IEnergyEmitter, MachineConnection, IEnergyStorage> {
+        final EnergyPhase<IEnergyEmitter, MachineConnection, IEnergyStorage> phase = new EnergyPhase<>(this);
+
+        @Nullable
+        Level level;
+        // Whether the journal records this run, read once per energy phase
+        boolean journaled;
+
+        LevelDistribution() {
+            phase.setPlanningPool(EnergyDistributor::getPlanningPool);
+        }
+
+        void run(Level level) {
+            this.level = level;
+            journaled = EnergyJournalRecorder.isRecording(level);
+            phase.setPacketEmission(Config.ENABLE_PACKET_EMISSION.get());
+            try {
+                phase.run(level.getGameTime());
+            } finally {
+                this.level = null;
+            }
+        }
+
+        @Override
+        @Nullable
+        public SourceView<MachineConnection> getView(long emitterPos, int sideMask) {
+            return EnergyNetworkManager.getConnectedView(level, emitterPos, sideMask);
+        }
+
+        @Override
+        public int getBudget(IEnergyEmitter emitter) {
+            if (emitter instanceof BlockEntity be && be.isRemoved()) {
+                return 0;
+            }
+            return emitter.getEmittableEnergy();
+        }
+
+        @Override
+        public int getPacketSize(IEnergyEmitter emitter) {
+            return emitter.getEmittedPacketSize();
+        }
+
+        @Override
+        public boolean emitsWholePackets(IEnergyEmitter emitter) {
+            return emitter.emitsWholePackets();
+        }
+
+        @Override
+        public int getEmitSides(IEnergyEmitter emitter) {
+            return emitter.getEmitSides();
+        }
+
+        @Override
+        public int getExcludedSides(IEnergyEmitter emitter) {
+            return emitter.getExcludedSides();
+        }
+
+        @Override
+        public void emit(IEnergyEmitter emitter, int amount) {
+            emitter.emitEnergy(amount);
+        }
+
+        @Override
+        public IEnergyStorage getStorage(MachineConnection machine) {
+            return machine.storage();
+        }
+
+        @Override
+        public int probe(IEnergyStorage storage) {
+            return storage.canReceive() ? storage.receiveEnergy(Integer.MAX_VALUE, true) : 0;
+        }
+
+        @Override
+        public int receive(IEnergyStorage storage, int amount) {
+            return storage.receiveEnergy(amount, false);
+        }
+
+        @Override
+        public boolean buffers(MachineConnection machine) {
+            return machine.blockEntity() instanceof IEnergyEmitter;
+        }
+
+        @Override
+        public void meltCable(long cablePos, SourceView<MachineConnection> view, int packetSize) {
+            EnergyTrace.record(EnergyTrace.CABLE_MELT, level, cablePos, view.networks(), packetSize, 0);
+            OvervoltageHandler.meltCable(level, BlockPos.of(cablePos));
+        }
+
+        @Override
+        public void overvoltage(IEnergyEmitter emitter, MachineConnection machine, long machinePos,
+                                SourceView<MachineConnection> view, int packetSize) {
+            EnergyTrace.record(EnergyTrace.OVERVOLTAGE, level, machinePos, view.networks(), packetSize, 0);
+            emitter.onOvervoltage(level, machine, packetSize);
+        }
+
+        @Override
+        public void onEmit(long emitterPos, IEnergyEmitter emitter, SourceView<MachineConnection> view, int budget,
+                           int packetSize, boolean wholePackets, boolean partialPackets) {
+            EnergyTrace.record(EnergyTrace.EMIT, level, emitterPos, view.networks(), budget, packetSize);
+            if (journaled) {
+                EnergyJournalRecorder.emit(level, emitterPos, emitter.getEmitSides(), emitter.getExcludedSides(),
+                    budget, packetSize, wholePackets, partialPackets);
+            }
+        }
+
+        @Override
+        public void onOffer(SourceView<MachineConnection> view, int consumer, int probed) {
+            if (journaled) {
+                EnergyJournalRecorder.offer(level, view.getMachinePos(consumer), probed,
+                    view.getPacketCeiling(consumer), view.getLoss(consumer), view.getCapacity(consumer));
+            }
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import com.nick.industrialcraft.Config;
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.api.energy.net.EnergyJournal;
+import com.nick.industrialcraft.api.energy.net.LongHashSet;
+import com.nick.industrialcraft.api.energy.net.LongObjectMap;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Records the energy-net traffic of one level into an {@link EnergyJournal} file,
+ * run by /ic2 energynet journal.
+ *
+ * Topology comes from the cable blocks (placement, removal, connection changes in
+ * updateShape) and from every block the net reads through {@link LevelEnergyWorld},
+ * so the replay world holds exactly what the live net saw. A block's state is only
+ * written when it differs from the last one written for it. Demand comes from the
+ * energy phase: each emitter with its budget, then each consumer it offers to with
+ * the probed demand and the path figures of its view. Ticks are marked before the
+ * energy phase. Journaling starts with a snapshot of the tracked cables.
+ *
+ * Server thread only. While no journal is open, every hook costs one static field read.
+ */
+public final class EnergyJournalRecorder {
+
+    public static final long DEFAULT_MAX_BYTES = 256L << 20;
+    public static final String EXTENSION = "ic2j";
+
+    private static final int FLUSH_INTERVAL_TICKS = 20;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // Last state written per position: kind << 16 | a << 8 | b
+    private static final int CABLE_STATE = 1 << 16;
+    private static final int MACHINE_STATE = 2 << 16;
+
+    // Checked first by every hook; null while no journal is open
+    @Nullable
+    private static Level level;
+    @Nullable
+    private static EnergyJournal.Writer writer;
+    @Nullable
+    private static Path file;
+    private static long maxBytes;
+    private static long ticks;
+    private static long emits;
+    private static long offers;
+    private static final LongObjectMap<Integer> written = new LongObjectMap<>();
+    private static final LongHashSet unloadedChunks = new LongHashSet();
+
+    private EnergyJournalRecorder() {}
+
+    public static boolean isRecording(Level target) {
+        return level == target && target != null;
+    }
+
+    // ========== Control ==========
+
+    /**
+     * Start journaling a level into a new file, replacing a journal already open.
+     *
+     * @param limit Size in bytes at which the journal stops by itself
+     */
+    public static void start(Level target, Path path, long limit) throws IOException {
+        if (level != null) {
+            stop();
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        BufferedOutputStream out = new BufferedOutputStream(
+            Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE), BUFFER_SIZE);
+        int maxJunctions = Config.MAX_NETWORK_SIZE.get();
+        EnergyJournal.Header header = new EnergyJournal.Header(target.getGameTime(), maxJunctions,
+            maxJunctions * EnergyNetworkManager.RUN_BLOCKS_PER_JUNCTION, Config.ENABLE_ENERGY_LOSS.get(),
+            Config.ENABLE_CABLE_CAPACITY.get(), CableType.lossTable(), CableType.capacityTable());
+        try {
+            writer = new EnergyJournal.Writer(out, header);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+        level = target;
+        file = path;
+        maxBytes = limit;
+        ticks = 0;
+        emits = 0;
+        offers = 0;
+
+        // The net may already track networks: write what they were built from
+        EnergyNetworkManager.observeTracked(target);
+        IndustrialCraft.LOGGER.info("Journaling the energy net of {} to {}", target.dimension().location(), path);
+    }
+
+    /**
+     * Close the open journal.
+     *
+     * @return the file written, or null if no journal was open
+     */
+    @Nullable
+    public static Path stop() {
+        EnergyJournal.Writer current = writer;
+        Path closed = file;
+        if (current == null) {
+            return null;
+        }
+        long bytes = current.bytesWritten();
+        level = null;
+        writer = null;
+        file = null;
+        written.clear();
+        unloadedChunks.clear();
+        try {
+            current.close();
+        } catch (IOException e) {
+            IndustrialCraft.LOGGER.error("Failed to close the energy-net journal {}", closed, e);
+        }
+        IndustrialCraft.LOGGER.info("Energy-net journal {} closed: {} ticks, {} emits, {} offers, {} bytes",
+            closed, ticks, emits, offers, bytes);
+        return closed;
+    }
+
+    /**
+     * Close the journal of a level that is being unloaded.
+     */
+    public static void close(Level target) {
+        if (isRecording(target)) {
+            stop();
+        }
+    }
+
+    /**
+     * Describe the journal state for commands.
+     */
+    public static String describe() {
+        EnergyJournal.Writer current = writer;
+        if (current == null) {
+            return "Journal: off";
+        }
+        return String.format("Journal: %s, Ticks: %d, Emits: %d, Offers: %d, Size: %.1f of %d MB, Positions: %d",
+            file, ticks, emits, offers, current.bytesWritten() / 1048576.0, maxBytes >> 20, written.size());
+    }
+
+    // ========== Hooks ==========
+
+    /**
+     * Mark the start of a level tick's energy work.
+     */
+    public static void tick(Level target) {
+        if (!isRecording(target)) {
+            return;
+        }
+        try {
+            writer.tick(target.getGameTime());
+            if (++ticks % FLUSH_INTERVAL_TICKS == 0) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        if (writer.bytesWritten() >= maxBytes) {
+            IndustrialCraft.LOGGER.warn("Energy-net journal {} reached its size limit of {} MB", file, maxBytes >> 20);
+            stop();
+        }
+    }
+
+    /**
+     * A queued position is about to be re-read by the net.
+     */
+    static void change(Level target, BlockPos pos) {
+        if (isRecording(target)) {
+            try {
+                writer.change(pos.asLong());
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * A cable's block state, as placed or after a connection change.
+     */
+    public static void cable(Level target, BlockPos pos, int type, int mask) {
+        if (isRecording(target)) {
+            cable(pos.asLong(), type, mask);
+        }
+    }
+
+    static void cable(long pos, int type, int mask) {
+        writeState(pos, CABLE_STATE | type << 8 | mask);
+    }
+
+    /**
+     * A cable was removed from the world.
+     */
+    public static void removed(Level target, BlockPos pos) {
+        if (isRecording(target)) {
+            writeState(pos.asLong(), 0);
+        }
+    }
+
+    /**
+     * A position read as something other than a cable: forget a cable written there before.
+     */
+    static void notCable(long pos) {
+        Integer state = written.get(pos);
+        if (state != null && (state & CABLE_STATE) != 0) {
+            writeState(pos, 0);
+        }
+    }
+
+    /**
+     * A position read as a machine; both tiers 0 if it is no tiered machine.
+     */
+    static void machine(long pos, int sourceTier, int consumerTier) {
+        writeState(pos, sourceTier == 0 && consumerTier == 0 ? 0 : MACHINE_STATE | sourceTier << 8 | consumerTier);
+    }
+
+    /**
+     * A position read as loaded or unloaded.
+     */
+    static void loaded(long pos, boolean isLoaded) {
+        long chunkKey = ChunkPos.asLong(PackedPos.getX(pos) >> 4, PackedPos.getZ(pos) >> 4);
+        if (isLoaded ? unloadedChunks.contains(chunkKey) : !unloadedChunks.contains(chunkKey)) {
+            chunk(chunkKey, isLoaded);
+        }
+    }
+
+    /**
+     * A chunk the net reacts to was loaded or unloaded.
+     */
+    static void chunk(Level target, ChunkPos chunkPos, boolean isLoaded) {
+        if (isRecording(target)) {
+            chunk(chunkPos.toLong(), isLoaded);
+        }
+    }
+
+    private static void chunk(long chunkKey, boolean isLoaded) {
+        if (isLoaded) {
+            unloadedChunks.remove(chunkKey);
+        } else {
+            unloadedChunks.add(chunkKey);
+        }
+        try {
+            writer.chunk(ChunkPos.getX(chunkKey), ChunkPos.getZ(chunkKey), isLoaded);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * An emitter takes part in the energy phase. Its offers follow.
+     */
+    static void emit(Level target, long pos, int emitSides, int excludedSides, int budget, int packetSize,
+                     boolean wholePackets, boolean partialPackets) {
+        if (isRecording(target)) {
+            emits++;
+            try {
+                writer.emit(pos, emitSides, excludedSides, budget, packetSize, wholePackets, partialPackets);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * One consumer the last emitter plans for.
+     */
+    static void offer(Level target, long pos, int demand, int packetCeiling, int loss, int capacity) {
+        if (isRecording(target)) {
+            offers++;
+            try {
+                writer.offer(pos, demand, packetCeiling, loss, capacity);
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private static void writeState(long pos, int state) {
+        Integer previous = state == 0 ? written.remove(pos) : written.put(pos, state);
+        if (previous != null && previous == state || previous == null && state == 0) {
+            return;
+        }
+        try {
+            if (state == 0) {
+                writer.empty(pos);
+            } else if ((state & CABLE_STATE) != 0) {
+                writer.cable(pos, (state >>> 8) & 0xFF, state & 0xFF);
+            } else {
+                writer.machine(pos, (state >>> 8) & 0xFF, state & 0xFF);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private static void fail(IOException e) {
+        IndustrialCraft.LOGGER.error("Failed to write the energy-net journal {}, journaling stopped", file, e);
+        stop();
+    }
+}
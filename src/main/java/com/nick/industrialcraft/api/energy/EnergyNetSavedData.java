@@ -0,0 +1,102 @@
+package com.nick.industrialcraft.api.energy;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.SavedDataType;
+import org.jetbrains.annotations.Nullable;
+
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.api.energy.net.TopologyCodec;
+
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+
+/**
+ * Per-dimension saved energy-net topology.
+ *
+ * Holds the graph encoded by {@link TopologyCodec} as one byte array, so a restart
+ * restores every network with a single sequential read instead of one discovery
+ * walk per source. The bytes are decoded when the level's graph is first used;
+ * restored networks are checked against the world lazily (see EnergyNetworkManager).
+ *
+ * While a live graph is attached, it is encoded during the level save itself,
+ * so the saved topology is never one save behind.
+ */
+public class EnergyNetSavedData extends SavedData {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    public static final Codec<EnergyNetSavedData> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    Codec.BYTE_BUFFER.fieldOf("topology").forGetter(data -> ByteBuffer.wrap(data.snapshot()))
+            ).apply(instance, EnergyNetSavedData::fromBuffer)
+    );
+
+    public static final SavedDataType<EnergyNetSavedData> TYPE = new SavedDataType<>(
+            IndustrialCraft.MODID + "_energy_net",
+            EnergyNetSavedData::new,
+            CODEC,
+            null  // Own binary format, versioned by TopologyCodec
+    );
+
+    private byte[] topology;
+    @Nullable
+    private Supplier<byte[]> source;
+
+    public EnergyNetSavedData() {
+        this(EMPTY);
+    }
+
+    private EnergyNetSavedData(byte[] topology) {
+        this.topology = topology;
+    }
+
+    private static EnergyNetSavedData fromBuffer(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new EnergyNetSavedData(bytes);
+    }
+
+    /**
+     * Get the saved topology of a level, loading it from disk on first access.
+     */
+    public static EnergyNetSavedData get(ServerLevel level) {
+        return level.getDataStorage().computeIfAbsent(TYPE);
+    }
+
+    /**
+     * Get the topology loaded from disk (empty if nothing was saved).
+     */
+    public byte[] getTopology() {
+        return topology;
+    }
+
+    public boolean hasTopology() {
+        return topology.length > 0;
+    }
+
+    /**
+     * Attach the live graph (after restoring from it): from now on every save encodes it.
+     */
+    public void attach(Supplier<byte[]> source) {
+        this.source = source;
+        this.topology = EMPTY;  // Restored already; the live graph supersedes it
+        setDirty();
+    }
+
+    /**
+     * Keep a final snapshot of the attached graph and stop encoding it (the graph is being cleared).
+     */
+    public void detach() {
+        if (source != null) {
+            topology = source.get();
+            source = null;
+        }
+    }
+
+    private byte[] snapshot() {
+        return source != null ? source.get() : topology;
+    }
+}
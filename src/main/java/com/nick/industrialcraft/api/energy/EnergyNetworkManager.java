@@ -2,279 +2,346 @@ package com.nick.industrialcraft.api.energy;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
-import net.minecraft.world.level.block.state.BlockState;
-import net.neoforged.neoforge.capabilities.Capabilities;
+import net.minecraft.world.level.chunk.ChunkAccess;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.energy.EmptyEnergyStorage;
 import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
 
 import com.nick.industrialcraft.Config;
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.api.energy.net.ContractedNetwork;
+import com.nick.industrialcraft.api.energy.net.EnergyNetGraph;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.api.energy.net.OvervoltageCheck;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.SourceView;
+import com.nick.industrialcraft.api.energy.net.TopologyCodec;
 import com.nick.industrialcraft.content.block.cable.BaseCableBlock;
-import com.nick.industrialcraft.content.block.cable.CableBlockEntity;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
- * Centralized energy network manager with caching for optimal performance.
+ * Centralized energy network manager backed by a persistent per-level graph.
  *
- * Performance optimizations:
- * - Caches network topology per source position
- * - Uses iterative BFS (not recursive DFS) to prevent stack overflow
- * - Uses HashSet for O(1) duplicate detection
- * - Invalidates cache only when network topology changes
- * - Limits maximum network size to prevent infinite loops
+ * The graph, consumer lists, views and boundary stubs of a level live in a core
+ * {@link NetworkCache}, which reads the level through {@link LevelEnergyWorld}. This class
+ * feeds it game events, config and the saved topology, and hooks up logging, tracing
+ * and journaling.
  *
- * This reduces network scanning from O(n) per tick per generator to
- * O(1) amortized (only rescans when network changes).
+ * Performance design:
+ * - Each level keeps an EnergyNetGraph of cable nodes grouped into connected networks
+ * - A network is discovered once with an iterative BFS, then maintained incrementally
+ *   (placements merge networks, removals run a local split check)
+ * - Consumer lists are resolved once per network version and shared by every source on it
+ * - Per-source views (position + directions) are validated with network version stamps
+ * - Cached data stays valid until a topology event: block placement or removal,
+ *   cable connection changes (updateShape), capability invalidation or chunk unload.
+ *   Events are queued by invalidateAt() and applied before the next query,
+ *   once neighbouring cables have updated their connection states
+ * - A reverse index (packed position -> views) means a change only touches the
+ *   views sourced at or facing that position, never the whole cache
+ * - Large network splits are labelled on a background thread from an immutable snapshot;
+ *   the unsplit network keeps serving until the result is swapped in before a query
+ * - Unbranched cable runs are contracted into weighted edges between junctions, so
+ *   consumer resolution visits junctions only and the discovery limit counts junctions
+ * - With Config.ENABLE_ENERGY_LOSS, each view carries a loss table: the lowest path loss
+ *   to every consumer, from one Dijkstra pass per adjacent network when the view is built
+ * - With Config.ENABLE_CABLE_CAPACITY, each view also carries the bottleneck capacity of the
+ *   widest path to every consumer and the weakest cable on it, so the distributor checks
+ *   current limits with one array read per transfer
+ * - The graph is saved with the level (EnergyNetSavedData) and restored in one read when
+ *   the level's graph is first used; each restored network is checked against the world
+ *   once, just before the first view is built on it
+ * - Traversals never read an unloaded position (which would load or generate its chunk).
+ *   Where a cable or source faces an unloaded chunk a boundary stub is recorded; when that
+ *   chunk loads, the stubs are queued like block changes, so networks merge across the
+ *   border again. Chunk unloads remove their cables (splitting networks) and leave stubs
+ *   on the loaded side. Chunk loads during energy work are counted to prove this holds
+ * - Limits discovery size to prevent runaway scans
+ *
+ * In steady state a query is a primitive map lookup plus one version check per adjacent
+ * network, and returns the cached read-only list without allocating.
+ * Config.CACHE_EXPIRY_TICKS can re-enable periodic rescans as a safety net (off by default).
  */
 public class EnergyNetworkManager {
 
-    // Per-level cache of network topologies
-    // Key: CacheKey (sourcePos + directions), Value: Cached network result
-    private static final Map<Level, Map<CacheKey, CachedNetwork>> networkCache = new WeakHashMap<>();
-
     /**
-     * Cache key that includes both position AND directions.
-     * Different direction scans from the same position must be cached separately!
+     * Side mask covering all six directions (bit = Direction.get3DDataValue()).
      */
-    private record CacheKey(BlockPos pos, Set<Direction> directions) {
-        static CacheKey of(BlockPos pos, Direction... dirs) {
-            return new CacheKey(pos, Set.of(dirs));
-        }
-    }
+    public static final int ALL_SIDES = 0b111111;
 
-    /**
-     * Represents a cached network scan result.
-     *
-     * @param machines List of connected machines that can receive energy
-     * @param cablePositions Set of cable positions in the network (for invalidation)
-     * @param cacheTime Game time when this cache was created
-     */
-    public record CachedNetwork(
-            List<MachineConnection> machines,
-            Set<BlockPos> cablePositions,
-            long cacheTime
-    ) {
-        public boolean isExpired(long currentTime) {
-            return (currentTime - cacheTime) > Config.CACHE_EXPIRY_TICKS.get();
-        }
-    }
+    // Direction.values() clones its array on every call
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Loss per cable block in milli-EU, indexed by graph cable type id
+    private static final long[] LOSS_PER_TYPE = CableType.lossTable();
+
+    // Capacity per cable block in EU/t, indexed by graph cable type id
+    private static final long[] CAPACITY_PER_TYPE = CableType.capacityTable();
+
+    // Discovery may walk this many cable blocks per junction allowed by Config.MAX_NETWORK_SIZE
+    static final int RUN_BLOCKS_PER_JUNCTION = 256;
+
+    // Per-level graph and view cache
+    private static final Map<Level, LevelNetwork> levelNetworks = new WeakHashMap<>();
+
+    // Background thread for deferred network splits (see EnergyNetGraph#pollRebuilds)
+    private static ExecutorService rebuildExecutor;
+
+    // Nesting depth of energy work (view queries, the energy phase, overvoltage checks) on the server thread
+    private static int energyWorkDepth;
+
+    // Chunk loads that happened during energy work - must stay 0
+    private static long chunkLoadsDuringEnergyWork;
 
     /**
      * Information about a connected machine.
      *
-     * @param pos The position of the machine
-     * @param storage The energy storage capability of the machine
-     * @param blockEntity The block entity (may be null if removed)
-     * @param accessSide The side of the machine that the cable connects to (for side-specific storage)
+     * Connections built by the manager are backed by a NeoForge BlockCapabilityCache,
+     * so storage() is a field read on the hot path instead of a capability lookup.
+     * The cache notifies the manager when the capability is invalidated, which drops
+     * the connection before the next query.
      */
-    public record MachineConnection(
-            BlockPos pos,
-            IEnergyStorage storage,
-            BlockEntity blockEntity,
-            Direction accessSide
-    ) {
+    public static final class MachineConnection {
+        private final BlockPos pos;
+        private final Direction accessSide;
+        private final BlockEntity blockEntity;
+        @Nullable
+        private final BlockCapabilityCache<IEnergyStorage, Direction> capability;
+        private final IEnergyStorage storage;
+
+        /**
+         * @param pos The position of the machine
+         * @param storage The energy storage capability of the machine
+         * @param blockEntity The block entity (may be null if removed)
+         * @param accessSide The side of the machine that the cable connects to (for side-specific storage)
+         */
+        public MachineConnection(BlockPos pos, IEnergyStorage storage, BlockEntity blockEntity, Direction accessSide) {
+            this.pos = pos;
+            this.accessSide = accessSide;
+            this.blockEntity = blockEntity;
+            this.capability = null;
+            this.storage = storage;
+        }
+
         // Backwards compatibility constructor
         public MachineConnection(BlockPos pos, IEnergyStorage storage, BlockEntity blockEntity) {
             this(pos, storage, blockEntity, null);
         }
+
+        MachineConnection(BlockCapabilityCache<IEnergyStorage, Direction> capability, IEnergyStorage storage,
+                                  BlockEntity blockEntity, Direction accessSide) {
+            this.pos = capability.pos();
+            this.accessSide = accessSide;
+            this.blockEntity = blockEntity;
+            this.capability = capability;
+            this.storage = storage;
+        }
+
+        public BlockPos pos() {
+            return pos;
+        }
+
+        /**
+         * The current energy storage of the machine.
+         * Never null: a machine that vanished mid-tick reports an empty storage.
+         */
+        public IEnergyStorage storage() {
+            if (capability == null) {
+                return storage;
+            }
+            IEnergyStorage current = capability.getCapability();
+            return current != null ? current : EmptyEnergyStorage.INSTANCE;
+        }
+
+        public BlockEntity blockEntity() {
+            return blockEntity;
+        }
+
+        public Direction accessSide() {
+            return accessSide;
+        }
+    }
+
+    /**
+     * Pack directions into a side mask (bit = Direction.get3DDataValue()).
+     */
+    public static int sideMask(Direction... directions) {
+        int mask = 0;
+        for (Direction dir : directions) {
+            mask |= 1 << dir.get3DDataValue();
+        }
+        return mask;
     }
 
     /**
      * Get connected machines for a generator/storage block at the given position.
-     * Uses caching for optimal performance - only rescans if cache is invalid.
+     * Reads the shared network graph - only networks that have never been seen are scanned.
      *
      * @param level The world level
      * @param sourcePos The position of the energy source
      * @param directions Which directions to scan from (usually all 6, or just output face)
-     * @return List of connected machines that can receive energy
+     * @return Read-only list of connected machines that can receive energy
      */
     public static List<MachineConnection> getConnectedMachines(Level level, BlockPos sourcePos, Direction... directions) {
-        if (level == null || level.isClientSide()) {
-            return Collections.emptyList();
-        }
-
-        System.out.println("[BFS DEBUG] getConnectedMachines called from " + sourcePos + " dirs=" + java.util.Arrays.toString(directions));
-
-        // Get or create level cache
-        Map<CacheKey, CachedNetwork> levelCache = networkCache.computeIfAbsent(level, k -> new HashMap<>());
+        return getConnectedMachines(level, sourcePos, sideMask(directions));
+    }
 
-        // Cache key includes BOTH position AND directions - different direction scans are different!
-        CacheKey cacheKey = CacheKey.of(sourcePos, directions);
+    /**
+     * Get connected machines for a source, with the scanned directions given as a side mask.
+     * On a warm cache this performs no allocation: the returned list is the cached view itself.
+     *
+     * @param level The world level
+     * @param sourcePos The position of the energy source
+     * @param sideMask Which directions to scan from (see {@link #ALL_SIDES} and {@link #sideMask})
+     * @return Read-only list of connected machines that can receive energy
+     */
+    public static List<MachineConnection> getConnectedMachines(Level level, BlockPos sourcePos, int sideMask) {
+        SourceView<MachineConnection> view = getConnectedView(level, sourcePos, sideMask);
+        return view != null ? view.machines() : Collections.emptyList();
+    }
 
-        // Check if we have a valid cached result
-        long currentTime = level.getGameTime();
-        CachedNetwork cached = levelCache.get(cacheKey);
+    /**
+     * Get the cached view of a source: its connected machines plus, with energy loss
+     * enabled, the path loss to each of them. Allocation-free on a warm cache.
+     *
+     * @param level The world level
+     * @param sourcePos The position of the energy source
+     * @param sideMask Which directions to scan from
+     * @return The view, or null on the client
+     */
+    @Nullable
+    public static SourceView<MachineConnection> getConnectedView(Level level, BlockPos sourcePos, int sideMask) {
+        return getConnectedView(level, sourcePos.asLong(), sideMask);
+    }
 
-        if (cached != null && !cached.isExpired(currentTime)) {
-            System.out.println("[BFS DEBUG]   Using cached result with " + cached.machines().size() + " machines");
-            // Verify machines still exist and have valid storage
-            List<MachineConnection> validMachines = new ArrayList<>();
-            for (MachineConnection machine : cached.machines()) {
-                IEnergyStorage storage = level.getCapability(
-                    Capabilities.EnergyStorage.BLOCK,
-                    machine.pos(),
-                    machine.accessSide()  // Use the stored access side!
-                );
-                if (storage != null && storage.canReceive()) {
-                    BlockEntity be = level.getBlockEntity(machine.pos());
-                    validMachines.add(new MachineConnection(machine.pos(), storage, be, machine.accessSide()));
-                }
-            }
-            System.out.println("[BFS DEBUG]   Validated " + validMachines.size() + " machines from cache");
-            return validMachines;
+    /**
+     * Get the cached view of a source, with its position packed (see {@link BlockPos#asLong()}).
+     */
+    @Nullable
+    static SourceView<MachineConnection> getConnectedView(Level level, long sourcePos, int sideMask) {
+        if (level == null || level.isClientSide()) {
+            return null;
         }
 
-        System.out.println("[BFS DEBUG]   Cache miss/expired, performing full scan");
-        // Cache miss or expired - perform full scan
-        CachedNetwork newCache = scanNetwork(level, sourcePos, currentTime, directions);
-        levelCache.put(cacheKey, newCache);
+        LevelNetwork net = levelNetworks.computeIfAbsent(level, EnergyNetworkManager::createLevelNetwork);
+        beginEnergyWork();
+        try {
+            return net.cache.getView(net.configure(), sourcePos, sideMask, level.getGameTime());
+        } finally {
+            endEnergyWork();
+        }
+    }
 
-        System.out.println("[BFS DEBUG]   Scan result: " + newCache.machines().size() + " machines via " + newCache.cablePositions().size() + " cables");
+    /**
+     * Get the networks at a position: the cable's own network, or the networks of the
+     * cables around any other block. Networks are discovered on first use and carry
+     * running tier aggregates (see {@link EnergyNetwork#getMaxSourceTier()}).
+     *
+     * @return The networks (empty on the client or if nothing is connected)
+     */
+    public static List<EnergyNetwork> getNetworksAt(Level level, BlockPos pos) {
+        if (level == null || level.isClientSide() || !level.isLoaded(pos)) {
+            return Collections.emptyList();
+        }
 
-        return new ArrayList<>(newCache.machines());
+        LevelNetwork net = levelNetworks.computeIfAbsent(level, EnergyNetworkManager::createLevelNetwork);
+        beginEnergyWork();
+        try {
+            return net.cache.getNetworksAt(net.configure(), pos.asLong());
+        } finally {
+            endEnergyWork();
+        }
     }
 
     /**
-     * Entry in the BFS queue that tracks both position and the direction we came from.
-     * This allows us to know which side of a machine to access for side-specific storage.
+     * Get the consumers attached to a network (cached per network version).
+     *
+     * @param network A live network of this level, from {@link #getNetworksAt}
      */
-    private record QueueEntry(BlockPos pos, Direction fromDirection) {}
+    public static List<MachineConnection> getConsumers(Level level, EnergyNetwork network) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null || network.isRemoved()) {
+            return Collections.emptyList();
+        }
+        beginEnergyWork();
+        try {
+            return net.cache.getConsumers(net.configure(), network);
+        } finally {
+            endEnergyWork();
+        }
+    }
 
     /**
-     * Scan the network using iterative BFS (breadth-first search).
-     * This prevents stack overflow on large networks.
+     * Run the core tier check on the networks at a placed block (see {@link OvervoltageCheck#checkNetworks}).
+     *
+     * @param checked Networks already checked this tick, skipped and extended
      */
-    private static CachedNetwork scanNetwork(Level level, BlockPos sourcePos, long currentTime, Direction... directions) {
-        Set<BlockPos> visitedCables = new HashSet<>();
-        Set<BlockPos> visitedMachines = new HashSet<>();
-        List<MachineConnection> machines = new ArrayList<>();
-
-        // BFS queue for iterative traversal - now tracks direction we came from
-        Deque<QueueEntry> queue = new ArrayDeque<>();
-
-        System.out.println("[BFS DEBUG] scanNetwork starting from " + sourcePos + " in directions " + java.util.Arrays.toString(directions));
-
-        // Seed the queue with initial positions
-        for (Direction dir : directions) {
-            // fromDirection is the direction FROM the neighbor's perspective (opposite of our scan direction)
-            BlockPos startPos = sourcePos.relative(dir);
-            System.out.println("[BFS DEBUG]   Seeding queue with " + startPos + " (dir=" + dir + ", accessSide=" + dir.getOpposite() + ")");
-            queue.add(new QueueEntry(startPos, dir.getOpposite()));
+    static void checkNetworks(Level level, BlockPos placedPos, Set<EnergyNetwork> checked,
+                              OvervoltageCheck.Endangered endangered) {
+        if (level == null || level.isClientSide() || !level.isLoaded(placedPos)) {
+            return;
         }
 
-        int blocksScanned = 0;
-        int maxNetworkSize = Config.MAX_NETWORK_SIZE.get();
-
-        while (!queue.isEmpty() && blocksScanned < maxNetworkSize) {
-            QueueEntry entry = queue.poll();
-            BlockPos pos = entry.pos();
-            Direction accessSide = entry.fromDirection();  // The side we're accessing this block from
-            blocksScanned++;
-
-            System.out.println("[BFS DEBUG] Processing " + pos + " (accessSide=" + accessSide + ")");
-
-            // Skip the source position itself
-            if (pos.equals(sourcePos)) {
-                System.out.println("[BFS DEBUG]   Skipping (is source position)");
-                continue;
-            }
-
-            BlockState state = level.getBlockState(pos);
-            System.out.println("[BFS DEBUG]   BlockState: " + state.getBlock().getClass().getSimpleName() + " (" + state.getBlock() + ")");
+        LevelNetwork net = levelNetworks.computeIfAbsent(level, EnergyNetworkManager::createLevelNetwork);
+        beginEnergyWork();
+        try {
+            OvervoltageCheck.checkNetworks(net.cache, net.configure(), placedPos.asLong(), checked, endangered);
+        } finally {
+            endEnergyWork();
+        }
+    }
 
-            // If this is a cable, explore its connections
-            if (state.getBlock() instanceof BaseCableBlock) {
-                System.out.println("[BFS DEBUG]   Is a cable!");
-                // Skip if already visited
-                if (visitedCables.contains(pos)) {
-                    continue;
-                }
-                visitedCables.add(pos);
-                Config.debugLog("  BFS found cable at {}", pos);
-
-                // Get the cable block entity to check connections
-                BlockEntity be = level.getBlockEntity(pos);
-                if (be instanceof CableBlockEntity cable) {
-                    // Add all connected neighbors to the queue
-                    for (Direction dir : Direction.values()) {
-                        if (!cable.isConnectedInDirection(state, dir)) {
-                            continue;
-                        }
-
-                        BlockPos neighborPos = pos.relative(dir);
-                        Config.debugLog("    Cable at {} connected to {} in direction {}", pos, neighborPos, dir);
-
-                        // Only add if not already visited
-                        if (!visitedCables.contains(neighborPos) && !visitedMachines.contains(neighborPos)) {
-                            // The neighbor's access side is opposite of the direction we're going
-                            queue.add(new QueueEntry(neighborPos, dir.getOpposite()));
-                        }
-                    }
-                } else {
-                    // Block entity missing or wrong type - use blockstate properties directly as fallback
-                    Config.debugLog("  WARNING: Cable at {} has no/wrong block entity, using blockstate", pos);
-                    for (Direction dir : Direction.values()) {
-                        boolean connected = switch (dir) {
-                            case NORTH -> state.getValue(BaseCableBlock.NORTH);
-                            case SOUTH -> state.getValue(BaseCableBlock.SOUTH);
-                            case EAST -> state.getValue(BaseCableBlock.EAST);
-                            case WEST -> state.getValue(BaseCableBlock.WEST);
-                            case UP -> state.getValue(BaseCableBlock.UP);
-                            case DOWN -> state.getValue(BaseCableBlock.DOWN);
-                        };
-                        if (!connected) continue;
-
-                        BlockPos neighborPos = pos.relative(dir);
-                        if (!visitedCables.contains(neighborPos) && !visitedMachines.contains(neighborPos)) {
-                            queue.add(new QueueEntry(neighborPos, dir.getOpposite()));
-                        }
-                    }
-                }
-            }
-            // If this is a machine (not a cable), check if it can receive energy
-            else {
-                // Skip if already processed
-                if (visitedMachines.contains(pos)) {
-                    continue;
-                }
-                visitedMachines.add(pos);
-
-                // Try to get energy capability WITH THE CORRECT SIDE
-                // accessSide is the side of the machine that the cable is connected to
-                BlockEntity neighborBe = level.getBlockEntity(pos);
-                IEnergyStorage neighborEnergy = level.getCapability(
-                    Capabilities.EnergyStorage.BLOCK,
-                    pos,
-                    accessSide  // Pass the correct side for side-specific storage!
-                );
-
-                if (neighborEnergy != null && neighborEnergy.canReceive()) {
-                    Config.debugLog("  BFS found MACHINE at {} (type={}, accessSide={}, canReceive=true)",
-                        pos, neighborBe != null ? neighborBe.getClass().getSimpleName() : "null", accessSide);
-                    machines.add(new MachineConnection(pos, neighborEnergy, neighborBe, accessSide));
-                } else {
-                    Config.debugLog("  BFS found non-energy block at {} (type={}, accessSide={})",
-                        pos, state.getBlock().getClass().getSimpleName(), accessSide);
-                }
-            }
+    /**
+     * Run the core tier check on one face of a transformer (see {@link OvervoltageCheck#checkSide}).
+     */
+    static void checkTransformerSide(Level level, BlockPos transformerPos, Direction side, EnergyTier outputTier,
+                                     OvervoltageCheck.Endangered endangered) {
+        if (level == null || level.isClientSide()) {
+            return;
         }
 
-        // Warn if network was truncated due to size limit
-        if (!queue.isEmpty()) {
-            System.out.println("[BFS DEBUG] WARNING: Network scan at " + sourcePos + " was truncated at " + blocksScanned + " blocks (limit: " + maxNetworkSize + ")");
+        LevelNetwork net = levelNetworks.computeIfAbsent(level, EnergyNetworkManager::createLevelNetwork);
+        beginEnergyWork();
+        try {
+            OvervoltageCheck.checkSide(net.cache, net.configure(), transformerPos.asLong(), side.get3DDataValue(),
+                outputTier.getTierLevel(), level.getGameTime(), endangered);
+        } finally {
+            endEnergyWork();
         }
+    }
 
-        System.out.println("[BFS DEBUG] Scan complete. Found " + machines.size() + " machines, " + visitedCables.size() + " cables");
-        for (MachineConnection mc : machines) {
-            System.out.println("[BFS DEBUG]   Machine: " + mc.pos() + " (" + (mc.blockEntity() != null ? mc.blockEntity().getClass().getSimpleName() : "null") + ")");
+    /**
+     * Start tracing the network a cable belongs to (see {@link EnergyTrace}).
+     *
+     * @return false if there is no cable at the position
+     */
+    public static boolean traceNetwork(Level level, BlockPos cablePos) {
+        if (!(level.getBlockState(cablePos).getBlock() instanceof BaseCableBlock)
+                || getNetworksAt(level, cablePos).isEmpty()) {
+            return false;
         }
-        return new CachedNetwork(machines, visitedCables, currentTime);
+        EnergyTrace.traceNetwork(level, levelNetworks.get(level).cache.getGraph(), cablePos.asLong());
+        return true;
     }
 
     /**
-     * Invalidate cache for a specific position and all connected networks.
-     * Call this when a cable or machine is placed or removed.
+     * Queue a position whose block changed.
+     * Call this when a cable or machine is placed or removed, or a cable changes connections.
+     * The graph is updated lazily before the next query, so neighbouring
+     * cables have already recomputed their connections by then.
      *
      * @param level The world level
      * @param pos The position that changed
@@ -284,123 +351,476 @@ public class EnergyNetworkManager {
             return;
         }
 
-        Map<CacheKey, CachedNetwork> levelCache = networkCache.get(level);
-        if (levelCache == null) {
-            return;
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return;  // Nothing discovered yet - the first query will scan the current world
         }
 
-        // Invalidate any cache that contains this position
-        // This is more thorough than just removing pos from cache
-        List<CacheKey> toRemove = new ArrayList<>();
-
-        for (Map.Entry<CacheKey, CachedNetwork> entry : levelCache.entrySet()) {
-            CachedNetwork cached = entry.getValue();
-            CacheKey key = entry.getKey();
-
-            // If this position is in the cable network or is the source position, invalidate
-            if (cached.cablePositions().contains(pos) || key.pos().equals(pos)) {
-                toRemove.add(key);
-                continue;
-            }
+        net.cache.invalidate(pos.asLong());
+    }
 
-            // Also check if pos is one of the machines
-            for (MachineConnection machine : cached.machines()) {
-                if (machine.pos().equals(pos)) {
-                    toRemove.add(key);
-                    break;
-                }
-            }
+    /**
+     * Invalidate all caches in a radius around a position.
+     * More aggressive invalidation for when we're not sure what changed.
+     *
+     * @param level The world level
+     * @param pos The center position
+     * @param radius The radius to invalidate
+     */
+    public static void invalidateRadius(Level level, BlockPos pos, int radius) {
+        if (level == null || level.isClientSide()) {
+            return;
         }
 
-        for (CacheKey key : toRemove) {
-            levelCache.remove(key);
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return;
         }
 
-        // Also invalidate caches of adjacent positions (they might now connect to pos)
-        // We need to remove ALL cache entries where the source pos is adjacent
-        List<CacheKey> adjacentToRemove = new ArrayList<>();
-        for (CacheKey key : levelCache.keySet()) {
-            for (Direction dir : Direction.values()) {
-                if (key.pos().equals(pos.relative(dir))) {
-                    adjacentToRemove.add(key);
-                    break;
-                }
-            }
+        // Drop views whose source is within range and resync the centre
+        int radiusSq = radius * radius;
+        net.cache.removeViewsIf(view -> BlockPos.of(view.getSourcePos()).distSqr(pos) <= radiusSq);
+        net.cache.invalidate(pos.asLong());
+    }
+
+    /**
+     * Forget cables and views inside an unloading chunk.
+     * Networks crossing the chunk border split; tracked cables facing the chunk keep
+     * boundary stubs, so they are rejoined when the chunk loads again.
+     */
+    public static void onChunkUnload(Level level, ChunkAccess chunk) {
+        if (level == null || level.isClientSide()) {
+            return;
         }
-        for (CacheKey key : adjacentToRemove) {
-            levelCache.remove(key);
+
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return;
         }
 
-        if (!toRemove.isEmpty()) {
-            Config.debugLog("Cache invalidated at {}: removed {} cached networks", pos, toRemove.size());
+        EnergyJournalRecorder.chunk(level, chunk.getPos(), false);
+        // Every cable and energy block has a block entity, so this visits only what we track
+        for (BlockPos pos : chunk.getBlockEntitiesPos()) {
+            net.cache.unload(pos.asLong());
         }
     }
 
     /**
-     * Invalidate all caches in a radius around a position.
-     * More aggressive invalidation for when we're not sure what changed.
-     *
-     * @param level The world level
-     * @param pos The center position
-     * @param radius The radius to invalidate
+     * Reconnect boundary stubs facing a chunk that just loaded.
+     * The stubs are only queued here; they are re-read before the next query,
+     * once the chunk is fully in the level.
      */
-    public static void invalidateRadius(Level level, BlockPos pos, int radius) {
+    public static void onChunkLoad(Level level, ChunkAccess chunk) {
         if (level == null || level.isClientSide()) {
             return;
         }
 
-        Map<CacheKey, CachedNetwork> levelCache = networkCache.get(level);
-        if (levelCache == null) {
+        if (energyWorkDepth > 0) {
+            chunkLoadsDuringEnergyWork++;
+            IndustrialCraft.LOGGER.warn("Chunk {} loaded during energy-net work", chunk.getPos());
+        }
+
+        EnergyJournalRecorder.chunk(level, chunk.getPos(), true);
+        LevelNetwork net = levelNetworks.get(level);
+        if (net != null) {
+            net.cache.reconnectStubs(chunk.getPos().toLong());
+        }
+    }
+
+    /**
+     * Read every tracked cable and the machines on its faces through the level's adapter,
+     * so a journal that starts now holds what the existing networks were built from.
+     */
+    static void observeTracked(Level level) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
             return;
         }
+        EnergyNetGraph graph = net.cache.getGraph();
+        for (EnergyNetwork network : graph.getNetworks()) {
+            network.forEachCable(pos -> {
+                net.world.observe(pos);
+                int machineMask = graph.getMachineMask(pos);
+                for (int side = 0; side < PackedPos.SIDES; side++) {
+                    if (PackedPos.hasSide(machineMask, side)) {
+                        net.world.observe(PackedPos.offset(pos, side));
+                    }
+                }
+            });
+        }
+    }
 
-        // Just clear all caches that are within range
-        // This is a simple but effective approach
-        List<CacheKey> toRemove = new ArrayList<>();
-        int radiusSq = radius * radius;
+    /**
+     * Mark the start of energy work on the server thread (see {@link #getChunkLoadsDuringEnergyWork}).
+     * Must be paired with {@link #endEnergyWork()} in a finally block.
+     */
+    static void beginEnergyWork() {
+        energyWorkDepth++;
+    }
 
-        for (CacheKey key : levelCache.keySet()) {
-            if (key.pos().distSqr(pos) <= radiusSq) {
-                toRemove.add(key);
-            }
+    static void endEnergyWork() {
+        energyWorkDepth--;
+    }
+
+    /**
+     * Get the number of chunks that loaded while energy work was running.
+     * Traversals stop at unloaded chunks, so this stays 0 unless something forces a load.
+     */
+    public static long getChunkLoadsDuringEnergyWork() {
+        return chunkLoadsDuringEnergyWork;
+    }
+
+    /**
+     * Keep the level's saved topology dirty, so every save writes the live graph
+     * (call when the level saves). Levels whose graph was never used this session
+     * keep their saved topology untouched.
+     */
+    public static void onLevelSave(Level level) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net != null && net.savedData != null) {
+            net.savedData.setDirty();
         }
+    }
 
-        for (CacheKey key : toRemove) {
-            levelCache.remove(key);
+    private static LevelNetwork createLevelNetwork(Level level) {
+        LevelNetwork net = new LevelNetwork(level);
+        if (level instanceof ServerLevel serverLevel) {
+            EnergyNetSavedData data = EnergyNetSavedData.get(serverLevel);
+            net.restore(data);
+            net.savedData = data;
+            data.attach(net::encode);
         }
+        return net;
     }
 
     /**
      * Clear all caches for a level (call on dimension unload).
      */
     public static void clearLevel(Level level) {
-        networkCache.remove(level);
+        LevelNetwork net = levelNetworks.remove(level);
+        if (net != null) {
+            net.detach();
+            net.cache.clear();
+        }
     }
 
     /**
      * Clear all caches (call on server shutdown).
      */
     public static void clearAll() {
-        networkCache.clear();
+        for (LevelNetwork net : levelNetworks.values()) {
+            net.detach();
+            net.cache.clear();
+        }
+        levelNetworks.clear();
+        if (rebuildExecutor != null) {
+            rebuildExecutor.shutdownNow();
+            rebuildExecutor = null;
+        }
     }
 
     /**
      * Get cache statistics for debugging.
      */
     public static String getCacheStats(Level level) {
-        Map<CacheKey, CachedNetwork> levelCache = networkCache.get(level);
-        if (levelCache == null) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
             return "No cache for this level";
         }
 
-        int totalMachines = 0;
-        int totalCables = 0;
-        for (CachedNetwork cached : levelCache.values()) {
-            totalMachines += cached.machines().size();
-            totalCables += cached.cablePositions().size();
+        NetworkCache<MachineConnection> cache = net.cache;
+        EnergyNetGraph graph = cache.getGraph();
+        EnergyNetGraph.RebuildStats rebuilds = graph.getRebuildStats();
+        return String.format("Networks: %d, Total cables: %d, Source views: %d, Total machines: %d, Indexed positions: %d, Rescans avoided: %d, Safety-net rescans: %d, "
+                + "Restored networks: %d (%d verified, %d cables dropped), "
+                + "Boundary stubs: %d in %d chunks (%d reconnected), Chunk loads during energy work: %d, "
+                + "Async rebuilds: %d (%d pending, %d discarded), Rebuild latency avg/max: %.2f/%.2f ms, Stale topology avg/max: %.2f/%.2f ms",
+            graph.getNetworkCount(), graph.getCableCount(), cache.getViewCount(), cache.getViewMachineCount(),
+            cache.getIndexedPositions(), cache.getRescansAvoided(), cache.getSafetyNetRescans(),
+            cache.getRestoredNetworks(), cache.getVerifiedNetworks(), cache.getDroppedCables(),
+            cache.getStubCount(), cache.getStubChunkCount(), cache.getStubsReconnected(), chunkLoadsDuringEnergyWork,
+            rebuilds.applied(), rebuilds.pending(), rebuilds.discarded(),
+            rebuilds.avgRebuildNanos() / 1_000_000.0, rebuilds.maxRebuildNanos() / 1_000_000.0,
+            rebuilds.avgStaleNanos() / 1_000_000.0, rebuilds.maxStaleNanos() / 1_000_000.0);
+    }
+
+    private static Executor getRebuildExecutor() {
+        if (rebuildExecutor == null) {
+            rebuildExecutor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "IC2 Energy Net Rebuild");
+                thread.setDaemon(true);
+                return thread;
+            });
         }
+        return rebuildExecutor;
+    }
 
-        return String.format("Networks: %d, Total machines: %d, Total cables: %d",
-            levelCache.size(), totalMachines, totalCables);
+    /**
+     * Number of rescans the old fixed expiry would have done that event-driven validity skipped.
+     */
+    public static long getRescansAvoided(Level level) {
+        LevelNetwork net = levelNetworks.get(level);
+        return net != null ? net.cache.getRescansAvoided() : 0;
+    }
+
+    // ========== Inspection (/ic2 energynet) ==========
+
+    /**
+     * Size of one network: cables, contracted junctions and resolved consumers.
+     * {@code anchorPos} is its lowest cable position, usable to address the network later.
+     */
+    public record NetworkSummary(EnergyNetwork network, long anchorPos, int cables, int junctions, int consumers) {}
+
+    /**
+     * Summarize every settled network of a level. Resolves consumers where needed,
+     * so this is meant for operator commands, not for per-tick use.
+     */
+    public static List<NetworkSummary> getNetworkSummaries(Level level) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return Collections.emptyList();
+        }
+        beginEnergyWork();
+        try {
+            LevelEnergyWorld world = net.configure();
+            net.cache.flush(world);
+            EnergyNetGraph graph = net.cache.getGraph();
+            List<NetworkSummary> summaries = new ArrayList<>(graph.getNetworkCount());
+            for (EnergyNetwork network : new ArrayList<>(graph.getNetworks())) {
+                if (network.isRemoved() || network.getCableCount() == 0) {
+                    continue;
+                }
+                long[] anchor = {Long.MAX_VALUE};
+                network.forEachCable(pos -> anchor[0] = Math.min(anchor[0], pos));
+                summaries.add(new NetworkSummary(network, anchor[0], network.getCableCount(),
+                    graph.getContracted(network).getNodeCount(), net.cache.getConsumers(world, network).size()));
+            }
+            return summaries;
+        } finally {
+            endEnergyWork();
+        }
+    }
+
+    /**
+     * Forget the network of a cable so it is rediscovered from the world on next use.
+     *
+     * @return the number of cables forgotten, or 0 if there is no tracked cable at the position
+     */
+    public static int rebuildNetwork(Level level, BlockPos cablePos) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return 0;
+        }
+        beginEnergyWork();
+        try {
+            return net.cache.removeNetwork(net.configure(), cablePos.asLong());
+        } finally {
+            endEnergyWork();
+        }
+    }
+
+    /**
+     * Forget every network of a level so each is rediscovered from the world on next use.
+     * Views and boundary stubs are dropped too, as they also stand for sources with unloaded sides.
+     *
+     * @return the number of networks forgotten
+     */
+    public static int rebuildLevel(Level level) {
+        LevelNetwork net = levelNetworks.get(level);
+        if (net == null) {
+            return 0;
+        }
+        beginEnergyWork();
+        try {
+            return net.cache.rebuild(net.configure());
+        } finally {
+            endEnergyWork();
+        }
+    }
+
+    /**
+     * Write the topology of a cable's network to a text file: one line per cable
+     * (position, cable type, connection and machine faces, facing tiers), then its consumers.
+     *
+     * @return the number of cables written, or -1 if there is no network at the position
+     */
+    public static int dumpNetwork(Level level, BlockPos cablePos, Path file) throws IOException {
+        List<EnergyNetwork> networks = level.getBlockState(cablePos).getBlock() instanceof BaseCableBlock
+            ? getNetworksAt(level, cablePos) : Collections.emptyList();
+        if (networks.isEmpty()) {
+            return -1;
+        }
+        EnergyNetwork network = networks.get(0);
+        EnergyNetGraph graph = levelNetworks.get(level).cache.getGraph();
+        long[] positions = new long[network.getCableCount()];
+        int[] filled = {0};
+        network.forEachCable(pos -> positions[filled[0]++] = pos);
+        Arrays.sort(positions);
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write(String.format("# network %d version %d cables %d truncated %b",
+                network.getId(), network.getVersion(), positions.length, network.isTruncated()));
+            out.newLine();
+            out.write("# x y z type connections machine_faces source_tier consumer_tier");
+            out.newLine();
+            CableType[] types = CableType.values();
+            for (long pos : positions) {
+                int type = graph.getType(pos);
+                out.write(String.format("%d %d %d %s %s %s %d %d",
+                    PackedPos.getX(pos), PackedPos.getY(pos), PackedPos.getZ(pos),
+                    type >= 0 && type < types.length ? types[type].name().toLowerCase(Locale.ROOT) : "unknown",
+                    sidesToString(graph.getMask(pos)), sidesToString(graph.getMachineMask(pos)),
+                    graph.getSourceTier(pos), graph.getConsumerTier(pos)));
+                out.newLine();
+            }
+            out.write("# consumers: x y z access_side block_entity");
+            out.newLine();
+            for (MachineConnection consumer : getConsumers(level, network)) {
+                out.write(String.format("%d %d %d %s %s",
+                    consumer.pos().getX(), consumer.pos().getY(), consumer.pos().getZ(),
+                    consumer.accessSide() != null ? consumer.accessSide().getSerializedName() : "-",
+                    consumer.blockEntity() != null ? consumer.blockEntity().getClass().getSimpleName() : "-"));
+                out.newLine();
+            }
+        }
+        return positions.length;
+    }
+
+    private static String sidesToString(int mask) {
+        if (mask == 0) {
+            return "-";
+        }
+        StringBuilder sides = new StringBuilder();
+        for (Direction dir : DIRECTIONS) {
+            if (PackedPos.hasSide(mask, dir.get3DDataValue())) {
+                sides.append(dir.getSerializedName().charAt(0));
+            }
+        }
+        return sides.toString();
+    }
+
+    // ========== Per-Level State ==========
+
+    /**
+     * The core network cache of one level plus what ties it to the game: the world
+     * adapter, the saved topology and the config, log, trace and journal hooks.
+     * Holds the level only through its adapter; levels are dropped by clearLevel on unload.
+     */
+    private static final class LevelNetwork implements NetworkCache.Listener {
+        final NetworkCache<MachineConnection> cache = new NetworkCache<>(LOSS_PER_TYPE, CAPACITY_PER_TYPE);
+
+        // World reads go through the adapter, traversal and caching are done by the core
+        final LevelEnergyWorld world;
+
+        // Saved topology: restored at startup, encoded from the live graph on every save
+        EnergyNetSavedData savedData;
+
+        LevelNetwork(Level level) {
+            world = new LevelEnergyWorld(level, cache::invalidate);
+            cache.setListener(this);
+        }
+
+        /**
+         * Apply the current config to the cache before it is used.
+         *
+         * @return the world adapter to query with
+         */
+        LevelEnergyWorld configure() {
+            int maxNetworkSize = Config.MAX_NETWORK_SIZE.get();
+            cache.setLimits(maxNetworkSize, maxNetworkSize * RUN_BLOCKS_PER_JUNCTION);
+            cache.setPathCosts(Config.ENABLE_ENERGY_LOSS.get(), Config.ENABLE_CABLE_CAPACITY.get());
+            cache.setExpiryTicks(Config.CACHE_EXPIRY_TICKS.get());
+            if (cache.hasPending()) {
+                int threshold = Config.ASYNC_REBUILD_THRESHOLD.get();
+                cache.getGraph().setAsyncRebuild(threshold, threshold > 0 ? getRebuildExecutor() : null);
+            }
+            return world;
+        }
+
+        /**
+         * Restore the saved topology into the (still empty) graph with one sequential read.
+         * Unreadable data is discarded; the networks are then discovered from the world as usual.
+         */
+        void restore(EnergyNetSavedData data) {
+            if (!data.hasTopology()) {
+                return;
+            }
+            long start = System.nanoTime();
+            int restored;
+            try {
+                restored = cache.restore(data.getTopology());
+            } catch (IllegalArgumentException e) {
+                IndustrialCraft.LOGGER.warn("Discarding saved energy-net topology: {}", e.getMessage());
+                return;
+            }
+            Config.debugLog("Restored energy-net topology: {} networks, {} cables in {} ms",
+                restored, cache.getGraph().getCableCount(),
+                String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0));
+        }
+
+        /**
+         * Encode the graph for the level save (server thread).
+         */
+        byte[] encode() {
+            long start = System.nanoTime();
+            EnergyNetGraph graph = cache.getGraph();
+            byte[] topology = TopologyCodec.encode(graph);
+            Config.debugLog("Saved energy-net topology: {} networks, {} cables, {} bytes in {} ms",
+                graph.getNetworkCount(), graph.getCableCount(), topology.length,
+                String.format("%.2f", (System.nanoTime() - start) / 1_000_000.0));
+            return topology;
+        }
+
+        /**
+         * Stop saving this graph; the saved data keeps a final snapshot.
+         */
+        void detach() {
+            if (savedData != null) {
+                savedData.detach();
+                savedData = null;
+            }
+        }
+
+        @Override
+        public void onChange(long pos) {
+            Level level = world.getLevel();
+            if (EnergyJournalRecorder.isRecording(level)) {
+                EnergyJournalRecorder.change(level, BlockPos.of(pos));
+                world.observe(pos);
+            }
+        }
+
+        @Override
+        public void onFlush(int changed) {
+            EnergyNetGraph graph = cache.getGraph();
+            Config.debugLog("Energy graph updated for {} changed positions: {} networks, {} cables",
+                changed, graph.getNetworkCount(), graph.getCableCount());
+        }
+
+        @Override
+        public void onDiscovery(long start, @Nullable EnergyNetwork network, int cables, int junctions,
+                                boolean truncated) {
+            if (truncated) {
+                Config.debugLog("Network discovery at {} was truncated at {} junctions / {} blocks (limit: {} junctions)",
+                    BlockPos.of(start), junctions, cables, Config.MAX_NETWORK_SIZE.get());
+                EnergyTrace.record(EnergyTrace.DISCOVERY_TRUNCATED, world.getLevel(), start, network, cables, junctions);
+            } else {
+                EnergyTrace.record(EnergyTrace.DISCOVERY, world.getLevel(), start, network, cables, junctions);
+            }
+        }
+
+        @Override
+        public void onResolved(EnergyNetwork network, ContractedNetwork contracted, int consumers) {
+            Config.debugLog("Resolved network #{}: {} consumers on {} cables ({} junctions, {} runs)",
+                network.getId(), consumers, network.getCableCount(),
+                contracted.getNodeCount(), contracted.getEdgeCount());
+        }
+
+        @Override
+        public void onViewBuilt(SourceView<?> view) {
+            EnergyTrace.record(EnergyTrace.VIEW_REBUILD, world.getLevel(), view.getSourcePos(), view.networks(),
+                view.machines().size(), view.networks().size());
+        }
     }
 }
@@ -0,0 +1,185 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Sampling profiler for the energy phase of one level, run by /ic2 energynet profile.
+ *
+ * For a given number of ticks it records the duration of every energy phase, and a
+ * daemon thread samples the server thread's stack every {@link #SAMPLE_INTERVAL_NANOS}
+ * while the phase runs. Samples are counted by the innermost frame of this mod
+ * (where the time is spent in our code) and by the top frame (what the thread was
+ * actually doing). Parallel planning shows up as the server thread waiting in the pool.
+ * While no profile runs, the phase hooks cost one static field read.
+ */
+public final class EnergyProfiler {
+
+    public static final long SAMPLE_INTERVAL_NANOS = 500_000;
+
+    private static final String MOD_PACKAGE = "com.nick.industrialcraft.";
+    private static final int REPORTED_FRAMES = 15;
+
+    @Nullable
+    private static volatile Session session;
+
+    private EnergyProfiler() {}
+
+    public static boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * Profile the next {@code ticks} energy phases of a level. Must be called on the server thread.
+     *
+     * @param onFinished Receives the report lines on the server thread when the profile is done
+     * @return false if a profile is already running
+     */
+    public static synchronized boolean start(Level level, int ticks, Consumer<List<String>> onFinished) {
+        if (session != null) {
+            return false;
+        }
+        Session started = new Session(level, ticks, Thread.currentThread(), onFinished);
+        session = started;
+        started.sampler.start();
+        return true;
+    }
+
+    /**
+     * Abandon a running profile of a level that is being unloaded.
+     */
+    public static synchronized void cancel(Level level) {
+        Session current = session;
+        if (current != null && current.level == level) {
+            current.stopped = true;
+            session = null;
+        }
+    }
+
+    static void enterPhase(Level level) {
+        Session current = session;
+        if (current != null && current.level == level) {
+            current.inPhase = true;
+        }
+    }
+
+    static void exitPhase(Level level, long phaseNanos, long planNanos, int emitters) {
+        Session current = session;
+        if (current == null || current.level != level) {
+            return;
+        }
+        current.inPhase = false;
+        current.ticksDone++;
+        current.totalPhaseNanos += phaseNanos;
+        current.maxPhaseNanos = Math.max(current.maxPhaseNanos, phaseNanos);
+        current.totalPlanNanos += planNanos;
+        current.totalEmitters += emitters;
+        if (current.ticksDone >= current.ticks) {
+            synchronized (EnergyProfiler.class) {
+                session = null;
+            }
+            current.finish();
+        }
+    }
+
+    private static final class Session implements Runnable {
+        final Level level;
+        final int ticks;
+        final Thread serverThread;
+        final Consumer<List<String>> onFinished;
+        final Thread sampler;
+
+        volatile boolean inPhase;
+        volatile boolean stopped;
+
+        // Written by the sampler thread, read by finish; both hold the session's lock
+        final Map<String, int[]> modFrames = new HashMap<>();
+        final Map<String, int[]> topFrames = new HashMap<>();
+        int samples;
+
+        // Server thread only
+        int ticksDone;
+        long totalPhaseNanos;
+        long maxPhaseNanos;
+        long totalPlanNanos;
+        long totalEmitters;
+
+        Session(Level level, int ticks, Thread serverThread, Consumer<List<String>> onFinished) {
+            this.level = level;
+            this.ticks = ticks;
+            this.serverThread = serverThread;
+            this.onFinished = onFinished;
+            this.sampler = new Thread(this, "IC2 Energy Net Profiler");
+            this.sampler.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                LockSupport.parkNanos(SAMPLE_INTERVAL_NANOS);
+                if (!inPhase) {
+                    continue;
+                }
+                StackTraceElement[] stack = serverThread.getStackTrace();
+                if (!inPhase || stack.length == 0) {
+                    continue;  // The phase ended while we were sampling
+                }
+                synchronized (this) {
+                    samples++;
+                    count(topFrames, frameName(stack[0]));
+                    for (StackTraceElement frame : stack) {
+                        if (frame.getClassName().startsWith(MOD_PACKAGE)) {
+                            count(modFrames, frameName(frame));
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        void finish() {
+            // No join: the server thread must not wait on the sampler. It stops at its next
+            // wake-up, and the lock keeps a sample that is still in flight out of the report.
+            stopped = true;
+            LockSupport.unpark(sampler);
+
+            List<String> report = new ArrayList<>();
+            report.add(String.format("Energy phase over %d ticks: avg %.3f ms, max %.3f ms, plan avg %.3f ms, %.1f emitters/tick",
+                ticksDone, totalPhaseNanos / 1_000_000.0 / ticksDone, maxPhaseNanos / 1_000_000.0,
+                totalPlanNanos / 1_000_000.0 / ticksDone, (double) totalEmitters / ticksDone));
+            synchronized (this) {
+                report.add(String.format("Samples: %d (every %.1f ms while the phase runs)",
+                    samples, SAMPLE_INTERVAL_NANOS / 1_000_000.0));
+                report.add("Innermost mod frames:");
+                addTop(report, modFrames);
+                report.add("Top frames:");
+                addTop(report, topFrames);
+            }
+            onFinished.accept(report);
+        }
+
+        private void addTop(List<String> report, Map<String, int[]> frames) {
+            frames.entrySet().stream()
+                .sorted((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]))
+                .limit(REPORTED_FRAMES)
+                .forEach(entry -> report.add(String.format("  %5.1f%%  %s",
+                    100.0 * entry.getValue()[0] / Math.max(1, samples), entry.getKey())));
+        }
+
+        private static void count(Map<String, int[]> frames, String name) {
+            frames.computeIfAbsent(name, k -> new int[1])[0]++;
+        }
+
+        private static String frameName(StackTraceElement frame) {
+            String className = frame.getClassName();
+            return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import com.nick.industrialcraft.api.energy.net.EnergyNetGraph;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+import com.nick.industrialcraft.api.energy.net.TraceBuffer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime trace recorder for the energy net, replacing unconditional debug prints.
+ *
+ * Trace points record primitive values into a lock-free {@link TraceBuffer}
+ * that keeps the last {@link #CAPACITY} records and is written to a file on demand.
+ * Tracing is switched on for everything, for block positions or for networks
+ * (see the /ic2 energynet trace command). While it is off, a trace point costs one
+ * static field read and the buffer is not even allocated.
+ *
+ * A network is followed through an anchor cable: a record matches while its
+ * network is the one that cable currently belongs to, so tracing survives merges
+ * and splits of the traced network.
+ *
+ * Position and network filters belong to one dimension. They are dropped when their
+ * level unloads, so an anchor never keeps the graph of an unloaded level alive.
+ */
+public final class EnergyTrace {
+
+    public static final int CAPACITY = 1 << 16;
+
+    /** A source's view was (re)built. a = machines, b = networks. */
+    public static final int VIEW_REBUILD = 1;
+    /** A network was discovered from the world. a = cables scanned, b = junctions. */
+    public static final int DISCOVERY = 2;
+    /** Discovery stopped at the network size limit. a = cables scanned, b = junctions. */
+    public static final int DISCOVERY_TRUNCATED = 3;
+    /** An emitter took part in the energy phase. a = budget in EU, b = packet size. */
+    public static final int EMIT = 4;
+    /** A block accepted energy. a = EU accepted, b = EU stored afterwards. */
+    public static final int RECEIVE = 5;
+    /** A consumer was reached by a packet above its tier. a = packet size. */
+    public static final int OVERVOLTAGE = 6;
+    /** A cable melted under a packet above its capacity. */
+    public static final int CABLE_MELT = 7;
+
+    private static final String[] KIND_NAMES = {
+        "?", "view_rebuild", "discovery", "discovery_truncated", "emit", "receive", "overvoltage", "cable_melt"
+    };
+
+    // Checked first by every trace point
+    private static volatile boolean active;
+    private static volatile boolean traceAll;
+    // Copy-on-write filters, so trace points read them without locking
+    private static volatile Map<ResourceKey<Level>, long[]> positions = Map.of();  // Sorted per dimension
+    private static volatile NetworkAnchor[] anchors = new NetworkAnchor[0];
+
+    @Nullable
+    private static volatile TraceBuffer buffer;
+
+    private record NetworkAnchor(ResourceKey<Level> dimension, EnergyNetGraph graph, long cablePos) {}
+
+    private EnergyTrace() {}
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    // ========== Trace points ==========
+
+    /**
+     * Record an event at a position, if tracing covers the position or the network.
+     *
+     * @param kind One of the kind constants of this class
+     * @param network The network the event belongs to, if known
+     */
+    public static void record(int kind, Level level, long pos, @Nullable EnergyNetwork network, long a, long b) {
+        if (active && matches(level, pos, network)) {
+            write(kind, pos, a, b);
+        }
+    }
+
+    /**
+     * Record an event that spans several networks (a source's view).
+     */
+    public static void record(int kind, Level level, long pos, List<EnergyNetwork> networks, long a, long b) {
+        if (!active) {
+            return;
+        }
+        boolean matched = matches(level, pos, null);
+        for (int i = 0; !matched && i < networks.size(); i++) {
+            matched = matchesNetwork(networks.get(i));
+        }
+        if (matched) {
+            write(kind, pos, a, b);
+        }
+    }
+
+    public static void record(int kind, Level level, BlockPos pos, long a, long b) {
+        if (active) {
+            record(kind, level, pos.asLong(), (EnergyNetwork) null, a, b);
+        }
+    }
+
+    private static boolean matches(Level level, long pos, @Nullable EnergyNetwork network) {
+        if (traceAll) {
+            return true;
+        }
+        long[] levelPositions = positions.get(level.dimension());
+        return (levelPositions != null && Arrays.binarySearch(levelPositions, pos) >= 0)
+            || (network != null && matchesNetwork(network));
+    }
+
+    // Networks belong to one graph, so an anchor can only match networks of its own dimension
+    private static boolean matchesNetwork(EnergyNetwork network) {
+        for (NetworkAnchor anchor : anchors) {
+            if (anchor.graph().getNetwork(anchor.cablePos()) == network) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(int kind, long pos, long a, long b) {
+        TraceBuffer target = buffer;
+        if (target != null) {
+            target.record(System.nanoTime(), kind, pos, a, b);
+        }
+    }
+
+    // ========== Control ==========
+
+    /**
+     * Trace every event in every level.
+     */
+    public static synchronized void traceAll() {
+        traceAll = true;
+        start();
+    }
+
+    /**
+     * Trace events at one block position of a level.
+     */
+    public static synchronized void tracePosition(Level level, BlockPos pos) {
+        long[] levelPositions = positions.getOrDefault(level.dimension(), new long[0]);
+        long[] updated = Arrays.copyOf(levelPositions, levelPositions.length + 1);
+        updated[updated.length - 1] = pos.asLong();
+        Arrays.sort(updated);
+        Map<ResourceKey<Level>, long[]> copy = new HashMap<>(positions);
+        copy.put(level.dimension(), updated);
+        positions = copy;
+        start();
+    }
+
+    /**
+     * Trace events of the network a cable belongs to (see the class comment).
+     * Called by EnergyNetworkManager, which owns the level graphs.
+     */
+    static synchronized void traceNetwork(Level level, EnergyNetGraph graph, long cablePos) {
+        NetworkAnchor[] updated = Arrays.copyOf(anchors, anchors.length + 1);
+        updated[updated.length - 1] = new NetworkAnchor(level.dimension(), graph, cablePos);
+        anchors = updated;
+        start();
+    }
+
+    /**
+     * Drop the filters of a level that is being unloaded. Tracing stops if none are left.
+     * Recorded events stay available for {@link #dump}.
+     */
+    public static synchronized void clearLevel(Level level) {
+        ResourceKey<Level> dimension = level.dimension();
+        if (positions.containsKey(dimension)) {
+            Map<ResourceKey<Level>, long[]> copy = new HashMap<>(positions);
+            copy.remove(dimension);
+            positions = copy;
+        }
+        anchors = Arrays.stream(anchors)
+            .filter(anchor -> anchor.dimension() != dimension)
+            .toArray(NetworkAnchor[]::new);
+        if (!traceAll && positions.isEmpty() && anchors.length == 0) {
+            active = false;
+        }
+    }
+
+    /**
+     * Stop tracing and drop all filters. Recorded events stay available for {@link #dump}.
+     */
+    public static synchronized void stop() {
+        active = false;
+        traceAll = false;
+        positions = Map.of();
+        anchors = new NetworkAnchor[0];
+    }
+
+    private static void start() {
+        if (buffer == null) {
+            buffer = new TraceBuffer(CAPACITY);
+        }
+        active = true;
+    }
+
+    /**
+     * Describe the current trace state for commands.
+     */
+    public static String describe() {
+        TraceBuffer current = buffer;
+        int positionCount = 0;
+        for (long[] levelPositions : positions.values()) {
+            positionCount += levelPositions.length;
+        }
+        String filter = traceAll ? "all" : positionCount + " positions, " + anchors.length + " networks";
+        return String.format("Tracing: %s (%s), Records: %d (buffer %d)",
+            active ? "on" : "off", filter, current != null ? Math.min(current.written(), current.capacity()) : 0, CAPACITY);
+    }
+
+    /**
+     * Write the buffered records to a text file, oldest first, one record per line:
+     * time in ms relative to the first record, kind, x y z, and the two values.
+     *
+     * @return the number of records written
+     */
+    public static synchronized int dump(Path file) throws IOException {
+        TraceBuffer current = buffer;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            out.write("# sequence time_ms kind x y z a b");
+            out.newLine();
+            if (current == null) {
+                return 0;
+            }
+            long[] firstTime = {Long.MIN_VALUE};
+            IOException[] failure = new IOException[1];
+            int count = current.forEach((sequence, time, kind, pos, a, b) -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                if (firstTime[0] == Long.MIN_VALUE) {
+                    firstTime[0] = time;
+                }
+                String kindName = kind >= 0 && kind < KIND_NAMES.length ? KIND_NAMES[kind] : KIND_NAMES[0];
+                try {
+                    out.write(String.format("%d %.3f %s %d %d %d %d %d", sequence, (time - firstTime[0]) / 1_000_000.0,
+                        kindName, PackedPos.getX(pos), PackedPos.getY(pos), PackedPos.getZ(pos), a, b));
+                    out.newLine();
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.network.chat.Component;
+
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.FlowTelemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chat lines describing the energy flow of a network, for the EU-Reader and /ic2 energynet flow.
+ */
+public final class FlowReport {
+
+    private static final String[] WINDOW_KEYS = {
+        "energynet.industrialcraft.window.second",
+        "energynet.industrialcraft.window.minute",
+        "energynet.industrialcraft.window.ten_minutes"
+    };
+
+    private FlowReport() {}
+
+    /**
+     * One header line with the network's state over the last minute, then one line per window.
+     */
+    public static List<Component> lines(EnergyNetwork network, long gameTime) {
+        FlowTelemetry telemetry = network.getTelemetry();
+        List<Component> lines = new ArrayList<>(1 + FlowTelemetry.WINDOWS);
+        lines.add(Component.translatable("energynet.industrialcraft.flow.header",
+            network.getId(), network.getCableCount(), Component.translatable(stateKey(telemetry, gameTime))));
+        for (int window = 0; window < FlowTelemetry.WINDOWS; window++) {
+            lines.add(Component.translatable("energynet.industrialcraft.flow.window",
+                Component.translatable(WINDOW_KEYS[window]),
+                format(telemetry, gameTime, FlowTelemetry.GENERATED, window),
+                format(telemetry, gameTime, FlowTelemetry.DELIVERED, window),
+                format(telemetry, gameTime, FlowTelemetry.BUFFERED, window),
+                format(telemetry, gameTime, FlowTelemetry.DEMANDED, window),
+                format(telemetry, gameTime, FlowTelemetry.REFUSED, window),
+                format(telemetry, gameTime, FlowTelemetry.CABLE_LOSS, window),
+                format(telemetry, gameTime, FlowTelemetry.OVERVOLTAGE, window)));
+        }
+        return lines;
+    }
+
+    /**
+     * Starved: consumers asked for more than arrived. Surplus: emitters kept energy back.
+     */
+    private static String stateKey(FlowTelemetry telemetry, long gameTime) {
+        double demanded = telemetry.average(gameTime, FlowTelemetry.DEMANDED, FlowTelemetry.MINUTE);
+        double delivered = telemetry.average(gameTime, FlowTelemetry.DELIVERED, FlowTelemetry.MINUTE);
+        if (telemetry.average(gameTime, FlowTelemetry.GENERATED, FlowTelemetry.MINUTE) == 0 && demanded == 0) {
+            return "energynet.industrialcraft.flow.idle";
+        }
+        if (demanded > delivered + 0.5) {
+            return "energynet.industrialcraft.flow.starved";
+        }
+        if (telemetry.average(gameTime, FlowTelemetry.REFUSED, FlowTelemetry.MINUTE) > 0.5) {
+            return "energynet.industrialcraft.flow.surplus";
+        }
+        return "energynet.industrialcraft.flow.balanced";
+    }
+
+    private static String format(FlowTelemetry telemetry, long gameTime, int metric, int window) {
+        return String.format("%.1f", telemetry.average(gameTime, metric, window));
+    }
+}
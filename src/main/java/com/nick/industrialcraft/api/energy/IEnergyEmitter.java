@@ -0,0 +1,59 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.world.level.Level;
+
+/**
+ * Interface for block entities that push energy into cable networks.
+ *
+ * Emitters do not transfer energy themselves. Each tick they submit themselves to
+ * {@link EnergyDistributor#submit}, and the distributor moves energy for all emitters
+ * of the level together at the end of the tick.
+ *
+ * Sides are given as 6-bit masks (bit = Direction.get3DDataValue()).
+ */
+public interface IEnergyEmitter {
+
+    /**
+     * Get the sides energy is emitted from.
+     */
+    int getEmitSides();
+
+    /**
+     * Get the sides energy arrives on. Consumers that are also reachable from
+     * these sides are skipped, so energy never loops back to where it came from.
+     * Default: no exclusion.
+     */
+    default int getExcludedSides() {
+        return 0;
+    }
+
+    /**
+     * Get the energy that may leave this emitter during the current energy phase.
+     */
+    int getEmittableEnergy();
+
+    /**
+     * Get the packet size (voltage) of emitted energy, used for tier checks.
+     */
+    int getEmittedPacketSize();
+
+    /**
+     * True if every consumer receives whole packets while energy lasts (transformers).
+     * False if the available energy is split equally between consumers (generators, storage),
+     * unless packet emission is enabled in the config.
+     */
+    default boolean emitsWholePackets() {
+        return false;
+    }
+
+    /**
+     * Remove energy that was delivered to consumers.
+     */
+    void emitEnergy(int amount);
+
+    /**
+     * A consumer cannot handle this emitter's packet size.
+     * Called once per endangered consumer per tick; no energy is sent to it.
+     */
+    void onOvervoltage(Level level, EnergyNetworkManager.MachineConnection machine, int packetSize);
+}
@@ -0,0 +1,184 @@
+package com.nick.industrialcraft.api.energy;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.neoforge.capabilities.BlockCapabilityCache;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.energy.IEnergyStorage;
+import org.jetbrains.annotations.Nullable;
+
+import com.nick.industrialcraft.api.energy.EnergyNetworkManager.MachineConnection;
+import com.nick.industrialcraft.api.energy.net.ConsumerWorld;
+import com.nick.industrialcraft.api.energy.net.NetworkCache;
+import com.nick.industrialcraft.content.block.cable.BaseCableBlock;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Adapter that lets the energy-net core read a game level.
+ *
+ * Cables are {@link BaseCableBlock}s; machine tiers come from {@link IEnergyTier}
+ * block entities with an energy capability. A machine that can extract counts as a
+ * source, one that can receive as a consumer (storage blocks are both).
+ * Consumers are connected through a NeoForge BlockCapabilityCache whose invalidation
+ * queues the position again in the level's network cache.
+ * While the level is journaled, every read is reported to {@link EnergyJournalRecorder}.
+ * Server thread only: positions are unpacked into one reused cursor.
+ */
+final class LevelEnergyWorld implements ConsumerWorld<MachineConnection> {
+
+    private final Level level;
+    private final LongConsumer invalidated;
+    private final BlockPos.MutableBlockPos cursor = new BlockPos.MutableBlockPos();
+
+    /**
+     * @param invalidated Called with the packed position of a connected consumer whose capability changed
+     */
+    LevelEnergyWorld(Level level, LongConsumer invalidated) {
+        this.level = level;
+        this.invalidated = invalidated;
+    }
+
+    Level getLevel() {
+        return level;
+    }
+
+    @Override
+    public boolean isLoaded(long pos) {
+        boolean loaded = level.isLoaded(cursor.set(pos));
+        if (EnergyJournalRecorder.isRecording(level)) {
+            EnergyJournalRecorder.loaded(pos, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public int getCableType(long pos) {
+        int type = level.getBlockState(cursor.set(pos)).getBlock() instanceof BaseCableBlock cable
+            ? cable.getCableType().ordinal() : NO_CABLE;
+        if (type == NO_CABLE && EnergyJournalRecorder.isRecording(level)) {
+            EnergyJournalRecorder.notCable(pos);
+        }
+        return type;
+    }
+
+    @Override
+    public int getConnectionMask(long pos) {
+        BlockState state = level.getBlockState(cursor.set(pos));
+        int mask = BaseCableBlock.getConnectionMask(state);
+        if (EnergyJournalRecorder.isRecording(level) && state.getBlock() instanceof BaseCableBlock cable) {
+            EnergyJournalRecorder.cable(pos, cable.getCableType().ordinal(), mask);
+        }
+        return mask;
+    }
+
+    @Override
+    public int getSourceTier(long pos) {
+        int tier = getTier(pos, true);
+        if (EnergyJournalRecorder.isRecording(level)) {
+            EnergyJournalRecorder.machine(pos, tier, getTier(pos, false));
+        }
+        return tier;
+    }
+
+    @Override
+    public int getConsumerTier(long pos) {
+        int tier = getTier(pos, false);
+        if (EnergyJournalRecorder.isRecording(level)) {
+            EnergyJournalRecorder.machine(pos, getTier(pos, true), tier);
+        }
+        return tier;
+    }
+
+    /**
+     * Create a connection backed by a capability cache.
+     * The position is queued again whenever NeoForge invalidates its energy capability
+     * (block entity replaced, side configuration changed, chunk unloaded).
+     */
+    @Override
+    @Nullable
+    public MachineConnection connect(long machinePos, int accessSide, NetworkCache.Lease lease) {
+        BlockPos watched = BlockPos.of(machinePos);
+        Direction side = Direction.from3DDataValue(accessSide);
+        if (EnergyJournalRecorder.isRecording(level)) {
+            observe(machinePos);
+        }
+        IEnergyStorage storage = level.getCapability(Capabilities.EnergyStorage.BLOCK, watched, side);
+        if (storage == null || !storage.canReceive()) {
+            return null;
+        }
+        BlockEntity blockEntity = level.getBlockEntity(watched);
+        if (!(level instanceof ServerLevel serverLevel)) {
+            return new MachineConnection(watched, storage, blockEntity, side);
+        }
+        BlockCapabilityCache<IEnergyStorage, Direction> capability = BlockCapabilityCache.create(
+            Capabilities.EnergyStorage.BLOCK,
+            serverLevel,
+            watched,
+            side,
+            lease::isLive,
+            () -> invalidated.accept(machinePos)
+        );
+        return new MachineConnection(capability, storage, blockEntity, side);
+    }
+
+    /**
+     * Probe a machine at each tier's packet size: the ceiling is the largest accepted one,
+     * or unlimited for machines without a tier. Transformers are judged by the face they are reached through.
+     */
+    @Override
+    public int getPacketCeiling(MachineConnection machine) {
+        BlockEntity be = machine.blockEntity();
+        if (!(be instanceof IVoltageTransformer) && !(be instanceof IEnergyTier)) {
+            return Integer.MAX_VALUE;
+        }
+        int ceiling = 0;
+        for (EnergyTier tier : EnergyTier.values()) {
+            int packetSize = tier.getMaxPacketSize();
+            boolean accepted = be instanceof IVoltageTransformer transformer
+                ? transformer.canSideReceive(machine.accessSide(), packetSize)
+                : ((IEnergyTier) be).canSafelyReceive(packetSize);
+            if (!accepted) {
+                break;
+            }
+            ceiling = packetSize;
+        }
+        return ceiling;
+    }
+
+    @Override
+    public int getTier(MachineConnection machine) {
+        return machine.blockEntity() instanceof IEnergyTier tiered && !(tiered instanceof IVoltageTransformer)
+            ? tiered.getEnergyTier().getTierLevel() : 0;
+    }
+
+    /**
+     * Read a position the way the net does, so a journal records its current state.
+     */
+    void observe(long pos) {
+        if (!isLoaded(pos)) {
+            return;
+        }
+        if (getCableType(pos) != NO_CABLE) {
+            getConnectionMask(pos);
+        } else {
+            getSourceTier(pos);
+        }
+    }
+
+    private int getTier(long pos, boolean source) {
+        cursor.set(pos);
+        if (!(level.getBlockEntity(cursor) instanceof IEnergyTier tiered) || tiered instanceof IVoltageTransformer) {
+            return 0;
+        }
+        IEnergyStorage storage = level.getCapability(Capabilities.EnergyStorage.BLOCK, cursor, null);
+        if (storage == null || !(source ? storage.canExtract() : storage.canReceive())) {
+            return 0;
+        }
+        return tiered.getEnergyTier().getTierLevel();
+    }
+}
@@ -2,7 +2,10 @@ package com.nick.industrialcraft.api.energy;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
+import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.sounds.SoundEvents;
+import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.player.Player;
@@ -12,12 +15,11 @@ import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 import net.minecraft.world.phys.AABB;
 import net.minecraft.world.phys.Vec3;
-import net.neoforged.neoforge.capabilities.Capabilities;
-import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import com.nick.industrialcraft.Config;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.LongHashSet;
 import com.nick.industrialcraft.content.block.cable.BaseCableBlock;
-import com.nick.industrialcraft.content.block.cable.CableBlockEntity;
 
 import java.util.*;
 
@@ -29,9 +31,12 @@ import java.util.*;
  * - 2 tier gap (e.g., HV → LV): Explosion destroying the machine
  * - 3 tier gap (e.g., EV → LV): Explosion + lethal electrical shock to nearby players
  *
- * The check happens INSTANTLY when a connection is made (cable/machine placed),
- * simulating real-world electrical behavior where overvoltage damage occurs
- * the moment incompatible systems are connected.
+ * The check happens at the end of the tick in which a connection is made (cable/machine
+ * placed), simulating real-world electrical behavior where overvoltage damage occurs
+ * the moment incompatible systems are connected. Placements within one tick are
+ * checked together, once per network. Which machines are endangered is decided by the
+ * core's {@link com.nick.industrialcraft.api.energy.net.OvervoltageCheck}; this class
+ * schedules the checks and applies the consequences.
  */
 public class OvervoltageHandler {
 
@@ -69,53 +74,89 @@ public class OvervoltageHandler {
         }
     }
 
+    // Placements waiting for the end-of-tick check, per level
+    private static final Map<Level, LongHashSet> pendingChecks = new WeakHashMap<>();
+
     /**
-     * Check and handle overvoltage when a new block is placed.
-     * This scans the network to find any voltage incompatibilities
-     * and triggers appropriate consequences.
+     * Queue an overvoltage check for a newly placed (or rotated) block.
+     * Checks are coalesced and run once per level at the end of the tick
+     * (see {@link #runPendingChecks}), so placing a long cable line in one
+     * tick costs one check per affected network instead of one per cable.
      *
      * @param level The world level
      * @param placedPos The position where a block was just placed
-     * @return true if an overvoltage event occurred
      */
-    public static boolean checkOnPlacement(Level level, BlockPos placedPos) {
+    public static void checkOnPlacement(Level level, BlockPos placedPos) {
         if (level.isClientSide || !(level instanceof ServerLevel)) {
-            return false;
+            return;
         }
 
         // Check if overvoltage explosions are enabled
         if (!Config.ENABLE_OVERVOLTAGE_EXPLOSIONS.get()) {
-            return false;
+            return;
         }
 
-        // Special handling for transformers - they have different voltage tiers on different sides
-        BlockEntity placedBe = level.getBlockEntity(placedPos);
-        if (placedBe instanceof IVoltageTransformer transformer) {
-            return checkTransformerConnections(level, placedPos, transformer);
-        }
+        pendingChecks.computeIfAbsent(level, l -> new LongHashSet()).add(placedPos.asLong());
+    }
 
-        // Scan the network to find all sources and consumers
-        Set<BlockPos> visitedCables = new HashSet<>();
-        List<TieredBlock> sources = new ArrayList<>();
-        List<TieredBlock> consumers = new ArrayList<>();
-
-        // Start scanning from the placed position
-        scanNetworkFromPosition(level, placedPos, visitedCables, sources, consumers);
-
-        // Check all source-consumer pairs for overvoltage
-        boolean hadOvervoltage = false;
-        for (TieredBlock source : sources) {
-            for (TieredBlock consumer : consumers) {
-                int tierGap = EnergyTier.getTierGap(source.tier, consumer.tier);
-                if (tierGap > 0) {
-                    // Overvoltage! Apply consequence to the consumer
-                    applyConsequence(level, consumer.pos, tierGap);
-                    hadOvervoltage = true;
+    /**
+     * Run the placement checks queued during this tick.
+     * Each network is checked once no matter how many of its blocks were placed,
+     * and each endangered machine suffers one consequence, for the largest tier gap found.
+     *
+     * @return the number of machines that received an overvoltage consequence
+     */
+    public static int runPendingChecks(Level level) {
+        LongHashSet pending = pendingChecks.get(level);
+        if (pending == null || pending.isEmpty()) {
+            return 0;
+        }
+        long[] placed = pending.toArray();
+        pending.clear();
+        Arrays.sort(placed);  // Deterministic consequence order
+
+        Map<BlockPos, Integer> endangered = new LinkedHashMap<>();
+        EnergyNetworkManager.beginEnergyWork();
+        try {
+            Set<EnergyNetwork> checkedNetworks = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (long packed : placed) {
+                BlockPos placedPos = BlockPos.of(packed);
+                if (level.isLoaded(placedPos)) {
+                    checkPlacedBlock(level, placedPos, checkedNetworks, endangered);
                 }
             }
+        } finally {
+            EnergyNetworkManager.endEnergyWork();
+        }
+
+        // Consequences change the world, so they only start once every check has run
+        for (Map.Entry<BlockPos, Integer> entry : endangered.entrySet()) {
+            Config.debugLog("OVERVOLTAGE! Applying consequence to machine at {}", entry.getKey());
+            applyConsequence(level, entry.getKey(), entry.getValue());
+        }
+        return endangered.size();
+    }
+
+    /**
+     * Drop the queued checks of a level that is being unloaded.
+     */
+    public static void clearLevel(Level level) {
+        pendingChecks.remove(level);
+    }
+
+    private static void checkPlacedBlock(Level level, BlockPos placedPos, Set<EnergyNetwork> checkedNetworks,
+                                         Map<BlockPos, Integer> endangered) {
+        // Special handling for transformers - they have different voltage tiers on different sides
+        BlockEntity placedBe = level.getBlockEntity(placedPos);
+        if (placedBe instanceof IVoltageTransformer transformer) {
+            checkTransformerConnections(level, placedPos, transformer, endangered);
+            return;
         }
 
-        return hadOvervoltage;
+        // Networks keep their highest source tier and lowest consumer tier as running
+        // aggregates, so a placement without overvoltage costs O(1) per adjacent network
+        EnergyNetworkManager.checkNetworks(level, placedPos, checkedNetworks,
+            (machinePos, tierGap) -> endanger(endangered, BlockPos.of(machinePos), tierGap));
     }
 
     /**
@@ -130,179 +171,27 @@ public class OvervoltageHandler {
      * @param level The world level
      * @param transformerPos The transformer position
      * @param transformer The transformer interface
-     * @return true if an overvoltage event occurred
+     * @param endangered Collects the machines that receive too high a voltage, with their tier gap
      */
-    private static boolean checkTransformerConnections(Level level, BlockPos transformerPos, IVoltageTransformer transformer) {
-        boolean hadOvervoltage = false;
-
+    private static void checkTransformerConnections(Level level, BlockPos transformerPos, IVoltageTransformer transformer,
+                                                    Map<BlockPos, Integer> endangered) {
         Config.debugLog("Checking transformer connections at {}", transformerPos);
 
-        // Check each side of the transformer
+        // Check each side of the transformer against the machines connected to it through cables
         for (Direction side : Direction.values()) {
             EnergyTier outputTier = transformer.getTierForSide(side);
             Config.debugLog("  Side {}: output tier = {}", side, outputTier);
 
-            // Find machines connected to this side through cables
-            List<EnergyNetworkManager.MachineConnection> connectedMachines =
-                EnergyNetworkManager.getConnectedMachines(level, transformerPos, side);
-
-            for (EnergyNetworkManager.MachineConnection machine : connectedMachines) {
-                // Skip other transformers
-                if (machine.blockEntity() instanceof IVoltageTransformer) {
-                    continue;
-                }
-
-                if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                    EnergyTier machineTier = tieredMachine.getEnergyTier();
-                    int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
-
-                    Config.debugLog("    Machine at {}: tier = {}, tierGap = {}", machine.pos(), machineTier, tierGap);
-
-                    if (tierGap > 0) {
-                        // Machine can't handle this transformer side's voltage!
-                        Config.debugLog("    OVERVOLTAGE! Applying consequence to machine at {}", machine.pos());
-                        applyConsequence(level, machine.pos(), tierGap);
-                        hadOvervoltage = true;
-                    }
-                }
-            }
-        }
-
-        return hadOvervoltage;
-    }
-
-    
-    /**
-     * Scan the network starting from a position to find all connected
-     * energy sources and consumers using iterative BFS (prevents stack overflow).
-     */
-    private static void scanNetworkFromPosition(
-            Level level,
-            BlockPos startPos,
-            Set<BlockPos> visitedCables,
-            List<TieredBlock> sources,
-            List<TieredBlock> consumers
-    ) {
-        // Use HashSet for O(1) machine position lookups
-        Set<BlockPos> visitedMachines = new HashSet<>();
-
-        // BFS queue for iterative traversal
-        Deque<BlockPos> queue = new ArrayDeque<>();
-
-        BlockState startState = level.getBlockState(startPos);
-
-        // If starting position is a cable, add it to queue
-        if (startState.getBlock() instanceof BaseCableBlock) {
-            queue.add(startPos);
-        }
-        // If starting position is a machine, categorize it and scan from adjacent cables
-        else {
-            categorizeTieredBlock(level, startPos, sources, consumers, visitedMachines);
-
-            // Add all adjacent cable positions to queue
-            for (Direction dir : Direction.values()) {
-                BlockPos neighborPos = startPos.relative(dir);
-                BlockState neighborState = level.getBlockState(neighborPos);
-                if (neighborState.getBlock() instanceof BaseCableBlock) {
-                    queue.add(neighborPos);
-                }
-            }
-        }
-
-        int blocksScanned = 0;
-        int maxScanSize = Config.MAX_OVERVOLTAGE_SCAN_SIZE.get();
-
-        // Iterative BFS
-        while (!queue.isEmpty() && blocksScanned < maxScanSize) {
-            BlockPos cablePos = queue.poll();
-            blocksScanned++;
-
-            // Skip if already visited
-            if (visitedCables.contains(cablePos)) continue;
-            visitedCables.add(cablePos);
-
-            BlockState state = level.getBlockState(cablePos);
-            if (!(state.getBlock() instanceof BaseCableBlock)) continue;
-
-            // Get cable block entity to check connections
-            BlockEntity be = level.getBlockEntity(cablePos);
-            if (!(be instanceof CableBlockEntity cable)) continue;
-
-            // Check all 6 directions
-            for (Direction dir : Direction.values()) {
-                if (!cable.isConnectedInDirection(state, dir)) continue;
-
-                BlockPos neighborPos = cablePos.relative(dir);
-
-                // Skip already visited
-                if (visitedCables.contains(neighborPos) || visitedMachines.contains(neighborPos)) {
-                    continue;
-                }
-
-                BlockState neighborState = level.getBlockState(neighborPos);
-
-                if (neighborState.getBlock() instanceof BaseCableBlock) {
-                    // Add cable to queue for later processing
-                    queue.add(neighborPos);
-                } else {
-                    // Check if this is a tiered block
-                    categorizeTieredBlock(level, neighborPos, sources, consumers, visitedMachines);
-                }
-            }
+            EnergyNetworkManager.checkTransformerSide(level, transformerPos, side, outputTier, (machinePos, tierGap) -> {
+                Config.debugLog("    Machine at {}: tierGap = {}", BlockPos.of(machinePos), tierGap);
+                endanger(endangered, BlockPos.of(machinePos), tierGap);
+            });
         }
     }
 
-    /**
-     * Check if a block is a tiered energy block and categorize it
-     * as a source or consumer. Uses HashSet for O(1) duplicate checking.
-     *
-     * NOTE: Transformers (IVoltageTransformer) are EXCLUDED from this categorization
-     * because they bridge different voltage networks. Their whole purpose is to
-     * connect incompatible voltage tiers safely.
-     */
-    private static void categorizeTieredBlock(
-            Level level,
-            BlockPos pos,
-            List<TieredBlock> sources,
-            List<TieredBlock> consumers,
-            Set<BlockPos> visitedMachines
-    ) {
-        // O(1) duplicate check using HashSet
-        if (visitedMachines.contains(pos)) return;
-        visitedMachines.add(pos);
-
-        BlockEntity be = level.getBlockEntity(pos);
-        if (!(be instanceof IEnergyTier tieredBe)) return;
-
-        // Skip transformers - they bridge voltage networks and should not be
-        // treated as regular sources/consumers. They handle their own side-specific
-        // voltage checking.
-        if (be instanceof IVoltageTransformer) {
-            Config.debugLog("Skipping transformer at {} in overvoltage check (bridges voltage networks)", pos);
-            return;
-        }
-
-        // Check energy capability to determine if source or consumer
-        IEnergyStorage energyStorage = level.getCapability(
-                Capabilities.EnergyStorage.BLOCK,
-                pos,
-                null
-        );
-
-        if (energyStorage == null) return;
-
-        EnergyTier tier = tieredBe.getEnergyTier();
-
-        if (energyStorage.canExtract() && !energyStorage.canReceive()) {
-            // Pure source (generator)
-            sources.add(new TieredBlock(pos, tier, true));
-        } else if (energyStorage.canReceive() && !energyStorage.canExtract()) {
-            // Pure consumer (machine)
-            consumers.add(new TieredBlock(pos, tier, false));
-        } else if (energyStorage.canExtract() && energyStorage.canReceive()) {
-            // Bidirectional (storage block like BatBox) - acts as both
-            sources.add(new TieredBlock(pos, tier, true));
-            consumers.add(new TieredBlock(pos, tier, false));
+    private static void endanger(Map<BlockPos, Integer> endangered, BlockPos machinePos, int tierGap) {
+        if (tierGap > 0) {
+            endangered.merge(machinePos, tierGap, Math::max);
         }
     }
 
@@ -400,69 +289,74 @@ public class OvervoltageHandler {
         }
     }
 
-    /**
-     * Helper class to store information about a tiered block.
-     */
-    private static class TieredBlock {
-        final BlockPos pos;
-        final EnergyTier tier;
-        final boolean isSource;
-
-        TieredBlock(BlockPos pos, EnergyTier tier, boolean isSource) {
-            this.pos = pos;
-            this.tier = tier;
-            this.isSource = isSource;
-        }
-    }
-
-    // ========== Stub methods for future tier implementations ==========
+    // ========== Cable capacity ==========
 
     /**
-     * Future: Check if a cable can handle the voltage passing through it.
-     * Cables will have their own voltage limits (tin = LV only, copper = LV-MV, etc.)
+     * Check if a cable can carry packets of the given tier.
+     * Cables carry up to their type's capacity (see {@link CableType#getCapacity()}).
      *
      * @param cablePos Position of the cable
      * @param sourceTier The tier of energy passing through
-     * @return true if the cable can handle it
+     * @return true if the cable can handle it (or the block is not a cable)
      */
     public static boolean canCableHandleVoltage(Level level, BlockPos cablePos, EnergyTier sourceTier) {
-        // TODO: Implement when cable voltage limits are added
-        // For now, all cables can handle all voltages
-        Config.debugLog("Cable voltage check at {} for tier {} - not yet implemented (returning true)",
-                cablePos, sourceTier);
-        return true;
+        if (!(level.getBlockState(cablePos).getBlock() instanceof BaseCableBlock cable)) {
+            return true;
+        }
+        return cable.getCableType().getCapacity() >= sourceTier.getMaxPacketSize();
     }
 
     /**
-     * Future: Handle cable meltdown when voltage exceeds its limit.
+     * Handle cable meltdown when voltage exceeds its limit.
+     * Any overload melts the cable: unlike machines, cables have no graduated consequences.
      *
      * @param cablePos Position of the cable
      * @param tierGap How much the voltage exceeds the cable's limit
      */
     public static void handleCableOvervoltage(Level level, BlockPos cablePos, int tierGap) {
-        // TODO: Implement when cable voltage limits are added
-        // Ideas:
-        // - 1 tier over: Cable catches fire, needs replacement
-        // - 2+ tiers over: Cable burns/melts instantly
-        Config.debugLog("Cable overvoltage at {} with tier gap {} - not yet implemented (no action taken)",
-                cablePos, tierGap);
+        if (tierGap > 0) {
+            meltCable(level, cablePos);
+        }
+    }
+
+    /**
+     * Melt a cable that carried a packet above its capacity.
+     * The cable is removed without drops, leaving smoke and a hiss.
+     *
+     * @return true if a cable was melted
+     */
+    public static boolean meltCable(Level level, BlockPos cablePos) {
+        if (!level.isLoaded(cablePos) || !(level.getBlockState(cablePos).getBlock() instanceof BaseCableBlock cable)) {
+            return false;
+        }
+
+        Config.debugLog("Melting {} at {} (capacity {} EU/t exceeded)",
+                cable.getCableType().getDisplayName(), cablePos, cable.getCableType().getCapacity());
+        level.removeBlock(cablePos, false);
+        level.playSound(null, cablePos, SoundEvents.FIRE_EXTINGUISH, SoundSource.BLOCKS, 0.5F, 2.6F);
+        if (level instanceof ServerLevel serverLevel) {
+            serverLevel.sendParticles(ParticleTypes.LARGE_SMOKE,
+                    cablePos.getX() + 0.5, cablePos.getY() + 0.5, cablePos.getZ() + 0.5,
+                    8, 0.25, 0.25, 0.25, 0.0);
+        }
+        return true;
     }
 
     /**
-     * Future: Get the voltage tier a cable can safely carry.
+     * Get the voltage tier a cable can safely carry: the highest tier whose packets fit
+     * its capacity, or LV for cables that carry less than an LV packet.
      *
      * @param cableBlock The cable block
      * @return The maximum tier this cable supports
      */
     public static EnergyTier getCableMaxTier(BaseCableBlock cableBlock) {
-        // TODO: Implement when cable voltage limits are added
-        // Planned tiers:
-        // - Tin Cable: LV only
-        // - Copper Cable: LV-MV
-        // - Gold Cable: LV-HV
-        // - Glass Fibre: All tiers (LV-EV)
-        Config.debugLog("getCableMaxTier called for {} - not yet implemented (returning EV)",
-                cableBlock.getClass().getSimpleName());
-        return EnergyTier.EV; // For now, all cables support all tiers
+        int capacity = cableBlock.getCableType().getCapacity();
+        EnergyTier[] tiers = EnergyTier.values();
+        for (int i = tiers.length - 1; i > 0; i--) {
+            if (tiers[i].getMaxPacketSize() <= capacity) {
+                return tiers[i];
+            }
+        }
+        return tiers[0];
     }
 }
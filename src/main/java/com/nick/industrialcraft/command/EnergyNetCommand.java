@@ -0,0 +1,385 @@
+package com.nick.industrialcraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
+import com.nick.industrialcraft.api.energy.EnergyJournalRecorder;
+import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
+import com.nick.industrialcraft.api.energy.EnergyNetworkManager.NetworkSummary;
+import com.nick.industrialcraft.api.energy.EnergyProfiler;
+import com.nick.industrialcraft.api.energy.EnergyTrace;
+import com.nick.industrialcraft.api.energy.FlowReport;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import com.nick.industrialcraft.api.energy.net.FlowTelemetry;
+import com.nick.industrialcraft.api.energy.net.PackedPos;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * The /ic2 energynet command tree: energy-net inspection for operators.
+ *
+ * list [cables|consumers] [count] - largest networks of the level
+ * cost [count] - networks with the highest energy-phase cost over the last minute
+ * flow &lt;pos&gt; - energy flow of the networks at a position
+ * dump &lt;cable&gt; - write a network's cables and consumers to a file
+ * rebuild network &lt;cable&gt; | level - forget topology so it is rediscovered
+ * profile &lt;ticks&gt; - sample the energy phase for a number of ticks
+ * stats - cache and distribution counters
+ * trace all | pos &lt;pos&gt; | network &lt;cable&gt; | stop | status | dump
+ * journal start [megabytes] | stop | status - record topology and demand events for offline replay
+ */
+public final class EnergyNetCommand {
+
+    private static final int DEFAULT_COUNT = 10;
+    private static final int MAX_PROFILE_TICKS = 6000;
+    private static final int PROFILE_CHAT_LINES = 8;
+    private static final int MAX_JOURNAL_MEGABYTES = 4096;
+
+    private EnergyNetCommand() {}
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("ic2")
+            .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+            .then(Commands.literal("energynet")
+                .then(list())
+                .then(cost())
+                .then(flow())
+                .then(dump())
+                .then(rebuild())
+                .then(profile())
+                .then(Commands.literal("stats")
+                    .executes(context -> showStats(context.getSource())))
+                .then(trace())
+                .then(journal())));
+    }
+
+    // ========== list / cost ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> list() {
+        return Commands.literal("list")
+            .executes(context -> listNetworks(context.getSource(), NetworkSummary::cables, DEFAULT_COUNT))
+            .then(Commands.literal("cables")
+                .executes(context -> listNetworks(context.getSource(), NetworkSummary::cables, DEFAULT_COUNT))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, 100))
+                    .executes(context -> listNetworks(context.getSource(), NetworkSummary::cables,
+                        IntegerArgumentType.getInteger(context, "count")))))
+            .then(Commands.literal("consumers")
+                .executes(context -> listNetworks(context.getSource(), NetworkSummary::consumers, DEFAULT_COUNT))
+                .then(Commands.argument("count", IntegerArgumentType.integer(1, 100))
+                    .executes(context -> listNetworks(context.getSource(), NetworkSummary::consumers,
+                        IntegerArgumentType.getInteger(context, "count")))));
+    }
+
+    private static int listNetworks(CommandSourceStack source, ToIntFunction<NetworkSummary> key, int count) {
+        List<NetworkSummary> summaries = new ArrayList<>(EnergyNetworkManager.getNetworkSummaries(source.getLevel()));
+        summaries.sort(Comparator.comparingInt(key).reversed());
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.list.header",
+            summaries.size()), false);
+        for (NetworkSummary summary : summaries.subList(0, Math.min(count, summaries.size()))) {
+            long anchor = summary.anchorPos();
+            source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.list.entry",
+                summary.network().getId(), PackedPos.getX(anchor), PackedPos.getY(anchor), PackedPos.getZ(anchor),
+                summary.cables(), summary.junctions(), summary.consumers()), false);
+        }
+        return summaries.size();
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> cost() {
+        return Commands.literal("cost")
+            .executes(context -> listCost(context.getSource(), DEFAULT_COUNT))
+            .then(Commands.argument("count", IntegerArgumentType.integer(1, 100))
+                .executes(context -> listCost(context.getSource(), IntegerArgumentType.getInteger(context, "count"))));
+    }
+
+    private static int listCost(CommandSourceStack source, int count) {
+        long gameTime = source.getLevel().getGameTime();
+        List<NetworkSummary> measured = new ArrayList<>();
+        for (NetworkSummary summary : EnergyNetworkManager.getNetworkSummaries(source.getLevel())) {
+            if (summary.network().hasTelemetry()) {
+                measured.add(summary);
+            }
+        }
+        measured.sort(Comparator.comparingDouble((NetworkSummary summary) -> averageCost(summary, gameTime)).reversed());
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.cost.header",
+            measured.size()), false);
+        for (NetworkSummary summary : measured.subList(0, Math.min(count, measured.size()))) {
+            long anchor = summary.anchorPos();
+            String millis = String.format("%.3f", averageCost(summary, gameTime) / 1_000_000.0);
+            source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.cost.entry",
+                summary.network().getId(), PackedPos.getX(anchor), PackedPos.getY(anchor), PackedPos.getZ(anchor),
+                millis, summary.cables(), summary.consumers()), false);
+        }
+        return measured.size();
+    }
+
+    private static double averageCost(NetworkSummary summary, long gameTime) {
+        return summary.network().getTelemetry().average(gameTime, FlowTelemetry.COST_NANOS, FlowTelemetry.MINUTE);
+    }
+
+    // ========== flow ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> flow() {
+        return Commands.literal("flow")
+            .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                .executes(context -> showFlow(context.getSource(),
+                    BlockPosArgument.getLoadedBlockPos(context, "pos"))));
+    }
+
+    private static int showFlow(CommandSourceStack source, BlockPos pos) {
+        List<EnergyNetwork> networks = EnergyNetworkManager.getNetworksAt(source.getLevel(), pos);
+        if (networks.isEmpty()) {
+            source.sendFailure(Component.translatable("energynet.industrialcraft.flow.none"));
+            return 0;
+        }
+        long gameTime = source.getLevel().getGameTime();
+        for (EnergyNetwork network : networks) {
+            for (Component line : FlowReport.lines(network, gameTime)) {
+                source.sendSuccess(() -> line, false);
+            }
+        }
+        return networks.size();
+    }
+
+    // ========== dump / rebuild ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> dump() {
+        return Commands.literal("dump")
+            .then(Commands.argument("cable", BlockPosArgument.blockPos())
+                .executes(context -> dumpNetwork(context.getSource(),
+                    BlockPosArgument.getLoadedBlockPos(context, "cable"))));
+    }
+
+    private static int dumpNetwork(CommandSourceStack source, BlockPos cablePos) {
+        Path file = outputFile(source, "energynet-network");
+        try {
+            int cables = EnergyNetworkManager.dumpNetwork(source.getLevel(), cablePos, file);
+            if (cables < 0) {
+                source.sendFailure(Component.translatable("commands.industrialcraft.energynet.no_cable",
+                    cablePos.getX(), cablePos.getY(), cablePos.getZ()));
+                return 0;
+            }
+            source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.dumped",
+                cables, file.toString()), true);
+            return cables;
+        } catch (IOException e) {
+            IndustrialCraft.LOGGER.error("Failed to write energy network to {}", file, e);
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.write_failed", e.getMessage()));
+            return 0;
+        }
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> rebuild() {
+        return Commands.literal("rebuild")
+            .then(Commands.literal("network")
+                .then(Commands.argument("cable", BlockPosArgument.blockPos())
+                    .executes(context -> rebuildNetwork(context.getSource(),
+                        BlockPosArgument.getLoadedBlockPos(context, "cable")))))
+            .then(Commands.literal("level")
+                .executes(context -> rebuildLevel(context.getSource())));
+    }
+
+    private static int rebuildNetwork(CommandSourceStack source, BlockPos cablePos) {
+        int cables = EnergyNetworkManager.rebuildNetwork(source.getLevel(), cablePos);
+        if (cables == 0) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.no_cable",
+                cablePos.getX(), cablePos.getY(), cablePos.getZ()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.rebuilt.network",
+            cables), true);
+        return cables;
+    }
+
+    private static int rebuildLevel(CommandSourceStack source) {
+        int networks = EnergyNetworkManager.rebuildLevel(source.getLevel());
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.rebuilt.level",
+            networks), true);
+        return networks;
+    }
+
+    // ========== profile / stats ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> profile() {
+        return Commands.literal("profile")
+            .then(Commands.argument("ticks", IntegerArgumentType.integer(1, MAX_PROFILE_TICKS))
+                .executes(context -> startProfile(context.getSource(),
+                    IntegerArgumentType.getInteger(context, "ticks"))));
+    }
+
+    private static int startProfile(CommandSourceStack source, int ticks) {
+        Path file = outputFile(source, "energynet-profile");
+        boolean started = EnergyProfiler.start(source.getLevel(), ticks, report -> {
+            for (String line : report.subList(0, Math.min(PROFILE_CHAT_LINES, report.size()))) {
+                source.sendSuccess(() -> Component.literal(line), false);
+            }
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, report);
+                source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.profile.done",
+                    file.toString()), true);
+            } catch (IOException e) {
+                IndustrialCraft.LOGGER.error("Failed to write energy-net profile to {}", file, e);
+                source.sendFailure(Component.translatable("commands.industrialcraft.energynet.write_failed", e.getMessage()));
+            }
+        });
+        if (!started) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.profile.running"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.profile.started", ticks), true);
+        return 1;
+    }
+
+    private static int showStats(CommandSourceStack source) {
+        String cache = EnergyNetworkManager.getCacheStats(source.getLevel());
+        String distribution = EnergyDistributor.getStats(source.getLevel());
+        source.sendSuccess(() -> Component.literal(cache), false);
+        source.sendSuccess(() -> Component.literal(distribution), false);
+        return 1;
+    }
+
+    // ========== trace ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> trace() {
+        return Commands.literal("trace")
+            .then(Commands.literal("all")
+                .executes(context -> traceAll(context.getSource())))
+            .then(Commands.literal("pos")
+                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                    .executes(context -> tracePosition(context.getSource(),
+                        BlockPosArgument.getLoadedBlockPos(context, "pos")))))
+            .then(Commands.literal("network")
+                .then(Commands.argument("cable", BlockPosArgument.blockPos())
+                    .executes(context -> traceNetwork(context.getSource(),
+                        BlockPosArgument.getLoadedBlockPos(context, "cable")))))
+            .then(Commands.literal("stop")
+                .executes(context -> stopTrace(context.getSource())))
+            .then(Commands.literal("status")
+                .executes(context -> traceStatus(context.getSource())))
+            .then(Commands.literal("dump")
+                .executes(context -> dumpTrace(context.getSource())));
+    }
+
+    private static int traceAll(CommandSourceStack source) {
+        EnergyTrace.traceAll();
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.trace.all"), true);
+        return 1;
+    }
+
+    private static int tracePosition(CommandSourceStack source, BlockPos pos) {
+        EnergyTrace.tracePosition(source.getLevel(), pos);
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.trace.pos",
+            pos.getX(), pos.getY(), pos.getZ()), true);
+        return 1;
+    }
+
+    private static int traceNetwork(CommandSourceStack source, BlockPos cablePos) {
+        if (!EnergyNetworkManager.traceNetwork(source.getLevel(), cablePos)) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.no_cable",
+                cablePos.getX(), cablePos.getY(), cablePos.getZ()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.trace.network",
+            cablePos.getX(), cablePos.getY(), cablePos.getZ()), true);
+        return 1;
+    }
+
+    private static int stopTrace(CommandSourceStack source) {
+        EnergyTrace.stop();
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.trace.stopped"), true);
+        return 1;
+    }
+
+    private static int traceStatus(CommandSourceStack source) {
+        String status = EnergyTrace.describe();
+        source.sendSuccess(() -> Component.literal(status), false);
+        return 1;
+    }
+
+    private static int dumpTrace(CommandSourceStack source) {
+        Path file = outputFile(source, "energynet-trace");
+        try {
+            int records = EnergyTrace.dump(file);
+            source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.trace.dumped",
+                records, file.toString()), true);
+            return records;
+        } catch (IOException e) {
+            IndustrialCraft.LOGGER.error("Failed to write energy-net trace to {}", file, e);
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.write_failed", e.getMessage()));
+            return 0;
+        }
+    }
+
+    // ========== journal ==========
+
+    private static LiteralArgumentBuilder<CommandSourceStack> journal() {
+        return Commands.literal("journal")
+            .then(Commands.literal("start")
+                .executes(context -> startJournal(context.getSource(), EnergyJournalRecorder.DEFAULT_MAX_BYTES))
+                .then(Commands.argument("megabytes", IntegerArgumentType.integer(1, MAX_JOURNAL_MEGABYTES))
+                    .executes(context -> startJournal(context.getSource(),
+                        (long) IntegerArgumentType.getInteger(context, "megabytes") << 20))))
+            .then(Commands.literal("stop")
+                .executes(context -> stopJournal(context.getSource())))
+            .then(Commands.literal("status")
+                .executes(context -> journalStatus(context.getSource())));
+    }
+
+    private static int startJournal(CommandSourceStack source, long maxBytes) {
+        Path file = outputFile(source, "energynet-journal", EnergyJournalRecorder.EXTENSION);
+        try {
+            EnergyJournalRecorder.start(source.getLevel(), file, maxBytes);
+        } catch (IOException e) {
+            IndustrialCraft.LOGGER.error("Failed to open energy-net journal {}", file, e);
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.write_failed", e.getMessage()));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.journal.started",
+            file.toString(), maxBytes >> 20), true);
+        return 1;
+    }
+
+    private static int stopJournal(CommandSourceStack source) {
+        Path file = EnergyJournalRecorder.stop();
+        if (file == null) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.energynet.journal.none"));
+            return 0;
+        }
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.energynet.journal.stopped",
+            file.toString()), true);
+        return 1;
+    }
+
+    private static int journalStatus(CommandSourceStack source) {
+        String status = EnergyJournalRecorder.describe();
+        source.sendSuccess(() -> Component.literal(status), false);
+        return 1;
+    }
+
+    /**
+     * A new text file in the server's industrialcraft directory, named after the game time.
+     */
+    private static Path outputFile(CommandSourceStack source, String name) {
+        return outputFile(source, name, "txt");
+    }
+
+    private static Path outputFile(CommandSourceStack source, String name, String extension) {
+        return source.getServer().getServerDirectory()
+            .resolve(IndustrialCraft.MODID)
+            .resolve(name + "-" + source.getLevel().getGameTime() + "." + extension);
+    }
+}
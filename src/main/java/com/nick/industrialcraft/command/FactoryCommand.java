@@ -0,0 +1,65 @@
+package com.nick.industrialcraft.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.arguments.coordinates.BlockPosArgument;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+
+import com.nick.industrialcraft.IndustrialCraft;
+
+/**
+ * The /ic2 factory command: places a synthetic industrial setup for load testing.
+ *
+ * factory &lt;pos&gt; [options] - see {@link SyntheticFactory#parse} for the options, e.g.
+ * /ic2 factory ~ ~ ~ generators=200 consumers=400 branches=20 length=64 tiers=lv,lv,mv,hv spread=true
+ */
+public final class FactoryCommand {
+
+    private FactoryCommand() {}
+
+    public static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal("ic2")
+            .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+            .then(Commands.literal("factory")
+                .then(Commands.argument("pos", BlockPosArgument.blockPos())
+                    .executes(context -> placeFactory(context.getSource(),
+                        BlockPosArgument.getLoadedBlockPos(context, "pos"), ""))
+                    .then(Commands.argument("options", StringArgumentType.greedyString())
+                        .executes(context -> placeFactory(context.getSource(),
+                            BlockPosArgument.getLoadedBlockPos(context, "pos"),
+                            StringArgumentType.getString(context, "options")))))));
+    }
+
+    private static int placeFactory(CommandSourceStack source, BlockPos origin, String options) {
+        SyntheticFactory factory;
+        try {
+            factory = SyntheticFactory.parse(options);
+        } catch (IllegalArgumentException e) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.factory.invalid", e.getMessage()));
+            return 0;
+        }
+        long blocks = factory.countBlocks();
+        if (blocks > SyntheticFactory.MAX_BLOCKS) {
+            source.sendFailure(Component.translatable("commands.industrialcraft.factory.too_large",
+                blocks, SyntheticFactory.MAX_BLOCKS));
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        SyntheticFactory.Result result = factory.place(source.getLevel(), origin);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        IndustrialCraft.LOGGER.info("Placed a synthetic factory at {} in {} ms: {}", origin, millis, result);
+
+        source.sendSuccess(() -> Component.translatable("commands.industrialcraft.factory.placed",
+            result.generators(), result.storage(), result.transformers(), result.consumers(),
+            result.cables(), result.branches(), result.chunks()), true);
+        if (result.skipped() > 0) {
+            source.sendSuccess(() -> Component.translatable("commands.industrialcraft.factory.skipped",
+                result.skipped()), false);
+        }
+        return result.generators() + result.storage() + result.transformers() + result.consumers();
+    }
+}
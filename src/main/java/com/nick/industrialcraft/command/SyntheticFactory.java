@@ -0,0 +1,420 @@
+package com.nick.industrialcraft.command;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+
+import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.content.block.generator.GeneratorBlockEntity;
+import com.nick.industrialcraft.content.block.machine.CompressorBlockEntity;
+import com.nick.industrialcraft.content.block.machine.ElectricFurnaceBlockEntity;
+import com.nick.industrialcraft.content.block.machine.InductionFurnaceBlockEntity;
+import com.nick.industrialcraft.content.block.machine.MaceratorBlockEntity;
+import com.nick.industrialcraft.content.block.machine.RecyclerBlockEntity;
+import com.nick.industrialcraft.content.block.storage.BatBoxBlockEntity;
+import com.nick.industrialcraft.content.block.storage.MFEBlockEntity;
+import com.nick.industrialcraft.content.block.storage.MFSUBlockEntity;
+import com.nick.industrialcraft.registry.ModBlocks;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A synthetic industrial setup for load testing, placed by /ic2 factory.
+ *
+ * The setup is a number of branches: straight cable trunks along +X with machines
+ * on top. Generators, storage blocks (output face down into the trunk), step-down
+ * transformers (high voltage side down, a consumer on top) and consumers are
+ * shared out between the branches and shuffled along each trunk, two blocks apart
+ * so no two machines touch. Each branch has a tier from the tier mix, which picks
+ * its cable, storage block and transformer:
+ *
+ * LV - insulated copper, BatBox, LV transformer feeding an LV machine
+ * MV - insulated HV cable, MFE, LV transformer feeding an LV machine
+ * HV - insulated HV cable, MFSU, MV transformer feeding an induction furnace
+ *
+ * Consumers sit directly on LV (LV machines) and MV (induction furnaces) trunks.
+ * HV trunks only feed consumers through transformers; consumers beyond that are
+ * left out, so a setup never blows itself up. Branches of one tier are joined by
+ * a spine cable into one network. Spread out, every branch is its own network
+ * and starts in its own chunk.
+ *
+ * Options are given as key=value words, see {@link #parse}.
+ */
+public final class SyntheticFactory {
+
+    public static final int MAX_COUNT = 10_000;
+    public static final int MAX_LENGTH = 4_096;
+    public static final int MAX_BRANCHES = 1_024;
+    public static final int MAX_BLOCKS = 200_000;
+
+    // Rows of branches: the trunk, a gap and the other sides of the machines
+    private static final int BRANCH_SPACING = 3;
+    // Machines are at least this far apart along a trunk
+    private static final int MACHINE_SPACING = 2;
+
+    private enum Site { GENERATOR, STORAGE, TRANSFORMER, CONSUMER }
+
+    /**
+     * A consumer machine with the input that keeps it busy.
+     */
+    private record Consumer(Supplier<Block> block, Item input) {}
+
+    private static final List<Consumer> LV_CONSUMERS = List.of(
+        new Consumer(ModBlocks.ELECTRIC_FURNACE, Items.RAW_IRON),
+        new Consumer(ModBlocks.MACERATOR, Items.COBBLESTONE),
+        new Consumer(ModBlocks.COMPRESSOR, Items.SAND),
+        new Consumer(ModBlocks.RECYCLER, Items.COBBLESTONE));
+    private static final Consumer MV_CONSUMER = new Consumer(ModBlocks.INDUCTION_FURNACE, Items.RAW_IRON);
+
+    /**
+     * What was placed.
+     */
+    public record Result(int generators, int storage, int transformers, int consumers, int cables,
+                         int branches, int chunks, int skipped) {}
+
+    private int generators = 16;
+    private int storage = 2;
+    private int transformers = 4;
+    private int consumers = 16;
+    private int length = 32;
+    private int branches = 4;
+    private List<EnergyTier> tiers = List.of(EnergyTier.LV);
+    private int fill = 100;
+    private boolean spread;
+    private boolean forceLoad;
+
+    private SyntheticFactory() {}
+
+    /**
+     * Parse a factory from space-separated options, each optional:
+     *
+     * generators=16 storage=2 transformers=4 consumers=16 - machine counts over all branches
+     * length=32 - minimum trunk length per branch, grown to fit its machines
+     * branches=4 - number of trunks
+     * tiers=lv - tier of each branch in turn, e.g. lv,lv,mv,hv
+     * fill=100 - percent of a full stack in input slots and of full storage charge
+     * spread=false - every branch in its own chunk, as its own network
+     * forceload=false - keep the chunks of a spread factory loaded
+     *
+     * @throws IllegalArgumentException naming the first invalid option
+     */
+    public static SyntheticFactory parse(String spec) {
+        SyntheticFactory factory = new SyntheticFactory();
+        for (String option : spec.trim().split("\\s+")) {
+            if (option.isEmpty()) {
+                continue;
+            }
+            int separator = option.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException(option);
+            }
+            String value = option.substring(separator + 1);
+            switch (option.substring(0, separator)) {
+                case "generators" -> factory.generators = parseInt(option, value, 0, MAX_COUNT);
+                case "storage" -> factory.storage = parseInt(option, value, 0, MAX_COUNT);
+                case "transformers" -> factory.transformers = parseInt(option, value, 0, MAX_COUNT);
+                case "consumers" -> factory.consumers = parseInt(option, value, 0, MAX_COUNT);
+                case "length" -> factory.length = parseInt(option, value, 1, MAX_LENGTH);
+                case "branches" -> factory.branches = parseInt(option, value, 1, MAX_BRANCHES);
+                case "tiers" -> factory.tiers = parseTiers(option, value);
+                case "fill" -> factory.fill = parseInt(option, value, 0, 100);
+                case "spread" -> factory.spread = parseBoolean(option, value);
+                case "forceload" -> factory.forceLoad = parseBoolean(option, value);
+                default -> throw new IllegalArgumentException(option);
+            }
+        }
+        return factory;
+    }
+
+    private static int parseInt(String option, String value, int min, int max) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= min && parsed <= max) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(option);
+    }
+
+    private static boolean parseBoolean(String option, String value) {
+        return switch (value) {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException(option);
+        };
+    }
+
+    private static List<EnergyTier> parseTiers(String option, String value) {
+        List<EnergyTier> parsed = new ArrayList<>();
+        for (String name : value.split(",")) {
+            switch (name) {
+                case "lv" -> parsed.add(EnergyTier.LV);
+                case "mv" -> parsed.add(EnergyTier.MV);
+                case "hv" -> parsed.add(EnergyTier.HV);
+                default -> throw new IllegalArgumentException(option);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Get the number of blocks the factory places, to check against {@link #MAX_BLOCKS}.
+     */
+    public long countBlocks() {
+        long blocks = 0;
+        for (int branch = 0; branch < branches; branch++) {
+            // The trunk, a spine cable, the machines and a consumer on each transformer
+            blocks += trunkLength(branch) + 1 + siteCount(branch) + share(transformers, branch);
+        }
+        return blocks;
+    }
+
+    /**
+     * Place the factory with its first branch starting next to {@code origin}.
+     */
+    public Result place(ServerLevel level, BlockPos origin) {
+        Placement placement = new Placement(level);
+
+        // Branches of one tier lie side by side, so a spine can join them
+        List<Integer> order = new ArrayList<>();
+        for (int branch = 0; branch < branches; branch++) {
+            order.add(branch);
+        }
+        order.sort((a, b) -> Integer.compare(tierOf(a).getTierLevel(), tierOf(b).getTierLevel()));
+
+        int longest = 0;
+        for (int branch = 0; branch < branches; branch++) {
+            longest = Math.max(longest, trunkLength(branch));
+        }
+        int chunksPerBranch = (longest + 2 + SectionPos.SECTION_MAX_INDEX) / SectionPos.SECTION_SIZE;
+        int columns = (int) Math.ceil(Math.sqrt(branches));
+
+        int row = 0;
+        EnergyTier previousTier = null;
+        BlockPos previousStart = null;
+        for (int i = 0; i < order.size(); i++) {
+            int branch = order.get(i);
+            EnergyTier tier = tierOf(branch);
+            BlockPos start;
+            if (spread) {
+                ChunkPos chunk = new ChunkPos(origin);
+                start = new BlockPos(
+                    SectionPos.sectionToBlockCoord(chunk.x + i % columns * chunksPerBranch),
+                    origin.getY(),
+                    SectionPos.sectionToBlockCoord(chunk.z + i / columns, SectionPos.SECTION_HALF_SIZE));
+            } else {
+                // A gap row between tiers keeps their spines apart
+                if (previousTier != null && previousTier != tier) {
+                    row++;
+                }
+                start = origin.offset(0, 0, row * BRANCH_SPACING);
+                row++;
+            }
+
+            placeBranch(placement, branch, tier, start);
+
+            if (!spread && tier == previousTier) {
+                // Spine along Z, one block before the trunks
+                Block cable = cableFor(tier);
+                for (int z = previousStart.getZ() + 1; z < start.getZ(); z++) {
+                    placement.cable(new BlockPos(start.getX(), start.getY(), z), cable);
+                }
+            }
+            previousTier = tier;
+            previousStart = start;
+        }
+
+        return new Result(placement.generators, placement.storage, placement.transformers, placement.consumers,
+            placement.cables, branches, placement.chunks.size(), placement.skipped);
+    }
+
+    private void placeBranch(Placement placement, int branch, EnergyTier tier, BlockPos start) {
+        Block cable = cableFor(tier);
+        int trunk = trunkLength(branch);
+        // The first cable lies on the spine when branches are joined, the trunk follows it
+        for (int x = 0; x <= trunk; x++) {
+            placement.cable(start.offset(x, 0, 0), cable);
+        }
+
+        List<Site> sites = new ArrayList<>();
+        addSites(sites, Site.GENERATOR, share(generators, branch));
+        addSites(sites, Site.STORAGE, share(storage, branch));
+        addSites(sites, Site.TRANSFORMER, share(transformers, branch));
+        int branchConsumers = share(consumers, branch);
+        int fedByTransformers = Math.min(branchConsumers, share(transformers, branch));
+        int onTrunk = branchConsumers - fedByTransformers;
+        if (tier == EnergyTier.HV) {
+            placement.skipped += onTrunk;
+        } else {
+            addSites(sites, Site.CONSUMER, onTrunk);
+        }
+        // Same layout every time for the same options
+        Collections.shuffle(sites, new Random(branch));
+
+        int spacing = sites.isEmpty() ? 0 : trunk / sites.size();
+        int transformerConsumers = fedByTransformers;
+        for (int i = 0; i < sites.size(); i++) {
+            BlockPos pos = start.offset(1 + i * spacing, 1, 0);
+            switch (sites.get(i)) {
+                case GENERATOR -> placement.generator(pos, fillStack(Items.COAL));
+                case STORAGE -> placement.storage(pos, tier, fill);
+                case TRANSFORMER -> {
+                    placement.transformer(pos, tier);
+                    if (transformerConsumers > 0) {
+                        transformerConsumers--;
+                        Consumer consumer = tier == EnergyTier.HV ? MV_CONSUMER : lvConsumer(i);
+                        placement.consumer(pos.above(), consumer.block().get(), fillStack(consumer.input()));
+                    }
+                }
+                case CONSUMER -> {
+                    Consumer consumer = tier == EnergyTier.MV ? MV_CONSUMER : lvConsumer(i);
+                    placement.consumer(pos, consumer.block().get(), fillStack(consumer.input()));
+                }
+            }
+        }
+    }
+
+    private static void addSites(List<Site> sites, Site site, int count) {
+        for (int i = 0; i < count; i++) {
+            sites.add(site);
+        }
+    }
+
+    private static Consumer lvConsumer(int index) {
+        return LV_CONSUMERS.get(index % LV_CONSUMERS.size());
+    }
+
+    private EnergyTier tierOf(int branch) {
+        return tiers.get(branch % tiers.size());
+    }
+
+    /**
+     * The part of {@code total} that goes to a branch: an even share, the first branches taking the remainder.
+     */
+    private int share(int total, int branch) {
+        return total / branches + (branch < total % branches ? 1 : 0);
+    }
+
+    private int siteCount(int branch) {
+        int sites = share(generators, branch) + share(storage, branch) + share(transformers, branch);
+        int onTrunk = share(consumers, branch) - Math.min(share(consumers, branch), share(transformers, branch));
+        return tierOf(branch) == EnergyTier.HV ? sites : sites + onTrunk;
+    }
+
+    private int trunkLength(int branch) {
+        return Math.max(length, siteCount(branch) * MACHINE_SPACING);
+    }
+
+    private ItemStack fillStack(Item item) {
+        int count = item.getDefaultMaxStackSize() * fill / 100;
+        return count > 0 ? new ItemStack(item, count) : ItemStack.EMPTY;
+    }
+
+    private static Block cableFor(EnergyTier tier) {
+        return tier == EnergyTier.LV
+            ? ModBlocks.INSULATED_COPPER_CABLE.get()
+            : ModBlocks.HIGH_VOLTAGE_CABLE_INSULATED.get();
+    }
+
+    /**
+     * Places blocks into a level and counts what was placed.
+     */
+    private final class Placement {
+        final ServerLevel level;
+        final Set<Long> chunks = new HashSet<>();
+        int generators;
+        int storage;
+        int transformers;
+        int consumers;
+        int cables;
+        int skipped;
+
+        Placement(ServerLevel level) {
+            this.level = level;
+        }
+
+        void cable(BlockPos pos, Block cable) {
+            // Connect to cables already placed; later neighbours connect through shape updates
+            set(pos, Block.updateFromNeighbourShapes(cable.defaultBlockState(), level, pos));
+            cables++;
+        }
+
+        void generator(BlockPos pos, ItemStack fuel) {
+            set(pos, ModBlocks.GENERATOR.get().defaultBlockState());
+            if (level.getBlockEntity(pos) instanceof GeneratorBlockEntity generator) {
+                generator.getInventory().setStackInSlot(GeneratorBlockEntity.FUEL_SLOT, fuel);
+            }
+            generators++;
+        }
+
+        void storage(BlockPos pos, EnergyTier tier, int percent) {
+            Block block = switch (tier) {
+                case MV -> ModBlocks.MFE.get();
+                case HV -> ModBlocks.MFSU.get();
+                default -> ModBlocks.BATBOX.get();
+            };
+            // Output face down into the trunk
+            set(pos, block.defaultBlockState().setValue(BlockStateProperties.FACING, Direction.DOWN));
+            BlockEntity be = level.getBlockEntity(pos);
+            if (be instanceof BatBoxBlockEntity batBox) {
+                batBox.setStoredEnergy((int) ((long) batBox.getMaxStoredEnergy() * percent / 100));
+            } else if (be instanceof MFEBlockEntity mfe) {
+                mfe.setStoredEnergy((int) ((long) mfe.getMaxStoredEnergy() * percent / 100));
+            } else if (be instanceof MFSUBlockEntity mfsu) {
+                mfsu.setStoredEnergy((int) ((long) mfsu.getMaxStoredEnergy() * percent / 100));
+            }
+            storage++;
+        }
+
+        void transformer(BlockPos pos, EnergyTier tier) {
+            // Step down from the trunk: high voltage side down, low voltage out of the other faces
+            Block block = tier == EnergyTier.HV ? ModBlocks.MV_TRANSFORMER.get() : ModBlocks.LV_TRANSFORMER.get();
+            set(pos, block.defaultBlockState().setValue(BlockStateProperties.FACING, Direction.DOWN));
+            transformers++;
+        }
+
+        void consumer(BlockPos pos, Block block, ItemStack input) {
+            set(pos, block.defaultBlockState());
+            fillInput(level.getBlockEntity(pos), input);
+            consumers++;
+        }
+
+        private void set(BlockPos pos, BlockState state) {
+            if (chunks.add(ChunkPos.asLong(pos)) && forceLoad) {
+                level.setChunkForced(SectionPos.blockToSectionCoord(pos.getX()),
+                    SectionPos.blockToSectionCoord(pos.getZ()), true);
+            }
+            level.setBlock(pos, state, Block.UPDATE_ALL);
+        }
+    }
+
+    private static void fillInput(BlockEntity be, ItemStack input) {
+        if (be instanceof ElectricFurnaceBlockEntity furnace) {
+            furnace.getInventory().setStackInSlot(ElectricFurnaceBlockEntity.INPUT_SLOT, input);
+        } else if (be instanceof MaceratorBlockEntity macerator) {
+            macerator.getInventory().setStackInSlot(MaceratorBlockEntity.INPUT_SLOT, input);
+        } else if (be instanceof CompressorBlockEntity compressor) {
+            compressor.getInventory().setStackInSlot(CompressorBlockEntity.INPUT_SLOT, input);
+        } else if (be instanceof RecyclerBlockEntity recycler) {
+            recycler.getInventory().setStackInSlot(RecyclerBlockEntity.INPUT_SLOT, input);
+        } else if (be instanceof InductionFurnaceBlockEntity inductionFurnace) {
+            inductionFurnace.getInventory().setStackInSlot(InductionFurnaceBlockEntity.INPUT_SLOT_1, input);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nick.industrialcraft.content.block;
+
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityTicker;
+
+/**
+ * Wall time spent in IC2 block entity tickers.
+ *
+ * Every IC2 block wraps its server ticker with {@link #timed}. Outside a measurement
+ * the wrapper only checks a flag; between {@link #start} and {@link #stop} it adds
+ * the time of each call, so tick-cost tests can compare a factory against a budget.
+ * Server tickers run on the server thread only, which is the only thread that
+ * reads or writes these counters.
+ */
+public final class TickerCost {
+
+    private static boolean measuring;
+    private static long nanos;
+    private static long calls;
+
+    private TickerCost() {}
+
+    /**
+     * Wrap a server ticker so its calls are timed while a measurement runs.
+     */
+    public static <T extends BlockEntity> BlockEntityTicker<T> timed(BlockEntityTicker<T> ticker) {
+        return (level, pos, state, blockEntity) -> {
+            if (!measuring) {
+                ticker.tick(level, pos, state, blockEntity);
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                ticker.tick(level, pos, state, blockEntity);
+            } finally {
+                nanos += System.nanoTime() - start;
+                calls++;
+            }
+        };
+    }
+
+    /**
+     * Reset the counters and start timing tickers.
+     */
+    public static void start() {
+        nanos = 0;
+        calls = 0;
+        measuring = true;
+    }
+
+    /**
+     * Stop timing tickers. The counters keep their values until the next start.
+     */
+    public static void stop() {
+        measuring = false;
+    }
+
+    public static boolean isMeasuring() {
+        return measuring;
+    }
+
+    /** Nanoseconds spent in tickers since the last start. */
+    public static long getNanos() {
+        return nanos;
+    }
+
+    /** Ticker calls since the last start. */
+    public static long getCalls() {
+        return calls;
+    }
+}
@@ -4,6 +4,8 @@ import com.nick.industrialcraft.registry.ModBlocks;
 import com.nick.industrialcraft.registry.ModTags;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
+import com.nick.industrialcraft.api.energy.EnergyJournalRecorder;
+import com.nick.industrialcraft.api.energy.CableType;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.util.RandomSource;
@@ -29,6 +31,7 @@ import net.minecraft.world.phys.shapes.Shapes;
 import net.minecraft.world.phys.shapes.VoxelShape;
 import org.jetbrains.annotations.Nullable;
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
@@ -120,7 +123,15 @@ public abstract class BaseCableBlock extends Block implements EntityBlock {
             BlockState neighborState,
             RandomSource random
     ) {
-        return state.setValue(prop(dir), canConnect(level, pos, dir));
+        BlockState updated = state.setValue(prop(dir), canConnect(level, pos, dir));
+        if (updated != state && level instanceof Level realLevel) {
+            // Connection changed - the energy graph must re-read this cable
+            if (EnergyJournalRecorder.isRecording(realLevel)) {
+                EnergyJournalRecorder.cable(realLevel, pos, getCableType().ordinal(), getConnectionMask(updated));
+            }
+            EnergyNetworkManager.invalidateAt(realLevel, pos);
+        }
+        return updated;
     }
 
     private static BooleanProperty prop(Direction d) {
@@ -130,6 +141,25 @@ public abstract class BaseCableBlock extends Block implements EntityBlock {
         };
     }
 
+    /**
+     * Pack the six connection properties into a bitmask.
+     * Bit i is set if the cable connects towards Direction.from3DDataValue(i).
+     */
+    public static int getConnectionMask(BlockState state) {
+        int mask = 0;
+        for (Direction dir : Direction.values()) {
+            if (state.getValue(prop(dir))) {
+                mask |= 1 << dir.get3DDataValue();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * The cable type, used by the energy net to group cable runs.
+     */
+    public abstract CableType getCableType();
+
     /* ---------- hide faces toward connected neighbor cables ---------- */
 
     @Override
@@ -201,6 +231,9 @@ public abstract class BaseCableBlock extends Block implements EntityBlock {
 
         if (!level.isClientSide && !isMoving) {
             // Invalidate network cache when cable is placed
+            if (EnergyJournalRecorder.isRecording(level)) {
+                EnergyJournalRecorder.cable(level, pos, getCableType().ordinal(), getConnectionMask(state));
+            }
             EnergyNetworkManager.invalidateAt(level, pos);
             // Schedule the overvoltage check for next tick to ensure block entity exists
             level.scheduleTick(pos, this, 1);
@@ -211,6 +244,7 @@ public abstract class BaseCableBlock extends Block implements EntityBlock {
     public void destroy(net.minecraft.world.level.LevelAccessor level, BlockPos pos, BlockState state) {
         if (level instanceof Level realLevel && !realLevel.isClientSide()) {
             // Invalidate network cache when cable is removed
+            EnergyJournalRecorder.removed(realLevel, pos);
             EnergyNetworkManager.invalidateAt(realLevel, pos);
         }
         super.destroy(level, pos, state);
@@ -236,7 +270,7 @@ public abstract class BaseCableBlock extends Block implements EntityBlock {
         if (blockEntityType != ModBlockEntity.CABLE.get()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> CableBlockEntity.serverTick(lvl, pos, st, (CableBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> CableBlockEntity.serverTick(lvl, pos, st, (CableBlockEntity) be));
     }
 
     /* ---------------- Capability Registration ---------------- */
@@ -1,5 +1,6 @@
 package com.nick.industrialcraft.content.block.cable;
 
+import com.nick.industrialcraft.api.energy.CableType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 
 /**
@@ -13,4 +14,9 @@ public class GoldCableBlock extends BaseCableBlock {
     public GoldCableBlock(BlockBehaviour.Properties props) {
         super(props);
     }
+
+    @Override
+    public CableType getCableType() {
+        return CableType.GOLD;
+    }
 }
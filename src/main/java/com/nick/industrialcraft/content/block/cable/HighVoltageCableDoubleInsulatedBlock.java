@@ -1,5 +1,6 @@
 package com.nick.industrialcraft.content.block.cable;
 
+import com.nick.industrialcraft.api.energy.CableType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 
 /**
@@ -14,4 +15,9 @@ public class HighVoltageCableDoubleInsulatedBlock extends BaseCableBlock {
     public HighVoltageCableDoubleInsulatedBlock(BlockBehaviour.Properties props) {
         super(props);
     }
+
+    @Override
+    public CableType getCableType() {
+        return CableType.HIGH_VOLTAGE_DOUBLE_INSULATED;
+    }
 }
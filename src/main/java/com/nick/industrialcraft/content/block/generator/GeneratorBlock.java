@@ -38,6 +38,7 @@ import net.minecraft.world.level.block.state.properties.EnumProperty;
 import net.minecraft.world.phys.BlockHitResult;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 import net.neoforged.neoforge.capabilities.Capabilities;
@@ -101,7 +102,7 @@ public class GeneratorBlock extends Block implements EntityBlock {
         if (blockEntityType != ModBlockEntity.GENERATOR.get()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> GeneratorBlockEntity.serverTick(lvl, pos, st, (GeneratorBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> GeneratorBlockEntity.serverTick(lvl, pos, st, (GeneratorBlockEntity) be));
     }
 
     @Override
@@ -40,6 +40,7 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 
@@ -87,7 +88,7 @@ public class GeothermalGeneratorBlock extends Block implements EntityBlock {
         if (blockEntityType != ModBlockEntity.GEOTHERMAL_GENERATOR.get()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> GeothermalGeneratorBlockEntity.serverTick(lvl, pos, st, (GeothermalGeneratorBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> GeothermalGeneratorBlockEntity.serverTick(lvl, pos, st, (GeothermalGeneratorBlockEntity) be));
     }
 
     @Override
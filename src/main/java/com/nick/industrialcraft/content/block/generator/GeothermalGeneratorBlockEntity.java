@@ -24,9 +24,10 @@ import com.nick.industrialcraft.registry.ModDataComponents;
 import com.nick.industrialcraft.registry.ModSounds;
 import net.minecraft.sounds.SoundSource;
 import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
 import com.nick.industrialcraft.api.energy.IElectricItem;
+import com.nick.industrialcraft.api.energy.IEnergyEmitter;
 import com.nick.industrialcraft.api.energy.IEnergyTier;
-import com.nick.industrialcraft.api.energy.IVoltageTransformer;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager.MachineConnection;
 import com.nick.industrialcraft.api.wrench.IWrenchable;
@@ -34,7 +35,7 @@ import com.nick.industrialcraft.content.item.StoredEnergyData;
 
 import java.util.*;
 
-public class GeothermalGeneratorBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IWrenchable {
+public class GeothermalGeneratorBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IEnergyEmitter, IWrenchable {
 
     public static final int FUEL_SLOT = 0;
     public static final int OUTPUT_SLOT = 1;
@@ -196,98 +197,39 @@ public class GeothermalGeneratorBlockEntity extends BlockEntity implements MenuP
     // Note: getOutputPacketSize() defaults to tier voltage (32V for LV)
     // The 20 EU/t is the WATTAGE (power generated), not the voltage
 
-    // ========== Energy Transfer Logic (Simultaneous Distribution) ==========
+    // ========== Energy Emission (Simultaneous Distribution) ==========
 
     /**
-     * Output energy to machines using simultaneous fair distribution.
-     * Uses cached network scanning for optimal performance.
-     * Every tick, ALL connected machines draw energy simultaneously from the generator's battery.
+     * Energy is pushed to machines by the level energy phase (see EnergyDistributor).
+     * Every tick, ALL connected machines draw energy simultaneously from the generator's battery,
+     * split equally between the machines that want it.
      * Geothermal Generator produces 20 EU/tick, can power ~5 furnaces (4 EU/tick each) in steady state.
      */
-    private void outputEnergy(Level level, BlockPos pos) {
-        // Use cached network manager for O(1) amortized performance
-        List<MachineConnection> machines = EnergyNetworkManager.getConnectedMachines(
-            level, pos, Direction.values()
-        );
-
-        // Also check for direct neighbors in case the network scan misses them
-        for (Direction dir : Direction.values()) {
-            BlockPos directNeighbor = pos.relative(dir);
-            BlockEntity directBe = level.getBlockEntity(directNeighbor);
-            if (directBe != null && !(directBe instanceof com.nick.industrialcraft.content.block.cable.CableBlockEntity)) {
-                Direction accessSide = dir.getOpposite();
-                IEnergyStorage directStorage = level.getCapability(
-                    net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK,
-                    directNeighbor,
-                    accessSide
-                );
-                if (directStorage != null && directStorage.canReceive()) {
-                    boolean alreadyInList = false;
-                    for (MachineConnection mc : machines) {
-                        if (mc.pos().equals(directNeighbor)) {
-                            alreadyInList = true;
-                            break;
-                        }
-                    }
-                    if (!alreadyInList) {
-                        machines = new ArrayList<>(machines);
-                        machines.add(new MachineConnection(directNeighbor, directStorage, directBe, accessSide));
-                    }
-                }
-            }
-        }
-
-        if (machines.isEmpty() || energy <= 0) return;
-
-        // Filter to only machines that actually want energy
-        List<MachineConnection> needyMachines = new ArrayList<>();
-        for (MachineConnection machine : machines) {
-            int wants = machine.storage().receiveEnergy(Integer.MAX_VALUE, true);
-            if (wants > 0) {
-                needyMachines.add(machine);
-            }
-        }
+    @Override
+    public int getEmitSides() {
+        return EnergyNetworkManager.ALL_SIDES;
+    }
 
-        if (needyMachines.isEmpty()) return;
-
-        // Fair distribution: split available energy equally among all machines that want it
-        int energyPerMachine = energy / needyMachines.size();
-        int totalTransferred = 0;
-
-        // Get our output packet size (for tier checking)
-        int packetSize = getOutputPacketSize();
-
-        // Transfer to each machine
-        for (MachineConnection machine : needyMachines) {
-            // Check tier compatibility before transferring
-            // For transformers, use side-specific check; for regular machines, use global check
-            if (machine.blockEntity() instanceof IVoltageTransformer transformer) {
-                // Transformer - check the specific side we're connecting to
-                if (!transformer.canSideReceive(machine.accessSide(), packetSize)) {
-                    // This side of the transformer can't handle this voltage - EXPLODE!
-                    explodeMachine(level, machine.pos());
-                    continue;
-                }
-            } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                if (!tieredMachine.canSafelyReceive(packetSize)) {
-                    // Machine can't handle this voltage - EXPLODE!
-                    explodeMachine(level, machine.pos());
-                    continue;  // Don't transfer to exploded machine
-                }
-            }
+    @Override
+    public int getEmittableEnergy() {
+        return energy;
+    }
 
-            // Give each machine its fair share
-            int transferred = machine.storage().receiveEnergy(energyPerMachine, false);
+    @Override
+    public int getEmittedPacketSize() {
+        return getOutputPacketSize();
+    }
 
-            if (transferred > 0) {
-                energy -= transferred;
-                totalTransferred += transferred;
-            }
-        }
+    @Override
+    public void emitEnergy(int amount) {
+        energy -= amount;
+        setChanged();
+    }
 
-        if (totalTransferred > 0) {
-            setChanged();
-        }
+    @Override
+    public void onOvervoltage(Level level, MachineConnection machine, int packetSize) {
+        // Machine can't handle this voltage - EXPLODE!
+        explodeMachine(level, machine.pos());
     }
 
     /**
@@ -396,9 +338,9 @@ public class GeothermalGeneratorBlockEntity extends BlockEntity implements MenuP
             }
         }
 
-        // Output energy to adjacent machines
+        // Offer energy to connected machines - delivered in the level energy phase
         if (be.energy > 0) {
-            be.outputEnergy(level, pos);
+            EnergyDistributor.submit(level, pos, be);
         }
 
         // Update blockstate if powered state changed
@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Canning Machine - Cans food items
@@ -51,7 +52,7 @@ public class CanningMachineBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> CanningMachineBlockEntity.serverTick(lvl, pos, st, (CanningMachineBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> CanningMachineBlockEntity.serverTick(lvl, pos, st, (CanningMachineBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
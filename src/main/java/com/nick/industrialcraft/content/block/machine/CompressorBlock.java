@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Compressor - Compresses items (e.g., coal to diamond)
@@ -51,7 +52,7 @@ public class CompressorBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> CompressorBlockEntity.serverTick(lvl, pos, st, (CompressorBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> CompressorBlockEntity.serverTick(lvl, pos, st, (CompressorBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
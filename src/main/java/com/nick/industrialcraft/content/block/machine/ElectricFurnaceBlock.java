@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Electric Furnace - Basic electric smelting machine
@@ -51,7 +52,7 @@ public class ElectricFurnaceBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> ElectricFurnaceBlockEntity.serverTick(lvl, pos, st, (ElectricFurnaceBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> ElectricFurnaceBlockEntity.serverTick(lvl, pos, st, (ElectricFurnaceBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Extractor - Extracts materials (rubber from sticky resin, etc.)
@@ -51,7 +52,7 @@ public class ExtractorBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> ExtractorBlockEntity.serverTick(lvl, pos, st, (ExtractorBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> ExtractorBlockEntity.serverTick(lvl, pos, st, (ExtractorBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Induction Furnace - Advanced smelting with dual input slots and heat system
@@ -51,7 +52,7 @@ public class InductionFurnaceBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> InductionFurnaceBlockEntity.serverTick(lvl, pos, st, (InductionFurnaceBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> InductionFurnaceBlockEntity.serverTick(lvl, pos, st, (InductionFurnaceBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
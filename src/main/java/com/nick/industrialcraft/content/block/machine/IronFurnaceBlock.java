@@ -37,6 +37,7 @@ import net.minecraft.world.level.block.state.properties.EnumProperty;
 import net.minecraft.world.phys.BlockHitResult;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Iron Furnace - A fuel-based furnace that smelts 20% faster than vanilla.
@@ -98,7 +99,7 @@ public class IronFurnaceBlock extends Block implements EntityBlock {
         if (blockEntityType != ModBlockEntity.IRON_FURNACE.get()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> IronFurnaceBlockEntity.serverTick(lvl, pos, st, (IronFurnaceBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> IronFurnaceBlockEntity.serverTick(lvl, pos, st, (IronFurnaceBlockEntity) be));
     }
 
     @Override
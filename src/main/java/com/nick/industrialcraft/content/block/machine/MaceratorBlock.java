@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Macerator - Crushes ores into dust (ore doubling)
@@ -51,7 +52,7 @@ public class MaceratorBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> MaceratorBlockEntity.serverTick(lvl, pos, st, (MaceratorBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> MaceratorBlockEntity.serverTick(lvl, pos, st, (MaceratorBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
@@ -13,6 +13,7 @@ import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 import net.neoforged.neoforge.items.IItemHandler;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 
 /**
  * Recycler - Converts items into scrap
@@ -51,7 +52,7 @@ public class RecyclerBlock extends BaseMachineBlock {
         if (blockEntityType != getBlockEntityType()) {
             return null;
         }
-        return level.isClientSide ? null : (lvl, pos, st, be) -> RecyclerBlockEntity.serverTick(lvl, pos, st, (RecyclerBlockEntity) be);
+        return level.isClientSide ? null : TickerCost.timed((lvl, pos, st, be) -> RecyclerBlockEntity.serverTick(lvl, pos, st, (RecyclerBlockEntity) be));
     }
 
     // ========== Capability Registration ==========
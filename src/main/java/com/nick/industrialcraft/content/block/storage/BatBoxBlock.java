@@ -36,6 +36,7 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 
@@ -83,7 +84,7 @@ public class BatBoxBlock extends Block implements EntityBlock {
             return null;
         }
         return type == ModBlockEntity.BATBOX.get()
-                ? (lvl, pos, st, be) -> BatBoxBlockEntity.serverTick(lvl, pos, st, (BatBoxBlockEntity) be)
+                ? TickerCost.timed((lvl, pos, st, be) -> BatBoxBlockEntity.serverTick(lvl, pos, st, (BatBoxBlockEntity) be))
                 : null;
     }
 
@@ -23,9 +23,10 @@ import com.nick.industrialcraft.registry.ModBlockEntity;
 import com.nick.industrialcraft.registry.ModDataComponents;
 import com.nick.industrialcraft.registry.ModItems;
 import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
 import com.nick.industrialcraft.api.energy.IElectricItem;
+import com.nick.industrialcraft.api.energy.IEnergyEmitter;
 import com.nick.industrialcraft.api.energy.IEnergyTier;
-import com.nick.industrialcraft.api.energy.IVoltageTransformer;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager.MachineConnection;
 import com.nick.industrialcraft.api.wrench.IWrenchable;
@@ -47,7 +48,7 @@ import java.util.*;
  * - Slot 0 (top): Charge items FROM BatBox storage
  * - Slot 1 (bottom): Discharge items INTO BatBox storage
  */
-public class BatBoxBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IWrenchable {
+public class BatBoxBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IEnergyEmitter, IWrenchable {
 
     // Slot indices
     public static final int CHARGE_SLOT = 0;     // Items charged FROM BatBox
@@ -187,9 +188,9 @@ public class BatBoxBlockEntity extends BlockEntity implements MenuProvider, IEne
 
         boolean changed = false;
 
-        // Output energy through the output face (supports cable networks)
+        // Offer energy through the output face - delivered in the level energy phase
         if (be.energyStored > 0) {
-            changed |= be.outputEnergy(level, pos, state);
+            EnergyDistributor.submit(level, pos, be);
         }
 
         // Handle charging items in CHARGE_SLOT (transfer energy FROM BatBox TO item)
@@ -255,97 +256,38 @@ public class BatBoxBlockEntity extends BlockEntity implements MenuProvider, IEne
         }
     }
 
-    // ========== Energy Output Logic (Cable Network Scanning) ==========
+    // ========== Energy Emission (IEnergyEmitter) ==========
 
     /**
-     * Output energy to machines on the output face, scanning through cable networks.
-     * Uses cached network scanning for optimal performance.
-     * Similar to Generator's outputEnergy but only from the output face direction.
+     * Energy leaves through the output face only, pushed by the level energy phase
+     * (see EnergyDistributor). Up to MAX_TRANSFER EU/t is split equally between the
+     * machines that want it.
      */
-    private boolean outputEnergy(Level level, BlockPos pos, BlockState state) {
-        Direction outputFace = state.getValue(BatBoxBlock.FACING);
-
-        // Use cached network manager for O(1) amortized performance
-        // Only scan from output face direction
-        List<MachineConnection> machines = EnergyNetworkManager.getConnectedMachines(
-            level, pos, outputFace
-        );
-
-        // Also check for direct neighbor in case the network scan misses it
-        BlockPos directNeighbor = pos.relative(outputFace);
-        BlockEntity directBe = level.getBlockEntity(directNeighbor);
-        if (directBe != null && !(directBe instanceof com.nick.industrialcraft.content.block.cable.CableBlockEntity)) {
-            Direction accessSide = outputFace.getOpposite();
-            IEnergyStorage directStorage = level.getCapability(
-                net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK,
-                directNeighbor,
-                accessSide
-            );
-            if (directStorage != null && directStorage.canReceive()) {
-                boolean alreadyInList = false;
-                for (MachineConnection mc : machines) {
-                    if (mc.pos().equals(directNeighbor)) {
-                        alreadyInList = true;
-                        break;
-                    }
-                }
-                if (!alreadyInList) {
-                    machines = new ArrayList<>(machines);
-                    machines.add(new MachineConnection(directNeighbor, directStorage, directBe, accessSide));
-                }
-            }
-        }
-
-        if (machines.isEmpty() || energyStored <= 0) return false;
-
-        // Filter to only machines that actually want energy
-        List<MachineConnection> needyMachines = new ArrayList<>();
-        for (MachineConnection machine : machines) {
-            int wants = machine.storage().receiveEnergy(Integer.MAX_VALUE, true);
-            if (wants > 0) {
-                needyMachines.add(machine);
-            }
-        }
-
-        if (needyMachines.isEmpty()) return false;
-
-        // Fair distribution: split available energy equally among all machines
-        int availableEnergy = Math.min(energyStored, MAX_TRANSFER);
-        int energyPerMachine = availableEnergy / needyMachines.size();
-        if (energyPerMachine <= 0) energyPerMachine = 1;
-
-        int totalTransferred = 0;
+    @Override
+    public int getEmitSides() {
+        return 1 << getBlockState().getValue(BatBoxBlock.FACING).get3DDataValue();
+    }
 
-        // Get our output packet size (for tier checking)
-        int packetSize = getOutputPacketSize();
+    @Override
+    public int getEmittableEnergy() {
+        return Math.min(energyStored, MAX_TRANSFER);
+    }
 
-        for (MachineConnection machine : needyMachines) {
-            // Check tier compatibility before transferring
-            // For transformers, use side-specific check; for regular machines, use global check
-            if (machine.blockEntity() instanceof IVoltageTransformer transformer) {
-                // Transformer - check the specific side we're connecting to
-                if (!transformer.canSideReceive(machine.accessSide(), packetSize)) {
-                    // This side of the transformer can't handle this voltage - EXPLODE!
-                    explodeMachine(level, machine.pos());
-                    continue;
-                }
-            } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                if (!tieredMachine.canSafelyReceive(packetSize)) {
-                    // Machine can't handle this voltage - EXPLODE!
-                    explodeMachine(level, machine.pos());
-                    continue;  // Don't transfer to exploded machine
-                }
-            }
+    @Override
+    public int getEmittedPacketSize() {
+        return getOutputPacketSize();
+    }
 
-            int toTransfer = Math.min(energyPerMachine, energyStored);
-            int transferred = machine.storage().receiveEnergy(toTransfer, false);
-            if (transferred > 0) {
-                energyStored -= transferred;
-                totalTransferred += transferred;
-            }
-        }
+    @Override
+    public void emitEnergy(int amount) {
+        energyStored -= amount;
+        setChanged();
+    }
 
-        return totalTransferred > 0;
+    @Override
+    public void onOvervoltage(Level level, MachineConnection machine, int packetSize) {
+        // Machine can't handle this voltage - EXPLODE!
+        explodeMachine(level, machine.pos());
     }
 
     /**
@@ -21,9 +21,10 @@ import com.nick.industrialcraft.registry.ModBlockEntity;
 import com.nick.industrialcraft.registry.ModDataComponents;
 import com.nick.industrialcraft.registry.ModItems;
 import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
 import com.nick.industrialcraft.api.energy.IElectricItem;
+import com.nick.industrialcraft.api.energy.IEnergyEmitter;
 import com.nick.industrialcraft.api.energy.IEnergyTier;
-import com.nick.industrialcraft.api.energy.IVoltageTransformer;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager.MachineConnection;
 import com.nick.industrialcraft.api.wrench.IWrenchable;
@@ -45,7 +46,7 @@ import java.util.*;
  * - Slot 0 (top): Charge items FROM MFE storage
  * - Slot 1 (bottom): Discharge items INTO MFE storage
  */
-public class MFEBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IWrenchable {
+public class MFEBlockEntity extends BlockEntity implements MenuProvider, IEnergyTier, IEnergyEmitter, IWrenchable {
 
     // Slot indices
     public static final int CHARGE_SLOT = 0;     // Items charged FROM MFE
@@ -185,9 +186,9 @@ public class MFEBlockEntity extends BlockEntity implements MenuProvider, IEnergy
 
         boolean changed = false;
 
-        // Output energy through the output face (supports cable networks)
+        // Offer energy through the output face - delivered in the level energy phase
         if (be.energyStored > 0) {
-            changed |= be.outputEnergy(level, pos, state);
+            EnergyDistributor.submit(level, pos, be);
         }
 
         // Handle charging items in CHARGE_SLOT (transfer energy FROM MFE TO item)
@@ -253,119 +254,38 @@ public class MFEBlockEntity extends BlockEntity implements MenuProvider, IEnergy
         }
     }
 
-    // ========== Energy Output Logic (Cable Network Scanning) ==========
+    // ========== Energy Emission (IEnergyEmitter) ==========
 
     /**
-     * Output energy to machines on the output face, scanning through cable networks.
-     * Uses cached network scanning for optimal performance.
+     * Energy leaves through the output face only, pushed by the level energy phase
+     * (see EnergyDistributor). Up to MAX_TRANSFER EU/t is split equally between the
+     * machines that want it.
      */
-    private boolean outputEnergy(Level level, BlockPos pos, BlockState state) {
-        Direction outputFace = state.getValue(MFEBlock.FACING);
-
-        // DEBUG: Log MFE output attempt
-        System.out.println("[MFE DEBUG] outputEnergy called at " + pos + ", outputFace=" + outputFace + ", energyStored=" + energyStored);
-
-        // Use cached network manager for O(1) amortized performance
-        // Only scan from output face direction
-        List<MachineConnection> machines = EnergyNetworkManager.getConnectedMachines(
-            level, pos, outputFace
-        );
-
-        System.out.println("[MFE DEBUG] Network scan found " + machines.size() + " machines");
-
-        // Also check for direct neighbor in case the network scan misses it
-        BlockPos directNeighbor = pos.relative(outputFace);
-        BlockEntity directBe = level.getBlockEntity(directNeighbor);
-        System.out.println("[MFE DEBUG] Direct neighbor at " + directNeighbor + " is " + (directBe != null ? directBe.getClass().getSimpleName() : "null"));
-
-        if (directBe != null && !(directBe instanceof com.nick.industrialcraft.content.block.cable.CableBlockEntity)) {
-            Direction accessSide = outputFace.getOpposite();
-            IEnergyStorage directStorage = level.getCapability(
-                net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK,
-                directNeighbor,
-                accessSide
-            );
-            System.out.println("[MFE DEBUG] Direct neighbor storage: " + (directStorage != null ? "found, canReceive=" + directStorage.canReceive() : "null"));
-
-            if (directStorage != null && directStorage.canReceive()) {
-                boolean alreadyInList = false;
-                for (MachineConnection mc : machines) {
-                    if (mc.pos().equals(directNeighbor)) {
-                        alreadyInList = true;
-                        break;
-                    }
-                }
-                if (!alreadyInList) {
-                    machines = new ArrayList<>(machines);
-                    machines.add(new MachineConnection(directNeighbor, directStorage, directBe, accessSide));
-                    System.out.println("[MFE DEBUG] Added direct neighbor to machine list");
-                }
-            }
-        }
-
-        if (machines.isEmpty() || energyStored <= 0) {
-            System.out.println("[MFE DEBUG] Early return: machines.isEmpty()=" + machines.isEmpty() + ", energyStored=" + energyStored);
-            return false;
-        }
-
-        // Filter to only machines that actually want energy
-        List<MachineConnection> needyMachines = new ArrayList<>();
-        for (MachineConnection machine : machines) {
-            int wants = machine.storage().receiveEnergy(Integer.MAX_VALUE, true);
-            System.out.println("[MFE DEBUG] Machine at " + machine.pos() + " (" + (machine.blockEntity() != null ? machine.blockEntity().getClass().getSimpleName() : "null") + ") wants " + wants + " EU, accessSide=" + machine.accessSide());
-            if (wants > 0) {
-                needyMachines.add(machine);
-            }
-        }
+    @Override
+    public int getEmitSides() {
+        return 1 << getBlockState().getValue(MFEBlock.FACING).get3DDataValue();
+    }
 
-        if (needyMachines.isEmpty()) {
-            System.out.println("[MFE DEBUG] No needy machines found");
-            return false;
-        }
+    @Override
+    public int getEmittableEnergy() {
+        return Math.min(energyStored, MAX_TRANSFER);
+    }
 
-        // Fair distribution: split available energy equally among all machines
-        int availableEnergy = Math.min(energyStored, MAX_TRANSFER);
-        int energyPerMachine = availableEnergy / needyMachines.size();
-        if (energyPerMachine <= 0) energyPerMachine = 1;
-
-        int totalTransferred = 0;
-
-        // Get our output packet size (for tier checking)
-        int packetSize = getOutputPacketSize();
-        System.out.println("[MFE DEBUG] packetSize=" + packetSize + ", energyPerMachine=" + energyPerMachine);
-
-        for (MachineConnection machine : needyMachines) {
-            // Check tier compatibility before transferring
-            // For transformers, use side-specific check; for regular machines, use global check
-            if (machine.blockEntity() instanceof IVoltageTransformer transformer) {
-                // Transformer - check the specific side we're connecting to
-                boolean canReceive = transformer.canSideReceive(machine.accessSide(), packetSize);
-                System.out.println("[MFE DEBUG] Transformer at " + machine.pos() + " canSideReceive(" + machine.accessSide() + ", " + packetSize + ")=" + canReceive);
-                if (!canReceive) {
-                    // This side of the transformer can't handle this voltage - EXPLODE!
-                    System.out.println("[MFE DEBUG] EXPLODING transformer at " + machine.pos());
-                    explodeMachine(level, machine.pos());
-                    continue;
-                }
-            } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                if (!tieredMachine.canSafelyReceive(packetSize)) {
-                    // Machine can't handle this voltage - EXPLODE!
-                    explodeMachine(level, machine.pos());
-                    continue;  // Don't transfer to exploded machine
-                }
-            }
+    @Override
+    public int getEmittedPacketSize() {
+        return getOutputPacketSize();
+    }
 
-            int toTransfer = Math.min(energyPerMachine, energyStored);
-            int transferred = machine.storage().receiveEnergy(toTransfer, false);
-            System.out.println("[MFE DEBUG] Transferred " + transferred + " EU to " + machine.pos());
-            if (transferred > 0) {
-                energyStored -= transferred;
-                totalTransferred += transferred;
-            }
-        }
+    @Override
+    public void emitEnergy(int amount) {
+        energyStored -= amount;
+        setChanged();
+    }
 
-        System.out.println("[MFE DEBUG] Total transferred: " + totalTransferred);
-        return totalTransferred > 0;
+    @Override
+    public void onOvervoltage(Level level, MachineConnection machine, int packetSize) {
+        // Machine can't handle this voltage - EXPLODE!
+        explodeMachine(level, machine.pos());
     }
 
     /**
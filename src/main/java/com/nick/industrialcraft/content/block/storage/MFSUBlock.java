@@ -36,6 +36,7 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 
@@ -83,7 +84,7 @@ public class MFSUBlock extends Block implements EntityBlock {
             return null;
         }
         return type == ModBlockEntity.MFSU.get()
-                ? (lvl, pos, st, be) -> MFSUBlockEntity.serverTick(lvl, pos, st, (MFSUBlockEntity) be)
+                ? TickerCost.timed((lvl, pos, st, be) -> MFSUBlockEntity.serverTick(lvl, pos, st, (MFSUBlockEntity) be))
                 : null;
     }
 
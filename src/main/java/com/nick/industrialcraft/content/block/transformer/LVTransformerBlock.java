@@ -35,6 +35,7 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 
@@ -89,7 +90,7 @@ public class LVTransformerBlock extends Block implements EntityBlock {
             return null;
         }
         return type == ModBlockEntity.LV_TRANSFORMER.get()
-                ? (lvl, pos, st, be) -> LVTransformerBlockEntity.serverTick(lvl, pos, st, (LVTransformerBlockEntity) be)
+                ? TickerCost.timed((lvl, pos, st, be) -> LVTransformerBlockEntity.serverTick(lvl, pos, st, (LVTransformerBlockEntity) be))
                 : null;
     }
 
@@ -10,7 +10,10 @@ import net.minecraft.world.level.storage.ValueOutput;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
 import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.api.energy.EnergyTrace;
+import com.nick.industrialcraft.api.energy.IEnergyEmitter;
 import com.nick.industrialcraft.api.energy.IEnergyTier;
 import com.nick.industrialcraft.api.energy.IVoltageTransformer;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
@@ -44,7 +47,7 @@ import java.util.*;
  *
  * Energy Buffer: Small internal buffer (512 EU) for conversion
  */
-public class LVTransformerBlockEntity extends BlockEntity implements IEnergyTier, IVoltageTransformer, IWrenchable {
+public class LVTransformerBlockEntity extends BlockEntity implements IEnergyTier, IEnergyEmitter, IVoltageTransformer, IWrenchable {
 
     // Energy buffer for conversion
     private static final int MAX_ENERGY = 512;
@@ -64,11 +67,10 @@ public class LVTransformerBlockEntity extends BlockEntity implements IEnergyTier
         public int receiveEnergy(int maxReceive, boolean simulate) {
             // High side receives MV packets - this means step-down mode
             int toAccept = Math.min(maxReceive, Math.min(MV_PACKET, MAX_ENERGY - energyStored));
-            System.out.println("[LV XFMR DEBUG] highVoltageStorage.receiveEnergy(" + maxReceive + ", " + simulate + ") -> toAccept=" + toAccept + ", energyStored=" + energyStored);
             if (!simulate && toAccept > 0) {
                 energyStored += toAccept;
                 stepDownMode = true;  // Energy came in on high side, output on low sides
-                System.out.println("[LV XFMR DEBUG] Received " + toAccept + " EU on HIGH side, new energyStored=" + energyStored + ", stepDownMode=true");
+                EnergyTrace.record(EnergyTrace.RECEIVE, level, worldPosition, toAccept, energyStored);
                 setChanged();
             }
             return toAccept;
@@ -240,208 +242,70 @@ public class LVTransformerBlockEntity extends BlockEntity implements IEnergyTier
     public static void serverTick(Level level, BlockPos pos, BlockState state, LVTransformerBlockEntity be) {
         if (level.isClientSide()) return;
 
-        boolean changed = false;
-
-        // Output energy from both sides
+        // Offer energy on the output side(s) - delivered in the level energy phase
         if (be.energyStored > 0) {
-            System.out.println("[LV XFMR DEBUG] serverTick at " + pos + ", energyStored=" + be.energyStored + ", stepDownMode=" + be.stepDownMode);
-            changed |= be.outputEnergy(level, pos, state);
-        }
-
-        if (changed) {
-            be.setChanged();
+            EnergyDistributor.submit(level, pos, be);
         }
     }
 
+    // ========== Energy Emission (IEnergyEmitter) ==========
+
     /**
-     * Output energy based on the current mode.
+     * Output sides depend on the current mode, energy is pushed by the level energy phase.
      * - Step-down mode (energy received on high side): Output LV on low sides only
      * - Step-up mode (energy received on low sides): Output MV on high side only
      *
-     * IMPORTANT: We must exclude machines reachable from the input side to prevent
-     * energy from looping back through the cable network.
+     * IMPORTANT: Machines reachable from the input side are excluded (see getExcludedSides)
+     * to prevent energy from looping back through the cable network.
      */
-    private boolean outputEnergy(Level level, BlockPos pos, BlockState state) {
-        Direction highVoltageFace = state.getValue(LVTransformerBlock.FACING);
-        boolean transferred = false;
-
-        System.out.println("[LV XFMR DEBUG] outputEnergy: stepDownMode=" + stepDownMode + ", highVoltageFace=" + highVoltageFace + ", energyStored=" + energyStored);
-
-        if (stepDownMode) {
-            // Step-down: Energy came in on HIGH side, output LV on LOW sides
-            // Get machines on the input (high) side to exclude them from output
-            Set<BlockPos> inputSideMachines = getMachinePositions(
-                EnergyNetworkManager.getConnectedMachines(level, pos, highVoltageFace)
-            );
-
-            System.out.println("[LV XFMR DEBUG] Step-down mode: inputSideMachines (to exclude) = " + inputSideMachines);
-
-            for (Direction dir : Direction.values()) {
-                if (dir == highVoltageFace) {
-                    System.out.println("[LV XFMR DEBUG]   Skipping dir=" + dir + " (high voltage face)");
-                    continue;  // Skip high voltage side
-                }
-                if (energyStored < LV_PACKET) {
-                    System.out.println("[LV XFMR DEBUG]   Breaking: energyStored=" + energyStored + " < LV_PACKET=" + LV_PACKET);
-                    break;   // Need at least one LV packet
-                }
-
-                System.out.println("[LV XFMR DEBUG]   Trying to output LV (" + LV_PACKET + " EU) on direction " + dir);
-                boolean result = outputToSide(level, pos, dir, LV_PACKET, inputSideMachines);
-                System.out.println("[LV XFMR DEBUG]   outputToSide result: " + result);
-                transferred |= result;
-            }
-        } else {
-            // Step-up: Energy came in on LOW sides, output MV on HIGH side
-            // Get machines on the input (low) sides to exclude them from output
-            Set<BlockPos> inputSideMachines = new HashSet<>();
-            for (Direction dir : Direction.values()) {
-                if (dir == highVoltageFace) continue;
-                inputSideMachines.addAll(getMachinePositions(
-                    EnergyNetworkManager.getConnectedMachines(level, pos, dir)
-                ));
-            }
-
-            System.out.println("[LV XFMR DEBUG] Step-up mode: inputSideMachines (to exclude) = " + inputSideMachines);
-
-            if (energyStored >= MV_PACKET) {
-                System.out.println("[LV XFMR DEBUG]   Trying to output MV (" + MV_PACKET + " EU) on direction " + highVoltageFace);
-                transferred |= outputToSide(level, pos, highVoltageFace, MV_PACKET, inputSideMachines);
-            }
-        }
-
-        System.out.println("[LV XFMR DEBUG] outputEnergy returning: transferred=" + transferred);
-        return transferred;
+    @Override
+    public int getEmitSides() {
+        int highVoltageSide = 1 << getFacing().get3DDataValue();
+        return stepDownMode ? EnergyNetworkManager.ALL_SIDES & ~highVoltageSide : highVoltageSide;
     }
 
-    /**
-     * Helper to extract BlockPos set from machine connections.
-     */
-    private Set<BlockPos> getMachinePositions(List<MachineConnection> machines) {
-        Set<BlockPos> positions = new HashSet<>();
-        for (MachineConnection machine : machines) {
-            positions.add(machine.pos());
-        }
-        return positions;
+    @Override
+    public int getExcludedSides() {
+        return EnergyNetworkManager.ALL_SIDES & ~getEmitSides();
     }
 
-    /**
-     * Output energy to a specific side with the given packet size.
-     * @param excludePositions Machines at these positions will be skipped (input side machines)
-     */
-    private boolean outputToSide(Level level, BlockPos pos, Direction outputDir, int packetSize, Set<BlockPos> excludePositions) {
-        System.out.println("[LV XFMR DEBUG] outputToSide: dir=" + outputDir + ", packetSize=" + packetSize);
-
-        // First, try the network scan to find machines through cables
-        List<MachineConnection> machines = EnergyNetworkManager.getConnectedMachines(
-            level, pos, outputDir
-        );
-
-        System.out.println("[LV XFMR DEBUG]   Network scan found " + machines.size() + " machines");
-
-        // Also check for direct neighbor in case the network scan misses it
-        // This handles edge cases where the cable blockstate might not have updated yet
-        BlockPos directNeighbor = pos.relative(outputDir);
-        BlockEntity directBe = level.getBlockEntity(directNeighbor);
-        System.out.println("[LV XFMR DEBUG]   Direct neighbor at " + directNeighbor + " is " + (directBe != null ? directBe.getClass().getSimpleName() : "null"));
-
-        if (directBe != null && !(directBe instanceof com.nick.industrialcraft.content.block.cable.CableBlockEntity)) {
-            // Direct neighbor is not a cable, check if it can receive energy
-            Direction accessSide = outputDir.getOpposite();
-            IEnergyStorage directStorage = level.getCapability(
-                net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK,
-                directNeighbor,
-                accessSide
-            );
-            System.out.println("[LV XFMR DEBUG]   Direct neighbor storage: " + (directStorage != null ? "found, canReceive=" + directStorage.canReceive() : "null"));
-
-            if (directStorage != null && directStorage.canReceive()) {
-                // Check if this machine is already in the list
-                boolean alreadyInList = false;
-                for (MachineConnection mc : machines) {
-                    if (mc.pos().equals(directNeighbor)) {
-                        alreadyInList = true;
-                        break;
-                    }
-                }
-                if (!alreadyInList) {
-                    machines = new ArrayList<>(machines); // Make mutable copy
-                    machines.add(new MachineConnection(directNeighbor, directStorage, directBe, accessSide));
-                    System.out.println("[LV XFMR DEBUG]   Added direct neighbor to machine list (wasn't found by BFS)");
-                }
-            }
-        }
-
-        System.out.println("[LV XFMR DEBUG]   Total machines after direct check: " + machines.size());
+    @Override
+    public int getEmittableEnergy() {
+        return energyStored;
+    }
 
-        if (machines.isEmpty() || energyStored < packetSize) {
-            System.out.println("[LV XFMR DEBUG]   Early return: machines.isEmpty()=" + machines.isEmpty() + ", energyStored=" + energyStored);
-            return false;
-        }
+    @Override
+    public int getEmittedPacketSize() {
+        return stepDownMode ? LV_PACKET : MV_PACKET;
+    }
 
-        // Filter machines that want energy AND are not on the input side
-        List<MachineConnection> needyMachines = new ArrayList<>();
-        for (MachineConnection machine : machines) {
-            // Skip machines that are on the input side (prevents energy looping back)
-            if (excludePositions.contains(machine.pos())) {
-                System.out.println("[LV XFMR DEBUG]   EXCLUDED machine at " + machine.pos() + " (in input side exclusion list)");
-                continue;
-            }
-            int wants = machine.storage().receiveEnergy(Integer.MAX_VALUE, true);
-            System.out.println("[LV XFMR DEBUG]   Machine at " + machine.pos() + " (" + (machine.blockEntity() != null ? machine.blockEntity().getClass().getSimpleName() : "null") + ") wants " + wants + " EU");
-            if (wants > 0) {
-                needyMachines.add(machine);
-            }
-        }
+    @Override
+    public boolean emitsWholePackets() {
+        return true;  // Transformers only ever send full packets
+    }
 
-        System.out.println("[LV XFMR DEBUG]   After filtering: " + needyMachines.size() + " needy machines");
-
-        if (needyMachines.isEmpty()) return false;
-
-        int totalTransferred = 0;
-
-        for (MachineConnection machine : needyMachines) {
-            if (energyStored < packetSize) break;
-
-            // Check tier compatibility - transformer outputs appropriate voltage for each side
-            // For other transformers, use side-specific check; for regular machines, use global check
-            if (machine.blockEntity() instanceof IVoltageTransformer otherTransformer) {
-                // Another transformer - check the specific side we're connecting to
-                if (!otherTransformer.canSideReceive(machine.accessSide(), packetSize)) {
-                    EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
-                    EnergyTier machineTier = otherTransformer.getTierForSide(machine.accessSide());
-                    int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
-                    Config.debugLog("      OVERVOLTAGE! Transformer at {} (side {} tier={}) can't handle {} EU packet. TierGap={}",
-                        machine.pos(), machine.accessSide(), machineTier, packetSize, tierGap);
-                    OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
-                    continue;
-                }
-            } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                if (!tieredMachine.canSafelyReceive(packetSize)) {
-                    // Machine can't handle this voltage - use graduated consequence system
-                    EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
-                    EnergyTier machineTier = tieredMachine.getEnergyTier();
-                    int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
-                    Config.debugLog("      OVERVOLTAGE! Machine at {} (tier={}) can't handle {} EU packet. TierGap={}",
-                        machine.pos(), machineTier, packetSize, tierGap);
-                    OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
-                    continue;
-                }
-            }
+    @Override
+    public void emitEnergy(int amount) {
+        energyStored -= amount;
+        setChanged();
+    }
 
-            // Transfer energy
-            int toTransfer = Math.min(packetSize, energyStored);
-            System.out.println("[LV XFMR DEBUG]   Attempting to transfer " + toTransfer + " EU to " + machine.pos());
-            int received = machine.storage().receiveEnergy(toTransfer, false);
-            System.out.println("[LV XFMR DEBUG]   Actually transferred: " + received + " EU");
-            if (received > 0) {
-                energyStored -= received;
-                totalTransferred += received;
-            }
+    @Override
+    public void onOvervoltage(Level level, MachineConnection machine, int packetSize) {
+        // Machine can't handle this voltage - use graduated consequence system
+        EnergyTier machineTier;
+        if (machine.blockEntity() instanceof IVoltageTransformer otherTransformer) {
+            machineTier = otherTransformer.getTierForSide(machine.accessSide());
+        } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
+            machineTier = tieredMachine.getEnergyTier();
+        } else {
+            return;
         }
-
-        System.out.println("[LV XFMR DEBUG]   Total transferred in outputToSide: " + totalTransferred);
-        return totalTransferred > 0;
+        EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
+        int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
+        Config.debugLog("      OVERVOLTAGE! Machine at {} (side {} tier={}) can't handle {} EU packet. TierGap={}",
+            machine.pos(), machine.accessSide(), machineTier, packetSize, tierGap);
+        OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
     }
 
     @Override
@@ -35,6 +35,7 @@ import net.neoforged.neoforge.capabilities.Capabilities;
 import net.neoforged.neoforge.capabilities.RegisterCapabilitiesEvent;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.content.block.TickerCost;
 import com.nick.industrialcraft.api.energy.OvervoltageHandler;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
 
@@ -89,7 +90,7 @@ public class MVTransformerBlock extends Block implements EntityBlock {
             return null;
         }
         return type == ModBlockEntity.MV_TRANSFORMER.get()
-                ? (lvl, pos, st, be) -> MVTransformerBlockEntity.serverTick(lvl, pos, st, (MVTransformerBlockEntity) be)
+                ? TickerCost.timed((lvl, pos, st, be) -> MVTransformerBlockEntity.serverTick(lvl, pos, st, (MVTransformerBlockEntity) be))
                 : null;
     }
 
@@ -10,7 +10,9 @@ import net.minecraft.world.level.storage.ValueOutput;
 import net.neoforged.neoforge.energy.IEnergyStorage;
 
 import com.nick.industrialcraft.registry.ModBlockEntity;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
 import com.nick.industrialcraft.api.energy.EnergyTier;
+import com.nick.industrialcraft.api.energy.IEnergyEmitter;
 import com.nick.industrialcraft.api.energy.IEnergyTier;
 import com.nick.industrialcraft.api.energy.IVoltageTransformer;
 import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
@@ -43,7 +45,7 @@ import java.util.*;
  *
  * Energy Buffer: 1024 EU for conversion (matches original IC2)
  */
-public class MVTransformerBlockEntity extends BlockEntity implements IEnergyTier, IVoltageTransformer, IWrenchable {
+public class MVTransformerBlockEntity extends BlockEntity implements IEnergyTier, IEnergyEmitter, IVoltageTransformer, IWrenchable {
 
     // Energy buffer for conversion (matches original IC2: 1024 EU)
     private static final int MAX_ENERGY = 1024;
@@ -236,162 +238,70 @@ public class MVTransformerBlockEntity extends BlockEntity implements IEnergyTier
     public static void serverTick(Level level, BlockPos pos, BlockState state, MVTransformerBlockEntity be) {
         if (level.isClientSide()) return;
 
-        boolean changed = false;
-
-        // Output energy from both sides
+        // Offer energy on the output side(s) - delivered in the level energy phase
         if (be.energyStored > 0) {
-            changed |= be.outputEnergy(level, pos, state);
-        }
-
-        if (changed) {
-            be.setChanged();
+            EnergyDistributor.submit(level, pos, be);
         }
     }
 
+    // ========== Energy Emission (IEnergyEmitter) ==========
+
     /**
-     * Output energy based on the current mode.
+     * Output sides depend on the current mode, energy is pushed by the level energy phase.
      * - Step-down mode (energy received on high side): Output MV on low sides only
      * - Step-up mode (energy received on low sides): Output HV on high side only
      *
-     * IMPORTANT: We must exclude machines reachable from the input side to prevent
-     * energy from looping back through the cable network.
+     * IMPORTANT: Machines reachable from the input side are excluded (see getExcludedSides)
+     * to prevent energy from looping back through the cable network.
      */
-    private boolean outputEnergy(Level level, BlockPos pos, BlockState state) {
-        Direction highVoltageFace = state.getValue(MVTransformerBlock.FACING);
-        boolean transferred = false;
-
-        if (stepDownMode) {
-            // Step-down: Energy came in on HIGH side, output MV on LOW sides
-            // Get machines on the input (high) side to exclude them from output
-            Set<BlockPos> inputSideMachines = getMachinePositions(
-                EnergyNetworkManager.getConnectedMachines(level, pos, highVoltageFace)
-            );
-
-            for (Direction dir : Direction.values()) {
-                if (dir == highVoltageFace) continue;  // Skip high voltage side
-                if (energyStored < MV_PACKET) break;   // Need at least one MV packet
-
-                transferred |= outputToSide(level, pos, dir, MV_PACKET, inputSideMachines);
-            }
-        } else {
-            // Step-up: Energy came in on LOW sides, output HV on HIGH side
-            // Get machines on the input (low) sides to exclude them from output
-            Set<BlockPos> inputSideMachines = new HashSet<>();
-            for (Direction dir : Direction.values()) {
-                if (dir == highVoltageFace) continue;
-                inputSideMachines.addAll(getMachinePositions(
-                    EnergyNetworkManager.getConnectedMachines(level, pos, dir)
-                ));
-            }
-
-            if (energyStored >= HV_PACKET) {
-                transferred |= outputToSide(level, pos, highVoltageFace, HV_PACKET, inputSideMachines);
-            }
-        }
-
-        return transferred;
+    @Override
+    public int getEmitSides() {
+        int highVoltageSide = 1 << getFacing().get3DDataValue();
+        return stepDownMode ? EnergyNetworkManager.ALL_SIDES & ~highVoltageSide : highVoltageSide;
     }
 
-    /**
-     * Helper to extract BlockPos set from machine connections.
-     */
-    private Set<BlockPos> getMachinePositions(List<MachineConnection> machines) {
-        Set<BlockPos> positions = new HashSet<>();
-        for (MachineConnection machine : machines) {
-            positions.add(machine.pos());
-        }
-        return positions;
+    @Override
+    public int getExcludedSides() {
+        return EnergyNetworkManager.ALL_SIDES & ~getEmitSides();
     }
 
-    /**
-     * Output energy to a specific side with the given packet size.
-     * @param excludePositions Machines at these positions will be skipped (input side machines)
-     */
-    private boolean outputToSide(Level level, BlockPos pos, Direction outputDir, int packetSize, Set<BlockPos> excludePositions) {
-        // First, try the network scan to find machines through cables
-        List<MachineConnection> machines = EnergyNetworkManager.getConnectedMachines(
-            level, pos, outputDir
-        );
-
-        // Also check for direct neighbor in case the network scan misses it
-        BlockPos directNeighbor = pos.relative(outputDir);
-        BlockEntity directBe = level.getBlockEntity(directNeighbor);
-        if (directBe != null && !(directBe instanceof com.nick.industrialcraft.content.block.cable.CableBlockEntity)) {
-            Direction accessSide = outputDir.getOpposite();
-            IEnergyStorage directStorage = level.getCapability(
-                net.neoforged.neoforge.capabilities.Capabilities.EnergyStorage.BLOCK,
-                directNeighbor,
-                accessSide
-            );
-            if (directStorage != null && directStorage.canReceive()) {
-                boolean alreadyInList = false;
-                for (MachineConnection mc : machines) {
-                    if (mc.pos().equals(directNeighbor)) {
-                        alreadyInList = true;
-                        break;
-                    }
-                }
-                if (!alreadyInList) {
-                    machines = new ArrayList<>(machines);
-                    machines.add(new MachineConnection(directNeighbor, directStorage, directBe, accessSide));
-                }
-            }
-        }
+    @Override
+    public int getEmittableEnergy() {
+        return energyStored;
+    }
 
-        if (machines.isEmpty() || energyStored < packetSize) return false;
+    @Override
+    public int getEmittedPacketSize() {
+        return stepDownMode ? MV_PACKET : HV_PACKET;
+    }
 
-        // Filter machines that want energy AND are not on the input side
-        List<MachineConnection> needyMachines = new ArrayList<>();
-        for (MachineConnection machine : machines) {
-            // Skip machines that are on the input side (prevents energy looping back)
-            if (excludePositions.contains(machine.pos())) {
-                continue;
-            }
-            int wants = machine.storage().receiveEnergy(Integer.MAX_VALUE, true);
-            if (wants > 0) {
-                needyMachines.add(machine);
-            }
-        }
+    @Override
+    public boolean emitsWholePackets() {
+        return true;  // Transformers only ever send full packets
+    }
 
-        if (needyMachines.isEmpty()) return false;
-
-        int totalTransferred = 0;
-
-        for (MachineConnection machine : needyMachines) {
-            if (energyStored < packetSize) break;
-
-            // Check tier compatibility - transformer outputs appropriate voltage for each side
-            // For other transformers, use side-specific check; for regular machines, use global check
-            if (machine.blockEntity() instanceof IVoltageTransformer otherTransformer) {
-                // Another transformer - check the specific side we're connecting to
-                if (!otherTransformer.canSideReceive(machine.accessSide(), packetSize)) {
-                    EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
-                    EnergyTier machineTier = otherTransformer.getTierForSide(machine.accessSide());
-                    int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
-                    OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
-                    continue;
-                }
-            } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
-                if (!tieredMachine.canSafelyReceive(packetSize)) {
-                    // Machine can't handle this voltage - use graduated consequence system
-                    EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
-                    EnergyTier machineTier = tieredMachine.getEnergyTier();
-                    int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
-                    OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
-                    continue;
-                }
-            }
+    @Override
+    public void emitEnergy(int amount) {
+        energyStored -= amount;
+        setChanged();
+    }
 
-            // Transfer energy
-            int toTransfer = Math.min(packetSize, energyStored);
-            int received = machine.storage().receiveEnergy(toTransfer, false);
-            if (received > 0) {
-                energyStored -= received;
-                totalTransferred += received;
-            }
+    @Override
+    public void onOvervoltage(Level level, MachineConnection machine, int packetSize) {
+        // Machine can't handle this voltage - use graduated consequence system
+        EnergyTier machineTier;
+        if (machine.blockEntity() instanceof IVoltageTransformer otherTransformer) {
+            machineTier = otherTransformer.getTierForSide(machine.accessSide());
+        } else if (machine.blockEntity() instanceof IEnergyTier tieredMachine) {
+            machineTier = tieredMachine.getEnergyTier();
+        } else {
+            return;
         }
-
-        return totalTransferred > 0;
+        EnergyTier outputTier = EnergyTier.fromPacketSize(packetSize);
+        int tierGap = EnergyTier.getTierGap(outputTier, machineTier);
+        Config.debugLog("      OVERVOLTAGE! Machine at {} (side {} tier={}) can't handle {} EU packet. TierGap={}",
+            machine.pos(), machine.accessSide(), machineTier, packetSize, tierGap);
+        OvervoltageHandler.applyConsequence(level, machine.pos(), tierGap);
     }
 
     @Override
@@ -0,0 +1,50 @@
+package com.nick.industrialcraft.content.item;
+
+import com.nick.industrialcraft.api.energy.EnergyNetworkManager;
+import com.nick.industrialcraft.api.energy.FlowReport;
+import com.nick.industrialcraft.api.energy.net.EnergyNetwork;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.context.UseOnContext;
+import net.minecraft.world.level.Level;
+
+import java.util.List;
+
+/**
+ * EU-Reader: shows the energy flow of the networks at a cable or machine.
+ *
+ * Right-click a cable (or a block next to cables) to print, for each network there,
+ * the average EU/t produced, delivered, buffered, wanted, refused and lost over
+ * the last second, minute and ten minutes.
+ */
+public class EnergyMeterItem extends Item {
+
+    public EnergyMeterItem(Properties properties) {
+        super(properties.stacksTo(1));
+    }
+
+    @Override
+    public InteractionResult useOn(UseOnContext context) {
+        Level level = context.getLevel();
+        BlockPos pos = context.getClickedPos();
+        Player player = context.getPlayer();
+
+        if (player == null) return InteractionResult.PASS;
+
+        if (!level.isClientSide) {
+            List<EnergyNetwork> networks = EnergyNetworkManager.getNetworksAt(level, pos);
+            if (networks.isEmpty()) {
+                player.displayClientMessage(Component.translatable("energynet.industrialcraft.flow.none"), false);
+            }
+            for (EnergyNetwork network : networks) {
+                for (Component line : FlowReport.lines(network, level.getGameTime())) {
+                    player.displayClientMessage(line, false);
+                }
+            }
+        }
+        return InteractionResult.SUCCESS;
+    }
+}
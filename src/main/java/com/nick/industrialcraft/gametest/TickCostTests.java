@@ -0,0 +1,220 @@
+package com.nick.industrialcraft.gametest;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.api.energy.EnergyDistributor;
+import com.nick.industrialcraft.content.block.TickerCost;
+import com.nick.industrialcraft.content.block.generator.GeneratorBlockEntity;
+import com.nick.industrialcraft.content.block.machine.ElectricFurnaceBlockEntity;
+import com.nick.industrialcraft.content.block.storage.MFSUBlock;
+import com.nick.industrialcraft.content.block.storage.MFSUBlockEntity;
+import com.nick.industrialcraft.content.block.transformer.LVTransformerBlock;
+import com.nick.industrialcraft.content.block.transformer.MVTransformerBlock;
+import com.nick.industrialcraft.registry.ModBlocks;
+
+/**
+ * Tick-cost regression tests: representative factories that must stay within a
+ * per-tick budget.
+ *
+ * Each test builds its factory by code on the floor of an empty structure
+ * template (data/industrialcraft/structure/tick_cost), lets the networks form for
+ * {@link #WARMUP_TICKS} ticks, then measures {@link #MEASURE_TICKS} ticks of IC2
+ * block entity tickers ({@link TickerCost}) and energy phases
+ * ({@link EnergyDistributor#getTotalPhaseNanos}). The test fails when the average
+ * exceeds its budget in microseconds per tick.
+ *
+ * Budgets can be overridden per scenario with the system property
+ * {@code industrialcraft.tickBudget.<scenario>} and scaled for slower machines with
+ * {@code industrialcraft.tickBudgetScale}. Every test has its own test environment,
+ * so each runs in its own batch and no two factories are measured together.
+ */
+public final class TickCostTests {
+
+    public static final int WARMUP_TICKS = 40;
+    public static final int MEASURE_TICKS = 200;
+
+    // Default budgets in microseconds per tick (tickers + energy phase)
+    private static final long GENERATOR_FARM_BUDGET = 2_000;
+    private static final long MFSU_BANK_BUDGET = 1_000;
+    private static final long TRANSFORMER_CHAIN_BUDGET = 1_000;
+    private static final long CABLE_MESH_BUDGET = 3_000;
+
+    private TickCostTests() {}
+
+    /**
+     * 64 coal generators on eight insulated copper rows, each row feeding eight electric furnaces.
+     */
+    public static void generatorFarm(GameTestHelper helper) {
+        for (int row = 0; row < 8; row++) {
+            int z = 1 + row * 3;
+            for (int x = 1; x <= 16; x++) {
+                placeCable(helper, new BlockPos(x, 1, z), ModBlocks.INSULATED_COPPER_CABLE.get());
+            }
+            for (int x = 1; x <= 8; x++) {
+                placeGenerator(helper, new BlockPos(x, 2, z));
+                placeFurnace(helper, new BlockPos(x + 8, 2, z));
+            }
+        }
+        measure(helper, "generator_farm", GENERATOR_FARM_BUDGET);
+    }
+
+    /**
+     * 16 full MFSUs emptying into 16 empty MFSUs over high voltage cable.
+     * The receivers face up, so they only store.
+     */
+    public static void mfsuBank(GameTestHelper helper) {
+        for (int pair = 0; pair < 16; pair++) {
+            int z = 1 + pair * 2;
+            placeMfsu(helper, new BlockPos(1, 1, z), Direction.EAST, Integer.MAX_VALUE);
+            for (int x = 2; x <= 9; x++) {
+                placeCable(helper, new BlockPos(x, 1, z), ModBlocks.HIGH_VOLTAGE_CABLE_INSULATED.get());
+            }
+            placeMfsu(helper, new BlockPos(10, 1, z), Direction.UP, 0);
+        }
+        measure(helper, "mfsu_bank", MFSU_BANK_BUDGET);
+    }
+
+    /**
+     * Eight chains of a full MFSU stepping down through an MV and an LV transformer
+     * to a copper line of eight electric furnaces.
+     */
+    public static void transformerChain(GameTestHelper helper) {
+        for (int chain = 0; chain < 8; chain++) {
+            int z = 1 + chain * 2;
+            placeMfsu(helper, new BlockPos(1, 1, z), Direction.EAST, Integer.MAX_VALUE);
+            for (int x = 2; x <= 5; x++) {
+                placeCable(helper, new BlockPos(x, 1, z), ModBlocks.HIGH_VOLTAGE_CABLE_INSULATED.get());
+            }
+            // High voltage side (front) towards the MFSU, 128 EU packets out of the back
+            helper.setBlock(new BlockPos(6, 1, z), ModBlocks.MV_TRANSFORMER.get().defaultBlockState()
+                .setValue(MVTransformerBlock.FACING, Direction.WEST));
+            for (int x = 7; x <= 9; x++) {
+                placeCable(helper, new BlockPos(x, 1, z), ModBlocks.HIGH_VOLTAGE_CABLE_INSULATED.get());
+            }
+            helper.setBlock(new BlockPos(10, 1, z), ModBlocks.LV_TRANSFORMER.get().defaultBlockState()
+                .setValue(LVTransformerBlock.FACING, Direction.WEST));
+            for (int x = 11; x <= 18; x++) {
+                placeCable(helper, new BlockPos(x, 1, z), ModBlocks.INSULATED_COPPER_CABLE.get());
+                placeFurnace(helper, new BlockPos(x, 2, z));
+            }
+        }
+        measure(helper, "transformer_chain", TRANSFORMER_CHAIN_BUDGET);
+    }
+
+    /**
+     * A 20 x 5 x 20 lattice of 2,000 insulated copper cables, six-way junctions
+     * throughout, with generators and electric furnaces alternating on top.
+     */
+    public static void cableMesh(GameTestHelper helper) {
+        for (int y = 1; y <= 5; y++) {
+            for (int x = 1; x <= 20; x++) {
+                for (int z = 1; z <= 20; z++) {
+                    placeCable(helper, new BlockPos(x, y, z), ModBlocks.INSULATED_COPPER_CABLE.get());
+                }
+            }
+        }
+        for (int x = 1; x <= 20; x += 2) {
+            for (int z = 1; z <= 20; z += 2) {
+                if ((x + z) % 4 == 2) {
+                    placeGenerator(helper, new BlockPos(x, 6, z));
+                } else {
+                    placeFurnace(helper, new BlockPos(x, 6, z));
+                }
+            }
+        }
+        measure(helper, "cable_mesh", CABLE_MESH_BUDGET);
+    }
+
+    /**
+     * Measure the factory after the warmup and compare its cost with the scenario budget.
+     */
+    private static void measure(GameTestHelper helper, String scenario, long defaultBudget) {
+        ServerLevel level = helper.getLevel();
+        long[] phaseStart = new long[1];
+
+        helper.runAfterDelay(WARMUP_TICKS, () -> {
+            phaseStart[0] = EnergyDistributor.getTotalPhaseNanos(level);
+            TickerCost.start();
+        });
+        helper.runAfterDelay(WARMUP_TICKS + MEASURE_TICKS, () -> {
+            TickerCost.stop();
+            long tickerNanos = TickerCost.getNanos();
+            long phaseNanos = EnergyDistributor.getTotalPhaseNanos(level) - phaseStart[0];
+            double tickerMicros = tickerNanos / 1_000.0 / MEASURE_TICKS;
+            double phaseMicros = phaseNanos / 1_000.0 / MEASURE_TICKS;
+            double budget = getBudget(scenario, defaultBudget);
+
+            IndustrialCraft.LOGGER.info("Tick cost {}: {} us/t in {} ticker calls/t, {} us/t in the energy phase (budget {} us/t)",
+                scenario, String.format("%.1f", tickerMicros), TickerCost.getCalls() / MEASURE_TICKS,
+                String.format("%.1f", phaseMicros), String.format("%.0f", budget));
+
+            if (TickerCost.getCalls() == 0 || phaseNanos == 0) {
+                helper.fail(Component.literal("Tick cost " + scenario + ": nothing was measured, the factory did not run"));
+            }
+            if (tickerMicros + phaseMicros > budget) {
+                helper.fail(Component.literal(String.format("Tick cost %s: %.1f us/t exceeds the budget of %.0f us/t (tickers %.1f, energy phase %.1f)",
+                    scenario, tickerMicros + phaseMicros, budget, tickerMicros, phaseMicros)));
+            }
+            helper.succeed();
+        });
+    }
+
+    /**
+     * Get the budget of a scenario in microseconds per tick, after system property overrides.
+     */
+    private static double getBudget(String scenario, long defaultBudget) {
+        long budget = Long.getLong("industrialcraft.tickBudget." + scenario, defaultBudget);
+        double scale;
+        try {
+            scale = Double.parseDouble(System.getProperty("industrialcraft.tickBudgetScale", "1"));
+        } catch (NumberFormatException e) {
+            IndustrialCraft.LOGGER.warn("Ignoring invalid industrialcraft.tickBudgetScale: {}", e.getMessage());
+            scale = 1;
+        }
+        return budget * scale;
+    }
+
+    /**
+     * Place a cable already connected to its placed neighbours. Neighbours placed later
+     * connect to it through their own shape updates.
+     */
+    private static void placeCable(GameTestHelper helper, BlockPos pos, Block cable) {
+        BlockState state = Block.updateFromNeighbourShapes(cable.defaultBlockState(), helper.getLevel(), helper.absolutePos(pos));
+        helper.setBlock(pos, state);
+    }
+
+    private static void placeGenerator(GameTestHelper helper, BlockPos pos) {
+        helper.setBlock(pos, ModBlocks.GENERATOR.get());
+        if (getBlockEntity(helper, pos) instanceof GeneratorBlockEntity generator) {
+            generator.getInventory().setStackInSlot(GeneratorBlockEntity.FUEL_SLOT, new ItemStack(Items.COAL, 64));
+        }
+    }
+
+    private static void placeFurnace(GameTestHelper helper, BlockPos pos) {
+        helper.setBlock(pos, ModBlocks.ELECTRIC_FURNACE.get());
+        if (getBlockEntity(helper, pos) instanceof ElectricFurnaceBlockEntity furnace) {
+            furnace.getInventory().setStackInSlot(ElectricFurnaceBlockEntity.INPUT_SLOT, new ItemStack(Items.RAW_IRON, 64));
+        }
+    }
+
+    private static void placeMfsu(GameTestHelper helper, BlockPos pos, Direction output, int energy) {
+        helper.setBlock(pos, ModBlocks.MFSU.get().defaultBlockState().setValue(MFSUBlock.FACING, output));
+        if (getBlockEntity(helper, pos) instanceof MFSUBlockEntity mfsu) {
+            mfsu.setStoredEnergy(energy);
+        }
+    }
+
+    private static BlockEntity getBlockEntity(GameTestHelper helper, BlockPos pos) {
+        return helper.getLevel().getBlockEntity(helper.absolutePos(pos));
+    }
+}
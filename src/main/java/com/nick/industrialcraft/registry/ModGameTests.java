@@ -0,0 +1,36 @@
+package com.nick.industrialcraft.registry;
+
+import com.nick.industrialcraft.IndustrialCraft;
+import com.nick.industrialcraft.gametest.TickCostTests;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.neoforged.neoforge.registries.DeferredHolder;
+import net.neoforged.neoforge.registries.DeferredRegister;
+
+import java.util.function.Consumer;
+
+/**
+ * Game test function registration for IndustrialCraft.
+ *
+ * The test instances that run these functions, with their structures and
+ * environments, are data: data/industrialcraft/test_instance.
+ */
+public final class ModGameTests {
+
+    private ModGameTests() {}
+
+    public static final DeferredRegister<Consumer<GameTestHelper>> TEST_FUNCTIONS =
+            DeferredRegister.create(Registries.TEST_FUNCTION, IndustrialCraft.MODID);
+
+    public static final DeferredHolder<Consumer<GameTestHelper>, Consumer<GameTestHelper>> TICK_COST_GENERATOR_FARM =
+            TEST_FUNCTIONS.register("tick_cost/generator_farm", () -> TickCostTests::generatorFarm);
+
+    public static final DeferredHolder<Consumer<GameTestHelper>, Consumer<GameTestHelper>> TICK_COST_MFSU_BANK =
+            TEST_FUNCTIONS.register("tick_cost/mfsu_bank", () -> TickCostTests::mfsuBank);
+
+    public static final DeferredHolder<Consumer<GameTestHelper>, Consumer<GameTestHelper>> TICK_COST_TRANSFORMER_CHAIN =
+            TEST_FUNCTIONS.register("tick_cost/transformer_chain", () -> TickCostTests::transformerChain);
+
+    public static final DeferredHolder<Consumer<GameTestHelper>, Consumer<GameTestHelper>> TICK_COST_CABLE_MESH =
+            TEST_FUNCTIONS.register("tick_cost/cable_mesh", () -> TickCostTests::cableMesh);
+}
@@ -2,6 +2,7 @@ package com.nick.industrialcraft.registry;
 
 import com.nick.industrialcraft.IndustrialCraft;
 import com.nick.industrialcraft.content.item.ElectricWrenchItem;
+import com.nick.industrialcraft.content.item.EnergyMeterItem;
 import com.nick.industrialcraft.content.item.FilledTinCanItem;
 import com.nick.industrialcraft.content.item.TreetapItem;
 import com.nick.industrialcraft.content.item.WrenchItem;
@@ -395,7 +396,7 @@ public final class ModItems {
 
     public static final DeferredItem<Item> EC_METER =
             ITEMS.register("ec_meter",
-                    () -> new Item(new Item.Properties().setId(
+                    () -> new EnergyMeterItem(new Item.Properties().setId(
                             ResourceKey.create(Registries.ITEM,
                                     ResourceLocation.fromNamespaceAndPath(
                                             IndustrialCraft.MODID, "ec_meter"))
@@ -0,0 +1,234 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnergyJournalTest {
+
+    private static final EnergyJournal.Header HEADER = new EnergyJournal.Header(1000, 64, 4096, true, false,
+        new long[] {200, 1000, 0}, new long[] {32, 128, 2048});
+
+    /**
+     * Collects every record it visits as one line of text.
+     */
+    private static final class Recorder implements EnergyJournal.Visitor {
+        final List<String> records = new ArrayList<>();
+
+        @Override
+        public void tick(long gameTime) {
+            records.add("tick " + gameTime);
+        }
+
+        @Override
+        public void change(long pos) {
+            records.add("change " + pos);
+        }
+
+        @Override
+        public void cable(long pos, int type, int mask) {
+            records.add("cable " + pos + " " + type + " " + mask);
+        }
+
+        @Override
+        public void machine(long pos, int sourceTier, int consumerTier) {
+            records.add("machine " + pos + " " + sourceTier + " " + consumerTier);
+        }
+
+        @Override
+        public void empty(long pos) {
+            records.add("empty " + pos);
+        }
+
+        @Override
+        public void chunk(int chunkX, int chunkZ, boolean loaded) {
+            records.add("chunk " + chunkX + " " + chunkZ + " " + loaded);
+        }
+
+        @Override
+        public void emit(long pos, int emitSides, int excludedSides, int budget, int packetSize,
+                         boolean wholePackets, boolean partialPackets) {
+            records.add("emit " + pos + " " + emitSides + " " + excludedSides + " " + budget + " " + packetSize
+                + " " + wholePackets + " " + partialPackets);
+        }
+
+        @Override
+        public void offer(long pos, int demand, int packetCeiling, int loss, int capacity) {
+            records.add("offer " + pos + " " + demand + " " + packetCeiling + " " + loss + " " + capacity);
+        }
+    }
+
+    /**
+     * One record of every kind, with positions and chunks on both sides of the origin
+     * so deltas run negative, and both unlimited and limited ceilings and capacities.
+     */
+    private static byte[] sample() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (EnergyJournal.Writer writer = new EnergyJournal.Writer(bytes, HEADER)) {
+            writer.tick(1005);
+            writer.change(at(10, 5));
+            writer.cable(at(-30_000_000, -30_000_000), 2, 0b101010);
+            writer.machine(at(30_000_000, 29_999_999), 3, 0);
+            writer.empty(at(-1, TestWorld.Y - 128, -1));
+            writer.chunk(-1875000, 1874999, true);
+            writer.chunk(0, -1, false);
+            writer.tick(1007);
+            writer.emit(at(7, -7), 0b110011, 0b001100, 2048, 512, true, false);
+            writer.offer(at(8, -7), 100, Integer.MAX_VALUE, 3, Integer.MAX_VALUE);
+            writer.offer(at(6, -7), 0, 0, 0, 0);
+            writer.emit(at(6, -7), 0, 0b111111, 0, 0, false, true);
+            writer.offer(at(5, -7), Integer.MAX_VALUE, Integer.MAX_VALUE - 1, 0, Integer.MAX_VALUE - 1);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String> readAll(byte[] data) throws IOException {
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(new ByteArrayInputStream(data));
+        Recorder recorder = new Recorder();
+        while (reader.next(recorder)) {
+            // Every record lands in the recorder
+        }
+        return recorder.records;
+    }
+
+    @Test
+    void roundTripKeepsEveryRecord() throws IOException {
+        List<String> expected = List.of(
+            "tick 1005",
+            "change " + at(10, 5),
+            "cable " + at(-30_000_000, -30_000_000) + " 2 42",
+            "machine " + at(30_000_000, 29_999_999) + " 3 0",
+            "empty " + at(-1, TestWorld.Y - 128, -1),
+            "chunk -1875000 1874999 true",
+            "chunk 0 -1 false",
+            "tick 1007",
+            "emit " + at(7, -7) + " 51 12 2048 512 true false",
+            "offer " + at(8, -7) + " 100 " + Integer.MAX_VALUE + " 3 " + Integer.MAX_VALUE,
+            "offer " + at(6, -7) + " 0 0 0 0",
+            "emit " + at(6, -7) + " 0 63 0 0 false true",
+            "offer " + at(5, -7) + " " + Integer.MAX_VALUE + " " + (Integer.MAX_VALUE - 1) + " 0 "
+                + (Integer.MAX_VALUE - 1));
+
+        assertEquals(expected, readAll(sample()));
+    }
+
+    @Test
+    void unlimitedIsWrittenAsZero() throws IOException {
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        new EnergyJournal.Writer(empty, HEADER).close();
+        int headerLength = empty.size();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EnergyJournal.Writer writer = new EnergyJournal.Writer(bytes, HEADER);
+        writer.offer(0, 1, Integer.MAX_VALUE, 2, Integer.MAX_VALUE);
+        writer.offer(0, 1, 0, 2, 5);
+        writer.close();
+        byte[] data = bytes.toByteArray();
+
+        // kind, pos delta, demand, ceiling, loss, capacity: one byte each
+        assertEquals(headerLength + 12, data.length);
+        byte[] records = Arrays.copyOfRange(data, headerLength, data.length);
+        assertEquals(0, records[3]);
+        assertEquals(0, records[5]);
+        assertEquals(1, records[9]);
+        assertEquals(6, records[11]);
+    }
+
+    @Test
+    void headerKeepsSettingsAndTables() throws IOException {
+        byte[] data = sample();
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(new ByteArrayInputStream(data));
+        EnergyJournal.Header header = reader.getHeader();
+
+        assertEquals(1000, header.startTime());
+        assertEquals(64, header.maxJunctions());
+        assertEquals(4096, header.maxCables());
+        assertTrue(header.lossEnabled());
+        assertFalse(header.capacityEnabled());
+        assertArrayEquals(HEADER.lossPerType(), header.lossPerType());
+        assertArrayEquals(HEADER.capacityPerType(), header.capacityPerType());
+
+        EnergyJournal.Header flipped = new EnergyJournal.Header(0, 1, 2, false, true, new long[0], new long[0]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new EnergyJournal.Writer(bytes, flipped).close();
+        EnergyJournal.Header read = new EnergyJournal.Reader(new ByteArrayInputStream(bytes.toByteArray()))
+            .getHeader();
+        assertFalse(read.lossEnabled());
+        assertTrue(read.capacityEnabled());
+        assertEquals(0, read.lossPerType().length);
+    }
+
+    @Test
+    void cleanEndReturnsFalse() throws IOException {
+        byte[] data = sample();
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(new ByteArrayInputStream(data));
+        Recorder recorder = new Recorder();
+        int records = 0;
+        while (reader.next(recorder)) {
+            records++;
+        }
+
+        assertEquals(13, records);
+        assertEquals(13, reader.getRecordCount());
+        assertFalse(reader.next(recorder));
+    }
+
+    @Test
+    void streamCutInsideRecordThrowsEof() throws IOException {
+        byte[] data = sample();
+        // Drop the last byte of the final OFFER's capacity
+        byte[] cut = Arrays.copyOf(data, data.length - 1);
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(new ByteArrayInputStream(cut));
+        Recorder recorder = new Recorder();
+
+        for (int i = 0; i < 12; i++) {
+            assertTrue(reader.next(recorder));
+        }
+        assertThrows(EOFException.class, () -> reader.next(recorder));
+        assertEquals(12, recorder.records.size());
+    }
+
+    @Test
+    void badMagicIsRejected() throws IOException {
+        byte[] data = sample();
+        data[3] = 'X';
+
+        assertThrows(IllegalArgumentException.class, () -> new EnergyJournal.Reader(new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void unknownFormatIsRejected() throws IOException {
+        byte[] data = sample();
+        data[4] = (byte) (EnergyJournal.FORMAT + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new EnergyJournal.Reader(new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void unknownRecordKindIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EnergyJournal.Writer writer = new EnergyJournal.Writer(bytes, HEADER);
+        writer.tick(1001);
+        writer.flush();
+        bytes.write(EnergyJournal.OFFER + 1);
+        writer.close();
+        EnergyJournal.Reader reader = new EnergyJournal.Reader(new ByteArrayInputStream(bytes.toByteArray()));
+        Recorder recorder = new Recorder();
+
+        assertTrue(reader.next(recorder));
+        assertThrows(IllegalArgumentException.class, () -> reader.next(recorder));
+    }
+}
@@ -0,0 +1,200 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.ALL_SIDES;
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnergyNetGraphTest {
+
+    /**
+     * Add a straight run of cables from x = 0 to {@code length - 1}.
+     */
+    private static EnergyNetGraph line(int length) {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        for (int x = 0; x < length; x++) {
+            graph.setCable(at(x), ALL_SIDES, 0, 0);
+        }
+        return graph;
+    }
+
+    @Test
+    void bridgeMergesNetworks() {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        graph.setCable(at(0), ALL_SIDES, 0, 0);
+        graph.setCable(at(2), ALL_SIDES, 0, 0);
+        graph.setCable(at(3), ALL_SIDES, 0, 0);
+        EnergyNetwork small = graph.getNetwork(at(0));
+        EnergyNetwork large = graph.getNetwork(at(2));
+        assertNotSame(small, large);
+        assertEquals(2, graph.getNetworkCount());
+
+        graph.setCable(at(1), ALL_SIDES, 0, 0);
+
+        // The smaller network is relabelled into the larger one
+        assertEquals(1, graph.getNetworkCount());
+        assertSame(large, graph.getNetwork(at(0)));
+        assertSame(large, graph.getNetwork(at(1)));
+        assertEquals(4, large.getCableCount());
+        assertTrue(small.isRemoved());
+    }
+
+    @Test
+    void removingBridgeSplitsNetwork() {
+        EnergyNetGraph graph = line(5);
+        EnergyNetwork network = graph.getNetwork(at(0));
+        int version = network.getVersion();
+
+        assertTrue(graph.removeCable(at(2)));
+
+        assertEquals(2, graph.getNetworkCount());
+        assertNotSame(graph.getNetwork(at(0)), graph.getNetwork(at(4)));
+        assertSame(graph.getNetwork(at(0)), graph.getNetwork(at(1)));
+        assertEquals(2, graph.getNetwork(at(0)).getCableCount());
+        assertEquals(2, graph.getNetwork(at(4)).getCableCount());
+        assertNull(graph.getNetwork(at(2)));
+        assertTrue(network.isRemoved() || network.getVersion() != version);
+    }
+
+    @Test
+    void removingEndKeepsNetwork() {
+        EnergyNetGraph graph = line(4);
+        EnergyNetwork network = graph.getNetwork(at(0));
+
+        graph.removeCable(at(3));
+
+        assertEquals(1, graph.getNetworkCount());
+        assertSame(network, graph.getNetwork(at(0)));
+        assertEquals(3, network.getCableCount());
+        assertFalse(graph.removeCable(at(3)));
+    }
+
+    @Test
+    void lastCableRetiresNetwork() {
+        EnergyNetGraph graph = line(1);
+        EnergyNetwork network = graph.getNetwork(at(0));
+
+        graph.removeCable(at(0));
+
+        assertEquals(0, graph.getNetworkCount());
+        assertTrue(network.isRemoved());
+    }
+
+    @Test
+    void disconnectingSideSplitsNetwork() {
+        EnergyNetGraph graph = line(4);
+
+        // Neither cable connects towards the other any more
+        graph.setCable(at(1), ALL_SIDES & ~(1 << 5), 0, 0);
+        graph.setCable(at(2), ALL_SIDES & ~(1 << 4), 0, 0);
+
+        assertEquals(2, graph.getNetworkCount());
+        assertNotSame(graph.getNetwork(at(1)), graph.getNetwork(at(2)));
+    }
+
+    @Test
+    void tierAggregatesFollowCables() {
+        EnergyNetGraph graph = line(3);
+        EnergyNetwork network = graph.getNetwork(at(0));
+        graph.setTiers(at(0), 3, 0);
+        graph.setTiers(at(2), 0, 1);
+        assertEquals(3, network.getMaxSourceTier());
+        assertEquals(1, network.getMinConsumerTier());
+
+        graph.removeCable(at(0));
+
+        assertEquals(0, network.getMaxSourceTier());
+        assertEquals(1, network.getMinConsumerTier());
+    }
+
+    @Test
+    void largeSplitIsDeferredUntilLabelled() {
+        EnergyNetGraph graph = line(9);
+        Queue<Runnable> executor = new ArrayDeque<>();
+        graph.setAsyncRebuild(2, executor::add);
+        EnergyNetwork network = graph.getNetwork(at(0));
+
+        graph.removeCable(at(4));
+
+        // The old shape keeps serving until the labelling is swapped in
+        assertTrue(graph.hasPendingSplit(network));
+        assertTrue(graph.hasPendingRebuilds());
+        assertEquals(1, graph.getNetworkCount());
+        assertSame(network, graph.getNetwork(at(8)));
+
+        graph.pollRebuilds();
+        assertEquals(1, executor.size());
+        executor.poll().run();
+        graph.pollRebuilds();
+
+        assertFalse(graph.hasPendingRebuilds());
+        assertEquals(2, graph.getNetworkCount());
+        assertNotSame(graph.getNetwork(at(0)), graph.getNetwork(at(8)));
+        assertEquals(4, graph.getNetwork(at(0)).getCableCount());
+        assertEquals(4, graph.getNetwork(at(8)).getCableCount());
+        assertEquals(1, graph.getRebuildStats().applied());
+    }
+
+    @Test
+    void deferredSplitIsRelabelledAfterChange() {
+        EnergyNetGraph graph = line(9);
+        Queue<Runnable> executor = new ArrayDeque<>();
+        graph.setAsyncRebuild(2, executor::add);
+
+        graph.removeCable(at(4));
+        graph.pollRebuilds();
+        Runnable stale = executor.poll();
+
+        // The network changes shape while its snapshot is being labelled
+        graph.setCable(at(9), ALL_SIDES, 0, 0);
+        stale.run();
+        graph.pollRebuilds();
+
+        assertEquals(1, graph.getRebuildStats().discarded());
+        assertTrue(graph.hasPendingRebuilds());
+        assertEquals(1, executor.size());
+
+        executor.poll().run();
+        graph.pollRebuilds();
+
+        assertFalse(graph.hasPendingRebuilds());
+        assertEquals(2, graph.getNetworkCount());
+        assertEquals(5, graph.getNetwork(at(9)).getCableCount());
+    }
+
+    @Test
+    void smallSplitIsNotDeferred() {
+        EnergyNetGraph graph = line(9);
+        Queue<Runnable> executor = new ArrayDeque<>();
+        graph.setAsyncRebuild(100, executor::add);
+
+        graph.removeCable(at(4));
+
+        assertFalse(graph.hasPendingRebuilds());
+        assertEquals(2, graph.getNetworkCount());
+        assertTrue(executor.isEmpty());
+    }
+
+    @Test
+    void contractionCollapsesRuns() {
+        EnergyNetGraph graph = line(6);
+        EnergyNetwork network = graph.getNetwork(at(0));
+
+        ContractedNetwork contracted = graph.getContracted(network);
+
+        // Two end junctions joined by one run of four cables
+        assertEquals(2, contracted.getNodeCount());
+        assertEquals(1, contracted.getEdgeCount());
+        assertEquals(4, contracted.getEdgeLength(0));
+        assertSame(contracted, graph.getContracted(network));
+    }
+}
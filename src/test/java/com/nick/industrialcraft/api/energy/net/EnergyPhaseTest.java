@@ -0,0 +1,294 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.ALL_SIDES;
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnergyPhaseTest {
+
+    // Type 0: 1 EU loss per block, 128 EU/t
+    private static final long[] LOSS = {1000};
+    private static final long[] CAPACITY = {128};
+
+    private static final class Generator {
+        final long pos;
+        final int budget;
+        final int packetSize;
+        int emitted;
+
+        Generator(long pos, int budget, int packetSize) {
+            this.pos = pos;
+            this.budget = budget;
+            this.packetSize = packetSize;
+        }
+    }
+
+    private static final class Battery {
+        int demand;
+        int received;
+        int probes;
+
+        Battery(int demand) {
+            this.demand = demand;
+        }
+    }
+
+    /**
+     * A test world with generators and batteries, recording what the phase did to them.
+     */
+    private static final class Level implements EnergyPhase.Host<Generator, Long, Battery> {
+        final TestWorld world;
+        final NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        final Map<Long, Battery> batteries = new HashMap<>();
+        final List<Generator> overvolted = new ArrayList<>();
+        long gameTime;
+
+        Level() {
+            this(new TestWorld().line(1, 4, 0));
+        }
+
+        Level(TestWorld world) {
+            this.world = world;
+        }
+
+        Generator generator(long pos, int budget, int packetSize) {
+            world.source(pos, 1);
+            return new Generator(pos, budget, packetSize);
+        }
+
+        Battery battery(long pos, int tier, int demand) {
+            world.consumer(pos, tier);
+            Battery battery = new Battery(demand);
+            batteries.put(pos, battery);
+            return battery;
+        }
+
+        @Override
+        public SourceView<Long> getView(long emitterPos, int sideMask) {
+            return cache.getView(world, emitterPos, sideMask, gameTime);
+        }
+
+        @Override
+        public int getBudget(Generator emitter) {
+            return emitter.budget - emitter.emitted;
+        }
+
+        @Override
+        public int getPacketSize(Generator emitter) {
+            return emitter.packetSize;
+        }
+
+        @Override
+        public boolean emitsWholePackets(Generator emitter) {
+            return false;
+        }
+
+        @Override
+        public int getEmitSides(Generator emitter) {
+            return ALL_SIDES;
+        }
+
+        @Override
+        public int getExcludedSides(Generator emitter) {
+            return 0;
+        }
+
+        @Override
+        public void emit(Generator emitter, int amount) {
+            emitter.emitted += amount;
+        }
+
+        @Override
+        public Battery getStorage(Long machine) {
+            return batteries.get(machine);
+        }
+
+        @Override
+        public int probe(Battery storage) {
+            storage.probes++;
+            return storage.demand - storage.received;
+        }
+
+        @Override
+        public int receive(Battery storage, int amount) {
+            int taken = Math.min(amount, storage.demand - storage.received);
+            storage.received += taken;
+            return taken;
+        }
+
+        @Override
+        public boolean buffers(Long machine) {
+            return false;
+        }
+
+        @Override
+        public void meltCable(long cablePos, SourceView<Long> view, int packetSize) {
+        }
+
+        @Override
+        public void overvoltage(Generator emitter, Long machine, long machinePos, SourceView<Long> view,
+                                int packetSize) {
+            overvolted.add(emitter);
+        }
+    }
+
+    @Test
+    void demandIsProbedOnceAndShared() {
+        Level level = new Level();
+        Generator first = level.generator(at(0), 40, 32);
+        Generator second = level.generator(at(5), 40, 32);
+        Battery battery = level.battery(at(2, TestWorld.Y + 1, 0), 1, 50);
+        EnergyPhase<Generator, Long, Battery> phase = new EnergyPhase<>(level);
+
+        // Submission order does not matter: emitters go in position order
+        phase.add(second.pos, second);
+        phase.add(first.pos, first);
+        phase.run(0);
+
+        assertEquals(1, battery.probes);
+        assertEquals(50, battery.received);
+        assertEquals(40, first.emitted);
+        assertEquals(10, second.emitted);
+        assertEquals(1, phase.getLastGroups());
+        assertEquals(2, phase.getLastTransfers());
+    }
+
+    @Test
+    void emitterPaysCableLoss() {
+        Level level = new Level();
+        level.cache.setPathCosts(true, false);
+        Generator generator = level.generator(at(0), 100, 32);
+        Battery battery = level.battery(at(2, TestWorld.Y + 1, 0), 1, 50);
+        EnergyPhase<Generator, Long, Battery> phase = new EnergyPhase<>(level);
+
+        phase.add(generator.pos, generator);
+        phase.run(0);
+
+        // Two blocks of cable to the consumer, 1 EU each
+        assertEquals(50, battery.received);
+        assertEquals(52, generator.emitted);
+        assertEquals(2, phase.getLastLost());
+
+        FlowTelemetry telemetry = level.cache.getGraph().getNetwork(at(1)).getTelemetry();
+        assertEquals(100.0, telemetry.average(1, FlowTelemetry.GENERATED, FlowTelemetry.SECOND));
+        assertEquals(48.0, telemetry.average(1, FlowTelemetry.REFUSED, FlowTelemetry.SECOND));
+        assertEquals(50.0, telemetry.average(1, FlowTelemetry.DELIVERED, FlowTelemetry.SECOND));
+        assertEquals(2.0, telemetry.average(1, FlowTelemetry.CABLE_LOSS, FlowTelemetry.SECOND));
+    }
+
+    @Test
+    void overvoltageIsReportedOncePerConsumer() {
+        Level level = new Level();
+        Generator first = level.generator(at(0), 512, 128);
+        Generator second = level.generator(at(5), 512, 128);
+        Battery battery = level.battery(at(2, TestWorld.Y + 1, 0), 1, 50);
+        EnergyPhase<Generator, Long, Battery> phase = new EnergyPhase<>(level);
+
+        phase.add(first.pos, first);
+        phase.add(second.pos, second);
+        phase.run(0);
+
+        assertEquals(List.of(first), level.overvolted);
+        assertEquals(1, phase.getLastOvervoltages());
+        assertEquals(0, battery.received);
+        assertEquals(0, second.emitted);
+    }
+
+    @Test
+    void emitterSubmittedTwiceIsDistributedOnce() {
+        Level level = new Level();
+        Generator generator = level.generator(at(0), 20, 32);
+        Battery battery = level.battery(at(5), 1, 50);
+        EnergyPhase<Generator, Long, Battery> phase = new EnergyPhase<>(level);
+
+        phase.add(generator.pos, generator);
+        phase.add(generator.pos, generator);
+        assertEquals(2, phase.getPending());
+        phase.run(0);
+
+        assertEquals(0, phase.getPending());
+        assertEquals(1, phase.getLastEmitters());
+        assertEquals(20, battery.received);
+        assertEquals(20, generator.emitted);
+    }
+
+    /**
+     * Separate rows of cables from x = 1 to 10, each with a consumer above every cable and a
+     * generator at both ends. Every other row has a generator whose packets overvolt the
+     * tier 1 consumers. Demand and budgets vary, so rows plan differently.
+     */
+    private static Level rows(int count, List<Generator> generators) {
+        TestWorld world = new TestWorld();
+        for (int row = 0; row < count; row++) {
+            world.line(1, 10, 2 * row);
+        }
+        Level level = new Level(world);
+        for (int row = 0; row < count; row++) {
+            int z = 2 * row;
+            for (int x = 1; x <= 10; x++) {
+                level.battery(at(x, TestWorld.Y + 1, z), 1 + x % 2, 10 + (row * 7 + x * 3) % 50);
+            }
+            generators.add(level.generator(at(0, z), 100 + row * 13 % 200, 32));
+            generators.add(level.generator(at(11, z), 60 + row * 29 % 150, row % 2 == 0 ? 128 : 32));
+        }
+        return level;
+    }
+
+    @Test
+    void pooledPlanningMatchesInlinePlanning() {
+        int rows = 40;
+        List<Generator> inlineGenerators = new ArrayList<>();
+        Level inline = rows(rows, inlineGenerators);
+        List<Generator> pooledGenerators = new ArrayList<>();
+        Level pooled = rows(rows, pooledGenerators);
+
+        EnergyPhase<Generator, Long, Battery> inlinePhase = new EnergyPhase<>(inline);
+        for (Generator generator : inlineGenerators) {
+            inlinePhase.add(generator.pos, generator);
+        }
+        inlinePhase.run(0);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            EnergyPhase<Generator, Long, Battery> pooledPhase = new EnergyPhase<>(pooled);
+            pooledPhase.setPlanningPool(() -> pool);
+            for (Generator generator : pooledGenerators) {
+                pooledPhase.add(generator.pos, generator);
+            }
+            pooledPhase.run(0);
+
+            // 2 emitters x 10 consumers per row: well above the parallel threshold
+            assertTrue(pooledPhase.wasLastParallel());
+            assertFalse(inlinePhase.wasLastParallel());
+            assertEquals(rows, pooledPhase.getLastGroups());
+            assertEquals(inlinePhase.getLastTransfers(), pooledPhase.getLastTransfers());
+            assertEquals(inlinePhase.getLastDelivered(), pooledPhase.getLastDelivered());
+            assertEquals(inlinePhase.getLastOvervoltages(), pooledPhase.getLastOvervoltages());
+            assertTrue(pooledPhase.getLastOvervoltages() > 0);
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < inlineGenerators.size(); i++) {
+            assertEquals(inlineGenerators.get(i).emitted, pooledGenerators.get(i).emitted);
+        }
+        for (Map.Entry<Long, Battery> entry : inline.batteries.entrySet()) {
+            assertEquals(entry.getValue().received, pooled.batteries.get(entry.getKey()).received);
+        }
+        List<Long> inlineOvervolted = new ArrayList<>();
+        inline.overvolted.forEach(generator -> inlineOvervolted.add(generator.pos));
+        List<Long> pooledOvervolted = new ArrayList<>();
+        pooled.overvolted.forEach(generator -> pooledOvervolted.add(generator.pos));
+        assertEquals(inlineOvervolted, pooledOvervolted);
+    }
+}
@@ -0,0 +1,99 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlowTelemetryTest {
+
+    private static final int SECOND_TICKS = 20;
+    private static final int MINUTE_TICKS = 60 * SECOND_TICKS;
+    private static final int TEN_MINUTE_TICKS = 10 * MINUTE_TICKS;
+
+    private static void addEachTick(FlowTelemetry telemetry, long from, long to, long amount) {
+        for (long t = from; t < to; t++) {
+            telemetry.add(t, FlowTelemetry.DELIVERED, amount);
+        }
+    }
+
+    private static double average(FlowTelemetry telemetry, long gameTime, int window) {
+        return telemetry.average(gameTime, FlowTelemetry.DELIVERED, window);
+    }
+
+    @Test
+    void currentTickIsNotCounted() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        telemetry.add(100, FlowTelemetry.DELIVERED, 50);
+
+        assertEquals(0.0, average(telemetry, 100, FlowTelemetry.SECOND));
+        assertEquals(50.0, average(telemetry, 101, FlowTelemetry.SECOND));
+    }
+
+    @Test
+    void secondWindowRollsOver() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        addEachTick(telemetry, 0, SECOND_TICKS, 10);
+        assertEquals(10.0, average(telemetry, SECOND_TICKS, FlowTelemetry.SECOND));
+
+        // A quiet second pushes every busy tick out of the window
+        assertEquals(0.0, average(telemetry, 2 * SECOND_TICKS, FlowTelemetry.SECOND));
+        assertEquals(5.0, average(telemetry, 2 * SECOND_TICKS, FlowTelemetry.MINUTE));
+    }
+
+    @Test
+    void partialWindowAveragesFinishedTicks() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        addEachTick(telemetry, 0, 5, 8);
+
+        assertEquals(8.0, average(telemetry, 5, FlowTelemetry.SECOND));
+        // The minute window only counts whole seconds
+        assertEquals(0.0, average(telemetry, 5, FlowTelemetry.MINUTE));
+    }
+
+    @Test
+    void minuteWindowRollsOver() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        addEachTick(telemetry, 0, MINUTE_TICKS, 4);
+        assertEquals(4.0, average(telemetry, MINUTE_TICKS, FlowTelemetry.MINUTE));
+
+        addEachTick(telemetry, MINUTE_TICKS, 2 * MINUTE_TICKS, 2);
+        assertEquals(2.0, average(telemetry, 2 * MINUTE_TICKS, FlowTelemetry.MINUTE));
+        assertEquals(3.0, average(telemetry, 2 * MINUTE_TICKS, FlowTelemetry.TEN_MINUTES));
+    }
+
+    @Test
+    void tenMinuteWindowRollsOver() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        addEachTick(telemetry, 0, TEN_MINUTE_TICKS, 6);
+        assertEquals(6.0, average(telemetry, TEN_MINUTE_TICKS, FlowTelemetry.TEN_MINUTES));
+
+        // Half a window later, half of the busy spans are gone
+        long now = TEN_MINUTE_TICKS + TEN_MINUTE_TICKS / 2;
+        assertEquals(3.0, average(telemetry, now, FlowTelemetry.TEN_MINUTES));
+    }
+
+    @Test
+    void longIdleClearsHistory() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        addEachTick(telemetry, 0, MINUTE_TICKS, 7);
+
+        long later = 3L * TEN_MINUTE_TICKS;
+        assertEquals(0.0, average(telemetry, later, FlowTelemetry.SECOND));
+        assertEquals(0.0, average(telemetry, later, FlowTelemetry.MINUTE));
+        assertEquals(0.0, average(telemetry, later, FlowTelemetry.TEN_MINUTES));
+
+        telemetry.add(later, FlowTelemetry.DELIVERED, 20);
+        assertEquals(1.0, average(telemetry, later + SECOND_TICKS, FlowTelemetry.SECOND));
+    }
+
+    @Test
+    void metricsAreKeptApart() {
+        FlowTelemetry telemetry = new FlowTelemetry();
+        telemetry.add(0, FlowTelemetry.DELIVERED, 10);
+        telemetry.add(0, FlowTelemetry.CABLE_LOSS, 3);
+
+        assertEquals(10.0, telemetry.average(1, FlowTelemetry.DELIVERED, FlowTelemetry.SECOND));
+        assertEquals(3.0, telemetry.average(1, FlowTelemetry.CABLE_LOSS, FlowTelemetry.SECOND));
+        assertEquals(0.0, telemetry.average(1, FlowTelemetry.GENERATED, FlowTelemetry.SECOND));
+    }
+}
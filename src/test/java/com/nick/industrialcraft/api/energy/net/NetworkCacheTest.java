@@ -0,0 +1,226 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.ALL_SIDES;
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NetworkCacheTest {
+
+    // Type 0: 1 EU loss per block, 128 EU/t; type 1: 2 EU per block, 32 EU/t
+    private static final long[] LOSS = {1000, 2000};
+    private static final long[] CAPACITY = {128, 32};
+
+    /**
+     * A source at x = 0, cables from x = 1 to 4 and a consumer at x = 5.
+     */
+    private static TestWorld line() {
+        TestWorld world = new TestWorld().line(1, 4, 0);
+        world.source(at(0), 1);
+        world.consumer(at(5), 1);
+        return world;
+    }
+
+    @Test
+    void viewReachesConsumersAcrossCables() {
+        TestWorld world = line();
+        long direct = world.consumer(at(0, TestWorld.Y + 1, 0), 1);
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        // Machines against the source come first and pass no network
+        assertEquals(List.of(direct, at(5)), view.machines());
+        assertEquals(direct, view.getMachinePos(0));
+        assertNull(view.getPathNetwork(0));
+        assertSame(cache.getGraph().getNetwork(at(1)), view.getPathNetwork(1));
+        assertEquals(TestWorld.packetLimit(1), view.getPacketCeiling(1));
+        assertFalse(view.hasLoss());
+        assertFalse(view.hasCapacity());
+    }
+
+    @Test
+    void cachedViewIsReturnedUntilNetworkChanges() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertSame(view, cache.getView(world, at(0), ALL_SIDES, 250));
+        assertEquals(2, cache.getRescansAvoided());
+
+        // A branch with another consumer bumps the network version
+        long branch = world.cable(at(2, TestWorld.Y, 1), 0);
+        long consumer = world.consumer(at(2, TestWorld.Y, 2), 1);
+        cache.invalidate(branch);
+        SourceView<Long> rebuilt = cache.getView(world, at(0), ALL_SIDES, 260);
+
+        assertNotSame(view, rebuilt);
+        assertTrue(view.isStale());
+        assertEquals(2, rebuilt.machines().size());
+        assertTrue(rebuilt.machines().contains(consumer));
+        assertEquals(1, cache.getViewCount());
+    }
+
+    @Test
+    void changeAtSourceReleasesView() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+        assertTrue(view.lease().isLive());
+
+        cache.invalidate(at(0));
+        cache.flush(world);
+
+        assertFalse(view.lease().isLive());
+        assertNull(cache.findView(at(0), ALL_SIDES));
+        assertEquals(0, cache.getViewCount());
+    }
+
+    @Test
+    void invalidationIsQueuedOnce() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        int[] flushed = new int[1];
+        cache.setListener(new NetworkCache.Listener() {
+            @Override
+            public void onFlush(int changed) {
+                flushed[0] += changed;
+            }
+        });
+
+        cache.invalidate(at(3));
+        cache.invalidate(at(3));
+        cache.invalidate(at(4));
+        assertTrue(cache.hasPending());
+        cache.flush(world);
+
+        assertFalse(cache.hasPending());
+        assertEquals(2, flushed[0]);
+    }
+
+    @Test
+    void lossAndCapacityFollowCheapestAndWidestPath() {
+        TestWorld world = line();
+        world.cable(at(3), 1);
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        cache.setPathCosts(true, true);
+
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertTrue(view.hasLoss());
+        assertTrue(view.hasCapacity());
+        // Three blocks of type 0 and one of type 1
+        assertEquals(5, view.getLoss(0));
+        assertEquals(32, view.getCapacity(0));
+        assertEquals(at(3), view.getWeakestCable(0));
+    }
+
+    @Test
+    void changedPathSettingsRebuildView() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        SourceView<Long> plain = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        cache.setPathCosts(true, false);
+        SourceView<Long> lossy = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertNotSame(plain, lossy);
+        assertEquals(4, lossy.getLoss(0));
+    }
+
+    @Test
+    void expiryRediscoversNetworks() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        cache.setExpiryTicks(50);
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertSame(view, cache.getView(world, at(0), ALL_SIDES, 40));
+        assertNotSame(view, cache.getView(world, at(0), ALL_SIDES, 100));
+        assertEquals(1, cache.getSafetyNetRescans());
+    }
+
+    @Test
+    void unloadedChunkLeavesStubsThatReconnect() {
+        // Cables from x = 13 to 18 cross the border between chunks 0 and 1 at x = 16
+        TestWorld world = new TestWorld().line(13, 18, 0);
+        world.source(at(12), 1);
+        long consumer = world.consumer(at(19), 1);
+        long chunk = PackedPos.chunkKey(1, 0);
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        assertEquals(List.of(consumer), cache.getView(world, at(12), ALL_SIDES, 0).machines());
+
+        world.unloadChunk(chunk);
+        for (int x = 16; x <= 19; x++) {
+            cache.unload(at(x));
+        }
+
+        assertEquals(1, cache.getStubCount());
+        assertEquals(1, cache.getStubChunkCount());
+        assertTrue(cache.getView(world, at(12), ALL_SIDES, 1).machines().isEmpty());
+
+        world.loadChunk(chunk);
+        cache.reconnectStubs(chunk);
+
+        assertEquals(0, cache.getStubCount());
+        assertEquals(1, cache.getStubsReconnected());
+        assertEquals(List.of(consumer), cache.getView(world, at(12), ALL_SIDES, 2).machines());
+        assertEquals(6, cache.getGraph().getNetwork(at(13)).getCableCount());
+    }
+
+    @Test
+    void discoveryStopsAtUnloadedChunk() {
+        TestWorld world = new TestWorld().line(13, 18, 0);
+        world.source(at(12), 1);
+        world.consumer(at(19), 1);
+        world.unloadChunk(PackedPos.chunkKey(1, 0));
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+
+        assertTrue(cache.getView(world, at(12), ALL_SIDES, 0).machines().isEmpty());
+
+        assertEquals(3, cache.getGraph().getCableCount());
+        assertEquals(1, cache.getStubCount());
+    }
+
+    @Test
+    void restoredNetworkIsVerifiedBeforeUse() {
+        TestWorld world = line();
+        NetworkCache<Long> saved = new NetworkCache<>(LOSS, CAPACITY);
+        saved.getView(world, at(0), ALL_SIDES, 0);
+        byte[] topology = TopologyCodec.encode(saved.getGraph());
+
+        // The last cable was broken while the level was offline
+        world.remove(at(4));
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        assertEquals(1, cache.restore(topology));
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertTrue(view.machines().isEmpty());
+        assertEquals(1, cache.getVerifiedNetworks());
+        assertEquals(1, cache.getDroppedCables());
+        assertFalse(cache.getGraph().getNetwork(at(1)).isRestored());
+        assertEquals(3, cache.getGraph().getNetwork(at(1)).getCableCount());
+    }
+
+    @Test
+    void rebuildForgetsEveryNetwork() {
+        TestWorld world = line();
+        NetworkCache<Long> cache = new NetworkCache<>(LOSS, CAPACITY);
+        SourceView<Long> view = cache.getView(world, at(0), ALL_SIDES, 0);
+
+        assertEquals(1, cache.rebuild(world));
+
+        assertEquals(0, cache.getGraph().getCableCount());
+        assertEquals(0, cache.getViewCount());
+        assertFalse(view.lease().isLive());
+        assertEquals(List.of(at(5)), cache.getView(world, at(0), ALL_SIDES, 1).machines());
+    }
+}
@@ -0,0 +1,91 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OvervoltageCheckTest {
+
+    private static final int EAST = 5;
+    private static final int WEST = 4;
+
+    private static NetworkCache<Long> newCache() {
+        return new NetworkCache<>(new long[1], new long[1]);
+    }
+
+    /**
+     * Cables from x = 1 to 6 with consumers of tier 1, 2, 3 and an untiered one above them.
+     */
+    private static TestWorld network(int sourceTier) {
+        TestWorld world = new TestWorld().line(1, 6, 0);
+        world.source(at(0, TestWorld.Y, 0), sourceTier);
+        world.consumer(at(2, TestWorld.Y + 1, 0), 1);
+        world.consumer(at(4, TestWorld.Y + 1, 0), 2);
+        world.consumer(at(5, TestWorld.Y + 1, 0), 3);
+        world.consumer(at(6, TestWorld.Y + 1, 0), 0);
+        return world;
+    }
+
+    @Test
+    void consumersBelowSourceTierAreEndangered() {
+        TestWorld world = network(3);
+        Map<Long, Integer> endangered = new HashMap<>();
+        Set<EnergyNetwork> checked = new HashSet<>();
+
+        OvervoltageCheck.checkNetworks(newCache(), world, at(1, TestWorld.Y, 0), checked, endangered::put);
+
+        assertEquals(Map.of(at(2, TestWorld.Y + 1, 0), 2, at(4, TestWorld.Y + 1, 0), 1), endangered);
+        assertEquals(1, checked.size());
+    }
+
+    @Test
+    void checkedNetworkIsSkipped() {
+        TestWorld world = network(3);
+        NetworkCache<Long> cache = newCache();
+        Set<EnergyNetwork> checked = new HashSet<>();
+        OvervoltageCheck.checkNetworks(cache, world, at(1, TestWorld.Y, 0), checked, (pos, gap) -> {});
+
+        Map<Long, Integer> endangered = new HashMap<>();
+        OvervoltageCheck.checkNetworks(cache, world, at(6, TestWorld.Y, 0), checked, endangered::put);
+
+        assertTrue(endangered.isEmpty());
+    }
+
+    @Test
+    void matchingTiersAreSafe() {
+        TestWorld world = network(1);
+        Map<Long, Integer> endangered = new HashMap<>();
+
+        // Checked from the source: the networks around a placed machine
+        OvervoltageCheck.checkNetworks(newCache(), world, at(0, TestWorld.Y, 0), new HashSet<>(), endangered::put);
+
+        assertTrue(endangered.isEmpty());
+    }
+
+    @Test
+    void transformerSidesAreCheckedApart() {
+        long transformer = at(0, TestWorld.Y, 5);
+        TestWorld world = new TestWorld().line(1, 3, 5);
+        long acrossCables = world.consumer(at(4, TestWorld.Y, 5), 1);
+        long direct = world.consumer(at(-1, TestWorld.Y, 5), 1);
+        NetworkCache<Long> cache = newCache();
+
+        Map<Long, Integer> east = new HashMap<>();
+        OvervoltageCheck.checkSide(cache, world, transformer, EAST, 2, 0, east::put);
+        Map<Long, Integer> west = new HashMap<>();
+        OvervoltageCheck.checkSide(cache, world, transformer, WEST, 3, 0, west::put);
+        Map<Long, Integer> safe = new HashMap<>();
+        OvervoltageCheck.checkSide(cache, world, transformer, EAST, 1, 0, safe::put);
+
+        assertEquals(Map.of(acrossCables, 1), east);
+        assertEquals(Map.of(direct, 2), west);
+        assertTrue(safe.isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.ALL_SIDES;
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathCostsTest {
+
+    private static final int UP = 1 << 1;
+
+    // Type 0 is cheap and wide, type 1 lossy and narrow
+    private static final long[] COST = {10, 100};
+    private static final long[] CAPACITY = {128, 32};
+
+    /**
+     * A run along X of the given cable types, with a machine above each end.
+     */
+    private static ContractedNetwork line(EnergyNetGraph graph, int... types) {
+        for (int x = 0; x < types.length; x++) {
+            graph.setCable(at(x, 0), ALL_SIDES, x == 0 || x == types.length - 1 ? UP : 0, types[x]);
+        }
+        return graph.getContracted(graph.getNetwork(at(0, 0)));
+    }
+
+    /**
+     * A 3x3 ring from (0, 0) to (2, 2) with machines above both corners.
+     * One way round passes (2, 0), the other (0, 2).
+     */
+    private static ContractedNetwork ring(EnergyNetGraph graph, int typeAt20, int typeAt02) {
+        int[][] cells = {{0, 0}, {1, 0}, {2, 0}, {2, 1}, {2, 2}, {1, 2}, {0, 2}, {0, 1}};
+        for (int[] cell : cells) {
+            long pos = at(cell[0], cell[1]);
+            int machineMask = cell[0] == cell[1] && cell[0] != 1 ? UP : 0;
+            int type = cell[0] == 2 && cell[1] == 0 ? typeAt20 : cell[0] == 0 && cell[1] == 2 ? typeAt02 : 0;
+            graph.setCable(pos, ALL_SIDES, machineMask, type);
+        }
+        return graph.getContracted(graph.getNetwork(at(0, 0)));
+    }
+
+    private static long[] shortestFrom(ContractedNetwork network, long entry) {
+        long[] initial = PathCosts.newInitial(network);
+        assertTrue(PathCosts.enterAt(network, entry, COST, initial));
+        return PathCosts.shortestPaths(network, initial, COST);
+    }
+
+    @Test
+    void pathCostCountsEveryBlockOnce() {
+        ContractedNetwork network = line(new EnergyNetGraph(), 0, 0, 0, 0, 0);
+
+        long[] dist = shortestFrom(network, at(0, 0));
+
+        assertEquals(10, dist[network.indexOf(at(0, 0))]);
+        assertEquals(50, dist[network.indexOf(at(4, 0))]);
+    }
+
+    @Test
+    void entryInsideRunCostsBothWays() {
+        ContractedNetwork network = line(new EnergyNetGraph(), 0, 0, 0, 0, 0);
+        assertEquals(-1, network.indexOf(at(2, 0)));
+
+        long[] dist = shortestFrom(network, at(2, 0));
+
+        assertEquals(30, dist[network.indexOf(at(0, 0))]);
+        assertEquals(30, dist[network.indexOf(at(4, 0))]);
+    }
+
+    @Test
+    void cheapestTypeWinsOverEqualLength() {
+        ContractedNetwork network = ring(new EnergyNetGraph(), 1, 0);
+
+        long[] dist = shortestFrom(network, at(0, 0));
+
+        // Five blocks round the cheap side
+        assertEquals(50, dist[network.indexOf(at(2, 2))]);
+    }
+
+    @Test
+    void unreachableWithoutEntry() {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        ContractedNetwork network = line(graph, 0, 0, 0);
+
+        long[] initial = PathCosts.newInitial(network);
+        assertFalse(PathCosts.enterAt(network, at(9, 9), COST, initial));
+        long[] dist = PathCosts.shortestPaths(network, initial, COST);
+
+        assertEquals(PathCosts.UNREACHABLE, dist[network.indexOf(at(2, 0))]);
+    }
+
+    @Test
+    void widestPathFindsBottleneck() {
+        ContractedNetwork network = line(new EnergyNetGraph(), 0, 0, 1, 0, 0);
+
+        long[] initial = PathCosts.newWidestInitial(network);
+        long[] weakest = new long[network.getNodeCount()];
+        assertTrue(PathCosts.enterWidestAt(network, at(0, 0), CAPACITY, initial, weakest));
+        long[] width = PathCosts.widestPaths(network, initial, weakest, CAPACITY);
+
+        int end = network.indexOf(at(4, 0));
+        assertEquals(32, width[end]);
+        assertEquals(at(2, 0), weakest[end]);
+        assertEquals(128, width[network.indexOf(at(0, 0))]);
+    }
+
+    @Test
+    void widestPathAvoidsNarrowSide() {
+        ContractedNetwork network = ring(new EnergyNetGraph(), 1, 0);
+
+        long[] initial = PathCosts.newWidestInitial(network);
+        long[] weakest = new long[network.getNodeCount()];
+        PathCosts.enterWidestAt(network, at(0, 0), CAPACITY, initial, weakest);
+        long[] width = PathCosts.widestPaths(network, initial, weakest, CAPACITY);
+
+        assertEquals(128, width[network.indexOf(at(2, 2))]);
+    }
+
+    @Test
+    void bothSidesNarrowReportsWeakCable() {
+        ContractedNetwork network = ring(new EnergyNetGraph(), 1, 1);
+
+        long[] initial = PathCosts.newWidestInitial(network);
+        long[] weakest = new long[network.getNodeCount()];
+        PathCosts.enterWidestAt(network, at(0, 0), CAPACITY, initial, weakest);
+        long[] width = PathCosts.widestPaths(network, initial, weakest, CAPACITY);
+
+        int corner = network.indexOf(at(2, 2));
+        assertEquals(32, width[corner]);
+        long cable = weakest[corner];
+        assertTrue(cable == at(2, 0) || cable == at(0, 2));
+    }
+}
@@ -0,0 +1,133 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hand-built world for the core tests. Cables connect to every neighbouring cable
+ * or machine; consumers are connected as their own packed position and take packets
+ * up to the limit of their tier. Whole chunk columns can be unloaded and loaded again.
+ */
+final class TestWorld implements ConsumerWorld<Long> {
+
+    static final int Y = 64;
+    static final int ALL_SIDES = (1 << PackedPos.SIDES) - 1;
+
+    private final Map<Long, Integer> cables = new HashMap<>();
+    private final Map<Long, Integer> consumers = new HashMap<>();
+    private final Map<Long, Integer> sources = new HashMap<>();
+    private final Set<Long> unloadedChunks = new HashSet<>();
+
+    static long at(int x, int y, int z) {
+        return PackedPos.pack(x, y, z);
+    }
+
+    /**
+     * Position {@code (x, Y, z)}, on the plane the layouts are built in.
+     */
+    static long at(int x, int z) {
+        return at(x, Y, z);
+    }
+
+    static long at(int x) {
+        return at(x, Y, 0);
+    }
+
+    /**
+     * Place cables of type 0 from {@code (fromX, Y, z)} to {@code (toX, Y, z)}.
+     */
+    TestWorld line(int fromX, int toX, int z) {
+        for (int x = fromX; x <= toX; x++) {
+            cable(at(x, z), 0);
+        }
+        return this;
+    }
+
+    long cable(long pos, int type) {
+        cables.put(pos, type);
+        return pos;
+    }
+
+    /**
+     * Place a consumer of the given tier (0 = untiered, no packet limit).
+     */
+    long consumer(long pos, int tier) {
+        consumers.put(pos, tier);
+        return pos;
+    }
+
+    long source(long pos, int tier) {
+        sources.put(pos, tier);
+        return pos;
+    }
+
+    void remove(long pos) {
+        cables.remove(pos);
+        consumers.remove(pos);
+        sources.remove(pos);
+    }
+
+    void unloadChunk(long chunkKey) {
+        unloadedChunks.add(chunkKey);
+    }
+
+    void loadChunk(long chunkKey) {
+        unloadedChunks.remove(chunkKey);
+    }
+
+    /**
+     * Largest packet a consumer of a tier takes: 32 EU for tier 1, four times more per tier.
+     */
+    static int packetLimit(int tier) {
+        return tier > 0 ? 8 << (2 * tier) : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isLoaded(long pos) {
+        return !unloadedChunks.contains(PackedPos.chunkKey(pos));
+    }
+
+    @Override
+    public int getCableType(long pos) {
+        return cables.getOrDefault(pos, NO_CABLE);
+    }
+
+    @Override
+    public int getConnectionMask(long pos) {
+        int mask = 0;
+        for (int side = 0; side < PackedPos.SIDES; side++) {
+            long neighbor = PackedPos.offset(pos, side);
+            if (cables.containsKey(neighbor) || consumers.containsKey(neighbor) || sources.containsKey(neighbor)) {
+                mask |= 1 << side;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public int getSourceTier(long pos) {
+        return sources.getOrDefault(pos, 0);
+    }
+
+    @Override
+    public int getConsumerTier(long pos) {
+        return consumers.getOrDefault(pos, 0);
+    }
+
+    @Override
+    public Long connect(long machinePos, int accessSide, NetworkCache.Lease lease) {
+        return consumers.containsKey(machinePos) ? machinePos : null;
+    }
+
+    @Override
+    public int getPacketCeiling(Long machine) {
+        return packetLimit(consumers.getOrDefault(machine, 0));
+    }
+
+    @Override
+    public int getTier(Long machine) {
+        return consumers.getOrDefault(machine, 0);
+    }
+}
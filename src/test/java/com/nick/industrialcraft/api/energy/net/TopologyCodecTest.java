@@ -0,0 +1,123 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.nick.industrialcraft.api.energy.net.TestWorld.ALL_SIDES;
+import static com.nick.industrialcraft.api.energy.net.TestWorld.at;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopologyCodecTest {
+
+    private static final int TYPES = 2;
+
+    /**
+     * Two networks: a run of mixed types with a source and a consumer at its ends,
+     * and a short run that discovery had to cut off.
+     */
+    private static EnergyNetGraph sample() {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        for (int x = 0; x < 5; x++) {
+            graph.setCable(at(x, 0), ALL_SIDES, x == 0 || x == 4 ? 1 << 1 : 0, x == 2 ? 1 : 0);
+        }
+        graph.setTiers(at(0, 0), 3, 0);
+        graph.setTiers(at(4, 0), 0, 1);
+        graph.setCable(at(-40, 10), ALL_SIDES, 0, 0);
+        graph.setCable(at(-39, 10), ALL_SIDES, 0, 1);
+        graph.markTruncated(at(-40, 10));
+        return graph;
+    }
+
+    @Test
+    void roundTripRestoresEveryCable() {
+        EnergyNetGraph original = sample();
+        EnergyNetwork network = original.getNetwork(at(0, 0));
+
+        EnergyNetGraph restored = new EnergyNetGraph();
+        int count = TopologyCodec.decode(TopologyCodec.encode(original), restored, TYPES);
+
+        assertEquals(2, count);
+        assertEquals(original.getCableCount(), restored.getCableCount());
+        for (int x = 0; x < 5; x++) {
+            long pos = at(x, 0);
+            assertEquals(original.getMask(pos), restored.getMask(pos));
+            assertEquals(original.getMachineMask(pos), restored.getMachineMask(pos));
+            assertEquals(original.getType(pos), restored.getType(pos));
+            assertEquals(original.getSourceTier(pos), restored.getSourceTier(pos));
+            assertEquals(original.getConsumerTier(pos), restored.getConsumerTier(pos));
+        }
+
+        EnergyNetwork copy = restored.getNetwork(at(0, 0));
+        assertSame(copy, restored.getNetwork(at(4, 0)));
+        assertEquals(network.getVersion(), copy.getVersion());
+        assertEquals(3, copy.getMaxSourceTier());
+        assertEquals(1, copy.getMinConsumerTier());
+        assertTrue(copy.isRestored());
+        assertFalse(copy.isTruncated());
+        assertTrue(restored.getNetwork(at(-40, 10)).isTruncated());
+    }
+
+    @Test
+    void networkWithPendingSplitIsSkipped() {
+        EnergyNetGraph graph = new EnergyNetGraph();
+        for (int x = 0; x < 9; x++) {
+            graph.setCable(at(x, 0), ALL_SIDES, 0, 0);
+        }
+        graph.setAsyncRebuild(2, task -> {});
+        graph.removeCable(at(4, 0));
+
+        EnergyNetGraph restored = new EnergyNetGraph();
+        assertEquals(0, TopologyCodec.decode(TopologyCodec.encode(graph), restored, TYPES));
+        assertNull(restored.getNetwork(at(0, 0)));
+    }
+
+    @Test
+    void unknownFormatIsRejected() {
+        byte[] data = TopologyCodec.encode(sample());
+        data[0] = 9;
+
+        assertThrows(IllegalArgumentException.class, () -> TopologyCodec.decode(data, new EnergyNetGraph(), TYPES));
+    }
+
+    @Test
+    void truncatedDataIsRejected() {
+        byte[] data = TopologyCodec.encode(sample());
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> TopologyCodec.decode(truncated, new EnergyNetGraph(), TYPES));
+    }
+
+    @Test
+    void unknownCableTypeIsRejected() {
+        byte[] data = TopologyCodec.encode(sample());
+
+        assertThrows(IllegalArgumentException.class, () -> TopologyCodec.decode(data, new EnergyNetGraph(), 1));
+    }
+
+    @Test
+    void corruptCountIsRejected() {
+        // Format 2, then a network count larger than the data could hold
+        byte[] data = {2, (byte) 0xFF, 0x7F};
+
+        assertThrows(IllegalArgumentException.class, () -> TopologyCodec.decode(data, new EnergyNetGraph(), TYPES));
+    }
+
+    @Test
+    void cacheRestoreLeavesGraphEmptyOnCorruptData() {
+        byte[] data = TopologyCodec.encode(sample());
+        NetworkCache<Long> cache = new NetworkCache<>(new long[TYPES], new long[TYPES]);
+
+        // The first network decodes before the cut is reached
+        assertThrows(IllegalArgumentException.class, () -> cache.restore(Arrays.copyOf(data, data.length - 1)));
+
+        assertEquals(0, cache.getGraph().getCableCount());
+        assertEquals(0, cache.getRestoredNetworks());
+    }
+}
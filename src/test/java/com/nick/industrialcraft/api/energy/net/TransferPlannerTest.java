@@ -0,0 +1,168 @@
+package com.nick.industrialcraft.api.energy.net;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransferPlannerTest {
+
+    private static final int NONE = 0;
+    private static final int EXCLUDED = 1;
+    private static final int OVERLOADED = 2;
+    private static final int OVERVOLTED = 3;
+
+    /**
+     * Consumers as arrays; records what the planner decided for each of them.
+     */
+    private static final class Consumers implements TransferPlanner.Target {
+        final int[] remaining;
+        final int[] loss;
+        final int[] capacity;
+        final int[] ceiling;
+        final int[] sent;
+        final int[] outcome;
+
+        Consumers(int... remaining) {
+            int count = remaining.length;
+            this.remaining = remaining;
+            this.loss = new int[count];
+            this.capacity = new int[count];
+            this.ceiling = new int[count];
+            this.sent = new int[count];
+            this.outcome = new int[count];
+            Arrays.fill(capacity, Integer.MAX_VALUE);
+            Arrays.fill(ceiling, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int getConsumerCount() {
+            return remaining.length;
+        }
+
+        @Override
+        public int getRemaining(int consumer) {
+            return outcome[consumer] == NONE ? remaining[consumer] : 0;
+        }
+
+        @Override
+        public int getLoss(int consumer) {
+            return loss[consumer];
+        }
+
+        @Override
+        public int getCapacity(int consumer) {
+            return capacity[consumer];
+        }
+
+        @Override
+        public int getPacketCeiling(int consumer) {
+            return ceiling[consumer];
+        }
+
+        @Override
+        public void exclude(int consumer) {
+            outcome[consumer] = EXCLUDED;
+        }
+
+        @Override
+        public void overload(int consumer) {
+            outcome[consumer] = OVERLOADED;
+        }
+
+        @Override
+        public void overvoltage(int consumer) {
+            outcome[consumer] = OVERVOLTED;
+        }
+
+        @Override
+        public int transfer(int consumer, int amount, int loss) {
+            sent[consumer] += amount;
+            remaining[consumer] -= Math.max(0, amount - loss);
+            return amount;
+        }
+    }
+
+    @Test
+    void wholePacketsGoOutInOrder() {
+        Consumers consumers = new Consumers(1000, 1000, 1000);
+
+        int left = TransferPlanner.plan(consumers, 100, 32, true, false);
+
+        assertArrayEquals(new int[] {32, 32, 32}, consumers.sent);
+        assertEquals(4, left);
+    }
+
+    @Test
+    void partialPacketSpendsTheRest() {
+        Consumers whole = new Consumers(1000, 1000);
+        Consumers partial = new Consumers(1000, 1000);
+
+        assertEquals(8, TransferPlanner.plan(whole, 40, 32, true, false));
+        assertEquals(0, TransferPlanner.plan(partial, 40, 32, true, true));
+
+        assertArrayEquals(new int[] {32, 0}, whole.sent);
+        assertArrayEquals(new int[] {32, 8}, partial.sent);
+    }
+
+    @Test
+    void packetCoversDemandPlusLoss() {
+        Consumers consumers = new Consumers(10);
+        consumers.loss[0] = 2;
+
+        int left = TransferPlanner.plan(consumers, 100, 32, true, false);
+
+        assertArrayEquals(new int[] {12}, consumers.sent);
+        assertEquals(0, consumers.remaining[0]);
+        assertEquals(88, left);
+    }
+
+    @Test
+    void budgetIsSharedEvenly() {
+        Consumers consumers = new Consumers(1000, 1000, 1000);
+
+        int left = TransferPlanner.plan(consumers, 90, 32, false, false);
+
+        assertArrayEquals(new int[] {30, 30, 30}, consumers.sent);
+        assertEquals(0, left);
+    }
+
+    @Test
+    void evenShareIsLimitedByPathCapacity() {
+        Consumers consumers = new Consumers(1000, 1000);
+        consumers.capacity[0] = 40;
+
+        TransferPlanner.plan(consumers, 200, 32, false, false);
+
+        assertArrayEquals(new int[] {40, 100}, consumers.sent);
+    }
+
+    @Test
+    void unsuitableConsumersAreLeftOut() {
+        Consumers consumers = new Consumers(0, 1000, 1000, 1000);
+        consumers.capacity[1] = 8;
+        consumers.ceiling[2] = 8;
+
+        int left = TransferPlanner.plan(consumers, 100, 32, true, false);
+
+        assertArrayEquals(new int[] {EXCLUDED, OVERLOADED, OVERVOLTED, NONE}, consumers.outcome);
+        assertArrayEquals(new int[] {0, 0, 0, 32}, consumers.sent);
+        assertEquals(68, left);
+    }
+
+    @Test
+    void budgetIsKeptWithoutDemand() {
+        Consumers consumers = new Consumers(0, 0);
+
+        assertEquals(100, TransferPlanner.plan(consumers, 100, 32, true, false));
+        assertEquals(0, TransferPlanner.plan(consumers, 0, 32, true, false));
+    }
+
+    @Test
+    void lossDoesNotOverflow() {
+        assertEquals(Integer.MAX_VALUE, TransferPlanner.withLoss(Integer.MAX_VALUE, 5));
+        assertEquals(15, TransferPlanner.withLoss(10, 5));
+    }
+}